@@ -4,18 +4,34 @@ import com.example.university.student.model.Student;
 import com.example.university.student.model.AcademicProfile;
 import com.example.university.student.model.DisciplinaryRecord;
 import com.example.university.student.model.Enrollment;
+import com.example.university.student.model.IntakeImportReport;
+import com.example.university.student.model.StudentOverview;
+import com.example.university.student.model.StudentSuggestion;
 import com.example.university.student.service.StudentService;
+import com.example.university.student.service.impl.StudentOverviewAssembler;
+import com.example.university.admission.model.AdmissionTicket;
+import com.example.university.admission.service.AdmissionService;
+import com.example.university.course.service.CourseService;
+import com.example.university.exam.service.GradingService;
+import com.example.university.fee.service.PaymentService;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 /**
  * REST API Resource for Student management
@@ -33,13 +49,53 @@ public class StudentResource {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentResource.class);
 
+    private static final String ADMISSION_TOKEN_HEADER = AdmissionService.TOKEN_HEADER;
+    private static final int MAX_SEARCH_RESULTS = 500;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int OVERVIEW_MAX_IN_FLIGHT = 32;
+    private static final int OVERVIEW_SECTIONS = 8;
+    private static final long OVERVIEW_DEADLINE_MILLIS = 800;
+    private static final long OVERVIEW_MAX_STALE_MILLIS = 15 * 60 * 1000L;
+    private static final int OVERVIEW_REMEMBERED_SECTIONS = 20_000;
+
     private StudentService studentService;
+    private AdmissionService admissionService;
+    private CourseService courseService;
+    private GradingService gradingService;
+    private PaymentService paymentService;
+    private final StudentOverviewAssembler overviewAssembler = new StudentOverviewAssembler(OVERVIEW_MAX_IN_FLIGHT,
+        OVERVIEW_SECTIONS, OVERVIEW_DEADLINE_MILLIS, OVERVIEW_MAX_STALE_MILLIS, OVERVIEW_REMEMBERED_SECTIONS);
 
     @Reference
     public void setStudentService(StudentService studentService) {
         this.studentService = studentService;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setAdmissionService(AdmissionService admissionService) {
+        this.admissionService = admissionService;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setCourseService(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setGradingService(GradingService gradingService) {
+        this.gradingService = gradingService;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    public void setPaymentService(PaymentService paymentService) {
+        this.paymentService = paymentService;
+    }
+
+    @Deactivate
+    public void deactivate() {
+        overviewAssembler.shutdown();
+    }
+
     // ========== Student Management Endpoints ==========
 
     /**
@@ -101,6 +157,19 @@ public class StudentResource {
         return Response.ok(response).build();
     }
 
+    /**
+     * Hit, miss and Bloom filter counters of the near-cache behind the student lookups
+     * GET /api/students/cache/stats
+     */
+    @GET
+    @Path("/cache/stats")
+    public Response getStudentCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", studentService.getStudentCacheStats());
+        return Response.ok(response).build();
+    }
+
     /**
      * Update student
      * PUT /api/students/{id}
@@ -181,17 +250,18 @@ public class StudentResource {
 
     /**
      * Search students
-     * GET /api/students/search?keyword=...
+     * GET /api/students/search?keyword=...&limit=50 - ranked, at most limit results
      */
     @GET
     @Path("/search")
-    public Response searchStudents(@QueryParam("keyword") String keyword) {
+    public Response searchStudents(@QueryParam("keyword") String keyword,
+                                   @QueryParam("limit") @DefaultValue("50") int limit) {
         logger.info("GET /api/students/search?keyword={} - Searching students", keyword);
         if (keyword == null || keyword.trim().isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity(Map.of("success", false, "error", "Keyword parameter is required")).build();
         }
-        List<Student> students = studentService.searchStudents(keyword);
+        List<Student> students = studentService.searchStudents(keyword, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("data", students);
@@ -199,6 +269,132 @@ public class StudentResource {
         return Response.ok(response).build();
     }
 
+    /**
+     * Type-ahead suggestions for a student ID or name prefix
+     * GET /api/students/suggest?prefix=...&limit=10
+     */
+    @GET
+    @Path("/suggest")
+    public Response suggestStudents(@QueryParam("prefix") String prefix,
+                                    @QueryParam("limit") @DefaultValue("10") int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("success", false, "error", "Prefix parameter is required")).build();
+        }
+        List<StudentSuggestion> suggestions =
+            studentService.suggestStudents(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", suggestions);
+        response.put("count", suggestions.size());
+        return Response.ok(response).build();
+    }
+
+    // ========== Intake Import Endpoints ==========
+
+    /**
+     * Import a new cohort from a CSV file with a header row
+     * POST /api/students/intake
+     */
+    @POST
+    @Path("/intake")
+    @Consumes({"text/csv", MediaType.TEXT_PLAIN})
+    public Response importIntakeCsv(InputStream csv) {
+        return importIntake(csv, false);
+    }
+
+    /**
+     * Import a new cohort from JSON lines, one student object per line
+     * POST /api/students/intake
+     */
+    @POST
+    @Path("/intake")
+    @Consumes({"application/x-ndjson", "application/jsonl"})
+    public Response importIntakeJsonLines(InputStream jsonLines) {
+        return importIntake(jsonLines, true);
+    }
+
+    private Response importIntake(InputStream input, boolean jsonLines) {
+        logger.info("POST /api/students/intake - Importing intake ({})", jsonLines ? "JSON lines" : "CSV");
+        try {
+            IntakeImportReport report = studentService.importIntake(input, jsonLines);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", report);
+            return Response.ok(response).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(Map.of("success", false, "error", e.getMessage())).build();
+        } catch (Exception e) {
+            logger.error("Error importing intake", e);
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("success", false, "error", "Failed to import intake: " + e.getMessage())).build();
+        }
+    }
+
+    /**
+     * Progress of the running or last intake import
+     * GET /api/students/intake/progress
+     */
+    @GET
+    @Path("/intake/progress")
+    public Response getIntakeProgress() {
+        IntakeImportReport progress = studentService.getIntakeProgress();
+        if (progress == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(Map.of("success", false, "message", "No intake import has run")).build();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", progress);
+        return Response.ok(response).build();
+    }
+
+    // ========== Student Overview Endpoint ==========
+
+    /**
+     * Everything an advisor needs about one student in a single call
+     * GET /api/students/{studentId}/overview
+     *
+     * The sections are fetched in parallel from the student, course, grading and payment
+     * services; a section that is slow or failing is served stale or empty rather than
+     * holding up the rest, and its status says which.
+     */
+    @GET
+    @Path("/{studentId}/overview")
+    public Response getStudentOverview(@PathParam("studentId") String studentId) {
+        logger.info("GET /api/students/{}/overview - Assembling overview", studentId);
+        CourseService courses = courseService;
+        GradingService grading = gradingService;
+        PaymentService payments = paymentService;
+        Map<String, Callable<?>> calls = new LinkedHashMap<>();
+        calls.put("student", () -> studentService.getStudentByStudentId(studentId));
+        calls.put("academicProfile", () -> studentService.getAcademicProfileByStudentId(studentId));
+        calls.put("disciplinaryRecords", () -> studentService.getDisciplinaryRecordsByStudentId(studentId));
+        calls.put("enrollments", () -> studentService.getEnrollmentsByStudentId(studentId));
+        calls.put("courseEnrollments", courses == null ? null : () -> courses.getEnrollmentsByStudent(studentId));
+        calls.put("grades", grading == null ? null : () -> grading.getGradesByStudent(studentId));
+        calls.put("gpa", grading == null ? null : () -> grading.calculateGPA(studentId));
+        calls.put("payments", payments == null ? null : () -> payments.getPaymentsByStudent(studentId));
+
+        StudentOverview overview = overviewAssembler.assemble(studentId, calls);
+        StudentOverview.SectionStatus student = overview.getStatus().get("student");
+        if (StudentOverviewAssembler.OK.equals(student.getState()) && overview.getSections().get("student") == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(Map.of("success", false, "message", "Student not found")).build();
+        }
+        if (!overview.isComplete()) {
+            logger.warn("Overview of {} served partially after {} ms: {}", studentId, overview.getElapsedMillis(),
+                overview.getStatus().entrySet().stream()
+                    .filter(e -> !StudentOverviewAssembler.OK.equals(e.getValue().getState()))
+                    .map(e -> e.getKey() + "=" + e.getValue().getState()).toList());
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", overview);
+        return Response.ok(response).build();
+    }
+
     // ========== Academic Profile Endpoints ==========
 
     /**
@@ -322,21 +518,27 @@ public class StudentResource {
      */
     @POST
     @Path("/{studentId}/enrollments")
-    public Response createEnrollment(@PathParam("studentId") String studentId, Enrollment enrollment) {
+    public Response createEnrollment(@PathParam("studentId") String studentId, Enrollment enrollment,
+                                     @HeaderParam(ADMISSION_TOKEN_HEADER) String admissionToken) {
         logger.info("POST /api/students/{}/enrollments - Creating enrollment", studentId);
-        try {
-            enrollment.setStudentId(studentId);
-            Enrollment saved = studentService.createEnrollment(enrollment);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Enrollment created successfully");
-            response.put("data", saved);
-            return Response.status(Response.Status.CREATED).entity(response).build();
-        } catch (Exception e) {
-            logger.error("Error creating enrollment", e);
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity(Map.of("success", false, "error", e.getMessage())).build();
-        }
+        Supplier<Response> call = () -> {
+            try {
+                enrollment.setStudentId(studentId);
+                Enrollment saved = studentService.createEnrollment(enrollment);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "Enrollment created successfully");
+                response.put("data", saved);
+                return Response.status(Response.Status.CREATED).entity(response).build();
+            } catch (Exception e) {
+                logger.error("Error creating enrollment", e);
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("success", false, "error", e.getMessage())).build();
+            }
+        };
+        AdmissionService admission = admissionService;
+        return admission == null ? call.get()
+            : admission.withAdmission(admissionToken, call, StudentResource::queuedResponse);
     }
 
     /**
@@ -403,4 +605,14 @@ public class StudentResource {
                 .entity(Map.of("success", false, "error", e.getMessage())).build();
         }
     }
+
+    /**
+     * Tells a client turned away by admission control where it stands in the waiting room
+     */
+    private static Response queuedResponse(AdmissionTicket ticket) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+            .header(ADMISSION_TOKEN_HEADER, ticket.getToken())
+            .header("Retry-After", AdmissionService.retryAfterSeconds(ticket))
+            .entity(AdmissionService.queuedBody(ticket)).build();
+    }
 }
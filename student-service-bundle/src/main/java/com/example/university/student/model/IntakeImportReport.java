@@ -0,0 +1,71 @@
+package com.example.university.student.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Intake Import Report - outcome of a bulk import of new students and their academic profiles
+ * Rejected rows are listed by line number, up to a cap. While an import runs the same report,
+ * without its errors, serves as its progress.
+ */
+public class IntakeImportReport {
+
+    private String format;
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private int batches;
+    private long elapsedMillis;
+    private boolean complete;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    public int getBatches() { return batches; }
+    public void setBatches(int batches) { this.batches = batches; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    /**
+     * One rejected row
+     */
+    public static class RowError {
+
+        private long line;
+        private String studentId;
+        private String email;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(long line, String studentId, String email, String message) {
+            this.line = line;
+            this.studentId = studentId;
+            this.email = email;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        public String getStudentId() { return studentId; }
+        public void setStudentId(String studentId) { this.studentId = studentId; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.university.student.model;
+
+/**
+ * Student Cache Stats - counters of the student lookup near-cache since startup
+ * A Bloom rejection answered an unknown studentId without a query; a negative hit
+ * answered a recently missed id or studentId the same way.
+ */
+public class StudentCacheStats {
+
+    private long hits;
+    private long misses;
+    private long negativeHits;
+    private long bloomRejections;
+    private long evictions;
+    private long invalidations;
+    private int studentsById;
+    private int studentsByStudentId;
+    private int negativeEntries;
+    private int maxEntries;
+    private long ttlMillis;
+    private long negativeTtlMillis;
+
+    public double getHitRatio() {
+        long lookups = hits + misses + negativeHits + bloomRejections;
+        return lookups == 0 ? 0.0 : (double) (hits + negativeHits + bloomRejections) / lookups;
+    }
+
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+    public long getNegativeHits() { return negativeHits; }
+    public void setNegativeHits(long negativeHits) { this.negativeHits = negativeHits; }
+    public long getBloomRejections() { return bloomRejections; }
+    public void setBloomRejections(long bloomRejections) { this.bloomRejections = bloomRejections; }
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+    public long getInvalidations() { return invalidations; }
+    public void setInvalidations(long invalidations) { this.invalidations = invalidations; }
+    public int getStudentsById() { return studentsById; }
+    public void setStudentsById(int studentsById) { this.studentsById = studentsById; }
+    public int getStudentsByStudentId() { return studentsByStudentId; }
+    public void setStudentsByStudentId(int studentsByStudentId) { this.studentsByStudentId = studentsByStudentId; }
+    public int getNegativeEntries() { return negativeEntries; }
+    public void setNegativeEntries(int negativeEntries) { this.negativeEntries = negativeEntries; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public long getTtlMillis() { return ttlMillis; }
+    public void setTtlMillis(long ttlMillis) { this.ttlMillis = ttlMillis; }
+    public long getNegativeTtlMillis() { return negativeTtlMillis; }
+    public void setNegativeTtlMillis(long negativeTtlMillis) { this.negativeTtlMillis = negativeTtlMillis; }
+}
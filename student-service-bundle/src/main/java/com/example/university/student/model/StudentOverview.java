@@ -0,0 +1,66 @@
+package com.example.university.student.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Student Overview - one student's record, profile, enrollments, grades and payments in one response
+ * Every section has a status; a section whose service missed the deadline or failed carries the last
+ * value seen for the student, marked STALE, or no value at all.
+ */
+public class StudentOverview {
+
+    private String studentId;
+    private boolean complete;
+    private long elapsedMillis;
+    private long deadlineMillis;
+    private Map<String, Object> sections = new LinkedHashMap<>();
+    private Map<String, SectionStatus> status = new LinkedHashMap<>();
+
+    public StudentOverview() {}
+
+    public StudentOverview(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public long getDeadlineMillis() { return deadlineMillis; }
+    public void setDeadlineMillis(long deadlineMillis) { this.deadlineMillis = deadlineMillis; }
+    public Map<String, Object> getSections() { return sections; }
+    public void setSections(Map<String, Object> sections) { this.sections = sections; }
+    public Map<String, SectionStatus> getStatus() { return status; }
+    public void setStatus(Map<String, SectionStatus> status) { this.status = status; }
+
+    /**
+     * How one section was served: OK, STALE, TIMEOUT, FAILED or UNAVAILABLE
+     */
+    public static class SectionStatus {
+        private String state;
+        private long elapsedMillis;
+        private Long asOf;
+        private String error;
+
+        public SectionStatus() {}
+
+        public SectionStatus(String state, long elapsedMillis, Long asOf, String error) {
+            this.state = state;
+            this.elapsedMillis = elapsedMillis;
+            this.asOf = asOf;
+            this.error = error;
+        }
+
+        public String getState() { return state; }
+        public void setState(String state) { this.state = state; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+        public Long getAsOf() { return asOf; }
+        public void setAsOf(Long asOf) { this.asOf = asOf; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
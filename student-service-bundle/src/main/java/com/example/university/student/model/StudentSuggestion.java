@@ -0,0 +1,33 @@
+package com.example.university.student.model;
+
+/**
+ * Student Suggestion - one type-ahead match for a student ID or name prefix
+ * Carries only what a lookup field shows; fetch the student by id for the full record.
+ */
+public class StudentSuggestion {
+
+    private Long id;
+    private String studentId;
+    private String firstName;
+    private String lastName;
+
+    public StudentSuggestion() {
+    }
+
+    public StudentSuggestion(Long id, String studentId, String firstName, String lastName) {
+        this.id = id;
+        this.studentId = studentId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+}
@@ -4,6 +4,10 @@ import com.example.university.student.model.Student;
 import com.example.university.student.model.AcademicProfile;
 import com.example.university.student.model.DisciplinaryRecord;
 import com.example.university.student.model.Enrollment;
+import com.example.university.student.model.IntakeImportReport;
+import com.example.university.student.model.StudentCacheStats;
+import com.example.university.student.model.StudentSuggestion;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -16,11 +20,18 @@ public interface StudentService {
     Student createStudent(Student student);
     Student getStudentById(Long id);
     Student getStudentByStudentId(String studentId);
+    StudentCacheStats getStudentCacheStats();
     Student updateStudent(Student student);
     void deleteStudent(Long id);
     List<Student> getAllStudents();
     List<Student> getStudentsByStatus(Student.StudentStatus status);
     List<Student> searchStudents(String keyword);
+    List<Student> searchStudents(String keyword, int limit);
+    List<StudentSuggestion> suggestStudents(String prefix, int limit);
+
+    // Intake Import
+    IntakeImportReport importIntake(InputStream input, boolean jsonLines);
+    IntakeImportReport getIntakeProgress();
 
     // Academic Profile Management
     AcademicProfile getAcademicProfileByStudentId(String studentId);
@@ -0,0 +1,551 @@
+package com.example.university.student.service.impl;
+
+import com.example.university.student.model.AcademicProfile;
+import com.example.university.student.model.IntakeImportReport;
+import com.example.university.student.model.Student;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming intake import of new students with their academic profiles
+ *
+ * The file - CSV with a header row, or JSON lines with one flat object per line -
+ * is read one line at a time and handled in fixed-size chunks. Each chunk is
+ * validated, checked against existing studentIds and emails in two queries, and
+ * inserted as one statement that writes the students and their profiles together.
+ * Duplicates within the file are caught by a set of 64-bit key hashes - two per
+ * row, in a table kept at most half full, so 32 to 64 bytes per row - and apart
+ * from that set only the current chunk and a capped error list are held, whatever
+ * the file size.
+ *
+ * Each batch commits on its own. A batch that fails has rolled back by the time
+ * the importer sees the error, so its rows are reported as failed and the chunks
+ * before and after it stand. Caches and indexes only hear about a batch through
+ * {@link IntakeTarget#inserted} once it has committed.
+ *
+ * Fields, matched case-insensitively and ignoring '_' and spaces: studentId,
+ * firstName, lastName and email are required; phone, dateOfBirth, gender,
+ * program, major and admissionDate (default today) fill the student, and
+ * currentSemester, academicYear, classStanding (default Freshman) and
+ * expectedGraduationDate fill the profile. Dates are ISO yyyy-MM-dd.
+ */
+public class StudentIntakeImporter {
+
+    /**
+     * Existence checks, the batched insert and the progress sink behind the import
+     */
+    public interface IntakeTarget {
+        /** @return those of the studentIds that already exist */
+        Set<String> existingStudentIds(Collection<String> studentIds);
+        /** @return those of the lower-cased emails that already exist, lower-cased */
+        Set<String> existingEmails(Collection<String> emails);
+        /**
+         * Inserts the students and the profiles of the ones that went in, as one statement,
+         * and commits it before returning, skipping students whose studentId or email now
+         * exists; on failure nothing is inserted
+         * @return the generated id of every student inserted, by studentId
+         */
+        Map<String, Long> insertBatch(List<Student> students, List<AcademicProfile> profiles);
+        /** Called after each batch has committed, with the students it inserted, ids set */
+        void inserted(List<Student> students);
+        /** Called after each chunk and once at the end */
+        void progress(IntakeImportReport report);
+    }
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_JSON_LINES = "jsonl";
+
+    private final IntakeTarget target;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public StudentIntakeImporter(IntakeTarget target, int chunkSize, int maxReportedErrors) {
+        this.target = target;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the CSV header lacks a required column
+     */
+    public IntakeImportReport importCsv(Reader csv) throws IOException {
+        return importLines(csv, FORMAT_CSV);
+    }
+
+    public IntakeImportReport importJsonLines(Reader jsonLines) throws IOException {
+        return importLines(jsonLines, FORMAT_JSON_LINES);
+    }
+
+    private IntakeImportReport importLines(Reader input, String format) throws IOException {
+        long began = System.currentTimeMillis();
+        IntakeImportReport report = new IntakeImportReport();
+        report.setFormat(format);
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        boolean csv = FORMAT_CSV.equals(format);
+
+        List<String> header = null;
+        SeenKeys seen = new SeenKeys();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (csv && header == null) {
+                header = header(parseCsvLine(line));
+                continue;
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+            chunk.add(new Row(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, header, seen, report, began);
+                chunk.clear();
+            }
+        }
+        if (csv && header == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, header, seen, report, began);
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - began);
+        report.setComplete(true);
+        target.progress(report);
+        return report;
+    }
+
+    private void importChunk(List<Row> chunk, List<String> header, SeenKeys seen,
+                             IntakeImportReport report, long began) {
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            String problem = validate(row, header);
+            if (problem == null && !seen.add("id:" + row.student.getStudentId())) {
+                problem = "Duplicate studentId in file";
+            }
+            if (problem == null && !seen.add("email:" + row.emailKey)) {
+                problem = "Duplicate email in file";
+            }
+            if (problem == null) {
+                candidates.add(row);
+            } else {
+                reject(report, row, problem);
+            }
+        }
+
+        List<Row> valid = new ArrayList<>(candidates.size());
+        if (!candidates.isEmpty()) {
+            List<String> studentIds = new ArrayList<>(candidates.size());
+            List<String> emails = new ArrayList<>(candidates.size());
+            for (Row row : candidates) {
+                studentIds.add(row.student.getStudentId());
+                emails.add(row.emailKey);
+            }
+            Set<String> takenIds = target.existingStudentIds(studentIds);
+            Set<String> takenEmails = target.existingEmails(emails);
+            for (Row row : candidates) {
+                if (takenIds.contains(row.student.getStudentId())) {
+                    reject(report, row, "Student ID already exists");
+                } else if (takenEmails.contains(row.emailKey)) {
+                    reject(report, row, "Email already exists");
+                } else {
+                    valid.add(row);
+                }
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            List<Student> students = new ArrayList<>(valid.size());
+            List<AcademicProfile> profiles = new ArrayList<>(valid.size());
+            for (Row row : valid) {
+                students.add(row.student);
+                profiles.add(row.profile);
+            }
+            Map<String, Long> inserted = null;
+            try {
+                inserted = target.insertBatch(students, profiles);
+            } catch (RuntimeException e) {
+                for (Row row : valid) {
+                    reject(report, row, "Batch insert failed: " + e.getMessage());
+                }
+            }
+            if (inserted != null) {
+                report.setBatches(report.getBatches() + 1);
+                List<Student> saved = new ArrayList<>(inserted.size());
+                for (Row row : valid) {
+                    Long id = inserted.get(row.student.getStudentId());
+                    if (id != null) {
+                        row.student.setId(id);
+                        saved.add(row.student);
+                    } else {
+                        reject(report, row, "Student ID or email already exists");
+                    }
+                }
+                report.setImported(report.getImported() + saved.size());
+                if (!saved.isEmpty()) {
+                    target.inserted(saved);
+                }
+            }
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - began);
+        target.progress(report);
+    }
+
+    /**
+     * Parses the row into its student and profile
+     * @return why the row is rejected, or null if it is valid
+     */
+    private String validate(Row row, List<String> header) {
+        Map<String, String> fields;
+        try {
+            fields = header != null ? csvFields(header, parseCsvLine(row.text)) : parseJsonObject(row.text);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        row.studentId = fields.get("studentid");
+        row.email = fields.get("email");
+        if (row.studentId == null) {
+            return "Missing studentId";
+        }
+        if (row.studentId.length() > 50) {
+            return "studentId is longer than 50 characters";
+        }
+        String firstName = fields.get("firstname");
+        String lastName = fields.get("lastname");
+        if (firstName == null) {
+            return "Missing firstName";
+        }
+        if (lastName == null) {
+            return "Missing lastName";
+        }
+        if (row.email == null) {
+            return "Missing email";
+        }
+        int at = row.email.indexOf('@');
+        if (at <= 0 || at != row.email.lastIndexOf('@') || at == row.email.length() - 1) {
+            return "Invalid email: " + row.email;
+        }
+
+        Student student = new Student();
+        student.setStudentId(row.studentId);
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setEmail(row.email);
+        student.setPhone(fields.get("phone"));
+        student.setProgram(fields.get("program"));
+        student.setMajor(fields.get("major"));
+        student.setStatus(Student.StudentStatus.ACTIVE);
+        String gender = fields.get("gender");
+        if (gender != null) {
+            try {
+                student.setGender(Student.Gender.valueOf(gender.toUpperCase(Locale.ROOT).replace(' ', '_')));
+            } catch (IllegalArgumentException e) {
+                return "Invalid gender: " + gender;
+            }
+        }
+        AcademicProfile profile = new AcademicProfile();
+        profile.setStudentId(row.studentId);
+        profile.setCurrentSemester(fields.get("currentsemester"));
+        profile.setAcademicYear(fields.get("academicyear"));
+        String classStanding = fields.get("classstanding");
+        profile.setClassStanding(classStanding != null ? classStanding : "Freshman");
+        try {
+            student.setDateOfBirth(date(fields.get("dateofbirth")));
+            LocalDate admissionDate = date(fields.get("admissiondate"));
+            student.setAdmissionDate(admissionDate != null ? admissionDate : LocalDate.now());
+            profile.setExpectedGraduationDate(date(fields.get("expectedgraduationdate")));
+        } catch (DateTimeParseException e) {
+            return "Invalid date: " + e.getParsedString();
+        }
+        row.student = student;
+        row.profile = profile;
+        row.emailKey = row.email.toLowerCase(Locale.ROOT);
+        return null;
+    }
+
+    private static LocalDate date(String text) {
+        return text == null ? null : LocalDate.parse(text);
+    }
+
+    private void reject(IntakeImportReport report, Row row, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new IntakeImportReport.RowError(row.line, row.studentId, row.email, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static List<String> header(List<String> names) {
+        List<String> header = new ArrayList<>(names.size());
+        for (String name : names) {
+            header.add(fieldKey(name));
+        }
+        if (!header.contains("studentid") || !header.contains("firstname")
+                || !header.contains("lastname") || !header.contains("email")) {
+            throw new IllegalArgumentException("CSV header must include studentId, firstName, lastName and email");
+        }
+        return header;
+    }
+
+    private static String fieldKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+    }
+
+    /**
+     * @return trimmed, non-blank fields by key
+     */
+    private static Map<String, String> csvFields(List<String> header, List<String> values) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                fields.put(header.get(i), value);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields with "" escapes
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Parses one flat JSON object; values must be strings, numbers, booleans or null
+     * @return trimmed, non-blank values by key
+     */
+    static Map<String, String> parseJsonObject(String line) {
+        JsonCursor cursor = new JsonCursor(line);
+        Map<String, String> fields = new HashMap<>();
+        cursor.expect('{');
+        if (!cursor.consume('}')) {
+            do {
+                String key = cursor.string();
+                cursor.expect(':');
+                String value = cursor.value();
+                if (value != null && !value.trim().isEmpty()) {
+                    fields.put(fieldKey(key), value.trim());
+                }
+            } while (cursor.consume(','));
+            cursor.expect('}');
+        }
+        if (!cursor.atEnd()) {
+            throw new IllegalArgumentException("Unexpected content after JSON object");
+        }
+        return fields;
+    }
+
+    private static final class JsonCursor {
+        private final String text;
+        private int at;
+
+        private JsonCursor(String text) {
+            this.text = text;
+        }
+
+        private void skipSpace() {
+            while (at < text.length() && Character.isWhitespace(text.charAt(at))) {
+                at++;
+            }
+        }
+
+        private boolean atEnd() {
+            skipSpace();
+            return at == text.length();
+        }
+
+        private boolean consume(char c) {
+            skipSpace();
+            if (at < text.length() && text.charAt(at) == c) {
+                at++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException("Invalid JSON: expected '" + c + "' at column " + (at + 1));
+            }
+        }
+
+        private String value() {
+            skipSpace();
+            if (at == text.length()) {
+                throw new IllegalArgumentException("Invalid JSON: missing value");
+            }
+            char c = text.charAt(at);
+            if (c == '"') {
+                return string();
+            }
+            if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("Nested JSON values are not supported");
+            }
+            int start = at;
+            while (at < text.length() && ",}".indexOf(text.charAt(at)) < 0 && !Character.isWhitespace(text.charAt(at))) {
+                at++;
+            }
+            String literal = text.substring(start, at);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+                return literal;
+            }
+            throw new IllegalArgumentException("Invalid JSON value: " + literal);
+        }
+
+        private String string() {
+            skipSpace();
+            if (at == text.length() || text.charAt(at) != '"') {
+                throw new IllegalArgumentException("Invalid JSON: expected a string at column " + (at + 1));
+            }
+            at++;
+            StringBuilder value = new StringBuilder();
+            while (at < text.length()) {
+                char c = text.charAt(at++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (at == text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(at++);
+                switch (escaped) {
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'u':
+                        if (at + 4 > text.length()) {
+                            throw new IllegalArgumentException("Invalid JSON: bad \\u escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(at, at + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid JSON: bad \\u escape");
+                        }
+                        at += 4;
+                        break;
+                    default: value.append(escaped); break;
+                }
+            }
+            throw new IllegalArgumentException("Invalid JSON: unterminated string");
+        }
+    }
+
+    /**
+     * Open-addressing set of 64-bit key hashes; a collision between two distinct keys
+     * is vanishingly unlikely at intake sizes
+     */
+    private static final class SeenKeys {
+        private long[] slots = new long[1 << 12];
+        private int size;
+
+        private boolean add(String key) {
+            if (size * 2 >= slots.length) {
+                long[] old = slots;
+                slots = new long[old.length * 2];
+                size = 0;
+                for (long hash : old) {
+                    if (hash != 0) {
+                        insert(hash);
+                    }
+                }
+            }
+            return insert(hash(key));
+        }
+
+        private boolean insert(long hash) {
+            int mask = slots.length - 1;
+            for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+                if (slots[i] == 0) {
+                    slots[i] = hash;
+                    size++;
+                    return true;
+                }
+                if (slots[i] == hash) {
+                    return false;
+                }
+            }
+        }
+
+        /** 64-bit FNV-1a finished with a mix; never 0, which marks an empty slot */
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return h == 0 ? 1 : h;
+        }
+    }
+
+    private static final class Row {
+        private final long line;
+        private final String text;
+        private String studentId;
+        private String email;
+        private String emailKey;
+        private Student student;
+        private AcademicProfile profile;
+
+        private Row(long line, String text) {
+            this.line = line;
+            this.text = text;
+        }
+    }
+}
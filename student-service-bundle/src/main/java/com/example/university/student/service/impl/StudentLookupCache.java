@@ -0,0 +1,456 @@
+package com.example.university.student.service.impl;
+
+import com.example.university.student.model.Student;
+import com.example.university.student.model.StudentCacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through student near-cache
+ *
+ * Keeps snapshots of students by id and by studentId. Lookups that found nothing
+ * are remembered for a short negative TTL, and a Bloom filter over every known
+ * studentId turns away most unknown studentIds before any query runs. Writes go
+ * through {@link #invalidate(Long, Student)}, which drops the entries of the
+ * changed student and any negative entry for its new studentId, and adds that
+ * studentId to the filter. Callers invalidate again once the write has committed,
+ * so a filter rebuilt from committed rows meanwhile still learns the studentId.
+ *
+ * The TTL bounds staleness from changes made outside this service; the filter is
+ * rebuilt on the same period, and earlier when more studentIds were added than it
+ * was sized for. Rebuilds run on a background executor and lookups skip the filter
+ * until the new one is published. Each map holds at most maxEntries; when full,
+ * expired entries go first, otherwise half of the map is dropped. Readers always
+ * get copies.
+ */
+public class StudentLookupCache {
+
+    /**
+     * Loads students on a cache miss
+     */
+    public interface LookupSource {
+        Student findById(Long id);
+        Student findByStudentId(String studentId);
+        /**
+         * @return up to size students with an id above afterId, for seeding the Bloom filter;
+         *         only id and studentId need to be set
+         */
+        List<Student> page(long afterId, int size);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentLookupCache.class);
+
+    private static final int BLOOM_PAGE_SIZE = 5000;
+    private static final long IDLE_THREAD_SECONDS = 60;
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final int BLOOM_MIN_KEYS = 8192;
+
+    private final LookupSource source;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Executor rebuilds;
+
+    private final ConcurrentMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> byStudentId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Entry> absentIds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> absentStudentIds = new ConcurrentHashMap<>();
+
+    private volatile Bloom bloom;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Queue<String> addedDuringBuild = new ConcurrentLinkedQueue<>();
+
+    /** Bumped by every invalidation so loads that raced with a write are not cached */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong bloomRejections = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Rebuilds the filter on a daemon thread of its own, which exits when idle
+     */
+    public StudentLookupCache(LookupSource source, int maxEntries, long ttlMillis, long negativeTtlMillis) {
+        this(source, maxEntries, ttlMillis, negativeTtlMillis, new ThreadPoolExecutor(0, 1, IDLE_THREAD_SECONDS,
+            TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "student-bloom-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            }));
+    }
+
+    /**
+     * @param rebuilds runs filter rebuilds; one runs at a time
+     */
+    public StudentLookupCache(LookupSource source, int maxEntries, long ttlMillis, long negativeTtlMillis,
+                              Executor rebuilds) {
+        this.source = source;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.rebuilds = rebuilds;
+    }
+
+    public Student getById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Entry entry = fresh(byId.get(id), ttlMillis);
+        if (entry != null) {
+            hits.incrementAndGet();
+            return copyOf(entry.value);
+        }
+        if (fresh(absentIds.get(id), negativeTtlMillis) != null) {
+            negativeHits.incrementAndGet();
+            return null;
+        }
+        misses.incrementAndGet();
+        long seen = generation.get();
+        Student loaded = source.findById(id);
+        return remember(loaded, absentIds, id, seen);
+    }
+
+    public Student getByStudentId(String studentId) {
+        if (studentId == null) {
+            return null;
+        }
+        Entry entry = fresh(byStudentId.get(studentId), ttlMillis);
+        if (entry != null) {
+            hits.incrementAndGet();
+            return copyOf(entry.value);
+        }
+        if (fresh(absentStudentIds.get(studentId), negativeTtlMillis) != null) {
+            negativeHits.incrementAndGet();
+            return null;
+        }
+        Bloom filter = currentBloom();
+        if (filter != null && !filter.mightContain(Bloom.hash(studentId))) {
+            bloomRejections.incrementAndGet();
+            return null;
+        }
+        misses.incrementAndGet();
+        long seen = generation.get();
+        Student loaded = source.findByStudentId(studentId);
+        return remember(loaded, absentStudentIds, studentId, seen);
+    }
+
+    /**
+     * Caches a loaded student under both keys, or the key as absent when nothing was found
+     */
+    private <K> Student remember(Student loaded, ConcurrentMap<K, Entry> absent, K key, long seen) {
+        if (loaded == null) {
+            cache(absent, key, new Entry(null), seen);
+            return null;
+        }
+        Entry entry = new Entry(copyOf(loaded));
+        if (loaded.getId() != null) {
+            cache(byId, loaded.getId(), entry, seen);
+        }
+        if (loaded.getStudentId() != null) {
+            cache(byStudentId, loaded.getStudentId(), entry, seen);
+        }
+        return copyOf(entry.value);
+    }
+
+    /**
+     * Drops every entry of the student, before or after the change
+     * @param changed the student as now persisted, or null when it was deleted
+     */
+    public void invalidate(Long id, Student changed) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        if (id != null) {
+            Entry old = byId.remove(id);
+            absentIds.remove(id);
+            // the entry under the old studentId is the same object, and eviction drops both keys together
+            if (old != null && old.value.getStudentId() != null) {
+                byStudentId.remove(old.value.getStudentId(), old);
+            }
+        }
+        if (changed != null && changed.getStudentId() != null) {
+            byStudentId.remove(changed.getStudentId());
+            absentStudentIds.remove(changed.getStudentId());
+            // queue before reading the filter: a build that publishes after the read drains the queue
+            if (rebuilding.get()) {
+                addedDuringBuild.add(changed.getStudentId());
+            }
+            Bloom filter = bloom;
+            if (filter != null) {
+                filter.add(Bloom.hash(changed.getStudentId()));
+            }
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        byId.clear();
+        byStudentId.clear();
+        absentIds.clear();
+        absentStudentIds.clear();
+        bloom = null;
+    }
+
+    public StudentCacheStats stats() {
+        StudentCacheStats stats = new StudentCacheStats();
+        stats.setHits(hits.get());
+        stats.setMisses(misses.get());
+        stats.setNegativeHits(negativeHits.get());
+        stats.setBloomRejections(bloomRejections.get());
+        stats.setEvictions(evictions.get());
+        stats.setInvalidations(invalidations.get());
+        stats.setStudentsById(byId.size());
+        stats.setStudentsByStudentId(byStudentId.size());
+        stats.setNegativeEntries(absentIds.size() + absentStudentIds.size());
+        stats.setMaxEntries(maxEntries);
+        stats.setTtlMillis(ttlMillis);
+        stats.setNegativeTtlMillis(negativeTtlMillis);
+        return stats;
+    }
+
+    /**
+     * The filter, or null while it is missing, expired or over capacity; a rebuild is then
+     * started in the background, so lookups never wait for one
+     */
+    private Bloom currentBloom() {
+        Bloom filter = bloom;
+        if (!usable(filter) && rebuilding.compareAndSet(false, true)) {
+            try {
+                rebuilds.execute(this::rebuildBloom);
+            } catch (RejectedExecutionException e) {
+                rebuilding.set(false);
+            }
+            // an executor running the task inline has published the new filter already
+            filter = bloom;
+        }
+        return usable(filter) ? filter : null;
+    }
+
+    private boolean usable(Bloom filter) {
+        return filter != null && System.currentTimeMillis() - filter.builtAt < ttlMillis
+            && filter.added.get() <= filter.capacity;
+    }
+
+    private void rebuildBloom() {
+        Bloom next;
+        try {
+            // hash first and size the filter from the real count, leaving room to grow
+            long[] hashes = new long[BLOOM_MIN_KEYS];
+            int count = 0;
+            long afterId = Long.MIN_VALUE;
+            while (true) {
+                List<Student> page = source.page(afterId, BLOOM_PAGE_SIZE);
+                for (Student student : page) {
+                    if (student.getStudentId() != null) {
+                        if (count == hashes.length) {
+                            hashes = Arrays.copyOf(hashes, count * 2);
+                        }
+                        hashes[count++] = Bloom.hash(student.getStudentId());
+                    }
+                    if (student.getId() != null) {
+                        afterId = Math.max(afterId, student.getId());
+                    }
+                }
+                if (page.size() < BLOOM_PAGE_SIZE) {
+                    break;
+                }
+            }
+            next = new Bloom(Math.max(BLOOM_MIN_KEYS, 2L * count));
+            for (int i = 0; i < count; i++) {
+                next.add(hashes[i]);
+            }
+            bloom = next;
+        } catch (RuntimeException e) {
+            logger.warn("Could not rebuild the studentId filter, lookups query until the next attempt", e);
+            addedDuringBuild.clear();
+            return;
+        } finally {
+            rebuilding.set(false);
+        }
+        // studentIds written during the build; later writers see the new filter themselves
+        for (String studentId; (studentId = addedDuringBuild.poll()) != null; ) {
+            next.add(Bloom.hash(studentId));
+        }
+    }
+
+    private static Entry fresh(Entry entry, long ttl) {
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt >= ttl) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a loaded entry unless a write happened since the load began; the
+     * second check covers a write that lands between the first check and the put
+     */
+    private <K> void cache(ConcurrentMap<K, Entry> map, K key, Entry entry, long seen) {
+        if (generation.get() != seen) {
+            return;
+        }
+        if (map.size() >= maxEntries && !map.containsKey(key)) {
+            evict(map, entry.value == null ? negativeTtlMillis : ttlMillis);
+        }
+        map.put(key, entry);
+        if (generation.get() != seen) {
+            map.remove(key, entry);
+        }
+    }
+
+    /**
+     * Drops expired entries, or every other entry when none has expired yet. A student
+     * leaves both maps together, so an entry cached by id always has its studentId twin.
+     */
+    private <K> void evict(Map<K, Entry> map, long ttl) {
+        long now = System.currentTimeMillis();
+        int before = map.size();
+        List<Entry> dropped = new ArrayList<>();
+        for (Iterator<Entry> it = map.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (now - entry.loadedAt >= ttl) {
+                it.remove();
+                dropped.add(entry);
+            }
+        }
+        if (dropped.isEmpty()) {
+            int i = 0;
+            for (Iterator<Entry> it = map.values().iterator(); it.hasNext(); i++) {
+                Entry entry = it.next();
+                if ((i & 1) == 0) {
+                    it.remove();
+                    dropped.add(entry);
+                }
+            }
+        }
+        evictions.addAndGet(Math.max(0, before - map.size()));
+        for (Entry entry : dropped) {
+            if (entry.value != null) {
+                if (entry.value.getId() != null) {
+                    byId.remove(entry.value.getId(), entry);
+                }
+                if (entry.value.getStudentId() != null) {
+                    byStudentId.remove(entry.value.getStudentId(), entry);
+                }
+            }
+        }
+    }
+
+    static Student copyOf(Student source) {
+        Student student = new Student();
+        student.setId(source.getId());
+        student.setStudentId(source.getStudentId());
+        student.setFirstName(source.getFirstName());
+        student.setLastName(source.getLastName());
+        student.setEmail(source.getEmail());
+        student.setPhone(source.getPhone());
+        student.setDateOfBirth(source.getDateOfBirth());
+        student.setGender(source.getGender());
+        student.setAddress(source.getAddress());
+        student.setCity(source.getCity());
+        student.setState(source.getState());
+        student.setPostalCode(source.getPostalCode());
+        student.setCountry(source.getCountry());
+        student.setStatus(source.getStatus());
+        student.setAdmissionDate(source.getAdmissionDate());
+        student.setGraduationDate(source.getGraduationDate());
+        student.setProgram(source.getProgram());
+        student.setMajor(source.getMajor());
+        student.setEmergencyContactName(source.getEmergencyContactName());
+        student.setEmergencyContactPhone(source.getEmergencyContactPhone());
+        student.setNotes(source.getNotes());
+        student.setCreatedAt(source.getCreatedAt());
+        student.setUpdatedAt(source.getUpdatedAt());
+        return student;
+    }
+
+    private static final class Entry {
+        private final Student value;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Entry(Student value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bloom filter over studentIds; bits only ever get set, so concurrent adds need no lock
+     */
+    private static final class Bloom {
+        private final AtomicLongArray words;
+        private final long mask;
+        private final long capacity;
+        private final AtomicLong added = new AtomicLong();
+        private final long builtAt = System.currentTimeMillis();
+
+        private Bloom(long capacity) {
+            long bits = Long.highestOneBit(Math.max(64, capacity * BLOOM_BITS_PER_KEY - 1)) << 1;
+            this.words = new AtomicLongArray((int) (bits >>> 6));
+            this.mask = bits - 1;
+            this.capacity = capacity;
+        }
+
+        private void add(long h1) {
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = (h1 + i * h2) & mask;
+                int word = (int) (bit >>> 6);
+                long flag = 1L << bit;
+                long current = words.get(word);
+                while ((current & flag) == 0 && !words.compareAndSet(word, current, current | flag)) {
+                    current = words.get(word);
+                }
+            }
+            added.incrementAndGet();
+        }
+
+        private boolean mightContain(long h1) {
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = (h1 + i * h2) & mask;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** 64-bit FNV-1a over the chars, finished with a mix so both hashes use every bit */
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return mix(h);
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.university.student.service.impl;
+
+import com.example.university.student.model.StudentOverview;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel fan-out behind the student overview
+ *
+ * Each section of the overview is one service call. The calls start together on a
+ * bounded pool of daemon threads and are awaited against one shared deadline, so an
+ * overview costs its slowest call or the deadline, whichever is sooner, rather than
+ * the sum of all of them. A call that misses the deadline or fails does not fail the
+ * overview: its section falls back to the last value seen for the student, marked
+ * STALE, or is left empty. A late call still finishes in the background and refreshes
+ * that value for the next request.
+ *
+ * Threads are sized per overview: at most maxOverviews are in flight, counting those
+ * whose late calls are still running, and the pool has a thread for every call of
+ * each. An admitted overview therefore never has a call refused, while one arriving
+ * beyond that is refused whole and served from the last values seen.
+ */
+public class StudentOverviewAssembler {
+
+    public static final String OK = "OK";
+    public static final String STALE = "STALE";
+    public static final String TIMEOUT = "TIMEOUT";
+    public static final String FAILED = "FAILED";
+    public static final String UNAVAILABLE = "UNAVAILABLE";
+
+    private static final long IDLE_THREAD_SECONDS = 30;
+
+    private final long deadlineMillis;
+    private final long maxStaleMillis;
+    private final int callsPerOverview;
+    private final Semaphore overviews;
+    private final ThreadPoolExecutor executor;
+
+    // last value of each student section, least recently used first; guarded by itself
+    private final Map<String, Known> lastKnown;
+
+    /**
+     * @param maxOverviews     overviews in flight at once, late calls included
+     * @param callsPerOverview the most calls one overview makes
+     */
+    public StudentOverviewAssembler(int maxOverviews, int callsPerOverview, long deadlineMillis,
+                                    long maxStaleMillis, int maxRemembered) {
+        this.deadlineMillis = deadlineMillis;
+        this.maxStaleMillis = maxStaleMillis;
+        this.callsPerOverview = callsPerOverview;
+        this.overviews = new Semaphore(maxOverviews);
+        AtomicInteger threads = new AtomicInteger();
+        // admission keeps the calls in flight within the threads, so the queue only bridges
+        // the moment a finishing thread takes to return to the pool
+        int maxThreads = maxOverviews * callsPerOverview;
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, IDLE_THREAD_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "student-overview-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.lastKnown = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Known> eldest) {
+                return size() > maxRemembered;
+            }
+        };
+    }
+
+    /**
+     * Runs every call concurrently and assembles the sections in the order given
+     *
+     * @param calls section name to the call producing it; a null call marks a service
+     *              that is not deployed and its section UNAVAILABLE
+     * @throws IllegalArgumentException if there are more calls than callsPerOverview
+     */
+    public StudentOverview assemble(String studentId, Map<String, Callable<?>> calls) {
+        long began = System.nanoTime();
+        long deadline = began + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        long callCount = calls.values().stream().filter(call -> call != null).count();
+        if (callCount > callsPerOverview) {
+            throw new IllegalArgumentException("An overview makes at most " + callsPerOverview + " calls");
+        }
+        boolean admitted = callCount > 0 && overviews.tryAcquire();
+        Map<String, CompletableFuture<Outcome>> pending = new LinkedHashMap<>();
+        for (Map.Entry<String, Callable<?>> call : calls.entrySet()) {
+            if (call.getValue() != null) {
+                pending.put(call.getKey(), admitted ? start(studentId, call.getKey(), call.getValue(), began)
+                    : CompletableFuture.failedFuture(new IllegalStateException("Too many overviews in flight")));
+            }
+        }
+        if (admitted) {
+            // held until the late calls finish too, as they still occupy their threads
+            CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, failure) -> overviews.release());
+        }
+
+        StudentOverview overview = new StudentOverview(studentId);
+        overview.setDeadlineMillis(deadlineMillis);
+        boolean complete = true;
+        for (String section : calls.keySet()) {
+            CompletableFuture<Outcome> future = pending.get(section);
+            Object value = null;
+            String state;
+            String error = null;
+            long elapsedNanos;
+            if (future == null) {
+                state = UNAVAILABLE;
+                elapsedNanos = 0;
+            } else {
+                try {
+                    Outcome outcome = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    value = outcome.value;
+                    state = OK;
+                    elapsedNanos = outcome.elapsedNanos;
+                } catch (TimeoutException e) {
+                    state = TIMEOUT;
+                    error = "No answer within " + deadlineMillis + " ms";
+                    elapsedNanos = System.nanoTime() - began;
+                } catch (ExecutionException e) {
+                    state = FAILED;
+                    error = describe(e.getCause());
+                    elapsedNanos = System.nanoTime() - began;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    state = TIMEOUT;
+                    error = "Interrupted";
+                    elapsedNanos = System.nanoTime() - began;
+                }
+            }
+            Long asOf = null;
+            if (!OK.equals(state)) {
+                complete = false;
+                Known known = recall(studentId, section);
+                if (known != null) {
+                    value = known.value;
+                    asOf = known.atMillis;
+                    state = STALE;
+                }
+            }
+            overview.getSections().put(section, value);
+            overview.getStatus().put(section, new StudentOverview.SectionStatus(state,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), asOf, error));
+        }
+        overview.setComplete(complete);
+        overview.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+        return overview;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Outcome> start(String studentId, String section, Callable<?> call, long began) {
+        CompletableFuture<Outcome> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return new Outcome(call.call(), System.nanoTime() - began);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Overview calls are no longer accepted"));
+        }
+        // remembered even when it lands after the deadline, so the next overview is fresher
+        future.thenAccept(outcome -> remember(studentId, section, outcome.value));
+        return future;
+    }
+
+    private void remember(String studentId, String section, Object value) {
+        synchronized (lastKnown) {
+            lastKnown.put(studentId + '\0' + section, new Known(value, System.currentTimeMillis()));
+        }
+    }
+
+    private Known recall(String studentId, String section) {
+        synchronized (lastKnown) {
+            Known known = lastKnown.get(studentId + '\0' + section);
+            return known != null && System.currentTimeMillis() - known.atMillis <= maxStaleMillis ? known : null;
+        }
+    }
+
+    private static String describe(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause() : failure;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private static final class Outcome {
+        private final Object value;
+        private final long elapsedNanos;
+
+        private Outcome(Object value, long elapsedNanos) {
+            this.value = value;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    private static final class Known {
+        private final Object value;
+        private final long atMillis;
+
+        private Known(Object value, long atMillis) {
+            this.value = value;
+            this.atMillis = atMillis;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.example.university.student.service.impl;
+
+import com.example.university.student.model.Student;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process student search
+ *
+ * A trigram index over the lower-cased studentId, firstName, lastName and email
+ * of every student. A keyword of three or more characters is looked up through
+ * its rarest trigram and each candidate is confirmed by a substring test, so the
+ * matches are exactly those of {@code LOWER(column) LIKE '%keyword%'} on any of
+ * the four columns. Shorter keywords scan the in-memory fields instead.
+ *
+ * Matches are ranked by the best field hit - studentId over lastName over
+ * firstName over email, a whole-field match over a prefix over an inner
+ * substring - then by lastName, firstName as the query used to order them. The
+ * index loads lazily in id-ordered pages and then follows student writes through
+ * {@link #put(Student)} and {@link #remove(Long)}.
+ */
+public class StudentSearchIndex {
+
+    /**
+     * Loads the students the first time the index is used, in pages of ascending id
+     */
+    public interface SearchSource {
+        /**
+         * @return up to size students with an id above afterId; only id, studentId, names
+         *         and email need to be set
+         */
+        List<Student> page(long afterId, int size);
+    }
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final int[] FIELD_WEIGHTS = {8, 3, 2, 1};
+    private static final int WHOLE_FIELD = 3;
+    private static final int PREFIX = 2;
+    private static final int INNER = 1;
+    private static final char SEPARATOR = '\u0000';
+
+    private final SearchSource source;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> trigrams = new HashMap<>();
+    private final Map<Long, Integer> docsByStudentId = new HashMap<>();
+    private final Deque<Integer> freeDocs = new ArrayDeque<>();
+    private long[] ids = new long[1024];
+    private String[] texts = new String[1024];
+    private long[][] docTrigrams = new long[1024][];
+    private int docCount;
+    private volatile boolean loaded;
+
+    public StudentSearchIndex(SearchSource source) {
+        this.source = source;
+    }
+
+    /**
+     * @return ids of matching students, best first, at most limit of them
+     */
+    public List<Long> search(String keyword, int limit) {
+        if (keyword == null || keyword.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        if (needle.indexOf(SEPARATOR) >= 0) {
+            return Collections.emptyList();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            TopK top = new TopK(Math.min(limit, Math.max(docCount, 1)));
+            if (needle.length() < 3) {
+                for (int doc = 0; doc < docCount; doc++) {
+                    if (texts[doc] != null) {
+                        top.offer(doc, score(texts[doc], needle));
+                    }
+                }
+            } else {
+                Postings rarest = null;
+                for (int i = 0; i + 3 <= needle.length(); i++) {
+                    Postings postings = trigrams.get(key(needle, i));
+                    if (postings == null) {
+                        return Collections.emptyList();
+                    }
+                    if (rarest == null || postings.size < rarest.size) {
+                        rarest = postings;
+                    }
+                }
+                for (int i = 0; i < rarest.size; i++) {
+                    int doc = rarest.docs[i];
+                    top.offer(doc, score(texts[doc], needle));
+                }
+            }
+            return top.drain();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best field hit of the keyword in a document, or 0 when no field contains it
+     */
+    private static int score(String text, String needle) {
+        int best = 0;
+        int field = 0;
+        int fieldStart = 0;
+        int at = text.indexOf(needle);
+        while (at >= 0) {
+            while (true) {
+                int fieldEnd = text.indexOf(SEPARATOR, fieldStart);
+                if (fieldEnd < 0 || at < fieldEnd) {
+                    int end = fieldEnd < 0 ? text.length() : fieldEnd;
+                    int position = at == fieldStart ? (at + needle.length() == end ? WHOLE_FIELD : PREFIX) : INNER;
+                    best = Math.max(best, FIELD_WEIGHTS[field] * 4 + position);
+                    break;
+                }
+                field++;
+                fieldStart = fieldEnd + 1;
+            }
+            at = text.indexOf(needle, at + 1);
+        }
+        return best;
+    }
+
+    /**
+     * Indexes a new student or re-indexes a changed one
+     */
+    public void put(Student student) {
+        if (student == null || student.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                index(student);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByStudentId.remove(id);
+            if (doc != null) {
+                for (long trigram : docTrigrams[doc]) {
+                    removePosting(trigram, doc);
+                }
+                docTrigrams[doc] = null;
+                texts[doc] = null;
+                freeDocs.push(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return docsByStudentId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int trigramCount() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return trigrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                long afterId = Long.MIN_VALUE;
+                while (true) {
+                    List<Student> page = source.page(afterId, LOAD_PAGE_SIZE);
+                    for (Student student : page) {
+                        if (student.getId() != null) {
+                            index(student);
+                            afterId = Math.max(afterId, student.getId());
+                        }
+                    }
+                    if (page.size() < LOAD_PAGE_SIZE) {
+                        break;
+                    }
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Student student) {
+        String text = text(student);
+        long[] current = trigramsOf(text);
+        Integer doc = docsByStudentId.get(student.getId());
+        if (doc != null) {
+            // only touch postings whose trigram came or went; common ones such as an email domain stay put
+            long[] previous = docTrigrams[doc];
+            for (long trigram : previous) {
+                if (Arrays.binarySearch(current, trigram) < 0) {
+                    removePosting(trigram, doc);
+                }
+            }
+            for (long trigram : current) {
+                if (Arrays.binarySearch(previous, trigram) < 0) {
+                    trigrams.computeIfAbsent(trigram, key -> new Postings()).add(doc);
+                }
+            }
+        } else {
+            doc = freeDocs.isEmpty() ? docCount++ : freeDocs.pop();
+            if (doc >= ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+                docTrigrams = Arrays.copyOf(docTrigrams, capacity);
+            }
+            docsByStudentId.put(student.getId(), doc);
+            for (long trigram : current) {
+                trigrams.computeIfAbsent(trigram, key -> new Postings()).add(doc);
+            }
+        }
+        ids[doc] = student.getId();
+        texts[doc] = text;
+        docTrigrams[doc] = current;
+    }
+
+    private void removePosting(long trigram, int doc) {
+        Postings postings = trigrams.get(trigram);
+        if (postings != null && postings.remove(doc) && postings.size == 0) {
+            trigrams.remove(trigram);
+        }
+    }
+
+    /**
+     * The four searchable fields, lower-cased and joined by a separator no keyword can contain
+     */
+    private static String text(Student student) {
+        StringBuilder text = new StringBuilder(96);
+        text.append(lower(student.getStudentId())).append(SEPARATOR)
+            .append(lower(student.getLastName())).append(SEPARATOR)
+            .append(lower(student.getFirstName())).append(SEPARATOR)
+            .append(lower(student.getEmail()));
+        return text.toString();
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).replace(SEPARATOR, ' ');
+    }
+
+    /**
+     * Distinct trigrams that lie within one field, sorted
+     */
+    private static long[] trigramsOf(String text) {
+        long[] keys = new long[Math.max(text.length() - 2, 0)];
+        int count = 0;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            if (text.charAt(i) != SEPARATOR && text.charAt(i + 1) != SEPARATOR && text.charAt(i + 2) != SEPARATOR) {
+                keys[count++] = key(text, i);
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || keys[distinct - 1] != keys[i]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private static long key(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    /**
+     * Ranking order: higher score first, then lastName, firstName and id ascending
+     */
+    private boolean ranksAbove(int a, int scoreA, int b, int scoreB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB;
+        }
+        int byName = compareNames(texts[a], texts[b]);
+        return byName != 0 ? byName < 0 : ids[a] < ids[b];
+    }
+
+    /**
+     * Compares lastName then firstName, the second and third fields of the texts
+     */
+    private static int compareNames(String a, String b) {
+        int i = a.indexOf(SEPARATOR) + 1;
+        int j = b.indexOf(SEPARATOR) + 1;
+        for (int field = 0; field < 2; field++) {
+            while (true) {
+                char x = a.charAt(i);
+                char y = b.charAt(j);
+                if (x != y) {
+                    return x == SEPARATOR ? -1 : y == SEPARATOR ? 1 : Character.compare(x, y);
+                }
+                i++;
+                j++;
+                if (x == SEPARATOR) {
+                    break;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Bounded min-heap on rank: most candidates lose to the root in one comparison
+     */
+    private final class TopK {
+        private final int[] docs;
+        private final int[] scores;
+        private int size;
+
+        private TopK(int capacity) {
+            docs = new int[capacity];
+            scores = new int[capacity];
+        }
+
+        private void offer(int doc, int score) {
+            if (score == 0) {
+                return;
+            }
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (ranksAbove(doc, score, docs[0], scores[0])) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(size);
+            }
+        }
+
+        private List<Long> drain() {
+            Long[] ranked = new Long[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ranked[i] = ids[docs[0]];
+                move(i, 0);
+                siftDown(i);
+            }
+            return Arrays.asList(ranked);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!ranksAbove(docs[parent], scores[parent], docs[i], scores[i])) {
+                    return;
+                }
+                swap(parent, i);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int heapSize) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    return;
+                }
+                if (child + 1 < heapSize && ranksAbove(docs[child], scores[child], docs[child + 1], scores[child + 1])) {
+                    child++;
+                }
+                if (!ranksAbove(docs[i], scores[i], docs[child], scores[child])) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void move(int from, int to) {
+            docs[to] = docs[from];
+            scores[to] = scores[from];
+        }
+
+        private void swap(int i, int j) {
+            int doc = docs[i];
+            int score = scores[i];
+            move(j, i);
+            docs[j] = doc;
+            scores[j] = score;
+        }
+    }
+
+    /**
+     * Students whose fields contain one trigram
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        private boolean remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    docs[i] = docs[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -4,14 +4,33 @@ import com.example.university.student.model.Student;
 import com.example.university.student.model.AcademicProfile;
 import com.example.university.student.model.DisciplinaryRecord;
 import com.example.university.student.model.Enrollment;
+import com.example.university.student.model.IntakeImportReport;
+import com.example.university.student.model.StudentCacheStats;
+import com.example.university.student.model.StudentSuggestion;
 import com.example.university.student.service.StudentService;
+import com.example.university.util.TransactionHooks;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import jakarta.transaction.TransactionManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Student Service Implementation using OSGi Declarative Services
@@ -31,53 +50,179 @@ public class StudentServiceImpl implements StudentService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentServiceImpl.class);
 
+    private static final int STUDENT_CACHE_MAX_ENTRIES = 50_000;
+    private static final long STUDENT_CACHE_TTL_MILLIS = 10 * 60_000L;
+    private static final long STUDENT_NEGATIVE_TTL_MILLIS = 30_000L;
+    private static final int INTAKE_CHUNK = 500;
+    private static final int INTAKE_MAX_REPORTED_ERRORS = 10_000;
+
     private EntityManager entityManager; // Injected by OSGi - provides database access
+    private final TransactionHooks transactions = new TransactionHooks();
+
+    private final StudentLookupCache lookupCache = new StudentLookupCache(new StudentLookupCache.LookupSource() {
+        @Override
+        public Student findById(Long id) {
+            return entityManager.find(Student.class, id);
+        }
+
+        @Override
+        public Student findByStudentId(String studentId) {
+            List<Student> students = entityManager.createQuery(
+                "SELECT s FROM Student s WHERE s.studentId = :studentId", Student.class)
+                .setParameter("studentId", studentId)
+                .setMaxResults(1)
+                .getResultList();
+            return students.isEmpty() ? null : students.get(0);
+        }
+
+        @Override
+        public List<Student> page(long afterId, int size) {
+            return studentPage(afterId, size);
+        }
+    }, STUDENT_CACHE_MAX_ENTRIES, STUDENT_CACHE_TTL_MILLIS, STUDENT_NEGATIVE_TTL_MILLIS);
+
+    private final StudentSearchIndex searchIndex = new StudentSearchIndex(new StudentSearchIndex.SearchSource() {
+        @Override
+        public List<Student> page(long afterId, int size) {
+            return studentPage(afterId, size);
+        }
+    });
+
+    private final StudentSuggestIndex suggestIndex = new StudentSuggestIndex(new StudentSuggestIndex.SuggestSource() {
+        @Override
+        public List<Student> page(long afterId, int size) {
+            return studentPage(afterId, size);
+        }
+    });
+
+    private final StudentIntakeImporter intakeImporter = new StudentIntakeImporter(
+        new StudentIntakeImporter.IntakeTarget() {
+            @Override
+            public Set<String> existingStudentIds(Collection<String> studentIds) {
+                return new HashSet<>(entityManager.createQuery(
+                    "SELECT s.studentId FROM Student s WHERE s.studentId IN :studentIds", String.class)
+                    .setParameter("studentIds", studentIds)
+                    .getResultList());
+            }
+
+            @Override
+            public Set<String> existingEmails(Collection<String> emails) {
+                return new HashSet<>(entityManager.createQuery(
+                    "SELECT LOWER(s.email) FROM Student s WHERE LOWER(s.email) IN :emails", String.class)
+                    .setParameter("emails", emails)
+                    .getResultList());
+            }
+
+            @Override
+            public Map<String, Long> insertBatch(List<Student> students, List<AcademicProfile> profiles) {
+                return transactions.inNewTransaction(() -> insertIntake(students, profiles));
+            }
+
+            /**
+             * The batch has committed in its own transaction, so the cache and indexes follow
+             * at once rather than waiting for the caller's transaction, which may still roll back
+             */
+            @Override
+            public void inserted(List<Student> students) {
+                for (Student student : students) {
+                    lookupCache.invalidate(student.getId(), student);
+                    searchIndex.put(student);
+                }
+                suggestIndex.putAll(students);
+            }
+
+            @Override
+            public void progress(IntakeImportReport report) {
+                IntakeImportReport progress = new IntakeImportReport();
+                progress.setFormat(report.getFormat());
+                progress.setTotalRows(report.getTotalRows());
+                progress.setImported(report.getImported());
+                progress.setFailed(report.getFailed());
+                progress.setBatches(report.getBatches());
+                progress.setElapsedMillis(report.getElapsedMillis());
+                progress.setComplete(report.isComplete());
+                progress.setErrorsTruncated(report.isErrorsTruncated());
+                intakeProgress = progress;
+                logger.info("Intake import: {} rows read, {} imported, {} rejected{}", report.getTotalRows(),
+                    report.getImported(), report.getFailed(), report.isComplete() ? " - done" : "");
+            }
+        }, INTAKE_CHUNK, INTAKE_MAX_REPORTED_ERRORS);
+
+    private final AtomicBoolean intakeRunning = new AtomicBoolean();
+    private volatile IntakeImportReport intakeProgress;
 
     public void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
 
+    public void setTransactionManager(TransactionManager transactionManager) {
+        transactions.setTransactionManager(transactionManager);
+    }
+
     // Student Management
     @Override
     public Student createStudent(Student student) {
         logger.info("Creating student: {}", student.getStudentId());
         entityManager.persist(student);
         entityManager.flush();
+        studentWritten(student.getId(), student);
         return student;
     }
 
     @Override
     public Student getStudentById(Long id) {
-        return entityManager.find(Student.class, id);
+        return lookupCache.getById(id);
     }
 
     @Override
     public Student getStudentByStudentId(String studentId) {
-        TypedQuery<Student> query = entityManager.createQuery(
-            "SELECT s FROM Student s WHERE s.studentId = :studentId", Student.class);
-        query.setParameter("studentId", studentId);
-        try {
-            return query.getSingleResult();
-        } catch (Exception e) {
-            return null;
-        }
+        return lookupCache.getByStudentId(studentId);
+    }
+
+    @Override
+    public StudentCacheStats getStudentCacheStats() {
+        return lookupCache.stats();
     }
 
     @Override
     public Student updateStudent(Student student) {
         logger.info("Updating student: {}", student.getStudentId());
-        return entityManager.merge(student);
+        Student updated = entityManager.merge(student);
+        studentWritten(updated.getId(), updated);
+        return updated;
     }
 
     @Override
     public void deleteStudent(Long id) {
-        Student student = getStudentById(id);
+        Student student = entityManager.find(Student.class, id);
         if (student != null) {
             logger.info("Deleting student: {}", student.getStudentId());
             entityManager.remove(student);
+            studentWritten(id, null);
         }
     }
 
+    /**
+     * Drops the cached student now, so this transaction reads its own write, and again
+     * once the write commits, when the indexes follow it; a reader or filter rebuild
+     * running before the commit still saw the old row
+     * @param written the student as now persisted, or null when it was deleted
+     */
+    private void studentWritten(Long id, Student written) {
+        lookupCache.invalidate(id, written);
+        Student snapshot = written == null ? null : StudentLookupCache.copyOf(written);
+        transactions.afterCommit(() -> {
+            lookupCache.invalidate(id, snapshot);
+            if (snapshot == null) {
+                searchIndex.remove(id);
+                suggestIndex.remove(id);
+            } else {
+                searchIndex.put(snapshot);
+                suggestIndex.put(snapshot);
+            }
+        });
+    }
+
     @Override
     public List<Student> getAllStudents() {
         TypedQuery<Student> query = entityManager.createQuery(
@@ -93,6 +238,10 @@ public class StudentServiceImpl implements StudentService {
         return query.getResultList();
     }
 
+    /**
+     * Every match, ordered by lastName, firstName; use {@link #searchStudents(String, int)}
+     * for a ranked, bounded search served from the in-memory index
+     */
     @Override
     public List<Student> searchStudents(String keyword) {
         String searchPattern = "%" + keyword.toLowerCase() + "%";
@@ -107,6 +256,159 @@ public class StudentServiceImpl implements StudentService {
         return query.getResultList();
     }
 
+    /**
+     * Same matches as LOWER(column) LIKE '%keyword%' on studentId, firstName, lastName
+     * and email, found through the in-memory trigram index and ranked best first
+     */
+    @Override
+    public List<Student> searchStudents(String keyword, int limit) {
+        List<Long> ids = searchIndex.search(keyword, limit);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Student> byId = new HashMap<>();
+        for (Student student : entityManager.createQuery(
+                "SELECT s FROM Student s WHERE s.id IN :ids", Student.class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            byId.put(student.getId(), student);
+        }
+        List<Student> students = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Student student = byId.get(id);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public List<StudentSuggestion> suggestStudents(String prefix, int limit) {
+        return suggestIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Id, studentId, names and email of the students after afterId, for the in-memory indexes;
+     * a projection keeps the load from filling the persistence context with managed students
+     */
+    private List<Student> studentPage(long afterId, int size) {
+        List<Object[]> rows = entityManager.createQuery(
+            "SELECT s.id, s.studentId, s.firstName, s.lastName, s.email FROM Student s " +
+            "WHERE s.id > :afterId ORDER BY s.id", Object[].class)
+            .setParameter("afterId", afterId)
+            .setMaxResults(size)
+            .getResultList();
+        List<Student> students = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Student student = new Student();
+            student.setId((Long) row[0]);
+            student.setStudentId((String) row[1]);
+            student.setFirstName((String) row[2]);
+            student.setLastName((String) row[3]);
+            student.setEmail((String) row[4]);
+            students.add(student);
+        }
+        return students;
+    }
+
+    // Intake Import
+    @Override
+    public IntakeImportReport importIntake(InputStream input, boolean jsonLines) {
+        if (!intakeRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("An intake import is already running");
+        }
+        try {
+            InputStreamReader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+            return jsonLines ? intakeImporter.importJsonLines(reader) : intakeImporter.importCsv(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read intake file", e);
+        } finally {
+            intakeRunning.set(false);
+        }
+    }
+
+    @Override
+    public IntakeImportReport getIntakeProgress() {
+        return intakeProgress;
+    }
+
+    /**
+     * One statement per chunk: IDENTITY ids keep the provider from batching persists, so the
+     * students go in as a multi-row INSERT whose RETURNING rows feed the profile INSERT in the
+     * same statement. Either both land for a chunk or neither does; students whose studentId
+     * or email already exists are skipped along with their profiles.
+     * @return generated ids by studentId of the students inserted
+     */
+    private Map<String, Long> insertIntake(List<Student> students, List<AcademicProfile> profiles) {
+        int studentColumns = 13;
+        int profileColumns = 5;
+        StringBuilder sql = new StringBuilder(
+            "WITH s AS (INSERT INTO students (student_id, first_name, last_name, email, phone, date_of_birth, " +
+            "gender, status, admission_date, program, major, created_at, updated_at) VALUES ");
+        int parameter = 1;
+        for (int i = 0; i < students.size(); i++) {
+            sql.append(i > 0 ? ", (" : "(");
+            for (int c = 1; c <= studentColumns; c++) {
+                boolean date = c == 6 || c == 9;
+                sql.append(c > 1 ? ", " : "").append(date ? "CAST(?" : "?").append(parameter++).append(date ? " AS date)" : "");
+            }
+            sql.append(')');
+        }
+        sql.append(" ON CONFLICT DO NOTHING RETURNING id, student_id), " +
+            "p AS (INSERT INTO academic_profiles (student_id, current_semester, academic_year, class_standing, " +
+            "expected_graduation_date, academic_standing, total_credits_earned, total_credits_attempted, last_updated) " +
+            "SELECT v.student_id, v.current_semester, v.academic_year, v.class_standing, v.expected_graduation_date, " +
+            "'GOOD_STANDING', 0, 0, CAST(?").append(parameter++).append(" AS timestamp) FROM s JOIN (VALUES ");
+        int profileStart = parameter;
+        for (int i = 0; i < profiles.size(); i++) {
+            sql.append(i > 0 ? ", (" : "(");
+            for (int c = 1; c <= profileColumns; c++) {
+                boolean date = c == 5;
+                sql.append(c > 1 ? ", " : "").append(date ? "CAST(?" : "?").append(parameter++).append(date ? " AS date)" : "");
+            }
+            sql.append(')');
+        }
+        sql.append(") AS v (student_id, current_semester, academic_year, class_standing, expected_graduation_date) " +
+            "ON v.student_id = s.student_id) SELECT id, student_id FROM s");
+
+        LocalDateTime now = LocalDateTime.now();
+        Query insert = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            int base = i * studentColumns;
+            insert.setParameter(base + 1, student.getStudentId());
+            insert.setParameter(base + 2, student.getFirstName());
+            insert.setParameter(base + 3, student.getLastName());
+            insert.setParameter(base + 4, student.getEmail());
+            insert.setParameter(base + 5, student.getPhone());
+            insert.setParameter(base + 6, student.getDateOfBirth());
+            insert.setParameter(base + 7, student.getGender() == null ? null : student.getGender().name());
+            insert.setParameter(base + 8, student.getStatus().name());
+            insert.setParameter(base + 9, student.getAdmissionDate());
+            insert.setParameter(base + 10, student.getProgram());
+            insert.setParameter(base + 11, student.getMajor());
+            insert.setParameter(base + 12, now);
+            insert.setParameter(base + 13, now);
+        }
+        insert.setParameter(profileStart - 1, now);
+        for (int i = 0; i < profiles.size(); i++) {
+            AcademicProfile profile = profiles.get(i);
+            int base = profileStart + i * profileColumns;
+            insert.setParameter(base, profile.getStudentId());
+            insert.setParameter(base + 1, profile.getCurrentSemester());
+            insert.setParameter(base + 2, profile.getAcademicYear());
+            insert.setParameter(base + 3, profile.getClassStanding());
+            insert.setParameter(base + 4, profile.getExpectedGraduationDate());
+        }
+        Map<String, Long> inserted = new HashMap<>();
+        for (Object result : insert.getResultList()) {
+            Object[] row = (Object[]) result;
+            inserted.put((String) row[1], ((Number) row[0]).longValue());
+        }
+        return inserted;
+    }
+
     // Academic Profile Management
     @Override
     public AcademicProfile getAcademicProfileByStudentId(String studentId) {
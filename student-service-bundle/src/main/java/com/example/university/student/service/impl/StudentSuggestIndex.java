@@ -0,0 +1,520 @@
+package com.example.university.student.service.impl;
+
+import com.example.university.student.model.Student;
+import com.example.university.student.model.StudentSuggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead student lookup
+ *
+ * Every student contributes three normalized keys - the studentId, "first last"
+ * and "last first" - to one array kept sorted by key and then studentId, with
+ * a parallel int array naming the owning student. A prefix is located by binary
+ * search and the suggestions are the distinct students of the keys that follow
+ * while they still start with it, in O(log n + k). The prefix is normalized into
+ * and the students deduplicated in per-thread scratch, so a lookup allocates only
+ * the suggestions it returns, plus a decomposed copy of the prefix when it has
+ * non-ASCII characters. Normalization lower-cases, strips accents and apostrophes
+ * and folds other punctuation to single spaces, so "muller" finds "Müller" and
+ * "obrien" finds "O'Brien".
+ *
+ * The index loads lazily in id-ordered pages and then follows student writes
+ * through {@link #put(Student)} and {@link #remove(Long)}; a write shifts the
+ * arrays in place. {@link #putAll(Collection)} sorts the keys of a batch of new
+ * students and merges them in with one pass over the arrays.
+ */
+public class StudentSuggestIndex {
+
+    /**
+     * Loads the students the first time the index is used, in pages of ascending id
+     */
+    public interface SuggestSource {
+        /**
+         * @return up to size students with an id above afterId; only id, studentId and
+         *         names need to be set
+         */
+        List<Student> page(long afterId, int size);
+    }
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Per-thread buffers for a lookup: the normalized prefix, the slots found and an
+     * open-addressed set of them
+     */
+    private static final class Scratch {
+        final StringBuilder prefix = new StringBuilder(32);
+        int[] slots = new int[16];
+        int[] seen = new int[32];
+
+        void reserve(int limit) {
+            if (slots.length < limit) {
+                slots = new int[limit];
+                seen = new int[Integer.highestOneBit(limit) << 2];
+            }
+            Arrays.fill(seen, 0);
+        }
+
+        /**
+         * @return true if the slot was not seen yet in this lookup
+         */
+        boolean add(int slot) {
+            int mask = seen.length - 1;
+            for (int i = (slot * 0x9E3779B9) >>> 16 & mask; ; i = (i + 1) & mask) {
+                if (seen[i] == 0) {
+                    seen[i] = slot + 1;
+                    return true;
+                }
+                if (seen[i] == slot + 1) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private final SuggestSource source;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // sorted keys and the slot of the student owning each
+    private String[] keys = new String[0];
+    private int[] owners = new int[0];
+    private int size;
+
+    // students by slot
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] ids = new long[1024];
+    private String[] studentIds = new String[1024];
+    private String[] firstNames = new String[1024];
+    private String[] lastNames = new String[1024];
+    private String[][] slotKeys = new String[1024][];
+    private int slotCount;
+    private volatile boolean loaded;
+
+    public StudentSuggestIndex(SuggestSource source) {
+        this.source = source;
+    }
+
+    /**
+     * @return students with a key starting with the prefix, in key order, at most limit of them
+     */
+    public List<StudentSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Scratch scratch = SCRATCH.get();
+        StringBuilder normalized = scratch.prefix;
+        normalized.setLength(0);
+        normalize(prefix, true, normalized);
+        if (normalized.length() == 0) {
+            return Collections.emptyList();
+        }
+        ensureLoaded();
+        scratch.reserve(limit);
+        lock.readLock().lock();
+        try {
+            int found = collect(normalized, limit, scratch);
+            List<StudentSuggestion> suggestions = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                int slot = scratch.slots[i];
+                suggestions.add(new StudentSuggestion(ids[slot], studentIds[slot], firstNames[slot], lastNames[slot]));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fills slots with the distinct owners of the keys starting with the prefix
+     */
+    private int collect(CharSequence prefix, int limit, Scratch scratch) {
+        int found = 0;
+        for (int i = lowerBound(prefix); i < size && found < limit && startsWith(keys[i], prefix); i++) {
+            int slot = owners[i];
+            if (scratch.add(slot)) {
+                scratch.slots[found++] = slot;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Indexes a new student or re-indexes a changed one
+     */
+    public void put(Student student) {
+        if (student == null || student.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Integer slot = slotsById.get(student.getId());
+            if (slot != null) {
+                for (String key : slotKeys[slot]) {
+                    removeKey(key, slot);
+                }
+            } else {
+                slot = allocate(student.getId());
+            }
+            store(slot, student);
+            for (String key : slotKeys[slot]) {
+                insertKey(key, slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a batch of students; new ones are merged in at O(n + k log k) instead of
+     * an O(n) shift per key, changed ones are re-indexed one by one
+     */
+    public void putAll(Collection<Student> students) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            List<Integer> added = new ArrayList<>(students.size());
+            for (Student student : students) {
+                if (student == null || student.getId() == null) {
+                    continue;
+                }
+                Integer slot = slotsById.get(student.getId());
+                if (slot != null) {
+                    for (String key : slotKeys[slot]) {
+                        removeKey(key, slot);
+                    }
+                    store(slot, student);
+                    for (String key : slotKeys[slot]) {
+                        insertKey(key, slot);
+                    }
+                } else {
+                    slot = allocate(student.getId());
+                    store(slot, student);
+                    added.add(slot);
+                }
+            }
+            merge(added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sorts the keys of the new slots and merges them into the key array from the back
+     */
+    private void merge(List<Integer> slots) {
+        Integer[] order = new Integer[slots.size() * 3];
+        String[] newKeys = new String[order.length];
+        int[] newOwners = new int[order.length];
+        int count = 0;
+        for (int slot : slots) {
+            for (String key : slotKeys[slot]) {
+                if (!key.isEmpty()) {
+                    newKeys[count] = key;
+                    newOwners[count] = slot;
+                    order[count] = count;
+                    count++;
+                }
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        Arrays.sort(order, 0, count, (a, b) -> compare(newKeys[a], newOwners[a], newKeys[b], newOwners[b]));
+        if (size + count > keys.length) {
+            int capacity = Math.max(size + count, keys.length + (keys.length >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+        }
+        int i = size - 1;
+        int j = count - 1;
+        for (int at = size + count - 1; j >= 0; at--) {
+            int next = order[j];
+            if (i >= 0 && compare(keys[i], owners[i], newKeys[next], newOwners[next]) > 0) {
+                keys[at] = keys[i];
+                owners[at] = owners[i];
+                i--;
+            } else {
+                keys[at] = newKeys[next];
+                owners[at] = newOwners[next];
+                j--;
+            }
+        }
+        size += count;
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                for (String key : slotKeys[slot]) {
+                    removeKey(key, slot);
+                }
+                slotKeys[slot] = null;
+                studentIds[slot] = null;
+                firstNames[slot] = null;
+                lastNames[slot] = null;
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                long afterId = Long.MIN_VALUE;
+                while (true) {
+                    List<Student> page = source.page(afterId, LOAD_PAGE_SIZE);
+                    for (Student student : page) {
+                        if (student.getId() != null && !slotsById.containsKey(student.getId())) {
+                            store(allocate(student.getId()), student);
+                            afterId = Math.max(afterId, student.getId());
+                        }
+                    }
+                    if (page.size() < LOAD_PAGE_SIZE) {
+                        break;
+                    }
+                }
+                // one sort instead of an insertion per key
+                Integer[] order = new Integer[slotCount * 3];
+                String[] unsortedKeys = new String[order.length];
+                int[] unsortedOwners = new int[order.length];
+                int count = 0;
+                for (int slot = 0; slot < slotCount; slot++) {
+                    for (String key : slotKeys[slot]) {
+                        unsortedKeys[count] = key;
+                        unsortedOwners[count] = slot;
+                        order[count] = count;
+                        count++;
+                    }
+                }
+                Arrays.sort(order, 0, count, (a, b) -> compare(unsortedKeys[a], unsortedOwners[a],
+                    unsortedKeys[b], unsortedOwners[b]));
+                keys = new String[Math.max(count, 16)];
+                owners = new int[keys.length];
+                for (int i = 0; i < count; i++) {
+                    keys[i] = unsortedKeys[order[i]];
+                    owners[i] = unsortedOwners[order[i]];
+                }
+                size = count;
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int allocate(Long id) {
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+        if (slot >= ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            studentIds = Arrays.copyOf(studentIds, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+            slotKeys = Arrays.copyOf(slotKeys, capacity);
+        }
+        slotsById.put(id, slot);
+        ids[slot] = id;
+        return slot;
+    }
+
+    private void store(int slot, Student student) {
+        studentIds[slot] = student.getStudentId();
+        firstNames[slot] = student.getFirstName();
+        lastNames[slot] = student.getLastName();
+        String first = normalize(student.getFirstName(), false);
+        String last = normalize(student.getLastName(), false);
+        slotKeys[slot] = new String[] {
+            normalize(student.getStudentId(), false),
+            (first + " " + last).trim(),
+            (last + " " + first).trim()
+        };
+    }
+
+    private void insertKey(String key, int slot) {
+        if (key.isEmpty()) {
+            return;
+        }
+        if (size == keys.length) {
+            int capacity = Math.max(16, keys.length + (keys.length >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+        }
+        int at = position(key, slot);
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(owners, at, owners, at + 1, size - at);
+        keys[at] = key;
+        owners[at] = slot;
+        size++;
+    }
+
+    private void removeKey(String key, int slot) {
+        if (key.isEmpty()) {
+            return;
+        }
+        int at = position(key, slot);
+        if (at < size && owners[at] == slot && keys[at].equals(key)) {
+            System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+            System.arraycopy(owners, at + 1, owners, at, size - at - 1);
+            keys[--size] = null;
+        }
+    }
+
+    /**
+     * First index whose entry does not sort before the key of the slot
+     */
+    private int position(String key, int slot) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(keys[mid], owners[mid], key, slot) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int lowerBound(CharSequence prefix) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(keys[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * {@link String#compareTo} against a prefix that is not a String
+     */
+    private static int compare(String key, CharSequence prefix) {
+        int common = Math.min(key.length(), prefix.length());
+        for (int i = 0; i < common; i++) {
+            char a = key.charAt(i);
+            char b = prefix.charAt(i);
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return key.length() - prefix.length();
+    }
+
+    private static boolean startsWith(String key, CharSequence prefix) {
+        if (key.length() < prefix.length()) {
+            return false;
+        }
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            if (key.charAt(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Key order, ties broken by studentId and then slot so every entry has one place
+     */
+    private int compare(String keyA, int slotA, String keyB, int slotB) {
+        int byKey = keyA.compareTo(keyB);
+        if (byKey != 0 || slotA == slotB) {
+            return byKey;
+        }
+        String idA = studentIds[slotA] == null ? "" : studentIds[slotA];
+        String idB = studentIds[slotB] == null ? "" : studentIds[slotB];
+        int byStudentId = idA.compareTo(idB);
+        return byStudentId != 0 ? byStudentId : Integer.compare(slotA, slotB);
+    }
+
+    /**
+     * Lower-cased, accents and apostrophes removed, other non-alphanumerics folded to
+     * single spaces; a prefix keeps one trailing space so "ann " stops at whole words
+     */
+    static String normalize(String text, boolean keepTrailingSpace) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        normalize(text, keepTrailingSpace, normalized);
+        return normalized.toString();
+    }
+
+    /**
+     * Appends the normalized text; ASCII text has nothing to decompose and is read as is
+     */
+    private static void normalize(String text, boolean keepTrailingSpace, StringBuilder normalized) {
+        CharSequence decomposed = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK || c == '\'' || c == '’') {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        if (keepTrailingSpace && pendingSpace && normalized.length() > 0) {
+            normalized.append(' ');
+        }
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
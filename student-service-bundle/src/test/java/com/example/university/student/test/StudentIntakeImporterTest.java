@@ -0,0 +1,272 @@
+package com.example.university.student.test;
+
+import com.example.university.student.model.AcademicProfile;
+import com.example.university.student.model.IntakeImportReport;
+import com.example.university.student.model.Student;
+import com.example.university.student.service.impl.StudentIntakeImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming intake import of new students
+ */
+@DisplayName("Student Intake Importer")
+public class StudentIntakeImporterTest {
+
+    @Test
+    @DisplayName("CSV rows become students with profiles; bad and duplicate rows are reported by line")
+    public void testCsvImport() throws IOException {
+        Target target = new Target();
+        target.existingIds.add("U0");
+        target.existingEmails.add("taken@uni.example.edu");
+        String csv = "student_id,First Name,lastName,email,dateOfBirth,gender,program,academicYear,classStanding\n"
+            + "U1,Ada,Lovelace,ada@uni.example.edu,2007-12-10,female,Computing,2026-2027,\n"
+            + "U2,\"Grace, B.\",Hopper,grace@uni.example.edu,,,,2026-2027,Sophomore\n"
+            + "\n"
+            + "U3,Alan,,alan@uni.example.edu,,,,,\n"
+            + "U4,Kurt,Gödel,kurt.uni.example.edu,,,,,\n"
+            + "U5,Emmy,Noether,emmy@uni.example.edu,1882-03-32,,,,\n"
+            + "U6,John,Neumann,john@uni.example.edu,,robot,,,\n"
+            + "U1,Ada,Again,ada2@uni.example.edu,,,,,\n"
+            + "U7,Ada,Copy,ADA@uni.example.edu,,,,,\n"
+            + "U0,Old,Student,old@uni.example.edu,,,,,\n"
+            + "U8,New,Student,Taken@uni.example.edu,,,,,\n";
+
+        IntakeImportReport report = new StudentIntakeImporter(target, 100, 100).importCsv(new StringReader(csv));
+
+        assertEquals(10, report.getTotalRows());
+        assertEquals(2, report.getImported());
+        assertEquals(8, report.getFailed());
+        assertTrue(report.isComplete());
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L),
+            report.getErrors().stream().map(IntakeImportReport.RowError::getLine).toList());
+        assertEquals(List.of("Missing lastName", "Invalid email: kurt.uni.example.edu", "Invalid date: 1882-03-32",
+                "Invalid gender: robot", "Duplicate studentId in file", "Duplicate email in file",
+                "Student ID already exists", "Email already exists"),
+            report.getErrors().stream().map(IntakeImportReport.RowError::getMessage).toList());
+
+        Student ada = target.students.get("U1");
+        assertEquals(LocalDate.of(2007, 12, 10), ada.getDateOfBirth());
+        assertEquals(Student.Gender.FEMALE, ada.getGender());
+        assertEquals(LocalDate.now(), ada.getAdmissionDate());
+        assertEquals("Grace, B.", target.students.get("U2").getFirstName());
+        assertEquals("Freshman", target.profiles.get("U1").getClassStanding());
+        assertEquals("Sophomore", target.profiles.get("U2").getClassStanding());
+        assertEquals("2026-2027", target.profiles.get("U2").getAcademicYear());
+        assertNotNull(target.notified.get(0).getId(), "inserted students carry their generated ids");
+    }
+
+    @Test
+    @DisplayName("JSON lines accept escapes, numbers and nulls and reject anything that is not a flat object")
+    public void testJsonLinesImport() throws IOException {
+        Target target = new Target();
+        String jsonLines = "{\"studentId\": \"U1\", \"firstName\": \"Zo\\u00eb\", \"lastName\": \"O\\\"Neil\", "
+            + "\"email\": \"zoe@uni.example.edu\", \"phone\": 5550100, \"major\": null}\n"
+            + "  {\"student_id\":\"U2\",\"first_name\":\"Li\",\"last_name\":\"Wei\",\"email\":\"li@uni.example.edu\","
+            + "\"expectedGraduationDate\":\"2030-06-30\"}  \n"
+            + "{\"studentId\": \"U3\", \"firstName\": \"A\", \"lastName\": \"B\", \"email\": \"ab@x.edu\", \"tags\": []}\n"
+            + "{\"studentId\": \"U4\", \"firstName\": \"C\"\n"
+            + "not json\n";
+
+        IntakeImportReport report = new StudentIntakeImporter(target, 100, 100)
+            .importJsonLines(new StringReader(jsonLines));
+
+        assertEquals("jsonl", report.getFormat());
+        assertEquals(2, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals("Zoë", target.students.get("U1").getFirstName());
+        assertEquals("O\"Neil", target.students.get("U1").getLastName());
+        assertEquals("5550100", target.students.get("U1").getPhone());
+        assertNull(target.students.get("U1").getMajor());
+        assertEquals(LocalDate.of(2030, 6, 30), target.profiles.get("U2").getExpectedGraduationDate());
+        assertEquals("Nested JSON values are not supported", report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    @DisplayName("Chunks become batches, progress follows each chunk, and rows lost to a race are reported")
+    public void testChunksAndProgress() throws IOException {
+        Target target = new Target();
+        target.raceLost.add("U5");
+        StringBuilder csv = new StringBuilder("studentId,firstName,lastName,email\n");
+        for (int i = 1; i <= 10; i++) {
+            csv.append("U").append(i).append(",F").append(i).append(",L").append(i)
+                .append(",s").append(i).append("@uni.example.edu\n");
+        }
+
+        IntakeImportReport report = new StudentIntakeImporter(target, 3, 100).importCsv(new StringReader(csv.toString()));
+
+        assertEquals(4, report.getBatches());
+        assertEquals(9, report.getImported());
+        assertEquals("Student ID or email already exists", report.getErrors().get(0).getMessage());
+        assertEquals(3, target.largestBatch);
+        assertEquals(List.of(3L, 6L, 9L, 10L, 10L), target.progressRows);
+        assertEquals(1, target.completions);
+        assertThrows(IllegalArgumentException.class, () -> new StudentIntakeImporter(target, 3, 100)
+            .importCsv(new StringReader("studentId,firstName,email\nU1,A,a@b.c\n")));
+    }
+
+    @Test
+    @DisplayName("A failed batch rejects only its own rows; the batches around it are imported")
+    public void testFailedBatchRollsBackOnlyItself() throws IOException {
+        Target target = new Target();
+        target.failingBatch = 2;
+        StringBuilder csv = new StringBuilder("studentId,firstName,lastName,email\n");
+        for (int i = 1; i <= 9; i++) {
+            csv.append("U").append(i).append(",F").append(i).append(",L").append(i)
+                .append(",s").append(i).append("@uni.example.edu\n");
+        }
+
+        IntakeImportReport report = new StudentIntakeImporter(target, 3, 100).importCsv(new StringReader(csv.toString()));
+
+        assertEquals(6, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(2, report.getBatches());
+        assertEquals(List.of("U1", "U2", "U3", "U7", "U8", "U9"), new ArrayList<>(target.students.keySet()));
+        assertEquals(List.of("U1", "U2", "U3", "U7", "U8", "U9"),
+            target.notified.stream().map(Student::getStudentId).collect(Collectors.toList()),
+            "only committed batches reach the caches");
+        assertEquals("Batch insert failed: Transaction did not commit: connection reset",
+            report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    @DisplayName("Benchmark - a 15,000-student intake and a 1,000,000-row stream")
+    public void testLargeIntake() throws IOException {
+        for (int count : new int[] {15_000, 1_000_000}) {
+            Target target = new Target();
+            target.keep = false;
+            long began = System.nanoTime();
+            IntakeImportReport report = new StudentIntakeImporter(target, 500, 1000)
+                .importCsv(new GeneratedCsv(count));
+            long elapsedNanos = System.nanoTime() - began;
+
+            assertEquals(count, report.getImported());
+            assertEquals(500, target.largestBatch, "never more than one chunk in memory");
+            System.out.printf("[Students] ✓ imported %,d intake rows in %d batches in %.0f ms (%.0f rows/s)%n",
+                count, report.getBatches(), elapsedNanos / 1e6, count / (elapsedNanos / 1e9));
+        }
+    }
+
+    /**
+     * A CSV produced line by line as it is read, so the test holds no file either
+     */
+    private static final class GeneratedCsv extends Reader {
+        private final int rows;
+        private int next;
+        private String pending = "studentId,firstName,lastName,email,program,academicYear\n";
+        private int offset;
+
+        private GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int off, int len) {
+            if (offset == pending.length()) {
+                if (next == rows) {
+                    return -1;
+                }
+                next++;
+                pending = "N" + next + ",First" + next + ",Last" + next + ",n" + next
+                    + "@uni.example.edu,Engineering,2026-2027\n";
+                offset = 0;
+            }
+            int n = Math.min(len, pending.length() - offset);
+            pending.getChars(offset, offset + n, buffer, off);
+            offset += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Target implements StudentIntakeImporter.IntakeTarget {
+        private final Set<String> existingIds = new HashSet<>();
+        private final Set<String> existingEmails = new HashSet<>();
+        private final Set<String> raceLost = new HashSet<>();
+        private final Map<String, Student> students = new LinkedHashMap<>();
+        private final Map<String, AcademicProfile> profiles = new HashMap<>();
+        private final List<Student> notified = new ArrayList<>();
+        private final List<Long> progressRows = new ArrayList<>();
+        private boolean keep = true;
+        private int failingBatch;
+        private int batches;
+        private int largestBatch;
+        private int completions;
+        private long nextId = 1;
+
+        @Override
+        public Set<String> existingStudentIds(Collection<String> studentIds) {
+            Set<String> taken = new HashSet<>(studentIds);
+            taken.retainAll(existingIds);
+            return taken;
+        }
+
+        @Override
+        public Set<String> existingEmails(Collection<String> emails) {
+            Set<String> taken = new HashSet<>();
+            for (String email : emails) {
+                if (existingEmails.contains(email.toLowerCase(Locale.ROOT))) {
+                    taken.add(email);
+                }
+            }
+            return taken;
+        }
+
+        @Override
+        public Map<String, Long> insertBatch(List<Student> batch, List<AcademicProfile> batchProfiles) {
+            largestBatch = Math.max(largestBatch, batch.size());
+            if (++batches == failingBatch) {
+                // a batch runs in its own transaction, so a failure leaves nothing behind
+                throw new IllegalStateException("Transaction did not commit: connection reset");
+            }
+            Map<String, Long> inserted = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                Student student = batch.get(i);
+                assertEquals(student.getStudentId(), batchProfiles.get(i).getStudentId());
+                if (raceLost.contains(student.getStudentId())) {
+                    continue;
+                }
+                inserted.put(student.getStudentId(), nextId++);
+                if (keep) {
+                    students.put(student.getStudentId(), student);
+                    profiles.put(student.getStudentId(), batchProfiles.get(i));
+                }
+            }
+            return inserted;
+        }
+
+        @Override
+        public void inserted(List<Student> saved) {
+            if (keep) {
+                notified.addAll(saved);
+            }
+        }
+
+        @Override
+        public void progress(IntakeImportReport report) {
+            progressRows.add(report.getTotalRows());
+            if (report.isComplete()) {
+                completions++;
+            }
+        }
+    }
+}
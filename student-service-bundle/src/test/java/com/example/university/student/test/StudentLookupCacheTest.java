@@ -0,0 +1,225 @@
+package com.example.university.student.test;
+
+import com.example.university.student.model.Student;
+import com.example.university.student.model.StudentCacheStats;
+import com.example.university.student.service.impl.StudentLookupCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Student lookup near-cache
+ */
+@DisplayName("Student Lookup Cache")
+public class StudentLookupCacheTest {
+
+    @Test
+    @DisplayName("Hits, negative entries and Bloom rejections all avoid the query")
+    public void testLookupsAvoidQueries() {
+        Table table = new Table(1000);
+        StudentLookupCache cache = new StudentLookupCache(table, 10_000, 60_000, 60_000, Runnable::run);
+
+        assertEquals("First5", cache.getByStudentId("U5").getFirstName());
+        assertEquals("First5", cache.getByStudentId("U5").getFirstName());
+        assertEquals("First5", cache.getById(5L).getFirstName());
+        assertEquals(1, table.queries.get(), "one query serves both keys");
+
+        cache.getByStudentId("U5").setFirstName("Changed");
+        assertEquals("First5", cache.getByStudentId("U5").getFirstName(), "readers get copies");
+
+        int before = table.queries.get();
+        for (int i = 0; i < 1000; i++) {
+            assertNull(cache.getByStudentId("X" + i));
+        }
+        assertTrue(table.queries.get() - before < 30, "the filter turns away unknown studentIds");
+
+        assertNull(cache.getById(99_999L));
+        assertNull(cache.getById(99_999L));
+        StudentCacheStats stats = cache.stats();
+        assertEquals(1, stats.getNegativeHits());
+        assertTrue(stats.getBloomRejections() > 970);
+        assertTrue(stats.getHitRatio() > 0.9);
+    }
+
+    @Test
+    @DisplayName("Creates, renames and deletes are visible at once")
+    public void testInvalidation() {
+        Table table = new Table(10);
+        StudentLookupCache cache = new StudentLookupCache(table, 10_000, 60_000, 60_000, Runnable::run);
+
+        assertNull(cache.getByStudentId("NEW1"));
+        assertNull(cache.getById(11L));
+        Student created = table.put(11L, "NEW1");
+        cache.invalidate(11L, created);
+        assertEquals(11L, (long) cache.getByStudentId("NEW1").getId(), "the negative entry and the filter follow");
+        assertEquals("NEW1", cache.getById(11L).getStudentId());
+
+        assertEquals("U3", cache.getById(3L).getStudentId());
+        Student renamed = table.put(3L, "R3");
+        cache.invalidate(3L, renamed);
+        assertEquals("R3", cache.getById(3L).getStudentId());
+        assertEquals(3L, (long) cache.getByStudentId("R3").getId());
+        table.rows.remove(3L);
+        cache.invalidate(3L, null);
+        assertNull(cache.getById(3L));
+        assertNull(cache.getByStudentId("R3"));
+        assertNull(cache.getByStudentId("U3"));
+    }
+
+    @Test
+    @DisplayName("A rename drops the old studentId even after eviction thinned the cache")
+    public void testRenameAfterEviction() {
+        Table table = new Table(10);
+        StudentLookupCache cache = new StudentLookupCache(table, 2, 60_000, 60_000, Runnable::run);
+
+        for (long id = 1; id <= 4; id++) {
+            assertEquals(id, (long) cache.getByStudentId("U" + id).getId());
+        }
+        for (long id = 1; id <= 4; id++) {
+            Student renamed = table.put(id, "R" + id);
+            cache.invalidate(id, renamed);
+            assertNull(cache.getByStudentId("U" + id), "stale entry under U" + id);
+            assertEquals("R" + id, cache.getById(id).getStudentId());
+        }
+    }
+
+    @Test
+    @DisplayName("Negative entries expire after their TTL; the filter is rebuilt when outgrown")
+    public void testExpiryAndRebuild() throws InterruptedException {
+        Table table = new Table(100);
+        StudentLookupCache cache = new StudentLookupCache(table, 10_000, 60_000, 50, Runnable::run);
+
+        assertNull(cache.getById(500L));
+        table.put(500L, "EXT500");
+        assertNull(cache.getById(500L));
+        Thread.sleep(80);
+        assertEquals("EXT500", cache.getById(500L).getStudentId(), "a student added elsewhere shows up after the TTL");
+
+        // far more students than the first filter was sized for
+        for (long id = 1000; id < 30_000; id++) {
+            cache.invalidate(id, table.put(id, "U" + id));
+        }
+        int before = table.pages.get();
+        assertEquals("U29999", cache.getByStudentId("U29999").getStudentId());
+        assertTrue(table.pages.get() > before, "the overfull filter was rebuilt");
+        int queries = table.queries.get();
+        for (int i = 0; i < 1000; i++) {
+            cache.getByStudentId("Z" + i);
+        }
+        assertTrue(table.queries.get() - queries < 30);
+    }
+
+    @Test
+    @DisplayName("The filter is rebuilt in the background while lookups fall through to the query")
+    public void testBackgroundRebuild() {
+        Table table = new Table(100);
+        List<Runnable> rebuilds = new ArrayList<>();
+        StudentLookupCache cache = new StudentLookupCache(table, 10_000, 60_000, 60_000, rebuilds::add);
+
+        assertNull(cache.getByStudentId("X1"));
+        assertNull(cache.getByStudentId("X2"));
+        assertEquals(2, table.queries.get(), "no filter yet, so both lookups query");
+        assertEquals(1, rebuilds.size(), "one rebuild was started and neither lookup waited for it");
+        assertEquals(0, table.pages.get());
+
+        rebuilds.remove(0).run();
+        assertEquals(1, table.pages.get());
+        assertNull(cache.getByStudentId("X3"));
+        assertEquals(2, table.queries.get(), "the published filter turns X3 away");
+
+        Student created = table.put(101L, "NEW101");
+        cache.invalidate(101L, created);
+        assertEquals(101L, (long) cache.getByStudentId("NEW101").getId());
+        assertTrue(rebuilds.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Benchmark - 1,000,000 lookups against 200,000 students, half of them unknown")
+    public void testProbeMix() {
+        Table table = new Table(200_000);
+        StudentLookupCache cache = new StudentLookupCache(table, 50_000, 60_000, 30_000, Runnable::run);
+        Random random = new Random(23);
+        long began = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            String studentId = random.nextBoolean()
+                ? "U" + (1 + (int) Math.abs(random.nextGaussian() * 8000) % 200_000)
+                : "X" + random.nextInt(5_000_000);
+            if (cache.getByStudentId(studentId) != null) {
+                found++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - began;
+        StudentCacheStats stats = cache.stats();
+        assertTrue(table.queries.get() < 100_000);
+        System.out.printf("[Students] ✓ 1,000,000 lookups (%,d found) ran %,d queries in %.0f ms: "
+                + "%,d hits, %,d negative hits, %,d Bloom rejections%n",
+            found, table.queries.get(), elapsedNanos / 1e6, stats.getHits(), stats.getNegativeHits(),
+            stats.getBloomRejections());
+    }
+
+    /**
+     * Students keyed by id, counting the queries a database would have run
+     */
+    private static final class Table implements StudentLookupCache.LookupSource {
+        private final Map<Long, Student> rows = new ConcurrentSkipListMap<>();
+        private final Map<String, Student> byStudentId = new ConcurrentHashMap<>();
+        private final AtomicInteger queries = new AtomicInteger();
+        private final AtomicInteger pages = new AtomicInteger();
+
+        private Table(int count) {
+            for (long id = 1; id <= count; id++) {
+                put(id, "U" + id);
+            }
+        }
+
+        private Student put(Long id, String studentId) {
+            Student student = new Student();
+            student.setId(id);
+            student.setStudentId(studentId);
+            student.setFirstName("First" + id);
+            student.setLastName("Last" + id);
+            student.setEmail(studentId.toLowerCase() + "@uni.example.edu");
+            Student previous = rows.put(id, student);
+            if (previous != null) {
+                byStudentId.remove(previous.getStudentId());
+            }
+            byStudentId.put(studentId, student);
+            return student;
+        }
+
+        @Override
+        public Student findById(Long id) {
+            queries.incrementAndGet();
+            return rows.get(id);
+        }
+
+        @Override
+        public Student findByStudentId(String studentId) {
+            queries.incrementAndGet();
+            Student student = byStudentId.get(studentId);
+            return student != null && rows.get(student.getId()) == student ? student : null;
+        }
+
+        @Override
+        public List<Student> page(long afterId, int size) {
+            pages.incrementAndGet();
+            List<Student> page = new ArrayList<>(size);
+            for (Student student : ((ConcurrentSkipListMap<Long, Student>) rows).tailMap(afterId, false).values()) {
+                if (page.size() == size) {
+                    break;
+                }
+                page.add(student);
+            }
+            return page;
+        }
+    }
+}
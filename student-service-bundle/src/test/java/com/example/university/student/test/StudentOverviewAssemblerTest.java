@@ -0,0 +1,184 @@
+package com.example.university.student.test;
+
+import com.example.university.student.model.StudentOverview;
+import com.example.university.student.service.impl.StudentOverviewAssembler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Student overview fan-out
+ */
+@DisplayName("Student Overview Assembler")
+public class StudentOverviewAssemblerTest {
+
+    private final StudentOverviewAssembler assembler = new StudentOverviewAssembler(4, 8, 200, 60_000, 1000);
+
+    @AfterEach
+    public void shutdown() {
+        assembler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Sections come back in order, with missing services marked unavailable")
+    public void testAllSections() {
+        Map<String, Callable<?>> calls = new LinkedHashMap<>();
+        calls.put("student", () -> "S1");
+        calls.put("grades", () -> List.of("A", "B"));
+        calls.put("academicProfile", () -> null);
+        calls.put("payments", null);
+
+        StudentOverview overview = assembler.assemble("S1", calls);
+
+        assertEquals(List.of("student", "grades", "academicProfile", "payments"),
+            List.copyOf(overview.getSections().keySet()));
+        assertEquals(List.of("A", "B"), overview.getSections().get("grades"));
+        assertNull(overview.getSections().get("academicProfile"));
+        assertEquals(StudentOverviewAssembler.OK, overview.getStatus().get("academicProfile").getState());
+        assertEquals(StudentOverviewAssembler.UNAVAILABLE, overview.getStatus().get("payments").getState());
+        assertFalse(overview.isComplete());
+    }
+
+    @Test
+    @DisplayName("A slow or failing service costs its section, not the overview")
+    public void testDeadlineAndFailure() {
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, Callable<?>> calls = new LinkedHashMap<>();
+        calls.put("student", () -> "S1");
+        calls.put("grades", () -> {
+            release.await();
+            return List.of("A");
+        });
+        calls.put("payments", () -> {
+            throw new IllegalStateException("ledger offline");
+        });
+
+        long began = System.nanoTime();
+        StudentOverview overview = assembler.assemble("S1", calls);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+        release.countDown();
+
+        assertTrue(elapsedMillis >= 200 && elapsedMillis < 1000, "waited " + elapsedMillis + " ms");
+        assertEquals("S1", overview.getSections().get("student"));
+        assertEquals(StudentOverviewAssembler.TIMEOUT, overview.getStatus().get("grades").getState());
+        assertNull(overview.getSections().get("grades"));
+        assertEquals(StudentOverviewAssembler.FAILED, overview.getStatus().get("payments").getState());
+        assertEquals("ledger offline", overview.getStatus().get("payments").getError());
+        assertFalse(overview.isComplete());
+    }
+
+    @Test
+    @DisplayName("A section that misses the deadline is served stale, and a late answer refreshes it")
+    public void testStaleFallback() throws InterruptedException {
+        AtomicReference<String> balance = new AtomicReference<>("100");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch lateDone = new CountDownLatch(1);
+        Map<String, Callable<?>> fast = Map.of("payments", balance::get);
+        assertEquals(StudentOverviewAssembler.OK,
+            assembler.assemble("S1", fast).getStatus().get("payments").getState());
+
+        balance.set("250");
+        StudentOverview slow = assembler.assemble("S1", Map.of("payments", () -> {
+            release.await();
+            String value = balance.get();
+            lateDone.countDown();
+            return value;
+        }));
+        StudentOverview.SectionStatus status = slow.getStatus().get("payments");
+        assertEquals(StudentOverviewAssembler.STALE, status.getState());
+        assertEquals("100", slow.getSections().get("payments"));
+        assertNotNull(status.getAsOf());
+        assertNotNull(status.getError());
+
+        release.countDown();
+        assertTrue(lateDone.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        StudentOverview failing = assembler.assemble("S1", Map.of("payments", () -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals("250", failing.getSections().get("payments"), "the late answer was remembered");
+        assertNull(assembler.assemble("S2", Map.of("payments", () -> {
+            throw new IllegalStateException("down");
+        })).getSections().get("payments"), "another student's values are never served");
+    }
+
+    @Test
+    @DisplayName("Overviews beyond the limit are refused whole until late calls free their threads")
+    public void testOverviewAdmission() throws InterruptedException {
+        StudentOverviewAssembler single = new StudentOverviewAssembler(1, 2, 100, 60_000, 1000);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch lateDone = new CountDownLatch(1);
+            Map<String, Callable<?>> slow = new LinkedHashMap<>();
+            slow.put("student", () -> "S1");
+            slow.put("grades", () -> {
+                release.await();
+                lateDone.countDown();
+                return List.of("A");
+            });
+            assertEquals(StudentOverviewAssembler.TIMEOUT, single.assemble("S1", slow).getStatus().get("grades").getState());
+
+            Map<String, Callable<?>> fast = new LinkedHashMap<>();
+            fast.put("student", () -> "S2");
+            fast.put("grades", () -> List.of("B"));
+            StudentOverview refused = single.assemble("S2", fast);
+            assertEquals(StudentOverviewAssembler.FAILED, refused.getStatus().get("student").getState());
+            assertEquals("Too many overviews in flight", refused.getStatus().get("grades").getError());
+
+            release.countDown();
+            assertTrue(lateDone.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            StudentOverview admitted = single.assemble("S2", fast);
+            assertTrue(admitted.isComplete(), "the late call gave its overview's threads back");
+            assertEquals("S2", admitted.getSections().get("student"));
+
+            Map<String, Callable<?>> tooMany = new LinkedHashMap<>(fast);
+            tooMany.put("payments", () -> "0");
+            // more calls than an overview was sized for are a programming error
+            assertThrows(IllegalArgumentException.class, () -> single.assemble("S2", tooMany));
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark - eight 25 ms calls, sequential against fan-out")
+    public void testFanOutLatency() throws Exception {
+        Map<String, Callable<?>> calls = new LinkedHashMap<>();
+        for (String section : List.of("student", "academicProfile", "disciplinaryRecords", "enrollments",
+                "courseEnrollments", "grades", "gpa", "payments")) {
+            calls.put(section, () -> {
+                Thread.sleep(25);
+                return section;
+            });
+        }
+        int rounds = 20;
+
+        long began = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (Callable<?> call : calls.values()) {
+                call.call();
+            }
+        }
+        double sequentialMillis = (System.nanoTime() - began) / 1e6 / rounds;
+
+        began = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            assertTrue(assembler.assemble("S" + round, calls).isComplete());
+        }
+        double fanOutMillis = (System.nanoTime() - began) / 1e6 / rounds;
+
+        assertTrue(fanOutMillis * 3 < sequentialMillis);
+        System.out.printf("[Students] ✓ overview of 8 sections in %.1f ms fanned out vs %.1f ms sequential%n",
+            fanOutMillis, sequentialMillis);
+    }
+}
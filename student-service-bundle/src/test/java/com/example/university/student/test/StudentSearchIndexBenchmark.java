@@ -0,0 +1,20 @@
+package com.example.university.student.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+/**
+ * Trigram student search at a million students
+ *
+ * Kept out of the default suite, which only includes *Test classes; run it with
+ * {@code mvn test -Dtest=StudentSearchIndexBenchmark}.
+ */
+@DisplayName("Student Search Index - Benchmark")
+public class StudentSearchIndexBenchmark {
+
+    @Test
+    @DisplayName("Benchmark - index lookup against a LIKE scan at 1,000,000 students")
+    public void testMillionStudents() {
+        StudentSearchIndexTest.benchmark(1_000_000);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.university.student.test;
+
+import com.example.university.student.model.Student;
+import com.example.university.student.service.impl.StudentSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Trigram student search
+ */
+@DisplayName("Student Search Index")
+public class StudentSearchIndexTest {
+
+    private static final String[] FIRST_NAMES = {"Maria", "James", "Wei", "Aisha", "Olga", "Jean-Luc", "Sofía",
+        "Mohammed", "Priya", "Liam", "Noah", "Emma", "Yuki", "Chidi", "Ana", "Lars", "Fatima", "Diego", "Mei", "Omar"};
+    private static final String[] LAST_NAMES = {"Garcia", "Smith", "Nguyen", "Okafor", "Ivanova", "Picard", "Müller",
+        "Haddad", "Sharma", "O'Brien", "Kowalski", "Tanaka", "Rossi", "Silva", "Johansson", "Kim", "Ez", "Martinez",
+        "Dubois", "Fernandez", "Smithson", "Goldsmith", "Andersen", "Chen", "Zhang"};
+
+    @Test
+    @DisplayName("Matches are exactly those of the LIKE query on all four columns")
+    public void testMatchesLikeQuery() {
+        List<Student> students = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            students.add(student(id));
+        }
+        StudentSearchIndex index = new StudentSearchIndex((afterId, size) -> page(students, afterId, size));
+        Random random = new Random(21);
+        for (int round = 0; round < 400; round++) {
+            Student sample = students.get(random.nextInt(students.size()));
+            String[] fields = {sample.getStudentId(), sample.getFirstName(), sample.getLastName(), sample.getEmail()};
+            String field = fields[random.nextInt(4)];
+            int start = random.nextInt(field.length());
+            String keyword = field.substring(start, Math.min(field.length(), start + 1 + random.nextInt(7)));
+            if (random.nextBoolean()) {
+                keyword = keyword.toUpperCase(Locale.ROOT);
+            }
+
+            Set<Long> expected = new HashSet<>();
+            for (Student student : like(students, keyword)) {
+                expected.add(student.getId());
+            }
+            List<Long> found = index.search(keyword, Integer.MAX_VALUE);
+            assertEquals(expected, new HashSet<>(found), "keyword " + keyword);
+            assertEquals(found.size(), new HashSet<>(found).size());
+        }
+        assertTrue(index.search("qqq", 10).isEmpty());
+        assertTrue(index.search("smith\u0000", 10).isEmpty());
+        assertEquals(10, index.search("a", 10).size());
+    }
+
+    @Test
+    @DisplayName("Ranking puts studentId and whole-field hits first, then orders by name")
+    public void testRanking() {
+        List<Student> students = new ArrayList<>();
+        students.add(student(1L, "U100", "Ann", "Smithson", "ann.smithson@uni.example.edu"));
+        students.add(student(2L, "U101", "Bob", "Smith", "bob.smith@uni.example.edu"));
+        students.add(student(3L, "U102", "Smith", "Adams", "c.adams@uni.example.edu"));
+        students.add(student(4L, "U103", "Cleo", "Goldsmith", "cleo.g@uni.example.edu"));
+        students.add(student(5L, "SMITH7", "Dan", "Young", "dan.young@uni.example.edu"));
+        students.add(student(6L, "U104", "Eve", "Arnold", "eve.smith@uni.example.edu"));
+        StudentSearchIndex index = new StudentSearchIndex((afterId, size) -> page(students, afterId, size));
+
+        assertEquals(List.of(5L, 2L, 1L, 4L, 3L, 6L), index.search("smith", 10));
+        assertEquals(List.of(5L, 2L, 1L), index.search("SMITH", 3));
+        assertEquals(List.of(2L), index.search("u101", 10));
+    }
+
+    @Test
+    @DisplayName("Creates, updates and deletes are reflected without a reload")
+    public void testWritesFollowed() {
+        List<Student> students = new ArrayList<>();
+        students.add(student(1L, "U100", "Ann", "Lee", "ann.lee@uni.example.edu"));
+        StudentSearchIndex index = new StudentSearchIndex((afterId, size) -> page(students, afterId, size));
+        assertEquals(1, index.size());
+
+        index.put(student(2L, "U200", "Bora", "Kaya", "bora.kaya@uni.example.edu"));
+        assertEquals(List.of(2L), index.search("kaya", 10));
+
+        index.put(student(2L, "U200", "Bora", "Demir", "bora.demir@uni.example.edu"));
+        assertTrue(index.search("kaya", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("demir", 10));
+        assertEquals(List.of(2L, 1L), index.search("example", 10), "Demir sorts before Lee");
+
+        index.remove(1L);
+        assertEquals(List.of(2L), index.search("example", 10));
+        assertEquals(1, index.size());
+        index.put(student(3L, "U300", "Cem", "Lee", "cem.lee@uni.example.edu"));
+        assertEquals(List.of(3L), index.search("lee", 10));
+    }
+
+    @Test
+    @DisplayName("Benchmark - index lookup against a LIKE scan at 100,000 students")
+    public void testLargeRoster() {
+        benchmark(100_000);
+    }
+
+    /**
+     * Builds an index over count generated students and times six keywords against a LIKE scan;
+     * {@link StudentSearchIndexBenchmark} runs it at a million students outside the default suite
+     */
+    static void benchmark(int count) {
+        String[] keywords = {"smith", "garcia", "u1004", "maria.nguyen", "müller", "zz9"};
+        String[][] rows = new String[count][];
+        for (int i = 0; i < count; i++) {
+            Student student = student(i + 1L);
+            rows[i] = new String[] {student.getStudentId(), student.getFirstName(), student.getLastName(),
+                student.getEmail()};
+        }
+        long began = System.nanoTime();
+        StudentSearchIndex index = new StudentSearchIndex((afterId, size) -> {
+            List<Student> page = new ArrayList<>(size);
+            for (long id = Math.max(afterId, 0) + 1; id <= count && page.size() < size; id++) {
+                String[] row = rows[(int) id - 1];
+                page.add(student(id, row[0], row[1], row[2], row[3]));
+            }
+            return page;
+        });
+        assertEquals(count, index.size());
+        long buildNanos = System.nanoTime() - began;
+
+        long indexNanos = 0;
+        long scanNanos = 0;
+        for (String keyword : keywords) {
+            began = System.nanoTime();
+            List<Long> found = index.search(keyword, 50);
+            indexNanos += System.nanoTime() - began;
+
+            began = System.nanoTime();
+            int matches = likeScan(rows, keyword);
+            scanNanos += System.nanoTime() - began;
+
+            assertEquals(Math.min(50, matches), found.size(), "keyword " + keyword);
+        }
+        assertTrue(indexNanos < scanNanos);
+        System.out.printf("[Students] ✓ indexed %,d students (%,d trigrams) in %.0f ms%n",
+            count, index.trigramCount(), buildNanos / 1e6);
+        System.out.printf("[Students] ✓ %d searches: trigram index %.1f ms, LIKE scan %.1f ms%n",
+            keywords.length, indexNanos / 1e6, scanNanos / 1e6);
+    }
+
+    /**
+     * What the database does for the LIKE query: lower-case and test every row, then sort the matches
+     */
+    private static int likeScan(String[][] rows, String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        List<String[]> matches = new ArrayList<>();
+        for (String[] row : rows) {
+            for (String column : row) {
+                if (column.toLowerCase(Locale.ROOT).contains(needle)) {
+                    matches.add(row);
+                    break;
+                }
+            }
+        }
+        matches.sort(Comparator.comparing((String[] row) -> row[2]).thenComparing(row -> row[1]));
+        return matches.size();
+    }
+
+    private static List<Student> like(List<Student> students, String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        List<Student> matches = new ArrayList<>();
+        for (Student s : students) {
+            if (s.getStudentId().toLowerCase(Locale.ROOT).contains(needle)
+                    || s.getFirstName().toLowerCase(Locale.ROOT).contains(needle)
+                    || s.getLastName().toLowerCase(Locale.ROOT).contains(needle)
+                    || s.getEmail().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(s);
+            }
+        }
+        return matches;
+    }
+
+    private static List<Student> page(List<Student> students, long afterId, int size) {
+        List<Student> page = new ArrayList<>();
+        for (Student student : students) {
+            if (student.getId() > afterId && page.size() < size) {
+                page.add(student);
+            }
+        }
+        return page;
+    }
+
+    private static Student student(long id) {
+        String first = FIRST_NAMES[(int) (id * 7 % FIRST_NAMES.length)];
+        String last = LAST_NAMES[(int) (id * 13 % LAST_NAMES.length)];
+        String email = (first + "." + last).toLowerCase(Locale.ROOT).replace("'", "") + id + "@uni.example.edu";
+        return student(id, "U" + (1_000_000 + id), first, last, email);
+    }
+
+    private static Student student(Long id, String studentId, String first, String last, String email) {
+        Student student = new Student();
+        student.setId(id);
+        student.setStudentId(studentId);
+        student.setFirstName(first);
+        student.setLastName(last);
+        student.setEmail(email);
+        return student;
+    }
+}
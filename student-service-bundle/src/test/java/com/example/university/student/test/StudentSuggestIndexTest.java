@@ -0,0 +1,197 @@
+package com.example.university.student.test;
+
+import com.example.university.student.model.Student;
+import com.example.university.student.model.StudentSuggestion;
+import com.example.university.student.service.impl.StudentSuggestIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Type-ahead student lookup
+ */
+@DisplayName("Student Suggest Index")
+public class StudentSuggestIndexTest {
+
+    private static final String[] FIRST_NAMES = {"Maria", "James", "Wei", "Aisha", "Olga", "Jean-Luc", "Sofía",
+        "Mohammed", "Priya", "Liam", "Noah", "Emma", "Yuki", "Chidi", "Ana", "Lars", "Fatima", "Diego", "Mei", "Omar"};
+    private static final String[] LAST_NAMES = {"Garcia", "Smith", "Nguyen", "Okafor", "Ivanova", "Picard", "Müller",
+        "Haddad", "Sharma", "O'Brien", "Kowalski", "Tanaka", "Rossi", "Silva", "Johansson", "Kim", "Martinez",
+        "Dubois", "Fernandez", "Smithson", "Goldsmith", "Andersen", "Chen", "Zhang"};
+
+    @Test
+    @DisplayName("Prefixes of the student ID and of either name order match, accents and case ignored")
+    public void testPrefixes() {
+        List<Student> students = new ArrayList<>();
+        students.add(student(1L, "U1001", "José", "Müller"));
+        students.add(student(2L, "U1002", "Sean", "O'Brien"));
+        students.add(student(3L, "U1010", "Anna", "Smith"));
+        students.add(student(4L, "U2001", "Ann", "Smithson"));
+        students.add(student(5L, "X9", "Jean-Luc", "Picard"));
+        students.add(student(6L, "K7", "Kim", "Kimura"));
+        StudentSuggestIndex index = new StudentSuggestIndex((afterId, size) -> page(students, afterId, size));
+
+        assertEquals(List.of("U1001", "U1002", "U1010"), studentIds(index.suggest("u10", 10)));
+        assertEquals(List.of("U1001"), studentIds(index.suggest("muller", 10)));
+        assertEquals(List.of("U1001"), studentIds(index.suggest("JOSE M", 10)));
+        assertEquals(List.of("U1002"), studentIds(index.suggest("obri", 10)));
+        assertEquals(List.of("X9"), studentIds(index.suggest("jean luc pic", 10)));
+        assertEquals(List.of("X9"), studentIds(index.suggest("picard, jean", 10)));
+        assertEquals(List.of("U2001", "U1010"), studentIds(index.suggest("ann", 10)), "\"ann smithson\" sorts first");
+        assertEquals(List.of("U2001"), studentIds(index.suggest("ann ", 10)), "a trailing space ends the word");
+        assertEquals(List.of("U1010", "U2001"), studentIds(index.suggest("smith", 10)));
+        assertEquals(List.of("U1010"), studentIds(index.suggest("smith", 1)));
+        assertEquals(List.of("K7"), studentIds(index.suggest("kim", 50)), "both name orders match, listed once");
+        assertEquals(List.of("K7"), studentIds(index.suggest("KIM", 1)));
+        assertTrue(index.suggest("zz", 10).isEmpty());
+        assertTrue(index.suggest(" - ", 10).isEmpty());
+
+        StudentSuggestion first = index.suggest("U1001", 1).get(0);
+        assertEquals(1L, (long) first.getId());
+        assertEquals("José", first.getFirstName());
+        assertEquals("Müller", first.getLastName());
+    }
+
+    @Test
+    @DisplayName("Creates, renames and deletes are reflected without a reload")
+    public void testWritesFollowed() {
+        List<Student> students = new ArrayList<>();
+        students.add(student(1L, "U1", "Ada", "Lovelace"));
+        StudentSuggestIndex index = new StudentSuggestIndex((afterId, size) -> page(students, afterId, size));
+        assertEquals(1, index.size());
+
+        index.put(student(2L, "U2", "Alan", "Turing"));
+        assertEquals(List.of("U1", "U2"), studentIds(index.suggest("a", 10)));
+
+        index.put(student(2L, "U2", "Grace", "Hopper"));
+        assertEquals(List.of("U1"), studentIds(index.suggest("a", 10)));
+        assertEquals(List.of("U2"), studentIds(index.suggest("hop", 10)));
+        assertEquals("Grace", index.suggest("u2", 1).get(0).getFirstName());
+
+        index.remove(1L);
+        assertTrue(index.suggest("ada", 10).isEmpty());
+        assertEquals(1, index.size());
+        index.put(student(3L, "U3", "Ada", "Yonath"));
+        assertEquals(List.of("U3"), studentIds(index.suggest("ada", 10)));
+    }
+
+    @Test
+    @DisplayName("A batch merged in at once matches the same students put one by one")
+    public void testBatchInsert() {
+        List<Student> initial = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            initial.add(student(id, "U" + id, FIRST_NAMES[(int) (id % FIRST_NAMES.length)],
+                LAST_NAMES[(int) (id * 3 % LAST_NAMES.length)]));
+        }
+        StudentSuggestIndex batched = new StudentSuggestIndex((afterId, size) -> page(initial, afterId, size));
+        StudentSuggestIndex single = new StudentSuggestIndex((afterId, size) -> page(initial, afterId, size));
+        assertEquals(200, batched.size());
+        assertEquals(200, single.size());
+
+        Random random = new Random(5);
+        List<Student> batch = new ArrayList<>();
+        for (long id = 201; id <= 500; id++) {
+            batch.add(student(id, "N" + random.nextInt(1000), FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)]));
+        }
+        batch.add(student(7L, "U7", "Renamed", "Student"));
+        batched.putAll(batch);
+        for (Student student : batch) {
+            single.put(student);
+        }
+
+        assertEquals(500, batched.size());
+        for (String prefix : List.of("a", "m", "n1", "n9", "smith", "u1", "renamed", "garcia m", "zhang ")) {
+            assertEquals(studentIds(single.suggest(prefix, 50)), studentIds(batched.suggest(prefix, 50)), prefix);
+        }
+        assertEquals(List.of("U7"), studentIds(batched.suggest("student ren", 10)));
+    }
+
+    @Test
+    @DisplayName("Benchmark - keystroke lookups over 250,000 students")
+    public void testKeystrokeLatency() {
+        int count = 250_000;
+        List<Student> students = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            students.add(student(id, "U" + (1_000_000 + id), FIRST_NAMES[(int) (id * 7 % FIRST_NAMES.length)],
+                LAST_NAMES[(int) (id * 13 % LAST_NAMES.length)]));
+        }
+        long began = System.nanoTime();
+        StudentSuggestIndex index = new StudentSuggestIndex((afterId, size) -> {
+            int from = (int) Math.max(afterId, 0);
+            return students.subList(Math.min(from, count), Math.min(from + size, count));
+        });
+        assertEquals(count, index.size());
+        long loadNanos = System.nanoTime() - began;
+
+        // every prefix of a typed name or ID, as a lookup field sees it keystroke by keystroke
+        Random random = new Random(22);
+        List<String> keystrokes = new ArrayList<>();
+        while (keystrokes.size() < 200_000) {
+            Student target = students.get(random.nextInt(count));
+            String typed = random.nextBoolean() ? target.getStudentId()
+                : target.getLastName() + " " + target.getFirstName();
+            for (int length = 1; length <= typed.length(); length++) {
+                keystrokes.add(typed.substring(0, length));
+            }
+        }
+        long suggestions = 0;
+        began = System.nanoTime();
+        for (String prefix : keystrokes) {
+            suggestions += index.suggest(prefix, 10).size();
+        }
+        long queryNanos = System.nanoTime() - began;
+
+        began = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            index.put(student(count + 1L + i, "N" + i, "New", "Student" + i));
+        }
+        long writeNanos = System.nanoTime() - began;
+
+        List<Student> intake = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            intake.add(student(count + 2001L + i, "B" + i, "Batch", "Student" + i));
+        }
+        began = System.nanoTime();
+        index.putAll(intake);
+        long batchNanos = System.nanoTime() - began;
+
+        double perQueryMicros = queryNanos / 1e3 / keystrokes.size();
+        assertTrue(perQueryMicros < 1000, "sub-millisecond per keystroke");
+        assertEquals(List.of("B42", "N42"), studentIds(index.suggest("student42 ", 10)));
+        System.out.printf("[Students] ✓ loaded %,d students into the suggest index in %.0f ms%n",
+            count, loadNanos / 1e6);
+        System.out.printf("[Students] ✓ %,d keystroke lookups (%,d suggestions) at %.2f µs each; 1,000 inserts in %.0f ms"
+                + ", a batch of 1,000 in %.1f ms%n",
+            keystrokes.size(), suggestions, perQueryMicros, writeNanos / 1e6, batchNanos / 1e6);
+    }
+
+    private static List<String> studentIds(List<StudentSuggestion> suggestions) {
+        return suggestions.stream().map(StudentSuggestion::getStudentId).collect(Collectors.toList());
+    }
+
+    private static List<Student> page(List<Student> students, long afterId, int size) {
+        List<Student> page = new ArrayList<>();
+        for (Student student : students) {
+            if (student.getId() > afterId && page.size() < size) {
+                page.add(student);
+            }
+        }
+        return page;
+    }
+
+    private static Student student(Long id, String studentId, String first, String last) {
+        Student student = new Student();
+        student.setId(id);
+        student.setStudentId(studentId);
+        student.setFirstName(first);
+        student.setLastName(last);
+        student.setEmail(studentId.toLowerCase() + "@uni.example.edu");
+        return student;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.university.admission.model;
+
+/**
+ * Admission Ticket - place in the registration waiting room
+ *
+ * An admitted ticket holds one in-flight slot until it is released. A ticket that
+ * was not admitted carries a token the client sends back on retry to keep its
+ * place in line, together with its current position and an estimated wait.
+ */
+public class AdmissionTicket {
+
+    private long number;
+    private boolean admitted;
+    private String token;
+    private int position;
+    private long estimatedWaitMillis;
+    private long admittedAtNanos;
+
+    public AdmissionTicket() {
+    }
+
+    public AdmissionTicket(long number, String token) {
+        this.number = number;
+        this.token = token;
+    }
+
+    public long getNumber() { return number; }
+    public void setNumber(long number) { this.number = number; }
+    public boolean isAdmitted() { return admitted; }
+    public void setAdmitted(boolean admitted) { this.admitted = admitted; }
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public int getPosition() { return position; }
+    public void setPosition(int position) { this.position = position; }
+    public long getEstimatedWaitMillis() { return estimatedWaitMillis; }
+    public void setEstimatedWaitMillis(long estimatedWaitMillis) { this.estimatedWaitMillis = estimatedWaitMillis; }
+    public long getAdmittedAtNanos() { return admittedAtNanos; }
+    public void setAdmittedAtNanos(long admittedAtNanos) { this.admittedAtNanos = admittedAtNanos; }
+}
@@ -0,0 +1,69 @@
+package com.example.university.admission.service;
+
+import com.example.university.admission.model.AdmissionTicket;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Admission Service Interface
+ * Caps in-flight registration transactions and queues the overflow fairly
+ */
+public interface AdmissionService {
+
+    /** Request and response header carrying the admission token */
+    String TOKEN_HEADER = "X-Admission-Token";
+
+    /**
+     * Waits a bounded time for an in-flight slot
+     * @param token token from an earlier non-admitted ticket, or null for a new arrival
+     * @return an admitted ticket, or a non-admitted one with a token to retry with
+     */
+    AdmissionTicket admit(String token);
+
+    /**
+     * Frees the slot held by an admitted ticket
+     */
+    void release(AdmissionTicket ticket);
+
+    int getInFlight();
+    int getQueueLength();
+
+    /**
+     * Runs the call while holding an in-flight slot, releasing it afterwards
+     * @param queued builds the reply for a ticket that was not admitted
+     */
+    default <T> T withAdmission(String token, Supplier<T> call, Function<AdmissionTicket, T> queued) {
+        AdmissionTicket ticket = admit(token);
+        if (!ticket.isAdmitted()) {
+            return queued.apply(ticket);
+        }
+        try {
+            return call.get();
+        } finally {
+            release(ticket);
+        }
+    }
+
+    /**
+     * Body of the 429 reply every registration endpoint sends to a queued client
+     */
+    static Map<String, Object> queuedBody(AdmissionTicket ticket) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "queued");
+        body.put("message", "Registration is busy, retry with the admission token");
+        body.put("token", ticket.getToken());
+        body.put("position", ticket.getPosition());
+        body.put("estimatedWaitMillis", ticket.getEstimatedWaitMillis());
+        return body;
+    }
+
+    /**
+     * Value for the Retry-After header, in whole seconds and at least one
+     */
+    static long retryAfterSeconds(AdmissionTicket ticket) {
+        return Math.max(1L, (ticket.getEstimatedWaitMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk Enrollment Report - UC6: Manage Course Enrollment
+ * Outcome of a CSV enrollment import; rejected rows are listed by line number, up to a cap.
+ */
+public class BulkEnrollmentReport {
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private int batches;
+    private long elapsedMillis;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    public int getBatches() { return batches; }
+    public void setBatches(int batches) { this.batches = batches; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    /**
+     * One rejected CSV row
+     */
+    public static class RowError {
+
+        private long line;
+        private String studentId;
+        private String course;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(long line, String studentId, String course, String message) {
+            this.line = line;
+            this.studentId = studentId;
+            this.course = course;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        public String getStudentId() { return studentId; }
+        public void setStudentId(String studentId) { this.studentId = studentId; }
+        public String getCourse() { return course; }
+        public void setCourse(String course) { this.course = course; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.university.course.model;
+
+/**
+ * Catalog Cache Stats - UC5
+ * Counters of the course service's read-through catalog cache since startup
+ */
+public class CatalogCacheStats {
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private int coursesById;
+    private int coursesByCode;
+    private int departmentLists;
+    private boolean fullCatalogCached;
+    private int maxEntries;
+    private long ttlMillis;
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+    public long getInvalidations() { return invalidations; }
+    public void setInvalidations(long invalidations) { this.invalidations = invalidations; }
+    public int getCoursesById() { return coursesById; }
+    public void setCoursesById(int coursesById) { this.coursesById = coursesById; }
+    public int getCoursesByCode() { return coursesByCode; }
+    public void setCoursesByCode(int coursesByCode) { this.coursesByCode = coursesByCode; }
+    public int getDepartmentLists() { return departmentLists; }
+    public void setDepartmentLists(int departmentLists) { this.departmentLists = departmentLists; }
+    public boolean isFullCatalogCached() { return fullCatalogCached; }
+    public void setFullCatalogCached(boolean fullCatalogCached) { this.fullCatalogCached = fullCatalogCached; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public long getTtlMillis() { return ttlMillis; }
+    public void setTtlMillis(long ttlMillis) { this.ttlMillis = ttlMillis; }
+}
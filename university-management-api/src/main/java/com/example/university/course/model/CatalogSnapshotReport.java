@@ -0,0 +1,40 @@
+package com.example.university.course.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catalog Snapshot Report - UC5: View Course Information
+ * Outcome of a binary catalog snapshot import. Rows whose id or unique key already
+ * exists are read but skipped, so re-importing the same snapshot imports nothing.
+ */
+public class CatalogSnapshotReport {
+
+    private int formatVersion;
+    private LocalDateTime snapshotCreatedAt;
+    private int coursesRead;
+    private int schedulesRead;
+    private int prerequisitesRead;
+    private int coursesImported;
+    private int schedulesImported;
+    private int prerequisitesImported;
+    private long elapsedMillis;
+
+    public int getFormatVersion() { return formatVersion; }
+    public void setFormatVersion(int formatVersion) { this.formatVersion = formatVersion; }
+    public LocalDateTime getSnapshotCreatedAt() { return snapshotCreatedAt; }
+    public void setSnapshotCreatedAt(LocalDateTime snapshotCreatedAt) { this.snapshotCreatedAt = snapshotCreatedAt; }
+    public int getCoursesRead() { return coursesRead; }
+    public void setCoursesRead(int coursesRead) { this.coursesRead = coursesRead; }
+    public int getSchedulesRead() { return schedulesRead; }
+    public void setSchedulesRead(int schedulesRead) { this.schedulesRead = schedulesRead; }
+    public int getPrerequisitesRead() { return prerequisitesRead; }
+    public void setPrerequisitesRead(int prerequisitesRead) { this.prerequisitesRead = prerequisitesRead; }
+    public int getCoursesImported() { return coursesImported; }
+    public void setCoursesImported(int coursesImported) { this.coursesImported = coursesImported; }
+    public int getSchedulesImported() { return schedulesImported; }
+    public void setSchedulesImported(int schedulesImported) { this.schedulesImported = schedulesImported; }
+    public int getPrerequisitesImported() { return prerequisitesImported; }
+    public void setPrerequisitesImported(int prerequisitesImported) { this.prerequisitesImported = prerequisitesImported; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
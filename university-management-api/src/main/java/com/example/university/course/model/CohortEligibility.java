@@ -0,0 +1,37 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cohort Eligibility - UC8: Check Course Prerequisites
+ *
+ * Eligibility matrix for a cohort. Row i belongs to studentIds[i]; character j of a
+ * row is '1' when that student meets the mandatory prerequisites of courseIds[j].
+ */
+public class CohortEligibility {
+
+    private List<String> studentIds = new ArrayList<>();
+    private List<Long> courseIds = new ArrayList<>();
+    private List<String> rows = new ArrayList<>();
+
+    public CohortEligibility() {
+    }
+
+    public CohortEligibility(List<String> studentIds, List<Long> courseIds, List<String> rows) {
+        this.studentIds = studentIds;
+        this.courseIds = courseIds;
+        this.rows = rows;
+    }
+
+    public boolean isEligible(int student, int course) {
+        return rows.get(student).charAt(course) == '1';
+    }
+
+    public List<String> getStudentIds() { return studentIds; }
+    public void setStudentIds(List<String> studentIds) { this.studentIds = studentIds; }
+    public List<Long> getCourseIds() { return courseIds; }
+    public void setCourseIds(List<Long> courseIds) { this.courseIds = courseIds; }
+    public List<String> getRows() { return rows; }
+    public void setRows(List<String> rows) { this.rows = rows; }
+}
@@ -0,0 +1,22 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cohort Eligibility Request - UC8: Check Course Prerequisites
+ * A cohort is either every student enrolled in an academic year or an explicit list of student IDs
+ */
+public class CohortEligibilityRequest {
+
+    private String academicYear;
+    private List<String> studentIds = new ArrayList<>();
+    private List<Long> courseIds = new ArrayList<>();
+
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public List<String> getStudentIds() { return studentIds; }
+    public void setStudentIds(List<String> studentIds) { this.studentIds = studentIds; }
+    public List<Long> getCourseIds() { return courseIds; }
+    public void setCourseIds(List<Long> courseIds) { this.courseIds = courseIds; }
+}
@@ -10,6 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "course_enrollments", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"course_id", "student_id"})
+}, indexes = {
+    @Index(name = "idx_course_enrollments_year_student", columnList = "academic_year, student_id, id")
 })
 public class CourseEnrollment {
 
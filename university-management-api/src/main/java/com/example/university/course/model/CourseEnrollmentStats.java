@@ -0,0 +1,35 @@
+package com.example.university.course.model;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Course Enrollment Stats - UC6: Manage Course Enrollment
+ * Enrollment counts of one course by status, served from in-memory counters
+ */
+public class CourseEnrollmentStats {
+
+    private Long courseId;
+    private String courseCode;
+    private Integer maxCapacity;
+    private Map<String, Long> countsByStatus = new LinkedHashMap<>();
+    private long total;
+    private long seatsHeld;
+    private LocalDateTime reconciledAt;
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+    public Integer getMaxCapacity() { return maxCapacity; }
+    public void setMaxCapacity(Integer maxCapacity) { this.maxCapacity = maxCapacity; }
+    public Map<String, Long> getCountsByStatus() { return countsByStatus; }
+    public void setCountsByStatus(Map<String, Long> countsByStatus) { this.countsByStatus = countsByStatus; }
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public long getSeatsHeld() { return seatsHeld; }
+    public void setSeatsHeld(long seatsHeld) { this.seatsHeld = seatsHeld; }
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
  * Course Schedule Entity - UC7: Set Course Timetable
  */
 @Entity
-@Table(name = "course_schedules")
+@Table(name = "course_schedules", indexes = {
+    @Index(name = "idx_course_schedules_venue_slot", columnList = "venue, day_of_week, start_time, id")
+})
 public class CourseSchedule {
 
     @Id
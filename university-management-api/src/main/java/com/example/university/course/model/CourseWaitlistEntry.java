@@ -0,0 +1,88 @@
+package com.example.university.course.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Course Waitlist Entry Entity - UC6: Manage Course Enrollment
+ */
+@Entity
+@Table(name = "course_waitlist", indexes = {
+    @Index(name = "idx_course_waitlist_queue", columnList = "course_id, status, position"),
+    @Index(name = "idx_course_waitlist_student", columnList = "course_id, student_id, status")
+})
+public class CourseWaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+
+    @Column(name = "student_name")
+    private String studentName;
+
+    @Column(name = "position", nullable = false)
+    private Long position;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    @Column(name = "semester", nullable = false)
+    private String semester;
+
+    @Column(name = "academic_year", nullable = false)
+    private String academicYear;
+
+    @Column(name = "promoted_enrollment_id")
+    private Long promotedEnrollmentId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+    public WaitlistStatus getStatus() { return status; }
+    public void setStatus(WaitlistStatus status) { this.status = status; }
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public Long getPromotedEnrollmentId() { return promotedEnrollmentId; }
+    public void setPromotedEnrollmentId(Long promotedEnrollmentId) { this.promotedEnrollmentId = promotedEnrollmentId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public enum WaitlistStatus {
+        WAITING, PROMOTED, SKIPPED, CANCELLED
+    }
+}
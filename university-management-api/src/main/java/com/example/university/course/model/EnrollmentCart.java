@@ -0,0 +1,28 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enrollment Cart - UC6: Manage Course Enrollment
+ * Request to register one student in several courses at once
+ */
+public class EnrollmentCart {
+
+    private String studentId;
+    private String studentName;
+    private String semester;
+    private String academicYear;
+    private List<Long> courseIds = new ArrayList<>();
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public List<Long> getCourseIds() { return courseIds; }
+    public void setCourseIds(List<Long> courseIds) { this.courseIds = courseIds; }
+}
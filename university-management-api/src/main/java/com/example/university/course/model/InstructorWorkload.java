@@ -0,0 +1,46 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instructor Workload - UC7: Set Course Timetable
+ * Weekly contact hours, student headcount and credit load of one instructor in one term.
+ * Contact hours count the active schedules the instructor teaches, whether as the course
+ * instructor or as the schedule's own; headcount and credits count only the courses they are
+ * the instructor of record for, so a shared course is counted once.
+ */
+public class InstructorWorkload {
+
+    private String instructorId;
+    private String instructorName;
+    private String semester;
+    private String academicYear;
+    private double weeklyContactHours;
+    private int sessionCount;
+    private int courseCount;
+    private int studentHeadcount;
+    private int creditLoad;
+    private List<String> courseCodes = new ArrayList<>();
+
+    public String getInstructorId() { return instructorId; }
+    public void setInstructorId(String instructorId) { this.instructorId = instructorId; }
+    public String getInstructorName() { return instructorName; }
+    public void setInstructorName(String instructorName) { this.instructorName = instructorName; }
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public double getWeeklyContactHours() { return weeklyContactHours; }
+    public void setWeeklyContactHours(double weeklyContactHours) { this.weeklyContactHours = weeklyContactHours; }
+    public int getSessionCount() { return sessionCount; }
+    public void setSessionCount(int sessionCount) { this.sessionCount = sessionCount; }
+    public int getCourseCount() { return courseCount; }
+    public void setCourseCount(int courseCount) { this.courseCount = courseCount; }
+    public int getStudentHeadcount() { return studentHeadcount; }
+    public void setStudentHeadcount(int studentHeadcount) { this.studentHeadcount = studentHeadcount; }
+    public int getCreditLoad() { return creditLoad; }
+    public void setCreditLoad(int creditLoad) { this.creditLoad = creditLoad; }
+    public List<String> getCourseCodes() { return courseCodes; }
+    public void setCourseCodes(List<String> courseCodes) { this.courseCodes = courseCodes; }
+}
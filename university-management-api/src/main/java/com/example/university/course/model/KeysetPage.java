@@ -0,0 +1,35 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset Page - one page of a list ordered by a unique key
+ * Pass next back as the after parameter to fetch the following page; null means the list is exhausted
+ */
+public class KeysetPage<T> {
+
+    private List<T> items = new ArrayList<>();
+    private int limit;
+    private String next;
+
+    public KeysetPage() {
+    }
+
+    public KeysetPage(List<T> items, int limit, String next) {
+        this.items = items;
+        this.limit = limit;
+        this.next = next;
+    }
+
+    public boolean isHasMore() {
+        return next != null;
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+}
@@ -0,0 +1,64 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prerequisite Impact - UC8: Check Course Prerequisites
+ * Courses that directly or transitively require a course, with the in-progress students
+ * (PENDING or ENROLLED) who would be affected if it changed or were retired.
+ */
+public class PrerequisiteImpact {
+
+    private Long courseId;
+    private String courseCode;
+    private long inProgressStudents;
+    private int affectedCourseCount;
+    private int mandatoryAffectedCount;
+    private long affectedInProgressEnrollments;
+    private long affectedStudents;
+    private List<AffectedCourse> affectedCourses = new ArrayList<>();
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+    public long getInProgressStudents() { return inProgressStudents; }
+    public void setInProgressStudents(long inProgressStudents) { this.inProgressStudents = inProgressStudents; }
+    public int getAffectedCourseCount() { return affectedCourseCount; }
+    public void setAffectedCourseCount(int affectedCourseCount) { this.affectedCourseCount = affectedCourseCount; }
+    public int getMandatoryAffectedCount() { return mandatoryAffectedCount; }
+    public void setMandatoryAffectedCount(int mandatoryAffectedCount) { this.mandatoryAffectedCount = mandatoryAffectedCount; }
+    public long getAffectedInProgressEnrollments() { return affectedInProgressEnrollments; }
+    public void setAffectedInProgressEnrollments(long affectedInProgressEnrollments) { this.affectedInProgressEnrollments = affectedInProgressEnrollments; }
+    public long getAffectedStudents() { return affectedStudents; }
+    public void setAffectedStudents(long affectedStudents) { this.affectedStudents = affectedStudents; }
+    public List<AffectedCourse> getAffectedCourses() { return affectedCourses; }
+    public void setAffectedCourses(List<AffectedCourse> affectedCourses) { this.affectedCourses = affectedCourses; }
+
+    /**
+     * One downstream course; depth 1 requires the course directly
+     */
+    public static class AffectedCourse {
+
+        private Long courseId;
+        private String courseCode;
+        private String courseName;
+        private int depth;
+        private boolean mandatory;
+        private long inProgressStudents;
+
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+        public String getCourseCode() { return courseCode; }
+        public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+        public String getCourseName() { return courseName; }
+        public void setCourseName(String courseName) { this.courseName = courseName; }
+        public int getDepth() { return depth; }
+        public void setDepth(int depth) { this.depth = depth; }
+        public boolean isMandatory() { return mandatory; }
+        public void setMandatory(boolean mandatory) { this.mandatory = mandatory; }
+        public long getInProgressStudents() { return inProgressStudents; }
+        public void setInProgressStudents(long inProgressStudents) { this.inProgressStudents = inProgressStudents; }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.university.course.model;
+
+import java.time.LocalTime;
+
+/**
+ * Schedule Clash - UC7: Set Course Timetable
+ * Two active schedules that book the same venue or instructor at overlapping times
+ */
+public class ScheduleClash {
+
+    public enum ClashType {
+        VENUE, INSTRUCTOR
+    }
+
+    private ClashType clashType;
+    private String resource;
+    private String dayOfWeek;
+    private Long firstScheduleId;
+    private String firstCourseCode;
+    private Long secondScheduleId;
+    private String secondCourseCode;
+    private LocalTime overlapStart;
+    private LocalTime overlapEnd;
+
+    public ClashType getClashType() { return clashType; }
+    public void setClashType(ClashType clashType) { this.clashType = clashType; }
+    public String getResource() { return resource; }
+    public void setResource(String resource) { this.resource = resource; }
+    public String getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(String dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+    public Long getFirstScheduleId() { return firstScheduleId; }
+    public void setFirstScheduleId(Long firstScheduleId) { this.firstScheduleId = firstScheduleId; }
+    public String getFirstCourseCode() { return firstCourseCode; }
+    public void setFirstCourseCode(String firstCourseCode) { this.firstCourseCode = firstCourseCode; }
+    public Long getSecondScheduleId() { return secondScheduleId; }
+    public void setSecondScheduleId(Long secondScheduleId) { this.secondScheduleId = secondScheduleId; }
+    public String getSecondCourseCode() { return secondCourseCode; }
+    public void setSecondCourseCode(String secondCourseCode) { this.secondCourseCode = secondCourseCode; }
+    public LocalTime getOverlapStart() { return overlapStart; }
+    public void setOverlapStart(LocalTime overlapStart) { this.overlapStart = overlapStart; }
+    public LocalTime getOverlapEnd() { return overlapEnd; }
+    public void setOverlapEnd(LocalTime overlapEnd) { this.overlapEnd = overlapEnd; }
+}
@@ -0,0 +1,69 @@
+package com.example.university.course.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Section Assignment Entity - UC7: Set Course Timetable
+ * The LAB or TUTORIAL schedule of a course that one enrolled student attends.
+ */
+@Entity
+@Table(name = "course_section_assignments", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"course_id", "student_id", "section_type"})
+}, indexes = {
+    @Index(name = "idx_course_section_assignments_schedule", columnList = "schedule_id")
+})
+public class SectionAssignment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "schedule_id", nullable = false)
+    private Long scheduleId;
+
+    @Column(name = "section_type", nullable = false)
+    private String sectionType;
+
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+
+    @Column(name = "semester", nullable = false)
+    private String semester;
+
+    @Column(name = "academic_year", nullable = false)
+    private String academicYear;
+
+    @Column(name = "clashes")
+    private Boolean clashes = false;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    public Long getScheduleId() { return scheduleId; }
+    public void setScheduleId(Long scheduleId) { this.scheduleId = scheduleId; }
+    public String getSectionType() { return sectionType; }
+    public void setSectionType(String sectionType) { this.sectionType = sectionType; }
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public Boolean getClashes() { return clashes; }
+    public void setClashes(Boolean clashes) { this.clashes = clashes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
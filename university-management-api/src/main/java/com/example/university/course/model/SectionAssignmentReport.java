@@ -0,0 +1,68 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Section Assignment Report - UC7: Set Course Timetable
+ * Outcome of splitting the enrolled students of every course in a term across its LAB and
+ * TUTORIAL sections. Students are only left unassigned when the sections lack seats; a clash
+ * means no section of that type fitted around the student's other classes.
+ */
+public class SectionAssignmentReport {
+
+    private String semester;
+    private String academicYear;
+    private int courseCount;
+    private long assigned;
+    private long unassigned;
+    private long clashes;
+    private long elapsedMillis;
+    private List<CourseSections> courses = new ArrayList<>();
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public int getCourseCount() { return courseCount; }
+    public void setCourseCount(int courseCount) { this.courseCount = courseCount; }
+    public long getAssigned() { return assigned; }
+    public void setAssigned(long assigned) { this.assigned = assigned; }
+    public long getUnassigned() { return unassigned; }
+    public void setUnassigned(long unassigned) { this.unassigned = unassigned; }
+    public long getClashes() { return clashes; }
+    public void setClashes(long clashes) { this.clashes = clashes; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public List<CourseSections> getCourses() { return courses; }
+    public void setCourses(List<CourseSections> courses) { this.courses = courses; }
+
+    /**
+     * One section type of one course
+     */
+    public static class CourseSections {
+
+        private Long courseId;
+        private String sectionType;
+        private int sections;
+        private int students;
+        private int assigned;
+        private int clashes;
+        private List<String> unassignedStudents = new ArrayList<>();
+
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+        public String getSectionType() { return sectionType; }
+        public void setSectionType(String sectionType) { this.sectionType = sectionType; }
+        public int getSections() { return sections; }
+        public void setSections(int sections) { this.sections = sections; }
+        public int getStudents() { return students; }
+        public void setStudents(int students) { this.students = students; }
+        public int getAssigned() { return assigned; }
+        public void setAssigned(int assigned) { this.assigned = assigned; }
+        public int getClashes() { return clashes; }
+        public void setClashes(int clashes) { this.clashes = clashes; }
+        public List<String> getUnassignedStudents() { return unassignedStudents; }
+        public void setUnassignedStudents(List<String> unassignedStudents) { this.unassignedStudents = unassignedStudents; }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.university.course.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Student Timetable - UC7: Set Course Timetable
+ * Weekly active schedules of the courses a student holds a seat in, ordered by day and start time.
+ * version changes whenever the content does and is used as the strong ETag.
+ */
+public class StudentTimetable {
+
+    private String studentId;
+    private String version;
+    private LocalDateTime generatedAt;
+    private List<CourseSchedule> schedules = new ArrayList<>();
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+    public String getVersion() { return version; }
+    public void setVersion(String version) { this.version = version; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+    public List<CourseSchedule> getSchedules() { return schedules; }
+    public void setSchedules(List<CourseSchedule> schedules) { this.schedules = schedules; }
+}
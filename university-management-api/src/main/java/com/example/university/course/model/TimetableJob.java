@@ -0,0 +1,60 @@
+package com.example.university.course.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timetable Job - UC7: Set Course Timetable
+ * Snapshot of a timetable generation run, polled while the solver works
+ */
+public class TimetableJob {
+
+    public enum JobStatus {
+        RUNNING, COMPLETED, CANCELLED, COMMITTED, FAILED
+    }
+
+    private String jobId;
+    private String semester;
+    private String academicYear;
+    private JobStatus status;
+    private LocalDateTime startedAt;
+    private long elapsedMillis;
+    private long timeBudgetMillis;
+    private double progress;
+    private long iterations;
+    private Long bestScore;
+    private int totalSessions;
+    private int unplacedSessions;
+    private String message;
+    private List<CourseSchedule> schedules = new ArrayList<>();
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public long getTimeBudgetMillis() { return timeBudgetMillis; }
+    public void setTimeBudgetMillis(long timeBudgetMillis) { this.timeBudgetMillis = timeBudgetMillis; }
+    public double getProgress() { return progress; }
+    public void setProgress(double progress) { this.progress = progress; }
+    public long getIterations() { return iterations; }
+    public void setIterations(long iterations) { this.iterations = iterations; }
+    public Long getBestScore() { return bestScore; }
+    public void setBestScore(Long bestScore) { this.bestScore = bestScore; }
+    public int getTotalSessions() { return totalSessions; }
+    public void setTotalSessions(int totalSessions) { this.totalSessions = totalSessions; }
+    public int getUnplacedSessions() { return unplacedSessions; }
+    public void setUnplacedSessions(int unplacedSessions) { this.unplacedSessions = unplacedSessions; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public List<CourseSchedule> getSchedules() { return schedules; }
+    public void setSchedules(List<CourseSchedule> schedules) { this.schedules = schedules; }
+}
@@ -0,0 +1,43 @@
+package com.example.university.course.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timetable Request - UC7: Set Course Timetable
+ *
+ * Asks for a generated timetable covering every active course of a semester that
+ * has no active schedule yet. Each course gets one session per credit (at most one
+ * per teaching day), in venues whose capacity fits the course's maxCapacity.
+ */
+public class TimetableRequest {
+
+    private String semester;
+    private String academicYear;
+    private Map<String, Integer> venueCapacities = new HashMap<>();
+    private List<String> days = new ArrayList<>(Arrays.asList("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"));
+    private String dayStart = "08:00";
+    private String dayEnd = "18:00";
+    private Integer sessionMinutes = 60;
+    private Long timeBudgetMillis = 10_000L;
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public Map<String, Integer> getVenueCapacities() { return venueCapacities; }
+    public void setVenueCapacities(Map<String, Integer> venueCapacities) { this.venueCapacities = venueCapacities; }
+    public List<String> getDays() { return days; }
+    public void setDays(List<String> days) { this.days = days; }
+    public String getDayStart() { return dayStart; }
+    public void setDayStart(String dayStart) { this.dayStart = dayStart; }
+    public String getDayEnd() { return dayEnd; }
+    public void setDayEnd(String dayEnd) { this.dayEnd = dayEnd; }
+    public Integer getSessionMinutes() { return sessionMinutes; }
+    public void setSessionMinutes(Integer sessionMinutes) { this.sessionMinutes = sessionMinutes; }
+    public Long getTimeBudgetMillis() { return timeBudgetMillis; }
+    public void setTimeBudgetMillis(Long timeBudgetMillis) { this.timeBudgetMillis = timeBudgetMillis; }
+}
@@ -1,10 +1,31 @@
 package com.example.university.course.service;
 
+import com.example.university.course.model.BulkEnrollmentReport;
+import com.example.university.course.model.CatalogCacheStats;
+import com.example.university.course.model.CatalogSnapshotReport;
+import com.example.university.course.model.CohortEligibility;
+import com.example.university.course.model.CohortEligibilityRequest;
 import com.example.university.course.model.Course;
 import com.example.university.course.model.CourseEnrollment;
+import com.example.university.course.model.CourseEnrollmentStats;
 import com.example.university.course.model.CourseSchedule;
 import com.example.university.course.model.CoursePrerequisite;
+import com.example.university.course.model.CourseWaitlistEntry;
+import com.example.university.course.model.EnrollmentCart;
+import com.example.university.course.model.InstructorWorkload;
+import com.example.university.course.model.KeysetPage;
+import com.example.university.course.model.PrerequisiteImpact;
+import com.example.university.course.model.ScheduleClash;
+import com.example.university.course.model.SectionAssignment;
+import com.example.university.course.model.SectionAssignmentReport;
+import com.example.university.course.model.StudentTimetable;
+import com.example.university.course.model.TimetableJob;
+import com.example.university.course.model.TimetableRequest;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Course Service Interface - UC5 to UC8
@@ -22,6 +43,11 @@ public interface CourseService {
     List<Course> getCoursesByAcademicYear(String academicYear);
     List<Course> getCoursesBySemester(String semester);
     void deleteCourse(Long id);
+    KeysetPage<Course> getCoursesPage(String after, int limit);
+    List<Course> searchCourses(String query, int limit);
+    CatalogCacheStats getCatalogCacheStats();
+    void exportCatalogSnapshot(OutputStream out);
+    CatalogSnapshotReport importCatalogSnapshot(InputStream in);
     
     // UC6: Manage Course Enrollment
     CourseEnrollment enrollStudent(CourseEnrollment enrollment);
@@ -31,9 +57,18 @@ public interface CourseService {
     List<CourseEnrollment> getEnrollmentsByStudent(String studentId);
     List<CourseEnrollment> getEnrollmentsByCourse(Long courseId);
     List<CourseEnrollment> getEnrollmentsByAcademicYear(String academicYear);
+    KeysetPage<CourseEnrollment> getEnrollmentsByCoursePage(Long courseId, String after, int limit);
+    KeysetPage<CourseEnrollment> getEnrollmentsByAcademicYearPage(String academicYear, String after, int limit);
+    CourseEnrollmentStats getEnrollmentStats(Long courseId);
     void dropCourse(Long enrollmentId);
     void approveEnrollment(Long enrollmentId, String approvedBy);
     boolean validateEnrollmentCapacity(Long courseId);
+    CourseWaitlistEntry joinWaitlist(CourseWaitlistEntry entry);
+    List<CourseWaitlistEntry> getWaitlistByCourse(Long courseId);
+    int getWaitlistPosition(Long courseId, String studentId);
+    Map<Long, List<String>> validateEnrollmentCart(EnrollmentCart cart);
+    List<CourseEnrollment> enrollCart(EnrollmentCart cart);
+    BulkEnrollmentReport importEnrollments(InputStream csv);
     
     // UC7: Set Course Timetable
     CourseSchedule addSchedule(CourseSchedule schedule);
@@ -42,8 +77,21 @@ public interface CourseService {
     List<CourseSchedule> getSchedulesByCourse(Long courseId);
     List<CourseSchedule> getSchedulesByInstructor(String instructorId);
     List<CourseSchedule> getSchedulesByVenue(String venue);
+    KeysetPage<CourseSchedule> getSchedulesByVenuePage(String venue, String after, int limit);
     List<CourseSchedule> getSchedulesByDayOfWeek(String dayOfWeek);
     void deleteSchedule(Long id);
+    List<ScheduleClash> getScheduleClashes(String semester, String academicYear);
+    Map<String, Integer> findFreeVenues(String semester, String academicYear, String dayOfWeek,
+                                        LocalTime from, LocalTime to, int minCapacity);
+    TimetableJob generateTimetable(TimetableRequest request);
+    TimetableJob getTimetableJob(String jobId);
+    TimetableJob cancelTimetable(String jobId);
+    List<CourseSchedule> commitTimetable(String jobId);
+    StudentTimetable getStudentTimetable(String studentId);
+    String getStudentTimetableIcs(StudentTimetable timetable);
+    List<InstructorWorkload> getInstructorWorkload(String semester, String academicYear);
+    SectionAssignmentReport assignSections(String semester, String academicYear);
+    List<SectionAssignment> getSectionAssignments(Long courseId);
     
     // UC8: Check Course Prerequisites
     CoursePrerequisite addPrerequisite(CoursePrerequisite prerequisite);
@@ -54,4 +102,10 @@ public interface CourseService {
     void deletePrerequisite(Long id);
     boolean validateStudentPrerequisites(String studentId, Long courseId);
     List<String> getFailedPrerequisites(String studentId, Long courseId);
+    CohortEligibility validateCohortPrerequisites(CohortEligibilityRequest request);
+    List<String> getEligibleCourses(String studentId);
+    List<List<String>> getRemainingPath(String studentId, Long targetCourseId);
+    PrerequisiteImpact getPrerequisiteImpact(Long courseId);
+    /** Drops the student's cached completed courses, e.g. after a grade was recorded elsewhere */
+    void invalidateCompletions(String studentId);
 }
@@ -10,6 +10,7 @@ public interface GradingService {
     
     Grade submitGrade(Grade grade);
     List<Grade> getAllGrades();
+    List<Grade> getGradesByStudent(String studentId);
     Double calculateGPA(String studentId);
     String generateTranscript(String studentId);
 }
@@ -0,0 +1,152 @@
+package com.example.university.util;
+
+import jakarta.transaction.HeuristicMixedException;
+import jakarta.transaction.HeuristicRollbackException;
+import jakarta.transaction.InvalidTransactionException;
+import jakarta.transaction.NotSupportedException;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Ties in-memory state to the outcome of the caller's JTA transaction
+ *
+ * A flush through the container-managed EntityManager is not a commit. An index
+ * changed right after it would show rows that may still roll back, and a reader
+ * arriving before the commit would cache the old row again. {@link #afterCommit}
+ * defers such a change until the transaction has committed and drops it on
+ * rollback; {@link #afterRollback} gives back an optimistic reservation when the
+ * transaction does not commit. With no transaction manager bound, or no
+ * transaction active, the write has already taken effect and commit actions run
+ * at once.
+ *
+ * {@link #inNewTransaction} runs work in a transaction of its own, suspending the
+ * caller's, so bulk imports can commit chunk by chunk.
+ */
+public class TransactionHooks {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionHooks.class);
+
+    private volatile TransactionManager transactionManager;
+
+    public void setTransactionManager(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    public void afterCommit(Runnable onCommit) {
+        afterCompletion(onCommit, null);
+    }
+
+    public void afterRollback(Runnable onRollback) {
+        afterCompletion(null, onRollback);
+    }
+
+    /**
+     * Runs onCommit once the current transaction commits and onRollback if it does not;
+     * either may be null
+     */
+    public void afterCompletion(Runnable onCommit, Runnable onRollback) {
+        Transaction transaction = activeTransaction();
+        if (transaction == null) {
+            run(onCommit);
+            return;
+        }
+        try {
+            transaction.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    run(status == Status.STATUS_COMMITTED ? onCommit : onRollback);
+                }
+            });
+        } catch (RollbackException e) {
+            // already marked for rollback: it will never commit
+            run(onRollback);
+        } catch (SystemException e) {
+            throw new IllegalStateException("Could not register transaction callback", e);
+        }
+    }
+
+    /**
+     * Runs the work in a new transaction and commits it before returning; the caller's
+     * transaction, if any, is suspended meanwhile. Without a transaction manager the
+     * work runs in the caller's context.
+     * @throws IllegalStateException if the transaction could not be started or committed
+     */
+    public <T> T inNewTransaction(Supplier<T> work) {
+        TransactionManager manager = transactionManager;
+        if (manager == null) {
+            return work.get();
+        }
+        Transaction suspended = null;
+        try {
+            if (manager.getStatus() != Status.STATUS_NO_TRANSACTION) {
+                suspended = manager.suspend();
+            }
+            manager.begin();
+            T result;
+            try {
+                result = work.get();
+            } catch (RuntimeException | Error e) {
+                rollbackQuietly(manager);
+                throw e;
+            }
+            manager.commit();
+            return result;
+        } catch (NotSupportedException | SystemException | RollbackException
+                 | HeuristicMixedException | HeuristicRollbackException e) {
+            throw new IllegalStateException("Transaction did not commit: " + e.getMessage(), e);
+        } finally {
+            if (suspended != null) {
+                try {
+                    manager.resume(suspended);
+                } catch (InvalidTransactionException | SystemException e) {
+                    logger.error("Could not resume the suspended transaction", e);
+                }
+            }
+        }
+    }
+
+    private Transaction activeTransaction() {
+        TransactionManager manager = transactionManager;
+        if (manager == null) {
+            return null;
+        }
+        try {
+            int status = manager.getStatus();
+            return status == Status.STATUS_ACTIVE || status == Status.STATUS_MARKED_ROLLBACK
+                ? manager.getTransaction() : null;
+        } catch (SystemException e) {
+            throw new IllegalStateException("Could not read transaction status", e);
+        }
+    }
+
+    private static void rollbackQuietly(TransactionManager manager) {
+        try {
+            manager.rollback();
+        } catch (IllegalStateException | SecurityException | SystemException e) {
+            logger.warn("Rollback failed", e);
+        }
+    }
+
+    private static void run(Runnable action) {
+        if (action == null) {
+            return;
+        }
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.error("Transaction callback failed", e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.university.admission.service.impl;
+
+import com.example.university.admission.model.AdmissionTicket;
+import com.example.university.admission.service.AdmissionService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Virtual waiting room for the registration endpoints
+ *
+ * At most {@code admission.maxInFlight} enrollment requests run at once. Further
+ * arrivals wait in ticket order for up to {@code admission.maxWaitMillis}; whoever
+ * is still queued after that gets a signed token and an estimated wait instead of
+ * a timeout. Retrying with the token keeps the original ticket number, so the
+ * client re-enters ahead of everyone who arrived later. A token is good for one
+ * retry: redeeming it takes the number out of the parked set, and a token whose
+ * number is no longer parked - already redeemed, admitted or expired - is treated
+ * as a new arrival.
+ */
+@Component(service = AdmissionService.class, immediate = true)
+public class AdmissionServiceImpl implements AdmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionServiceImpl.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition turn = lock.newCondition();
+    private final TreeSet<Long> waiting = new TreeSet<>();
+    private final TreeMap<Long, Long> parked = new TreeMap<>();
+    private final AtomicLong nextNumber = new AtomicLong(1);
+    private final byte[] tokenKey = new byte[32];
+
+    private int maxInFlight = 32;
+    private long maxWaitMillis = 2_000L;
+    private int maxQueueLength = 1_000;
+    private long tokenTtlMillis = TimeUnit.MINUTES.toMillis(10);
+
+    private int inFlight;
+    private double averageServiceMillis = 50.0;
+    private long lastPurgeMillis;
+
+    public AdmissionServiceImpl() {
+        new SecureRandom().nextBytes(tokenKey);
+    }
+
+    @Activate
+    public void activate(Map<String, Object> properties) {
+        maxInFlight = intProperty(properties, "admission.maxInFlight", maxInFlight);
+        maxWaitMillis = intProperty(properties, "admission.maxWaitMillis", (int) maxWaitMillis);
+        maxQueueLength = intProperty(properties, "admission.maxQueueLength", maxQueueLength);
+        tokenTtlMillis = TimeUnit.SECONDS.toMillis(
+            intProperty(properties, "admission.tokenTtlSeconds", (int) TimeUnit.MILLISECONDS.toSeconds(tokenTtlMillis)));
+        logger.info("Admission control active: maxInFlight={}, maxWaitMillis={}, maxQueueLength={}",
+            maxInFlight, maxWaitMillis, maxQueueLength);
+    }
+
+    @Override
+    public AdmissionTicket admit(String token) {
+        long presented = verify(token);
+
+        lock.lock();
+        AdmissionTicket ticket = null;
+        boolean redeemed = false;
+        try {
+            purgeExpiredTokens();
+            redeemed = presented >= 0 && parked.remove(presented) != null;
+            long number = redeemed ? presented : nextNumber.getAndIncrement();
+            ticket = new AdmissionTicket(number, token);
+            if (waiting.size() >= maxQueueLength) {
+                return park(ticket, redeemed);
+            }
+            waiting.add(number);
+            long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+            while (inFlight >= maxInFlight || waiting.first() != number) {
+                if (remaining <= 0L) {
+                    return park(ticket, redeemed);
+                }
+                remaining = turn.awaitNanos(remaining);
+            }
+            waiting.remove(number);
+            inFlight++;
+            turn.signalAll();
+            ticket.setAdmitted(true);
+            ticket.setAdmittedAtNanos(System.nanoTime());
+            return ticket;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return park(ticket, redeemed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(AdmissionTicket ticket) {
+        if (ticket == null || !ticket.isAdmitted()) {
+            return;
+        }
+        double serviceMillis = (System.nanoTime() - ticket.getAdmittedAtNanos()) / 1_000_000.0;
+        lock.lock();
+        try {
+            ticket.setAdmitted(false);
+            inFlight--;
+            averageServiceMillis = averageServiceMillis * 0.8 + serviceMillis * 0.2;
+            turn.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getQueueLength() {
+        lock.lock();
+        try {
+            return waiting.size() + parked.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a ticket out of the live queue and hands back a token that keeps its place.
+     * A redeemed ticket gets back the parked slot it gave up on the way in.
+     * Must be called with the lock held.
+     */
+    private AdmissionTicket park(AdmissionTicket ticket, boolean redeemed) {
+        long number = ticket.getNumber();
+        waiting.remove(number);
+        turn.signalAll();
+        if (redeemed || parked.size() < maxQueueLength) {
+            parked.put(number, System.currentTimeMillis() + tokenTtlMillis);
+        }
+        int position = waiting.headSet(number).size() + parked.headMap(number).size() + 1;
+        ticket.setAdmitted(false);
+        ticket.setPosition(position);
+        ticket.setEstimatedWaitMillis(
+            (long) Math.ceil((double) position / maxInFlight) * Math.max(1L, Math.round(averageServiceMillis)));
+        ticket.setToken(issueToken(number));
+        return ticket;
+    }
+
+    private void purgeExpiredTokens() {
+        long now = System.currentTimeMillis();
+        if (now - lastPurgeMillis < 1_000L) {
+            return;
+        }
+        lastPurgeMillis = now;
+        for (Iterator<Long> it = parked.values().iterator(); it.hasNext(); ) {
+            if (it.next() < now) {
+                it.remove();
+            }
+        }
+    }
+
+    private String issueToken(long number) {
+        String payload = number + ":" + System.currentTimeMillis();
+        String token = payload + ":" + sign(payload);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks the signature and age of a token; whether its number is still parked is
+     * decided under the lock.
+     *
+     * @return the ticket number carried by a valid, unexpired token, or -1
+     */
+    private long verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return -1L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int signatureStart = decoded.lastIndexOf(':');
+            String payload = decoded.substring(0, signatureStart);
+            byte[] expected = sign(payload).getBytes(StandardCharsets.UTF_8);
+            byte[] presented = decoded.substring(signatureStart + 1).getBytes(StandardCharsets.UTF_8);
+            if (!MessageDigest.isEqual(expected, presented)) {
+                return -1L;
+            }
+            String[] parts = payload.split(":");
+            if (System.currentTimeMillis() - Long.parseLong(parts[1]) > tokenTtlMillis) {
+                return -1L;
+            }
+            return Long.parseLong(parts[0]);
+        } catch (RuntimeException e) {
+            return -1L;
+        }
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(tokenKey, HMAC_ALGORITHM));
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign admission token", e);
+        }
+    }
+
+    private static int intProperty(Map<String, Object> properties, String key, int defaultValue) {
+        Object value = properties == null ? null : properties.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+    }
+}
@@ -2,18 +2,52 @@ package com.example.university.course.api;
 
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
+
+import com.example.university.admission.model.AdmissionTicket;
+import com.example.university.admission.service.AdmissionService;
 
 import com.example.university.course.service.CourseService;
+import com.example.university.course.model.BulkEnrollmentReport;
+import com.example.university.course.model.CatalogSnapshotReport;
+import com.example.university.course.model.CohortEligibility;
+import com.example.university.course.model.CohortEligibilityRequest;
 import com.example.university.course.model.Course;
 import com.example.university.course.model.CourseEnrollment;
+import com.example.university.course.model.CourseEnrollmentStats;
 import com.example.university.course.model.CourseSchedule;
 import com.example.university.course.model.CoursePrerequisite;
+import com.example.university.course.model.CourseWaitlistEntry;
+import com.example.university.course.model.EnrollmentCart;
+import com.example.university.course.model.InstructorWorkload;
+import com.example.university.course.model.KeysetPage;
+import com.example.university.course.model.PrerequisiteImpact;
+import com.example.university.course.model.ScheduleClash;
+import com.example.university.course.model.SectionAssignment;
+import com.example.university.course.model.SectionAssignmentReport;
+import com.example.university.course.model.StudentTimetable;
+import com.example.university.course.model.TimetableJob;
+import com.example.university.course.model.TimetableRequest;
 
 /**
  * Course REST API Resource - UC5 to UC8
@@ -28,13 +62,24 @@ import com.example.university.course.model.CoursePrerequisite;
 @Consumes(MediaType.APPLICATION_JSON)
 public class CourseResource {
 
+    static final String ADMISSION_TOKEN_HEADER = AdmissionService.TOKEN_HEADER;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1_000;
+
     private CourseService courseService;
+    private AdmissionService admissionService;
 
     @Reference
     public void setCourseService(CourseService courseService) {
         this.courseService = courseService;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL)
+    public void setAdmissionService(AdmissionService admissionService) {
+        this.admissionService = admissionService;
+    }
+
     // UC5: View Course Information / Configure Course Catalog
     
     @POST
@@ -73,6 +118,21 @@ public class CourseResource {
         return Response.ok(course).build();
     }
 
+    /**
+     * Enrollment counts by status from in-memory counters; does not read enrollment rows
+     */
+    @GET
+    @Path("/{id}/stats")
+    public Response getEnrollmentStats(@PathParam("id") Long id) {
+        CourseEnrollmentStats stats = courseService.getEnrollmentStats(id);
+        if (stats == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(createErrorResponse("Course not found"))
+                .build();
+        }
+        return Response.ok(stats).build();
+    }
+
     @GET
     @Path("/code/{courseCode}")
     public Response getCourseByCourseCode(@PathParam("courseCode") String courseCode) {
@@ -85,12 +145,73 @@ public class CourseResource {
         return Response.ok(course).build();
     }
 
+    /**
+     * Whole catalog, or one keyset page of it when after or limit is given
+     */
     @GET
-    public Response getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
+    public Response getAllCourses(@QueryParam("after") String after, @QueryParam("limit") Integer limit) {
+        if (after == null && limit == null) {
+            List<Course> courses = courseService.getAllCourses();
+            return Response.ok(courses).build();
+        }
+        return pageResponse(() -> courseService.getCoursesPage(after, pageSize(limit)));
+    }
+
+    /**
+     * Ranked full-text search over code, name, instructor and description; tokens match as prefixes
+     */
+    @GET
+    @Path("/search")
+    public Response searchCourses(@QueryParam("q") String query,
+                                  @QueryParam("limit") @DefaultValue("20") int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Query parameter q is required"))
+                .build();
+        }
+        List<Course> courses = courseService.searchCourses(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
         return Response.ok(courses).build();
     }
 
+    /**
+     * Hit, miss and eviction counters of the catalog cache behind the course lookups
+     */
+    @GET
+    @Path("/cache/stats")
+    public Response getCatalogCacheStats() {
+        return Response.ok(courseService.getCatalogCacheStats()).build();
+    }
+
+    /**
+     * Streams the catalog - courses, schedules and prerequisites - as a binary snapshot
+     */
+    @GET
+    @Path("/snapshot")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response exportCatalogSnapshot() {
+        StreamingOutput stream = output -> courseService.exportCatalogSnapshot(output);
+        return Response.ok(stream, MediaType.APPLICATION_OCTET_STREAM)
+            .header("Content-Disposition", "attachment; filename=\"catalog.snapshot\"")
+            .build();
+    }
+
+    /**
+     * Loads a binary catalog snapshot, keeping its ids and skipping rows that already exist
+     */
+    @POST
+    @Path("/snapshot")
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    public Response importCatalogSnapshot(InputStream snapshot) {
+        try {
+            CatalogSnapshotReport report = courseService.importCatalogSnapshot(snapshot);
+            return Response.ok(report).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Failed to import catalog snapshot: " + e.getMessage()))
+                .build();
+        }
+    }
+
     @GET
     @Path("/department/{department}")
     public Response getCoursesByDepartment(@PathParam("department") String department) {
@@ -129,18 +250,74 @@ public class CourseResource {
 
     @POST
     @Path("/enrollments")
-    public Response enrollStudent(CourseEnrollment enrollment) {
-        try {
-            if (!courseService.validateEnrollmentCapacity(enrollment.getCourseId())) {
+    public Response enrollStudent(CourseEnrollment enrollment,
+                                  @HeaderParam(ADMISSION_TOKEN_HEADER) String admissionToken) {
+        return withAdmission(admissionToken, () -> {
+            try {
+                CourseEnrollment savedEnrollment = courseService.enrollStudent(enrollment);
+                return Response.status(Response.Status.CREATED).entity(savedEnrollment).build();
+            } catch (IllegalStateException e) {
+                return Response.status(Response.Status.CONFLICT)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+            } catch (Exception e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse("Failed to enroll student: " + e.getMessage()))
+                    .build();
+            }
+        });
+    }
+
+    @POST
+    @Path("/enrollments/cart")
+    public Response enrollCart(EnrollmentCart cart,
+                               @HeaderParam(ADMISSION_TOKEN_HEADER) String admissionToken) {
+        return withAdmission(admissionToken, () -> {
+            try {
+                List<CourseEnrollment> savedEnrollments = courseService.enrollCart(cart);
+                return Response.status(Response.Status.CREATED).entity(savedEnrollments).build();
+            } catch (IllegalStateException e) {
                 return Response.status(Response.Status.CONFLICT)
-                    .entity(createErrorResponse("Course is at full capacity"))
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+            } catch (Exception e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse("Failed to enroll cart: " + e.getMessage()))
                     .build();
             }
-            CourseEnrollment savedEnrollment = courseService.enrollStudent(enrollment);
-            return Response.status(Response.Status.CREATED).entity(savedEnrollment).build();
+        });
+    }
+
+    /**
+     * Imports a CSV of enrollments in batches; rejected rows come back in the report
+     */
+    @POST
+    @Path("/enrollments/bulk")
+    @Consumes({"text/csv", MediaType.TEXT_PLAIN})
+    public Response importEnrollments(InputStream csv) {
+        try {
+            BulkEnrollmentReport report = courseService.importEnrollments(csv);
+            return Response.ok(report).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Failed to import enrollments: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    @POST
+    @Path("/enrollments/cart/validate")
+    public Response validateEnrollmentCart(EnrollmentCart cart) {
+        try {
+            Map<Long, List<String>> problems = courseService.validateEnrollmentCart(cart);
+            Map<String, Object> response = new HashMap<>();
+            response.put("studentId", cart.getStudentId());
+            response.put("valid", problems.isEmpty());
+            response.put("problems", problems);
+            return Response.ok(response).build();
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
-                .entity(createErrorResponse("Failed to enroll student: " + e.getMessage()))
+                .entity(createErrorResponse("Failed to validate cart: " + e.getMessage()))
                 .build();
         }
     }
@@ -166,9 +343,26 @@ public class CourseResource {
 
     @GET
     @Path("/enrollments/course/{courseId}")
-    public Response getEnrollmentsByCourse(@PathParam("courseId") Long courseId) {
-        List<CourseEnrollment> enrollments = courseService.getEnrollmentsByCourse(courseId);
-        return Response.ok(enrollments).build();
+    public Response getEnrollmentsByCourse(@PathParam("courseId") Long courseId,
+                                           @QueryParam("after") String after,
+                                           @QueryParam("limit") Integer limit) {
+        if (after == null && limit == null) {
+            List<CourseEnrollment> enrollments = courseService.getEnrollmentsByCourse(courseId);
+            return Response.ok(enrollments).build();
+        }
+        return pageResponse(() -> courseService.getEnrollmentsByCoursePage(courseId, after, pageSize(limit)));
+    }
+
+    @GET
+    @Path("/enrollments/year/{academicYear}")
+    public Response getEnrollmentsByAcademicYear(@PathParam("academicYear") String academicYear,
+                                                 @QueryParam("after") String after,
+                                                 @QueryParam("limit") Integer limit) {
+        if (after == null && limit == null) {
+            List<CourseEnrollment> enrollments = courseService.getEnrollmentsByAcademicYear(academicYear);
+            return Response.ok(enrollments).build();
+        }
+        return pageResponse(() -> courseService.getEnrollmentsByAcademicYearPage(academicYear, after, pageSize(limit)));
     }
 
     @POST
@@ -191,6 +385,10 @@ public class CourseResource {
         try {
             courseService.approveEnrollment(id, approvedBy);
             return Response.ok(createSuccessResponse("Enrollment approved successfully")).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity(createErrorResponse("Failed to approve enrollment: " + e.getMessage()))
@@ -198,6 +396,51 @@ public class CourseResource {
         }
     }
 
+    @POST
+    @Path("/{courseId}/waitlist")
+    public Response joinWaitlist(@PathParam("courseId") Long courseId, CourseWaitlistEntry entry,
+                                 @HeaderParam(ADMISSION_TOKEN_HEADER) String admissionToken) {
+        return withAdmission(admissionToken, () -> {
+            try {
+                entry.setCourseId(courseId);
+                CourseWaitlistEntry savedEntry = courseService.joinWaitlist(entry);
+                return Response.status(Response.Status.CREATED).entity(savedEntry).build();
+            } catch (IllegalStateException e) {
+                return Response.status(Response.Status.CONFLICT)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+            } catch (Exception e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse("Failed to join waitlist: " + e.getMessage()))
+                    .build();
+            }
+        });
+    }
+
+    @GET
+    @Path("/{courseId}/waitlist")
+    public Response getWaitlistByCourse(@PathParam("courseId") Long courseId) {
+        List<CourseWaitlistEntry> waitlist = courseService.getWaitlistByCourse(courseId);
+        return Response.ok(waitlist).build();
+    }
+
+    @GET
+    @Path("/{courseId}/waitlist/{studentId}")
+    public Response getWaitlistPosition(@PathParam("courseId") Long courseId,
+                                        @PathParam("studentId") String studentId) {
+        int position = courseService.getWaitlistPosition(courseId, studentId);
+        if (position == 0) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(createErrorResponse("Student is not on the waitlist"))
+                .build();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("courseId", courseId);
+        response.put("studentId", studentId);
+        response.put("position", position);
+        return Response.ok(response).build();
+    }
+
     // UC7: Set Course Timetable
 
     @POST
@@ -206,6 +449,10 @@ public class CourseResource {
         try {
             CourseSchedule savedSchedule = courseService.addSchedule(schedule);
             return Response.status(Response.Status.CREATED).entity(savedSchedule).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity(createErrorResponse("Failed to add schedule: " + e.getMessage()))
@@ -219,6 +466,10 @@ public class CourseResource {
         try {
             CourseSchedule updatedSchedule = courseService.updateSchedule(schedule);
             return Response.ok(updatedSchedule).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity(createErrorResponse("Failed to update schedule: " + e.getMessage()))
@@ -226,6 +477,225 @@ public class CourseResource {
         }
     }
 
+    /**
+     * Venue and instructor double-bookings among the active schedules of a term
+     */
+    @GET
+    @Path("/schedules/clashes")
+    public Response getScheduleClashes(@QueryParam("semester") String semester,
+                                       @QueryParam("academicYear") String academicYear) {
+        List<ScheduleClash> clashes = courseService.getScheduleClashes(semester, academicYear);
+        Map<String, Object> response = new HashMap<>();
+        response.put("semester", semester);
+        response.put("academicYear", academicYear);
+        response.put("clashes", clashes);
+        response.put("count", clashes.size());
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Venues with at least minCapacity seats and no active booking in the given window
+     */
+    @GET
+    @Path("/schedules/free-rooms")
+    public Response findFreeRooms(@QueryParam("semester") String semester,
+                                  @QueryParam("academicYear") String academicYear,
+                                  @QueryParam("day") String day,
+                                  @QueryParam("from") String from,
+                                  @QueryParam("to") String to,
+                                  @QueryParam("minCapacity") @DefaultValue("0") int minCapacity) {
+        if (semester == null || academicYear == null || day == null || from == null || to == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("semester, academicYear, day, from and to are required"))
+                .build();
+        }
+        try {
+            Map<String, Integer> free = courseService.findFreeVenues(semester, academicYear, day,
+                LocalTime.parse(from), LocalTime.parse(to), minCapacity);
+            List<Map<String, Object>> rooms = new ArrayList<>();
+            for (Map.Entry<String, Integer> venue : free.entrySet()) {
+                Map<String, Object> room = new HashMap<>();
+                room.put("venue", venue.getKey());
+                room.put("capacity", venue.getValue());
+                rooms.add(room);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("day", day);
+            response.put("from", from);
+            response.put("to", to);
+            response.put("rooms", rooms);
+            response.put("count", rooms.size());
+            return Response.ok(response).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Failed to find free rooms: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    /**
+     * Starts a timetable generation for the term's unscheduled courses; poll the job for progress
+     */
+    @POST
+    @Path("/timetable/generate")
+    public Response generateTimetable(TimetableRequest request) {
+        try {
+            TimetableJob job = courseService.generateTimetable(request);
+            return Response.status(Response.Status.ACCEPTED).entity(job).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Failed to start timetable generation: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    @GET
+    @Path("/timetable/jobs/{jobId}")
+    public Response getTimetableJob(@PathParam("jobId") String jobId) {
+        TimetableJob job = courseService.getTimetableJob(jobId);
+        if (job == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(createErrorResponse("Timetable job not found"))
+                .build();
+        }
+        return Response.ok(job).build();
+    }
+
+    /**
+     * Stops a running generation; the best timetable found so far can still be committed
+     */
+    @POST
+    @Path("/timetable/jobs/{jobId}/cancel")
+    public Response cancelTimetable(@PathParam("jobId") String jobId) {
+        TimetableJob job = courseService.cancelTimetable(jobId);
+        if (job == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(createErrorResponse("Timetable job not found"))
+                .build();
+        }
+        return Response.ok(job).build();
+    }
+
+    /**
+     * Persists the job's best timetable as schedules in one batch
+     */
+    @POST
+    @Path("/timetable/jobs/{jobId}/commit")
+    public Response commitTimetable(@PathParam("jobId") String jobId) {
+        try {
+            List<CourseSchedule> schedules = courseService.commitTimetable(jobId);
+            return Response.status(Response.Status.CREATED).entity(schedules).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Failed to commit timetable: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    /**
+     * The student's weekly timetable; revalidate with If-None-Match to get 304 while unchanged
+     */
+    @GET
+    @Path("/students/{studentId}/timetable")
+    public Response getStudentTimetable(@PathParam("studentId") String studentId, @Context Request request) {
+        StudentTimetable timetable = courseService.getStudentTimetable(studentId);
+        EntityTag etag = new EntityTag(timetable.getVersion());
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(revalidate()).build();
+        }
+        return Response.ok(timetable).tag(etag).cacheControl(revalidate()).build();
+    }
+
+    /**
+     * The same timetable as an iCalendar feed of weekly recurring events for calendar clients
+     */
+    @GET
+    @Path("/students/{studentId}/timetable.ics")
+    @Produces("text/calendar")
+    public Response getStudentTimetableIcs(@PathParam("studentId") String studentId, @Context Request request) {
+        StudentTimetable timetable = courseService.getStudentTimetable(studentId);
+        EntityTag etag = new EntityTag(timetable.getVersion() + "-ics");
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(revalidate()).build();
+        }
+        return Response.ok(courseService.getStudentTimetableIcs(timetable), "text/calendar; charset=UTF-8")
+            .tag(etag)
+            .cacheControl(revalidate())
+            .build();
+    }
+
+    private static CacheControl revalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return cacheControl;
+    }
+
+    /**
+     * Weekly contact hours, student headcount and credit load of every instructor in a term
+     */
+    @GET
+    @Path("/instructors/workload")
+    public Response getInstructorWorkload(@QueryParam("semester") String semester,
+                                          @QueryParam("academicYear") String academicYear) {
+        if (semester == null || academicYear == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("semester and academicYear are required"))
+                .build();
+        }
+        List<InstructorWorkload> workloads = courseService.getInstructorWorkload(semester, academicYear);
+        Map<String, Object> response = new HashMap<>();
+        response.put("semester", semester);
+        response.put("academicYear", academicYear);
+        response.put("instructors", workloads);
+        response.put("count", workloads.size());
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Splits the enrolled students of every course in a term across its LAB and TUTORIAL
+     * sections, within capacity and around each student's other classes
+     */
+    @POST
+    @Path("/sections/assign")
+    public Response assignSections(@QueryParam("semester") String semester,
+                                   @QueryParam("academicYear") String academicYear) {
+        if (semester == null || academicYear == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("semester and academicYear are required"))
+                .build();
+        }
+        try {
+            SectionAssignmentReport report = courseService.assignSections(semester, academicYear);
+            return Response.ok(report).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Failed to assign sections: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    @GET
+    @Path("/{courseId}/sections")
+    public Response getSectionAssignments(@PathParam("courseId") Long courseId) {
+        List<SectionAssignment> assignments = courseService.getSectionAssignments(courseId);
+        return Response.ok(assignments).build();
+    }
+
     @GET
     @Path("/schedules/{id}")
     public Response getScheduleById(@PathParam("id") Long id) {
@@ -254,9 +724,14 @@ public class CourseResource {
 
     @GET
     @Path("/schedules/venue/{venue}")
-    public Response getSchedulesByVenue(@PathParam("venue") String venue) {
-        List<CourseSchedule> schedules = courseService.getSchedulesByVenue(venue);
-        return Response.ok(schedules).build();
+    public Response getSchedulesByVenue(@PathParam("venue") String venue,
+                                        @QueryParam("after") String after,
+                                        @QueryParam("limit") Integer limit) {
+        if (after == null && limit == null) {
+            List<CourseSchedule> schedules = courseService.getSchedulesByVenue(venue);
+            return Response.ok(schedules).build();
+        }
+        return pageResponse(() -> courseService.getSchedulesByVenuePage(venue, after, pageSize(limit)));
     }
 
     @DELETE
@@ -316,6 +791,102 @@ public class CourseResource {
         }
     }
 
+    /**
+     * Bulk eligibility pre-check for a planned intake, streamed as one compact row per student
+     */
+    @POST
+    @Path("/prerequisites/cohort")
+    public Response validateCohortPrerequisites(CohortEligibilityRequest request) {
+        try {
+            CohortEligibility matrix = courseService.validateCohortPrerequisites(request);
+            StreamingOutput stream = output -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                writer.write("{\"courseIds\":[");
+                for (int j = 0; j < matrix.getCourseIds().size(); j++) {
+                    writer.write((j > 0 ? "," : "") + matrix.getCourseIds().get(j));
+                }
+                writer.write("],\"studentCount\":" + matrix.getStudentIds().size() + ",\"rows\":[");
+                for (int i = 0; i < matrix.getStudentIds().size(); i++) {
+                    writer.write(i > 0 ? ",[" : "[");
+                    writeJsonString(writer, matrix.getStudentIds().get(i));
+                    writer.write(",\"" + matrix.getRows().get(i) + "\"]");
+                }
+                writer.write("]}");
+                writer.flush();
+            };
+            return Response.ok(stream, MediaType.APPLICATION_JSON).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Failed to validate cohort prerequisites: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    /**
+     * Courses whose full prerequisite chain the student has already passed
+     */
+    @GET
+    @Path("/eligible/{studentId}")
+    public Response getEligibleCourses(@PathParam("studentId") String studentId) {
+        try {
+            List<String> eligible = courseService.getEligibleCourses(studentId);
+            Map<String, Object> response = new HashMap<>();
+            response.put("studentId", studentId);
+            response.put("eligibleCourses", eligible);
+            response.put("count", eligible.size());
+            return Response.ok(response).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse("Failed to find eligible courses: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    /**
+     * Shortest term-by-term plan of remaining courses up to a target course
+     */
+    @GET
+    @Path("/path/{studentId}/{targetCourseId}")
+    public Response getRemainingPath(@PathParam("studentId") String studentId,
+                                     @PathParam("targetCourseId") Long targetCourseId) {
+        try {
+            List<List<String>> terms = courseService.getRemainingPath(studentId, targetCourseId);
+            int remaining = 0;
+            for (List<String> term : terms) {
+                remaining += term.size();
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("studentId", studentId);
+            response.put("targetCourseId", targetCourseId);
+            response.put("terms", terms);
+            response.put("remainingCourses", remaining);
+            return Response.ok(response).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
+        }
+    }
+
+    /**
+     * Courses downstream of a course in the prerequisite graph and the in-progress students they hold
+     */
+    @GET
+    @Path("/{courseId}/impact")
+    public Response getPrerequisiteImpact(@PathParam("courseId") Long courseId) {
+        PrerequisiteImpact impact = courseService.getPrerequisiteImpact(courseId);
+        if (impact == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(createErrorResponse("Course not found"))
+                .build();
+        }
+        return Response.ok(impact).build();
+    }
+
     @DELETE
     @Path("/prerequisites/{id}")
     public Response deletePrerequisite(@PathParam("id") Long id) {
@@ -329,6 +900,59 @@ public class CourseResource {
         }
     }
 
+    /**
+     * Runs a registration call inside an admission slot, or answers 429 with the
+     * caller's place in the waiting room when no slot frees up in time
+     */
+    private Response withAdmission(String admissionToken, Supplier<Response> call) {
+        AdmissionService admission = admissionService;
+        if (admission == null) {
+            return call.get();
+        }
+        return admission.withAdmission(admissionToken, call, CourseResource::queuedResponse);
+    }
+
+    /**
+     * Tells a client turned away by admission control where it stands in the waiting room
+     */
+    private static Response queuedResponse(AdmissionTicket ticket) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+            .header(ADMISSION_TOKEN_HEADER, ticket.getToken())
+            .header("Retry-After", AdmissionService.retryAfterSeconds(ticket))
+            .entity(AdmissionService.queuedBody(ticket))
+            .build();
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private Response pageResponse(Supplier<KeysetPage<?>> call) {
+        try {
+            return Response.ok(call.get()).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse(e.getMessage()))
+                .build();
+        }
+    }
+
     private Map<String, String> createErrorResponse(String message) {
         Map<String, String> response = new HashMap<>();
         response.put("status", "error");
@@ -0,0 +1,352 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.BulkEnrollmentReport;
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CourseEnrollment;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming CSV enrollment import - UC6: Manage Course Enrollment
+ *
+ * Rows are read one line at a time and handled in fixed-size chunks: each chunk is
+ * validated, its seats are reserved, and its valid rows go to the database in one
+ * batch. Only the current chunk and a capped error list are held, so memory does
+ * not grow with the file. Rows that collide with an existing (course, student)
+ * enrollment are skipped by the insert and reported rather than failing the chunk.
+ *
+ * Each batch commits on its own. A batch that fails has rolled back by the time
+ * the importer sees the error, so its rows are reported as failed and their seats
+ * released, and the chunks before and after it stand. Seat counters, stats and
+ * caches only hear about a batch through {@link EnrollmentTarget#inserted} once it
+ * has committed.
+ *
+ * The header names the columns: studentId and one of courseId or courseCode are
+ * required; studentName, semester, academicYear and enrollmentStatus are optional,
+ * with semester and academicYear defaulting to the course's.
+ */
+public class BulkEnrollmentImporter {
+
+    /**
+     * Course lookups, seat accounting and the batched insert behind the import
+     */
+    public interface EnrollmentTarget {
+        Course findCourse(Long courseId);
+        Course findCourseByCode(String courseCode);
+        boolean reserveSeat(Long courseId);
+        void releaseSeat(Long courseId);
+        /**
+         * Inserts the rows in one batch and commits it before returning, skipping any
+         * that conflict with an existing enrollment; on failure nothing is inserted
+         * @return {@link #key(Long, String)} of every row inserted
+         */
+        Set<String> insertBatch(List<CourseEnrollment> rows);
+        /** Called after each batch has committed, with the rows it inserted */
+        void inserted(List<CourseEnrollment> rows);
+    }
+
+    private final EnrollmentTarget target;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public BulkEnrollmentImporter(EnrollmentTarget target, int chunkSize, int maxReportedErrors) {
+        this.target = target;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public static String key(Long courseId, String studentId) {
+        return courseId + "|" + studentId;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the header lacks the required columns
+     */
+    public BulkEnrollmentReport importCsv(Reader csv) throws IOException {
+        long began = System.currentTimeMillis();
+        BulkEnrollmentReport report = new BulkEnrollmentReport();
+        BufferedReader reader = csv instanceof BufferedReader ? (BufferedReader) csv : new BufferedReader(csv);
+
+        Columns columns = null;
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (columns == null) {
+                columns = Columns.of(parseLine(line.startsWith("\uFEFF") ? line.substring(1) : line));
+                continue;
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+            chunk.add(new Row(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, columns, report);
+                chunk.clear();
+            }
+        }
+        if (columns == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, columns, report);
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - began);
+        return report;
+    }
+
+    private void importChunk(List<Row> chunk, Columns columns, BulkEnrollmentReport report) {
+        Map<String, Course> courses = new HashMap<>();
+        Set<String> keys = new HashSet<>();
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            String problem = validate(row, columns, courses);
+            if (problem == null && !keys.add(key(row.enrollment.getCourseId(), row.enrollment.getStudentId()))) {
+                problem = "Duplicate row for this student and course";
+            }
+            if (problem == null && holdsSeat(row.enrollment.getEnrollmentStatus())) {
+                if (target.reserveSeat(row.enrollment.getCourseId())) {
+                    row.seatReserved = true;
+                } else {
+                    problem = "Course is at full capacity";
+                }
+            }
+            if (problem == null) {
+                valid.add(row);
+            } else {
+                reject(report, row, problem);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<CourseEnrollment> batch = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            batch.add(row.enrollment);
+        }
+        Set<String> inserted;
+        try {
+            inserted = target.insertBatch(batch);
+        } catch (RuntimeException e) {
+            for (Row row : valid) {
+                releaseSeat(row);
+                reject(report, row, "Batch insert failed: " + e.getMessage());
+            }
+            return;
+        }
+        report.setBatches(report.getBatches() + 1);
+
+        List<CourseEnrollment> saved = new ArrayList<>(inserted.size());
+        for (Row row : valid) {
+            if (inserted.contains(key(row.enrollment.getCourseId(), row.enrollment.getStudentId()))) {
+                saved.add(row.enrollment);
+            } else {
+                releaseSeat(row);
+                reject(report, row, "Student already has an enrollment record for this course");
+            }
+        }
+        report.setImported(report.getImported() + saved.size());
+        if (!saved.isEmpty()) {
+            target.inserted(saved);
+        }
+    }
+
+    /**
+     * Parses the row into its enrollment
+     * @return why the row is rejected, or null if it is valid
+     */
+    private String validate(Row row, Columns columns, Map<String, Course> courses) {
+        List<String> fields;
+        try {
+            fields = parseLine(row.text);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        row.studentId = columns.get(fields, columns.studentId);
+        row.course = columns.get(fields, columns.courseId >= 0 ? columns.courseId : columns.courseCode);
+        if (row.studentId == null) {
+            return "Missing studentId";
+        }
+        if (row.course == null) {
+            return columns.courseId >= 0 ? "Missing courseId" : "Missing courseCode";
+        }
+
+        Course course;
+        if (columns.courseId >= 0) {
+            Long courseId;
+            try {
+                courseId = Long.valueOf(row.course);
+            } catch (NumberFormatException e) {
+                return "Invalid courseId: " + row.course;
+            }
+            course = courses.computeIfAbsent(row.course, id -> target.findCourse(courseId));
+        } else {
+            course = courses.computeIfAbsent(row.course, target::findCourseByCode);
+        }
+        if (course == null) {
+            return "Course not found: " + row.course;
+        }
+
+        CourseEnrollment.EnrollmentStatus status = CourseEnrollment.EnrollmentStatus.ENROLLED;
+        String statusText = columns.get(fields, columns.status);
+        if (statusText != null) {
+            try {
+                status = CourseEnrollment.EnrollmentStatus.valueOf(statusText.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Invalid enrollmentStatus: " + statusText;
+            }
+        }
+        String semester = columns.get(fields, columns.semester);
+        String academicYear = columns.get(fields, columns.academicYear);
+        semester = semester != null ? semester : course.getSemester();
+        academicYear = academicYear != null ? academicYear : course.getAcademicYear();
+        if (semester == null) {
+            return "Missing semester";
+        }
+        if (academicYear == null) {
+            return "Missing academicYear";
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        CourseEnrollment enrollment = new CourseEnrollment();
+        enrollment.setCourseId(course.getId());
+        enrollment.setStudentId(row.studentId);
+        enrollment.setStudentName(columns.get(fields, columns.studentName));
+        enrollment.setEnrollmentStatus(status);
+        enrollment.setEnrollmentDate(LocalDate.now());
+        enrollment.setSemester(semester);
+        enrollment.setAcademicYear(academicYear);
+        enrollment.setCreatedAt(now);
+        enrollment.setUpdatedAt(now);
+        row.enrollment = enrollment;
+        return null;
+    }
+
+    private void releaseSeat(Row row) {
+        if (row.seatReserved) {
+            target.releaseSeat(row.enrollment.getCourseId());
+            row.seatReserved = false;
+        }
+    }
+
+    private void reject(BulkEnrollmentReport report, Row row, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new BulkEnrollmentReport.RowError(row.line, row.studentId, row.course, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static boolean holdsSeat(CourseEnrollment.EnrollmentStatus status) {
+        return status == CourseEnrollment.EnrollmentStatus.PENDING
+            || status == CourseEnrollment.EnrollmentStatus.ENROLLED;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields with "" escapes
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Column positions taken from the header, -1 when absent
+     */
+    private static final class Columns {
+        private int studentId = -1;
+        private int courseId = -1;
+        private int courseCode = -1;
+        private int studentName = -1;
+        private int semester = -1;
+        private int academicYear = -1;
+        private int status = -1;
+
+        private static Columns of(List<String> header) {
+            Columns columns = new Columns();
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "")) {
+                    case "studentid": columns.studentId = i; break;
+                    case "courseid": columns.courseId = i; break;
+                    case "coursecode": columns.courseCode = i; break;
+                    case "studentname": columns.studentName = i; break;
+                    case "semester": columns.semester = i; break;
+                    case "academicyear": columns.academicYear = i; break;
+                    case "enrollmentstatus":
+                    case "status": columns.status = i; break;
+                    default: break;
+                }
+            }
+            if (columns.studentId < 0 || (columns.courseId < 0 && columns.courseCode < 0)) {
+                throw new IllegalArgumentException("CSV header must include studentId and courseId or courseCode");
+            }
+            return columns;
+        }
+
+        /**
+         * @return the trimmed field, or null if the column is absent or the field blank
+         */
+        private String get(List<String> fields, int column) {
+            if (column < 0 || column >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(column).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private static final class Row {
+        private final long line;
+        private final String text;
+        private String studentId;
+        private String course;
+        private CourseEnrollment enrollment;
+        private boolean seatReserved;
+
+        private Row(long line, String text) {
+            this.line = line;
+            this.text = text;
+        }
+    }
+}
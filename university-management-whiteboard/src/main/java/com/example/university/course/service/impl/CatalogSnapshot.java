@@ -0,0 +1,551 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CoursePrerequisite;
+import com.example.university.course.model.CourseSchedule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Versioned binary snapshot of the course catalog - UC5 to UC8
+ *
+ * Layout, big-endian: the magic "UCAT", a format version and the creation time,
+ * then one record per course, schedule and prerequisite, each prefixed by its
+ * tag. An end tag is followed by the three record counts and a CRC-32 over every
+ * byte before the checksum. Strings are length-prefixed UTF-8 with -1 for null,
+ * enums are written by name and nullable numbers carry a presence byte, so a
+ * snapshot survives reordered enum constants and needs no schema on the reader.
+ *
+ * Records are written and read one at a time, so neither side holds the whole
+ * catalog. {@link #map(Path)} decodes a snapshot file straight from a
+ * memory-mapped buffer for startup.
+ */
+public final class CatalogSnapshot {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x55434154;
+    private static final byte END = 0;
+    private static final byte COURSE = 1;
+    private static final byte SCHEDULE = 2;
+    private static final byte PREREQUISITE = 3;
+    private static final int MAX_STRING_BYTES = 1 << 24;
+
+    /**
+     * Receives records in file order
+     */
+    public interface Visitor {
+        void course(Course course);
+        void schedule(CourseSchedule schedule);
+        void prerequisite(CoursePrerequisite prerequisite);
+    }
+
+    /**
+     * Header and record counts of a snapshot that was read completely
+     */
+    public static final class Summary {
+        private final int formatVersion;
+        private final LocalDateTime createdAt;
+        private final int courses;
+        private final int schedules;
+        private final int prerequisites;
+
+        private Summary(int formatVersion, LocalDateTime createdAt, int courses, int schedules, int prerequisites) {
+            this.formatVersion = formatVersion;
+            this.createdAt = createdAt;
+            this.courses = courses;
+            this.schedules = schedules;
+            this.prerequisites = prerequisites;
+        }
+
+        public int getFormatVersion() { return formatVersion; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public int getCourses() { return courses; }
+        public int getSchedules() { return schedules; }
+        public int getPrerequisites() { return prerequisites; }
+    }
+
+    /**
+     * A fully decoded snapshot
+     */
+    public static final class Contents {
+        private final Summary summary;
+        private final List<Course> courses;
+        private final List<CourseSchedule> schedules;
+        private final List<CoursePrerequisite> prerequisites;
+
+        private Contents(Summary summary, List<Course> courses, List<CourseSchedule> schedules,
+                         List<CoursePrerequisite> prerequisites) {
+            this.summary = summary;
+            this.courses = courses;
+            this.schedules = schedules;
+            this.prerequisites = prerequisites;
+        }
+
+        public Summary getSummary() { return summary; }
+        public List<Course> getCourses() { return courses; }
+        public List<CourseSchedule> getSchedules() { return schedules; }
+        public List<CoursePrerequisite> getPrerequisites() { return prerequisites; }
+    }
+
+    /**
+     * Streams records into a snapshot; {@link #finish()} writes the trailer and flushes
+     */
+    public static final class Writer {
+        private final CRC32 crc = new CRC32();
+        private final DataOutputStream out;
+        private int courses;
+        private int schedules;
+        private int prerequisites;
+        private boolean finished;
+
+        public Writer(OutputStream target) throws IOException {
+            this.out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(target, 1 << 16), crc));
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+        }
+
+        public void course(Course course) throws IOException {
+            ensureOpen();
+            out.writeByte(COURSE);
+            writeLong(out, course.getId());
+            writeString(out, course.getCourseCode());
+            writeString(out, course.getCourseName());
+            writeString(out, course.getDescription());
+            writeString(out, course.getDepartment());
+            writeInt(out, course.getCredits());
+            writeString(out, course.getInstructorName());
+            writeString(out, course.getInstructorId());
+            writeInt(out, course.getMaxCapacity());
+            writeInt(out, course.getCurrentEnrollment());
+            writeString(out, course.getStatus() == null ? null : course.getStatus().name());
+            writeString(out, course.getSemester());
+            writeString(out, course.getAcademicYear());
+            writeString(out, course.getPreRequisites());
+            writeDateTime(out, course.getCreatedAt());
+            writeDateTime(out, course.getUpdatedAt());
+            courses++;
+        }
+
+        public void schedule(CourseSchedule schedule) throws IOException {
+            ensureOpen();
+            out.writeByte(SCHEDULE);
+            writeLong(out, schedule.getId());
+            writeLong(out, schedule.getCourseId());
+            writeString(out, schedule.getCourseCode());
+            writeString(out, schedule.getDayOfWeek());
+            writeTime(out, schedule.getStartTime());
+            writeTime(out, schedule.getEndTime());
+            writeString(out, schedule.getVenue());
+            writeString(out, schedule.getBuilding());
+            writeString(out, schedule.getRoomNumber());
+            writeInt(out, schedule.getCapacity());
+            writeString(out, schedule.getSemester());
+            writeString(out, schedule.getAcademicYear());
+            writeString(out, schedule.getScheduleType());
+            writeString(out, schedule.getStatus() == null ? null : schedule.getStatus().name());
+            writeString(out, schedule.getInstructorId());
+            writeString(out, schedule.getInstructorName());
+            writeString(out, schedule.getNotes());
+            writeDateTime(out, schedule.getCreatedAt());
+            writeDateTime(out, schedule.getUpdatedAt());
+            schedules++;
+        }
+
+        public void prerequisite(CoursePrerequisite prerequisite) throws IOException {
+            ensureOpen();
+            out.writeByte(PREREQUISITE);
+            writeLong(out, prerequisite.getId());
+            writeLong(out, prerequisite.getCourseId());
+            writeString(out, prerequisite.getCourseCode());
+            writeString(out, prerequisite.getPrerequisiteCourseCode());
+            writeString(out, prerequisite.getPrerequisiteCourseName());
+            writeString(out, prerequisite.getMinimumGradeRequired());
+            writeDouble(out, prerequisite.getMinimumGpaRequired());
+            writeBoolean(out, prerequisite.getIsMandatory());
+            writeString(out, prerequisite.getNotes());
+            prerequisites++;
+        }
+
+        public void finish() throws IOException {
+            ensureOpen();
+            out.writeByte(END);
+            out.writeInt(courses);
+            out.writeInt(schedules);
+            out.writeInt(prerequisites);
+            out.writeLong(crc.getValue());
+            out.flush();
+            finished = true;
+        }
+
+        private void ensureOpen() {
+            if (finished) {
+                throw new IllegalStateException("Snapshot already finished");
+            }
+        }
+    }
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * Reads a snapshot record by record
+     * @throws IllegalArgumentException if the stream is not a snapshot of a supported version, or is
+     *         truncated or corrupt; records before the damage have already been visited
+     */
+    public static Summary read(InputStream in, Visitor visitor) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream data = new DataInputStream(new CheckedInputStream(new BufferedInputStream(in, 1 << 16), crc));
+        try {
+            return decode(new StreamDecoder(data, crc), visitor);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Catalog snapshot is truncated");
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Corrupt catalog snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a whole snapshot without keeping its records, to check it before importing any
+     * @throws IllegalArgumentException if the stream is not a snapshot of a supported version, or is
+     *         truncated or corrupt
+     */
+    public static Summary verify(InputStream in) throws IOException {
+        return read(in, new Visitor() {
+            @Override
+            public void course(Course course) {
+            }
+
+            @Override
+            public void schedule(CourseSchedule schedule) {
+            }
+
+            @Override
+            public void prerequisite(CoursePrerequisite prerequisite) {
+            }
+        });
+    }
+
+    /**
+     * Decodes a snapshot file from a read-only memory mapping
+     */
+    public static Contents map(Path path) throws IOException {
+        List<Course> courses = new ArrayList<>();
+        List<CourseSchedule> schedules = new ArrayList<>();
+        List<CoursePrerequisite> prerequisites = new ArrayList<>();
+        Visitor collect = new Visitor() {
+            @Override
+            public void course(Course course) {
+                courses.add(course);
+            }
+
+            @Override
+            public void schedule(CourseSchedule schedule) {
+                schedules.add(schedule);
+            }
+
+            @Override
+            public void prerequisite(CoursePrerequisite prerequisite) {
+                prerequisites.add(prerequisite);
+            }
+        };
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Summary summary;
+            try {
+                summary = decode(new BufferDecoder(buffer), collect);
+            } catch (BufferUnderflowException e) {
+                throw new IllegalArgumentException("Catalog snapshot is truncated: " + path);
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Corrupt catalog snapshot: " + e.getMessage());
+            }
+            return new Contents(summary, courses, schedules, prerequisites);
+        }
+    }
+
+    private static Summary decode(Decoder in, Visitor visitor) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a catalog snapshot");
+        }
+        int version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported catalog snapshot version: " + version);
+        }
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(Math.floorDiv(in.readLong(), 1000L), 0, ZoneOffset.UTC);
+        int courses = 0;
+        int schedules = 0;
+        int prerequisites = 0;
+        while (true) {
+            byte tag = in.readByte();
+            if (tag == END) {
+                break;
+            } else if (tag == COURSE) {
+                visitor.course(readCourse(in));
+                courses++;
+            } else if (tag == SCHEDULE) {
+                visitor.schedule(readSchedule(in));
+                schedules++;
+            } else if (tag == PREREQUISITE) {
+                visitor.prerequisite(readPrerequisite(in));
+                prerequisites++;
+            } else {
+                throw new IllegalArgumentException("Corrupt catalog snapshot: unknown record tag " + tag);
+            }
+        }
+        if (in.readInt() != courses || in.readInt() != schedules || in.readInt() != prerequisites) {
+            throw new IllegalArgumentException("Corrupt catalog snapshot: record counts do not match");
+        }
+        long expected = in.checksum();
+        if (in.readLong() != expected) {
+            throw new IllegalArgumentException("Corrupt catalog snapshot: checksum mismatch");
+        }
+        return new Summary(version, createdAt, courses, schedules, prerequisites);
+    }
+
+    private static Course readCourse(Decoder in) throws IOException {
+        Course course = new Course();
+        course.setId(in.readNullableLong());
+        course.setCourseCode(in.readString());
+        course.setCourseName(in.readString());
+        course.setDescription(in.readString());
+        course.setDepartment(in.readString());
+        course.setCredits(in.readNullableInt());
+        course.setInstructorName(in.readString());
+        course.setInstructorId(in.readString());
+        course.setMaxCapacity(in.readNullableInt());
+        course.setCurrentEnrollment(in.readNullableInt());
+        String status = in.readString();
+        course.setStatus(status == null ? null : Course.CourseStatus.valueOf(status));
+        course.setSemester(in.readString());
+        course.setAcademicYear(in.readString());
+        course.setPreRequisites(in.readString());
+        course.setCreatedAt(in.readDateTime());
+        course.setUpdatedAt(in.readDateTime());
+        return course;
+    }
+
+    private static CourseSchedule readSchedule(Decoder in) throws IOException {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.setId(in.readNullableLong());
+        schedule.setCourseId(in.readNullableLong());
+        schedule.setCourseCode(in.readString());
+        schedule.setDayOfWeek(in.readString());
+        schedule.setStartTime(in.readTime());
+        schedule.setEndTime(in.readTime());
+        schedule.setVenue(in.readString());
+        schedule.setBuilding(in.readString());
+        schedule.setRoomNumber(in.readString());
+        schedule.setCapacity(in.readNullableInt());
+        schedule.setSemester(in.readString());
+        schedule.setAcademicYear(in.readString());
+        schedule.setScheduleType(in.readString());
+        String status = in.readString();
+        schedule.setStatus(status == null ? null : CourseSchedule.ScheduleStatus.valueOf(status));
+        schedule.setInstructorId(in.readString());
+        schedule.setInstructorName(in.readString());
+        schedule.setNotes(in.readString());
+        schedule.setCreatedAt(in.readDateTime());
+        schedule.setUpdatedAt(in.readDateTime());
+        return schedule;
+    }
+
+    private static CoursePrerequisite readPrerequisite(Decoder in) throws IOException {
+        CoursePrerequisite prerequisite = new CoursePrerequisite();
+        prerequisite.setId(in.readNullableLong());
+        prerequisite.setCourseId(in.readNullableLong());
+        prerequisite.setCourseCode(in.readString());
+        prerequisite.setPrerequisiteCourseCode(in.readString());
+        prerequisite.setPrerequisiteCourseName(in.readString());
+        prerequisite.setMinimumGradeRequired(in.readString());
+        prerequisite.setMinimumGpaRequired(in.readNullableDouble());
+        prerequisite.setIsMandatory(in.readNullableBoolean());
+        prerequisite.setNotes(in.readString());
+        return prerequisite;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalTime value) throws IOException {
+        out.writeLong(value == null ? -1L : value.toNanoOfDay());
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    /**
+     * Primitive reads shared by the stream and the mapped-buffer paths
+     */
+    private abstract static class Decoder {
+        abstract byte readByte() throws IOException;
+        abstract short readShort() throws IOException;
+        abstract int readInt() throws IOException;
+        abstract long readLong() throws IOException;
+        abstract double readDouble() throws IOException;
+        abstract String readUtf8(int length) throws IOException;
+        /** CRC-32 of every byte decoded so far */
+        abstract long checksum();
+
+        String readString() throws IOException {
+            int length = readInt();
+            if (length < -1 || length > MAX_STRING_BYTES) {
+                throw new IllegalArgumentException("Corrupt catalog snapshot: string length " + length);
+            }
+            return length == -1 ? null : readUtf8(length);
+        }
+
+        Long readNullableLong() throws IOException {
+            return readByte() != 0 ? readLong() : null;
+        }
+
+        Integer readNullableInt() throws IOException {
+            return readByte() != 0 ? readInt() : null;
+        }
+
+        Double readNullableDouble() throws IOException {
+            return readByte() != 0 ? readDouble() : null;
+        }
+
+        Boolean readNullableBoolean() throws IOException {
+            byte value = readByte();
+            return value < 0 ? null : value != 0;
+        }
+
+        LocalTime readTime() throws IOException {
+            long nanos = readLong();
+            return nanos < 0 ? null : LocalTime.ofNanoOfDay(nanos);
+        }
+
+        LocalDateTime readDateTime() throws IOException {
+            if (readByte() == 0) {
+                return null;
+            }
+            long seconds = readLong();
+            return LocalDateTime.ofEpochSecond(seconds, readInt(), ZoneOffset.UTC);
+        }
+    }
+
+    private static final class StreamDecoder extends Decoder {
+        private final DataInputStream in;
+        private final CRC32 crc;
+
+        private StreamDecoder(DataInputStream in, CRC32 crc) {
+            this.in = in;
+            this.crc = crc;
+        }
+
+        @Override byte readByte() throws IOException { return in.readByte(); }
+        @Override short readShort() throws IOException { return in.readShort(); }
+        @Override int readInt() throws IOException { return in.readInt(); }
+        @Override long readLong() throws IOException { return in.readLong(); }
+        @Override double readDouble() throws IOException { return in.readDouble(); }
+        @Override long checksum() { return crc.getValue(); }
+
+        @Override
+        String readUtf8(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class BufferDecoder extends Decoder {
+        private final ByteBuffer buffer;
+
+        private BufferDecoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override byte readByte() { return buffer.get(); }
+        @Override short readShort() { return buffer.getShort(); }
+        @Override int readInt() { return buffer.getInt(); }
+        @Override long readLong() { return buffer.getLong(); }
+        @Override double readDouble() { return buffer.getDouble(); }
+
+        @Override
+        String readUtf8(int length) {
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(buffer.position(), bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+
+        @Override
+        long checksum() {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().flip());
+            return crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.university.course.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens for keyset pagination
+ *
+ * A token carries the sort key of the last row on a page plus the scope of the
+ * listing it came from (for example the course id being listed), so it cannot be
+ * replayed against a different listing. Tokens are URL-safe base64 and are not
+ * meant to be parsed by clients.
+ */
+public final class ContinuationToken {
+
+    private static final String VERSION = "1";
+    private static final char SEPARATOR = '\u001F';
+
+    private ContinuationToken() {
+    }
+
+    public static String encode(String scope, Object... key) {
+        StringBuilder raw = new StringBuilder(VERSION).append(SEPARATOR).append(scope);
+        for (Object part : key) {
+            raw.append(SEPARATOR).append(part == null ? "" : part.toString());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the key parts, or null for a null or empty token (first page)
+     * @throws IllegalArgumentException if the token is malformed or belongs to another listing
+     */
+    public static String[] decode(String scope, String token, int keyParts) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                .split(String.valueOf(SEPARATOR), -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        if (parts.length != keyParts + 2 || !VERSION.equals(parts[0]) || !scope.equals(parts[1])) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        String[] key = new String[keyParts];
+        System.arraycopy(parts, 2, key, 0, keyParts);
+        return key;
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.CatalogCacheStats;
+import com.example.university.course.model.Course;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through course catalog cache - UC5
+ *
+ * Keeps snapshots of courses by id and by code, per-department lists and the full
+ * catalog. Writes go through {@link #invalidate(Long, Course)}, which drops every
+ * entry the changed course appears in; a TTL bounds staleness from changes made
+ * outside this service. Each map holds at most maxEntries; when full, expired
+ * entries go first, otherwise half of the map is dropped.
+ *
+ * Readers always get copies, so callers may modify what they receive. The
+ * enrollment count is overlaid from the live seat counters when one is loaded,
+ * because the persisted column is only reconciled periodically.
+ */
+public class CourseCatalogCache {
+
+    /**
+     * Loads catalog data on a cache miss
+     */
+    public interface CatalogSource {
+        Course findById(Long id);
+        Course findByCode(String courseCode);
+        List<Course> findAll();
+        List<Course> findByDepartment(String department);
+        /** Live occupied seats for the course, or a negative value if not tracked */
+        int liveOccupiedSeats(Long courseId);
+    }
+
+    private final CatalogSource source;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final ConcurrentMap<Long, Entry<Course>> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry<Course>> byCode = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry<List<Course>>> byDepartment = new ConcurrentHashMap<>();
+    private volatile Entry<List<Course>> all;
+
+    /** Bumped by every invalidation so loads that raced with a write are not cached */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CourseCatalogCache(CatalogSource source, int maxEntries, long ttlMillis) {
+        this.source = source;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Course getById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Entry<Course> entry = fresh(byId.get(id));
+        if (entry == null) {
+            long seen = generation.get();
+            Course loaded = source.findById(id);
+            if (loaded == null) {
+                return null;
+            }
+            entry = new Entry<>(copyOf(loaded));
+            cache(byId, id, entry, seen);
+        }
+        return live(entry.value);
+    }
+
+    public Course getByCode(String courseCode) {
+        if (courseCode == null) {
+            return null;
+        }
+        Entry<Course> entry = fresh(byCode.get(courseCode));
+        if (entry == null) {
+            long seen = generation.get();
+            Course loaded = source.findByCode(courseCode);
+            if (loaded == null) {
+                return null;
+            }
+            entry = new Entry<>(copyOf(loaded));
+            cache(byCode, courseCode, entry, seen);
+        }
+        return live(entry.value);
+    }
+
+    public List<Course> getAll() {
+        return live(catalogEntry().value);
+    }
+
+    /**
+     * One page of the full catalog in course code order
+     * @param afterCode last code of the previous page, or null for the first page
+     */
+    public List<Course> getPage(String afterCode, int limit) {
+        List<Course> snapshot = catalogEntry().value;
+        int from = 0;
+        if (afterCode != null) {
+            int low = 0;
+            int high = snapshot.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (snapshot.get(middle).getCourseCode().compareTo(afterCode) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            from = low;
+        }
+        return live(snapshot.subList(from, Math.min(snapshot.size(), from + limit)));
+    }
+
+    /**
+     * The full catalog sorted by course code, loaded on a miss
+     */
+    private Entry<List<Course>> catalogEntry() {
+        Entry<List<Course>> entry = fresh(all);
+        if (entry == null) {
+            long seen = generation.get();
+            entry = loadList(() -> {
+                List<Course> courses = new ArrayList<>(source.findAll());
+                courses.sort(Comparator.comparing(Course::getCourseCode,
+                    Comparator.nullsFirst(Comparator.naturalOrder())));
+                return courses;
+            }, seen);
+            if (generation.get() == seen) {
+                all = entry;
+                if (generation.get() != seen) {
+                    all = null;
+                }
+            }
+        }
+        return entry;
+    }
+
+    public List<Course> getByDepartment(String department) {
+        if (department == null) {
+            return Collections.emptyList();
+        }
+        Entry<List<Course>> entry = fresh(byDepartment.get(department));
+        if (entry == null) {
+            long seen = generation.get();
+            entry = loadList(() -> source.findByDepartment(department), seen);
+            cache(byDepartment, department, entry, seen);
+        }
+        return live(entry.value);
+    }
+
+    /**
+     * Drops every entry that holds the course, before or after the change
+     * @param changed the course as now persisted, or null when it was deleted
+     */
+    public void invalidate(Long courseId, Course changed) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        if (courseId != null) {
+            byId.remove(courseId);
+            byCode.values().removeIf(entry -> courseId.equals(entry.value.getId()));
+            byDepartment.values().removeIf(entry -> entry.value.stream()
+                .anyMatch(course -> courseId.equals(course.getId())));
+        }
+        if (changed != null) {
+            if (changed.getCourseCode() != null) {
+                byCode.remove(changed.getCourseCode());
+            }
+            if (changed.getDepartment() != null) {
+                byDepartment.remove(changed.getDepartment());
+            }
+        }
+        all = null;
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        byId.clear();
+        byCode.clear();
+        byDepartment.clear();
+        all = null;
+    }
+
+    public CatalogCacheStats stats() {
+        CatalogCacheStats stats = new CatalogCacheStats();
+        stats.setHits(hits.get());
+        stats.setMisses(misses.get());
+        stats.setEvictions(evictions.get());
+        stats.setInvalidations(invalidations.get());
+        stats.setCoursesById(byId.size());
+        stats.setCoursesByCode(byCode.size());
+        stats.setDepartmentLists(byDepartment.size());
+        Entry<List<Course>> catalog = all;
+        stats.setFullCatalogCached(catalog != null && System.currentTimeMillis() - catalog.loadedAt < ttlMillis);
+        stats.setMaxEntries(maxEntries);
+        stats.setTtlMillis(ttlMillis);
+        return stats;
+    }
+
+    /**
+     * Loads a list and, when no write raced with it, seeds the per-course maps too
+     */
+    private Entry<List<Course>> loadList(Supplier<List<Course>> loader, long seen) {
+        List<Course> snapshot = new ArrayList<>();
+        for (Course course : loader.get()) {
+            snapshot.add(copyOf(course));
+        }
+        for (Course course : snapshot) {
+            if (course.getId() != null) {
+                cache(byId, course.getId(), new Entry<>(course), seen);
+            }
+            if (course.getCourseCode() != null) {
+                cache(byCode, course.getCourseCode(), new Entry<>(course), seen);
+            }
+        }
+        return new Entry<>(Collections.unmodifiableList(snapshot));
+    }
+
+    private <V> Entry<V> fresh(Entry<V> entry) {
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt >= ttlMillis) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * Stores a loaded entry unless a write happened since the load began; the
+     * second check covers a write that lands between the first check and the put
+     */
+    private <K, V> void cache(ConcurrentMap<K, Entry<V>> map, K key, Entry<V> entry, long seen) {
+        if (generation.get() != seen) {
+            return;
+        }
+        if (map.size() >= maxEntries && !map.containsKey(key)) {
+            evict(map);
+        }
+        map.put(key, entry);
+        if (generation.get() != seen) {
+            map.remove(key, entry);
+        }
+    }
+
+    /**
+     * Drops expired entries, or every other entry when none has expired yet
+     */
+    private <K, V> void evict(Map<K, Entry<V>> map) {
+        long now = System.currentTimeMillis();
+        int before = map.size();
+        boolean anyExpired = map.values().removeIf(entry -> now - entry.loadedAt >= ttlMillis);
+        if (!anyExpired) {
+            int i = 0;
+            for (Iterator<K> it = map.keySet().iterator(); it.hasNext(); i++) {
+                it.next();
+                if ((i & 1) == 0) {
+                    it.remove();
+                }
+            }
+        }
+        evictions.addAndGet(Math.max(0, before - map.size()));
+    }
+
+    private List<Course> live(List<Course> snapshot) {
+        List<Course> courses = new ArrayList<>(snapshot.size());
+        for (Course course : snapshot) {
+            courses.add(live(course));
+        }
+        return courses;
+    }
+
+    private Course live(Course snapshot) {
+        Course course = copyOf(snapshot);
+        int occupied = course.getId() == null ? -1 : source.liveOccupiedSeats(course.getId());
+        if (occupied >= 0) {
+            course.setCurrentEnrollment(occupied);
+        }
+        return course;
+    }
+
+    static Course copyOf(Course source) {
+        Course course = new Course();
+        course.setId(source.getId());
+        course.setCourseCode(source.getCourseCode());
+        course.setCourseName(source.getCourseName());
+        course.setDescription(source.getDescription());
+        course.setDepartment(source.getDepartment());
+        course.setCredits(source.getCredits());
+        course.setInstructorName(source.getInstructorName());
+        course.setInstructorId(source.getInstructorId());
+        course.setMaxCapacity(source.getMaxCapacity());
+        course.setCurrentEnrollment(source.getCurrentEnrollment());
+        course.setStatus(source.getStatus());
+        course.setSemester(source.getSemester());
+        course.setAcademicYear(source.getAcademicYear());
+        course.setPreRequisites(source.getPreRequisites());
+        course.setCreatedAt(source.getCreatedAt());
+        course.setUpdatedAt(source.getUpdatedAt());
+        return course;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
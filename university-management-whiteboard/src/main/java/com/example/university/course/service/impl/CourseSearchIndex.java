@@ -0,0 +1,418 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.Course;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text course search - UC5
+ *
+ * An inverted index from lower-cased tokens of courseCode, courseName,
+ * instructorName and description to the courses containing them, kept in a
+ * sorted term dictionary so every query token also matches as a prefix. Codes
+ * such as "CS101" are indexed whole and as their letter and digit runs.
+ *
+ * A course matches when every query token matches one of its fields. Its score
+ * sums, per query token, the weight of the best field hit: code over name over
+ * instructor over description, with prefix hits counting less than whole
+ * tokens. The index loads lazily and then follows catalog writes through
+ * {@link #put(Course)} and {@link #remove(Long)}.
+ */
+public class CourseSearchIndex {
+
+    /**
+     * Loads the whole catalog the first time the index is used
+     */
+    public interface SearchSource {
+        List<Course> allCourses();
+    }
+
+    private static final float CODE_WEIGHT = 10f;
+    private static final float NAME_WEIGHT = 5f;
+    private static final float INSTRUCTOR_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_FACTOR = 0.6f;
+    private static final Set<String> STOP_WORDS = new LinkedHashSet<>(Arrays.asList(
+        "a", "an", "and", "as", "at", "by", "for", "from", "in", "into", "is", "of", "on", "or", "the", "to", "with"));
+
+    private final SearchSource source;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> docsByCourseId = new HashMap<>();
+    private final Deque<Integer> freeDocs = new ArrayDeque<>();
+    private Long[] courseIds = new Long[64];
+    private String[] codes = new String[64];
+    private String[][] docTerms = new String[64][];
+    private int docCount;
+    private volatile boolean loaded;
+
+    public CourseSearchIndex(SearchSource source) {
+        this.source = source;
+    }
+
+    /**
+     * @return ids of matching courses, best first, at most limit of them
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] matched = new int[docCount];
+            float[] score = new float[docCount];
+            int[] stamp = new int[docCount];
+            float[] tokenScore = new float[docCount];
+            int[] touched = new int[docCount];
+
+            for (int t = 0; t < tokens.size(); t++) {
+                String token = tokens.get(t);
+                int touchedCount = 0;
+                for (Map.Entry<String, Postings> term
+                        : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                    float factor = term.getKey().length() == token.length() ? 1f : PREFIX_FACTOR;
+                    Postings postings = term.getValue();
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        if (matched[doc] != t) {
+                            continue;
+                        }
+                        float weight = postings.weights[i] * factor;
+                        if (stamp[doc] != t + 1) {
+                            stamp[doc] = t + 1;
+                            tokenScore[doc] = weight;
+                            touched[touchedCount++] = doc;
+                        } else if (weight > tokenScore[doc]) {
+                            tokenScore[doc] = weight;
+                        }
+                    }
+                }
+                if (touchedCount == 0) {
+                    return Collections.emptyList();
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    int doc = touched[i];
+                    matched[doc] = t + 1;
+                    score[doc] += tokenScore[doc];
+                }
+            }
+
+            // bounded min-heap on rank: most candidates lose to the root in one comparison
+            int[] heap = new int[Math.min(limit, docCount)];
+            int heapSize = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (matched[doc] != tokens.size() || courseIds[doc] == null) {
+                    continue;
+                }
+                if (heapSize < heap.length) {
+                    heap[heapSize] = doc;
+                    siftUp(heap, heapSize++, score);
+                } else if (ranksAbove(doc, heap[0], score)) {
+                    heap[0] = doc;
+                    siftDown(heap, heapSize, score);
+                }
+            }
+            Long[] ranked = new Long[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ranked[i] = courseIds[heap[0]];
+                heap[0] = heap[i];
+                siftDown(heap, i, score);
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Higher score first, then course code ascending
+     */
+    private boolean ranksAbove(int a, int b, float[] score) {
+        if (score[a] != score[b]) {
+            return score[a] > score[b];
+        }
+        return codes[a].compareTo(codes[b]) < 0;
+    }
+
+    private void siftUp(int[] heap, int i, float[] score) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ranksAbove(heap[parent], heap[i], score)) {
+                return;
+            }
+            swap(heap, parent, i);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, float[] score) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && ranksAbove(heap[child], heap[child + 1], score)) {
+                child++;
+            }
+            if (!ranksAbove(heap[i], heap[child], score)) {
+                return;
+            }
+            swap(heap, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    /**
+     * Indexes a new course or re-indexes a changed one
+     */
+    public void put(Course course) {
+        if (course == null || course.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                index(course);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long courseId) {
+        if (courseId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByCourseId.remove(courseId);
+            if (doc != null) {
+                unindex(doc);
+                courseIds[doc] = null;
+                codes[doc] = null;
+                freeDocs.push(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given courses, e.g. a database load that
+     * supersedes the snapshot the index was warmed from
+     */
+    public void reload(List<Course> courses) {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docsByCourseId.clear();
+            freeDocs.clear();
+            Arrays.fill(courseIds, null);
+            Arrays.fill(codes, null);
+            Arrays.fill(docTerms, null);
+            docCount = 0;
+            for (Course course : courses) {
+                if (course.getId() != null) {
+                    index(course);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return docsByCourseId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (Course course : source.allCourses()) {
+                    if (course.getId() != null) {
+                        index(course);
+                    }
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Course course) {
+        Integer doc = docsByCourseId.get(course.getId());
+        if (doc != null) {
+            unindex(doc);
+        } else {
+            doc = freeDocs.isEmpty() ? docCount++ : freeDocs.pop();
+            if (doc >= courseIds.length) {
+                int capacity = courseIds.length * 2;
+                courseIds = Arrays.copyOf(courseIds, capacity);
+                codes = Arrays.copyOf(codes, capacity);
+                docTerms = Arrays.copyOf(docTerms, capacity);
+            }
+            docsByCourseId.put(course.getId(), doc);
+        }
+        courseIds[doc] = course.getId();
+        codes[doc] = course.getCourseCode() == null ? "" : course.getCourseCode();
+
+        Map<String, Float> weights = new LinkedHashMap<>();
+        addField(weights, course.getCourseCode(), CODE_WEIGHT);
+        addField(weights, course.getCourseName(), NAME_WEIGHT);
+        addField(weights, course.getInstructorName(), INSTRUCTOR_WEIGHT);
+        addField(weights, course.getDescription(), DESCRIPTION_WEIGHT);
+        for (Map.Entry<String, Float> term : weights.entrySet()) {
+            terms.computeIfAbsent(term.getKey(), key -> new Postings()).add(doc, term.getValue());
+        }
+        docTerms[doc] = weights.keySet().toArray(new String[0]);
+    }
+
+    private void unindex(int doc) {
+        String[] previous = docTerms[doc];
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(doc) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+        docTerms[doc] = null;
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : tokenize(text, false)) {
+            weights.merge(token, weight, Math::max);
+        }
+    }
+
+    /**
+     * Query tokens without stop words, unless the query is nothing but stop words
+     */
+    private static List<String> queryTokens(String query) {
+        List<String> all = tokenize(query, true);
+        List<String> tokens = new ArrayList<>(all.size());
+        for (String token : all) {
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens.isEmpty() ? all : tokens;
+    }
+
+    /**
+     * Lower-cased letter/digit runs; mixed tokens such as "cs101" also yield "cs" and "101"
+     */
+    static List<String> tokenize(String text, boolean keepStopWords) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (keepStopWords || !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                addRuns(tokens, token);
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static void addRuns(Set<String> tokens, String token) {
+        int runStart = 0;
+        for (int i = 1; i <= token.length(); i++) {
+            if (i == token.length()
+                    || Character.isDigit(token.charAt(i)) != Character.isDigit(token.charAt(i - 1))) {
+                if (runStart > 0 || i < token.length()) {
+                    tokens.add(token.substring(runStart, i));
+                }
+                runStart = i;
+            }
+        }
+    }
+
+    /**
+     * Courses containing one term, with the weight of the best field it appears in
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        private boolean remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,16 +1,77 @@
 package com.example.university.course.service.impl;
 
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import jakarta.transaction.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import com.example.university.course.service.CourseService;
+import com.example.university.course.model.BulkEnrollmentReport;
+import com.example.university.course.model.CatalogCacheStats;
+import com.example.university.course.model.CatalogSnapshotReport;
+import com.example.university.course.model.CohortEligibility;
+import com.example.university.course.model.CohortEligibilityRequest;
 import com.example.university.course.model.Course;
 import com.example.university.course.model.CourseEnrollment;
+import com.example.university.course.model.CourseEnrollmentStats;
 import com.example.university.course.model.CourseSchedule;
 import com.example.university.course.model.CoursePrerequisite;
+import com.example.university.course.model.CourseWaitlistEntry;
+import com.example.university.course.model.EnrollmentCart;
+import com.example.university.course.model.InstructorWorkload;
+import com.example.university.course.model.KeysetPage;
+import com.example.university.course.model.PrerequisiteImpact;
+import com.example.university.course.model.ScheduleClash;
+import com.example.university.course.model.SectionAssignment;
+import com.example.university.course.model.SectionAssignmentReport;
+import com.example.university.course.model.StudentTimetable;
+import com.example.university.course.model.TimetableJob;
+import com.example.university.course.model.TimetableRequest;
+import com.example.university.util.TransactionHooks;
 
 /**
  * Course Service Implementation - UC5 to UC8
@@ -18,51 +79,635 @@ import com.example.university.course.model.CoursePrerequisite;
 @Component(service = CourseService.class, immediate = true)
 public class CourseServiceImpl implements CourseService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CourseServiceImpl.class);
+
+    private static final long SEAT_RECONCILE_INTERVAL_MILLIS = 5_000L;
+    private static final int COHORT_QUERY_CHUNK = 1_000;
+    private static final long MIN_TIMETABLE_BUDGET_MILLIS = 100L;
+    private static final long MAX_TIMETABLE_BUDGET_MILLIS = 300_000L;
+    private static final int RETAINED_TIMETABLE_JOBS = 20;
+    private static final int CATALOG_CACHE_MAX_ENTRIES = 20_000;
+    private static final long CATALOG_CACHE_TTL_MILLIS = 10 * 60_000L;
+    private static final long ENROLLMENT_STATS_RECONCILE_INTERVAL_MILLIS = 60_000L;
+    private static final int BULK_ENROLLMENT_CHUNK = 500;
+    private static final int BULK_ENROLLMENT_MAX_REPORTED_ERRORS = 10_000;
+    private static final int STUDENT_TIMETABLE_MAX_ENTRIES = 100_000;
+    private static final long STUDENT_TIMETABLE_TTL_MILLIS = 30 * 60_000L;
+    private static final int INSTRUCTOR_WORKLOAD_MAX_TERMS = 16;
+    private static final long INSTRUCTOR_WORKLOAD_TTL_MILLIS = 30 * 60_000L;
+    private static final int CATALOG_SNAPSHOT_PAGE_SIZE = 1_000;
+    private static final int CATALOG_SNAPSHOT_CHUNK = 500;
+    private static final int CATALOG_REFRESH_ATTEMPTS = 5;
+    private static final int SECTION_ASSIGNMENT_CHUNK = 500;
+
     private EntityManager entityManager;
+    private final TransactionHooks transactions = new TransactionHooks();
+    private ScheduledExecutorService reconciler;
+    /**
+     * Shared by all timetable and section assignment runs, so concurrent runs split the cores
+     * instead of multiplying threads
+     */
+    private volatile ForkJoinPool timetablePool;
+
+    /** Set only while startup warms the indexes, which then load from it instead of the database */
+    private volatile CatalogSnapshot.Contents bootSnapshot;
+    /** Bumped by every course, schedule and prerequisite write, so a background reload can tell it raced one */
+    private final AtomicLong catalogWrites = new AtomicLong();
+
+    private final SeatReservationEngine seatReservations = new SeatReservationEngine(
+        new SeatReservationEngine.SeatSource() {
+            @Override
+            public int capacity(Long courseId) {
+                Course course = entityManager.find(Course.class, courseId);
+                if (course == null) {
+                    return -1;
+                }
+                return course.getMaxCapacity() == null ? Integer.MAX_VALUE : course.getMaxCapacity();
+            }
+
+            @Override
+            public int occupied(Long courseId) {
+                TypedQuery<Long> query = entityManager.createQuery(
+                    "SELECT COUNT(e) FROM CourseEnrollment e WHERE e.courseId = :courseId " +
+                    "AND e.enrollmentStatus IN ('PENDING', 'ENROLLED')", Long.class);
+                query.setParameter("courseId", courseId);
+                return query.getSingleResult().intValue();
+            }
+        }, SEAT_RECONCILE_INTERVAL_MILLIS);
+
+    private final WaitlistIndex waitlists = new WaitlistIndex(new WaitlistIndex.WaitlistSource() {
+        @Override
+        public List<String> waitingStudents(Long courseId) {
+            TypedQuery<String> query = entityManager.createQuery(
+                "SELECT w.studentId FROM CourseWaitlistEntry w WHERE w.courseId = :courseId " +
+                "AND w.status = 'WAITING' ORDER BY w.position", String.class);
+            query.setParameter("courseId", courseId);
+            return query.getResultList();
+        }
+
+        @Override
+        public long lastPosition(Long courseId) {
+            TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT MAX(w.position) FROM CourseWaitlistEntry w WHERE w.courseId = :courseId", Long.class);
+            query.setParameter("courseId", courseId);
+            Long last = query.getSingleResult();
+            return last == null ? 0L : last;
+        }
+    });
+
+    private final ScheduleIndex scheduleIndex = new ScheduleIndex(new ScheduleIndex.ScheduleSource() {
+        @Override
+        public List<CourseSchedule> activeSchedules() {
+            CatalogSnapshot.Contents boot = bootSnapshot;
+            if (boot != null) {
+                List<CourseSchedule> active = new ArrayList<>();
+                for (CourseSchedule schedule : boot.getSchedules()) {
+                    if (schedule.getStatus() == CourseSchedule.ScheduleStatus.ACTIVE) {
+                        active.add(schedule);
+                    }
+                }
+                return active;
+            }
+            return entityManager.createQuery(
+                "SELECT s FROM CourseSchedule s WHERE s.status = 'ACTIVE'", CourseSchedule.class).getResultList();
+        }
+    });
+
+    private final PrerequisiteGraph prerequisiteGraph = new PrerequisiteGraph(
+        new PrerequisiteGraph.PrerequisiteSource() {
+            @Override
+            public List<CoursePrerequisite> allPrerequisites() {
+                CatalogSnapshot.Contents boot = bootSnapshot;
+                if (boot != null) {
+                    return boot.getPrerequisites();
+                }
+                return entityManager.createQuery(
+                    "SELECT p FROM CoursePrerequisite p", CoursePrerequisite.class).getResultList();
+            }
+
+            @Override
+            public Map<Long, String> courseCodes() {
+                Map<Long, String> codes = new HashMap<>();
+                CatalogSnapshot.Contents boot = bootSnapshot;
+                if (boot != null) {
+                    for (Course course : boot.getCourses()) {
+                        codes.put(course.getId(), course.getCourseCode());
+                    }
+                    return codes;
+                }
+                for (Object[] row : entityManager.createQuery(
+                        "SELECT c.id, c.courseCode FROM Course c", Object[].class).getResultList()) {
+                    codes.put((Long) row[0], (String) row[1]);
+                }
+                return codes;
+            }
+
+            @Override
+            public List<String> completedCourseCodes(String studentId) {
+                TypedQuery<String> query = entityManager.createQuery(
+                    "SELECT DISTINCT c.courseCode FROM CourseEnrollment e, Course c WHERE c.id = e.courseId " +
+                    "AND e.studentId = :studentId AND e.enrollmentStatus = 'COMPLETED' AND e.gradePoint >= 1.0",
+                    String.class);
+                query.setParameter("studentId", studentId);
+                Set<String> codes = new LinkedHashSet<>(query.getResultList());
+                // passing grades recorded through the exam service count as well
+                TypedQuery<String> graded = entityManager.createQuery(
+                    "SELECT DISTINCT g.courseCode FROM Grade g WHERE g.studentId = :studentId AND g.gradePoint >= 1.0",
+                    String.class);
+                graded.setParameter("studentId", studentId);
+                codes.addAll(graded.getResultList());
+                return new ArrayList<>(codes);
+            }
+        });
+
+    private final CourseCatalogCache catalog = new CourseCatalogCache(new CourseCatalogCache.CatalogSource() {
+        @Override
+        public Course findById(Long id) {
+            return entityManager.find(Course.class, id);
+        }
+
+        @Override
+        public Course findByCode(String courseCode) {
+            TypedQuery<Course> query = entityManager.createQuery(
+                "SELECT c FROM Course c WHERE c.courseCode = :code", Course.class);
+            query.setParameter("code", courseCode);
+            List<Course> results = query.getResultList();
+            return results.isEmpty() ? null : results.get(0);
+        }
+
+        @Override
+        public List<Course> findAll() {
+            CatalogSnapshot.Contents boot = bootSnapshot;
+            if (boot != null) {
+                return boot.getCourses();
+            }
+            TypedQuery<Course> query = entityManager.createQuery(
+                "SELECT c FROM Course c ORDER BY c.courseCode", Course.class);
+            return query.getResultList();
+        }
+
+        @Override
+        public List<Course> findByDepartment(String department) {
+            TypedQuery<Course> query = entityManager.createQuery(
+                "SELECT c FROM Course c WHERE c.department = :dept ORDER BY c.courseCode", Course.class);
+            query.setParameter("dept", department);
+            return query.getResultList();
+        }
+
+        @Override
+        public int liveOccupiedSeats(Long courseId) {
+            return seatReservations.peekOccupiedSeats(courseId);
+        }
+    }, CATALOG_CACHE_MAX_ENTRIES, CATALOG_CACHE_TTL_MILLIS);
+
+    private final EnrollmentStatsCounters enrollmentStats = new EnrollmentStatsCounters(
+        new EnrollmentStatsCounters.StatsSource() {
+            @Override
+            public Map<CourseEnrollment.EnrollmentStatus, Long> countByStatus(Long courseId) {
+                Map<CourseEnrollment.EnrollmentStatus, Long> counts =
+                    new EnumMap<>(CourseEnrollment.EnrollmentStatus.class);
+                for (Object[] row : entityManager.createQuery(
+                        "SELECT e.enrollmentStatus, COUNT(e) FROM CourseEnrollment e " +
+                        "WHERE e.courseId = :courseId GROUP BY e.enrollmentStatus", Object[].class)
+                        .setParameter("courseId", courseId)
+                        .getResultList()) {
+                    counts.put((CourseEnrollment.EnrollmentStatus) row[0], (Long) row[1]);
+                }
+                return counts;
+            }
+
+            @Override
+            public Map<Long, Map<CourseEnrollment.EnrollmentStatus, Long>> countByStatus(Collection<Long> courseIds) {
+                Map<Long, Map<CourseEnrollment.EnrollmentStatus, Long>> counts = new HashMap<>();
+                for (Object[] row : entityManager.createQuery(
+                        "SELECT e.courseId, e.enrollmentStatus, COUNT(e) FROM CourseEnrollment e " +
+                        "WHERE e.courseId IN :courseIds GROUP BY e.courseId, e.enrollmentStatus", Object[].class)
+                        .setParameter("courseIds", courseIds)
+                        .getResultList()) {
+                    counts.computeIfAbsent((Long) row[0], id -> new EnumMap<>(CourseEnrollment.EnrollmentStatus.class))
+                        .put((CourseEnrollment.EnrollmentStatus) row[1], (Long) row[2]);
+                }
+                return counts;
+            }
+        }, ENROLLMENT_STATS_RECONCILE_INTERVAL_MILLIS);
+
+    private final CourseSearchIndex searchIndex = new CourseSearchIndex(new CourseSearchIndex.SearchSource() {
+        @Override
+        public List<Course> allCourses() {
+            return catalog.getAll();
+        }
+    });
+
+    private final EnrollmentCartValidator cartValidator = new EnrollmentCartValidator(
+        new EnrollmentCartValidator.CartSource() {
+            @Override
+            public Map<Long, Course> courses(Collection<Long> courseIds) {
+                Map<Long, Course> courses = new HashMap<>();
+                for (Course course : entityManager.createQuery(
+                        "SELECT c FROM Course c WHERE c.id IN :ids", Course.class)
+                        .setParameter("ids", courseIds)
+                        .getResultList()) {
+                    courses.put(course.getId(), course);
+                }
+                return courses;
+            }
+
+            @Override
+            public List<CourseEnrollment> enrollments(String studentId, Collection<Long> courseIds) {
+                return entityManager.createQuery(
+                    "SELECT e FROM CourseEnrollment e WHERE e.studentId = :studentId AND e.courseId IN :ids",
+                    CourseEnrollment.class)
+                    .setParameter("studentId", studentId)
+                    .setParameter("ids", courseIds)
+                    .getResultList();
+            }
+
+            @Override
+            public void seedSeats(Collection<Course> courses) {
+                Map<Long, Course> byId = new HashMap<>();
+                for (Course course : courses) {
+                    byId.put(course.getId(), course);
+                }
+                List<Long> cold = seatReservations.unseeded(byId.keySet());
+                if (cold.isEmpty()) {
+                    return;
+                }
+                Map<Long, Integer> occupied = new HashMap<>();
+                for (Object[] row : entityManager.createQuery(
+                        "SELECT e.courseId, COUNT(e) FROM CourseEnrollment e WHERE e.courseId IN :ids " +
+                        "AND e.enrollmentStatus IN ('PENDING', 'ENROLLED') GROUP BY e.courseId", Object[].class)
+                        .setParameter("ids", cold)
+                        .getResultList()) {
+                    occupied.put((Long) row[0], ((Long) row[1]).intValue());
+                }
+                for (Long courseId : cold) {
+                    Integer capacity = byId.get(courseId).getMaxCapacity();
+                    seatReservations.seed(courseId, capacity == null ? Integer.MAX_VALUE : capacity,
+                        occupied.getOrDefault(courseId, 0));
+                }
+            }
+
+            @Override
+            public boolean hasAvailableSeat(Long courseId) {
+                return seatReservations.hasAvailableSeat(courseId);
+            }
+
+            @Override
+            public List<String> missingPrerequisites(String studentId, Long courseId) {
+                List<String> missing = new ArrayList<>();
+                for (PrerequisiteGraph.Requirement requirement
+                        : prerequisiteGraph.missingPrerequisites(studentId, courseId)) {
+                    missing.add(describe(requirement));
+                }
+                return missing;
+            }
+
+            @Override
+            public List<CourseSchedule> schedules(String studentId, Collection<Long> courseIds) {
+                return entityManager.createQuery(
+                    "SELECT s FROM CourseSchedule s WHERE s.status = 'ACTIVE' AND (s.courseId IN :ids " +
+                    "OR s.courseId IN (SELECT e.courseId FROM CourseEnrollment e WHERE e.studentId = :studentId " +
+                    "AND e.enrollmentStatus IN ('PENDING', 'ENROLLED')))", CourseSchedule.class)
+                    .setParameter("ids", courseIds)
+                    .setParameter("studentId", studentId)
+                    .getResultList();
+            }
+        });
+
+    private final StudentTimetableCache studentTimetables = new StudentTimetableCache(
+        new StudentTimetableCache.TimetableSource() {
+            @Override
+            public List<Long> enrolledCourseIds(String studentId) {
+                return entityManager.createQuery(
+                    "SELECT e.courseId FROM CourseEnrollment e WHERE e.studentId = :studentId " +
+                    "AND e.enrollmentStatus IN :statuses", Long.class)
+                    .setParameter("studentId", studentId)
+                    .setParameter("statuses", List.of(CourseEnrollment.EnrollmentStatus.PENDING,
+                        CourseEnrollment.EnrollmentStatus.ENROLLED))
+                    .getResultList();
+            }
+
+            @Override
+            public List<CourseSchedule> activeSchedules(Collection<Long> courseIds) {
+                return entityManager.createQuery(
+                    "SELECT s FROM CourseSchedule s WHERE s.courseId IN :ids AND s.status = :status",
+                    CourseSchedule.class)
+                    .setParameter("ids", courseIds)
+                    .setParameter("status", CourseSchedule.ScheduleStatus.ACTIVE)
+                    .getResultList();
+            }
+        }, STUDENT_TIMETABLE_MAX_ENTRIES, STUDENT_TIMETABLE_TTL_MILLIS);
+
+    private final InstructorWorkloadAggregator instructorWorkloads = new InstructorWorkloadAggregator(
+        new InstructorWorkloadAggregator.WorkloadSource() {
+            @Override
+            public List<Course> termCourses(String semester, String academicYear) {
+                return entityManager.createQuery(
+                    "SELECT c FROM Course c WHERE c.semester = :semester AND c.academicYear = :academicYear",
+                    Course.class)
+                    .setParameter("semester", semester)
+                    .setParameter("academicYear", academicYear)
+                    .getResultList();
+            }
+
+            @Override
+            public List<CourseSchedule> termSchedules(String semester, String academicYear) {
+                return entityManager.createQuery(
+                    "SELECT s FROM CourseSchedule s WHERE s.semester = :semester " +
+                    "AND s.academicYear = :academicYear AND s.status = :status", CourseSchedule.class)
+                    .setParameter("semester", semester)
+                    .setParameter("academicYear", academicYear)
+                    .setParameter("status", CourseSchedule.ScheduleStatus.ACTIVE)
+                    .getResultList();
+            }
+
+            @Override
+            public int occupiedSeats(Long courseId) {
+                return seatReservations.peekOccupiedSeats(courseId);
+            }
+        }, INSTRUCTOR_WORKLOAD_MAX_TERMS, INSTRUCTOR_WORKLOAD_TTL_MILLIS);
+
+    private final BulkEnrollmentImporter bulkEnrollments = new BulkEnrollmentImporter(
+        new BulkEnrollmentImporter.EnrollmentTarget() {
+            @Override
+            public Course findCourse(Long courseId) {
+                return catalog.getById(courseId);
+            }
+
+            @Override
+            public Course findCourseByCode(String courseCode) {
+                return catalog.getByCode(courseCode);
+            }
+
+            @Override
+            public boolean reserveSeat(Long courseId) {
+                return seatReservations.tryReserve(courseId);
+            }
+
+            @Override
+            public void releaseSeat(Long courseId) {
+                seatReservations.release(courseId);
+            }
+
+            @Override
+            public Set<String> insertBatch(List<CourseEnrollment> rows) {
+                return transactions.inNewTransaction(() -> insertEnrollments(rows));
+            }
+
+            /**
+             * The batch has committed in its own transaction, so state is updated at once
+             * rather than deferred to the caller's transaction, which may still roll back
+             */
+            @Override
+            public void inserted(List<CourseEnrollment> rows) {
+                Set<Long> courseIds = new LinkedHashSet<>();
+                for (CourseEnrollment enrollment : rows) {
+                    enrollmentStats.transition(enrollment.getCourseId(), null, enrollment.getEnrollmentStatus());
+                    studentTimetables.invalidateStudent(enrollment.getStudentId());
+                    if (enrollment.getEnrollmentStatus() == CourseEnrollment.EnrollmentStatus.COMPLETED) {
+                        prerequisiteGraph.invalidateStudent(enrollment.getStudentId());
+                    }
+                    courseIds.add(enrollment.getCourseId());
+                }
+                try {
+                    transactions.inNewTransaction(() -> {
+                        for (Long courseId : courseIds) {
+                            reconcileSeats(courseId);
+                        }
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    // the background reconciler writes the counts back later
+                    logger.warn("Could not write back seat counts after a bulk enrollment batch", e);
+                }
+            }
+        }, BULK_ENROLLMENT_CHUNK, BULK_ENROLLMENT_MAX_REPORTED_ERRORS);
+
+    private final Map<String, TimetableRun> timetableRuns = new ConcurrentHashMap<>();
+    private final Set<String> sectionAssignmentRuns = ConcurrentHashMap.newKeySet();
 
     public void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL)
+    public void setTransactionManager(TransactionManager transactionManager) {
+        transactions.setTransactionManager(transactionManager);
+    }
+
+    @Activate
+    public void activate(Map<String, Object> properties) {
+        timetablePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileDue, SEAT_RECONCILE_INTERVAL_MILLIS,
+            SEAT_RECONCILE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        Object snapshotPath = properties == null ? null : properties.get("catalog.snapshotPath");
+        if (snapshotPath == null || snapshotPath.toString().isBlank()) {
+            return;
+        }
+        Path path = Paths.get(snapshotPath.toString().trim());
+        if (!Files.isRegularFile(path)) {
+            logger.warn("Catalog snapshot {} not found, indexes will load from the database", path);
+            return;
+        }
+        try {
+            long began = System.currentTimeMillis();
+            CatalogSnapshot.Summary summary = warmFromSnapshot(path);
+            logger.info("Catalog indexes warmed from snapshot {} of {} in {} ms: {} courses, {} schedules, "
+                + "{} prerequisites", path, summary.getCreatedAt(), System.currentTimeMillis() - began,
+                summary.getCourses(), summary.getSchedules(), summary.getPrerequisites());
+            reconciler.execute(() -> refreshFromDatabase(CATALOG_REFRESH_ATTEMPTS));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not warm catalog indexes from snapshot {}, they will load from the database", path, e);
+        }
+    }
+
+    @Deactivate
+    public void deactivate() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+        for (TimetableRun run : timetableRuns.values()) {
+            run.generator.cancel();
+        }
+        if (timetablePool != null) {
+            timetablePool.shutdownNow();
+        }
+    }
+
+    /**
+     * Loads the catalog, search, schedule and prerequisite indexes from a memory-mapped
+     * snapshot instead of the database, so the first requests do not wait for it. The
+     * snapshot may be older than the database; {@link #refreshFromDatabase(int)} replaces
+     * what it loaded once startup is done.
+     */
+    CatalogSnapshot.Summary warmFromSnapshot(Path path) throws IOException {
+        CatalogSnapshot.Contents contents = CatalogSnapshot.map(path);
+        bootSnapshot = contents;
+        try {
+            // each read below triggers that index's lazy load
+            catalog.getAll();
+            searchIndex.size();
+            scheduleIndex.knownVenues();
+            prerequisiteGraph.idOf("");
+        } finally {
+            bootSnapshot = null;
+        }
+        return contents.getSummary();
+    }
+
+    /**
+     * Reloads the indexes warmed from a snapshot from the database and swaps the result in.
+     * A reload that raced with a catalog write may have read a row just before the write
+     * committed and then replaced the write's patch, so it is run again until one completes
+     * without a write in between.
+     */
+    private void refreshFromDatabase(int attemptsLeft) {
+        long began = catalogWrites.get();
+        try {
+            transactions.inNewTransaction(() -> {
+                List<Course> courses = entityManager.createQuery(
+                    "SELECT c FROM Course c ORDER BY c.courseCode", Course.class).getResultList();
+                List<CourseSchedule> active = entityManager.createQuery(
+                    "SELECT s FROM CourseSchedule s WHERE s.status = 'ACTIVE'", CourseSchedule.class).getResultList();
+                List<CoursePrerequisite> prerequisites = entityManager.createQuery(
+                    "SELECT p FROM CoursePrerequisite p", CoursePrerequisite.class).getResultList();
+                Map<Long, String> codes = new HashMap<>();
+                for (Course course : courses) {
+                    codes.put(course.getId(), course.getCourseCode());
+                }
+                searchIndex.reload(courses);
+                scheduleIndex.reload(active);
+                prerequisiteGraph.reload(codes, prerequisites);
+                catalog.clear();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not reload catalog indexes from the database", e);
+            began = -1L;
+        }
+        if (catalogWrites.get() == began) {
+            logger.info("Catalog indexes reloaded from the database after warming from a snapshot");
+        } else if (attemptsLeft > 1) {
+            reconciler.schedule(() -> refreshFromDatabase(attemptsLeft - 1),
+                SEAT_RECONCILE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            logger.warn("Catalog indexes still differ from the database after {} reloads, "
+                + "entries written meanwhile may be stale until they change again", CATALOG_REFRESH_ATTEMPTS);
+        }
+    }
+
+    /**
+     * Marks a course, schedule or prerequisite write, now and once it commits; call it after
+     * registering the write's own commit callbacks so they have run when the mark does
+     */
+    private void catalogWritten() {
+        catalogWrites.incrementAndGet();
+        transactions.afterCommit(catalogWrites::incrementAndGet);
+    }
+
     @Override
     public Course addCourse(Course course) {
         entityManager.persist(course);
         entityManager.flush();
+        invalidateCatalog(course.getId(), course);
+        transactions.afterCommit(() -> {
+            prerequisiteGraph.registerCourse(course.getId(), course.getCourseCode());
+            searchIndex.put(course);
+            instructorWorkloads.courseSaved(course);
+        });
+        catalogWritten();
         return course;
     }
 
     @Override
     public Course updateCourse(Course course) {
-        return entityManager.merge(course);
+        Course updated = entityManager.merge(course);
+        invalidateCatalog(updated.getId(), updated);
+        transactions.afterCommit(() -> {
+            prerequisiteGraph.registerCourse(updated.getId(), updated.getCourseCode());
+            searchIndex.put(updated);
+            instructorWorkloads.courseSaved(updated);
+        });
+        catalogWritten();
+        if (updated.getMaxCapacity() != null) {
+            seatReservations.updateCapacity(updated.getId(), updated.getMaxCapacity());
+            promoteWaitlisted(updated.getId());
+        }
+        return updated;
+    }
+
+    /**
+     * Drops the student's cached timetable now and again once the transaction commits,
+     * so a rebuild in between cannot keep the rows from before the write
+     */
+    private void invalidateTimetable(String studentId) {
+        studentTimetables.invalidateStudent(studentId);
+        transactions.afterCommit(() -> studentTimetables.invalidateStudent(studentId));
+    }
+
+    private void invalidateCourseTimetables(Long courseId) {
+        studentTimetables.invalidateCourse(courseId);
+        transactions.afterCommit(() -> studentTimetables.invalidateCourse(courseId));
+    }
+
+    /**
+     * Drops the course from the catalog cache now and again once the transaction
+     * commits: a read between the flush and the commit would otherwise cache the
+     * committed-before row until the TTL runs out
+     */
+    private void invalidateCatalog(Long courseId, Course changed) {
+        catalog.invalidate(courseId, changed);
+        transactions.afterCommit(() -> catalog.invalidate(courseId, changed));
     }
 
     @Override
     public Course getCourseById(Long id) {
-        return entityManager.find(Course.class, id);
+        return catalog.getById(id);
     }
 
     @Override
     public Course getCourseByCourseCode(String courseCode) {
-        TypedQuery<Course> query = entityManager.createQuery(
-            "SELECT c FROM Course c WHERE c.courseCode = :code", Course.class);
-        query.setParameter("code", courseCode);
-        List<Course> results = query.getResultList();
-        return results.isEmpty() ? null : results.get(0);
+        return catalog.getByCode(courseCode);
     }
 
     @Override
     public List<Course> getAllCourses() {
-        TypedQuery<Course> query = entityManager.createQuery(
-            "SELECT c FROM Course c ORDER BY c.courseCode", Course.class);
-        return query.getResultList();
+        return catalog.getAll();
     }
 
     @Override
     public List<Course> getCoursesByDepartment(String department) {
-        TypedQuery<Course> query = entityManager.createQuery(
-            "SELECT c FROM Course c WHERE c.department = :dept ORDER BY c.courseCode", Course.class);
-        query.setParameter("dept", department);
-        return query.getResultList();
+        return catalog.getByDepartment(department);
+    }
+
+    @Override
+    public KeysetPage<Course> getCoursesPage(String after, int limit) {
+        String[] key = ContinuationToken.decode("courses", after, 1);
+        List<Course> rows = catalog.getPage(key == null ? null : key[0], limit + 1);
+        return page(rows, limit, last -> ContinuationToken.encode("courses", last.getCourseCode()));
+    }
+
+    @Override
+    public List<Course> searchCourses(String query, int limit) {
+        List<Course> courses = new ArrayList<>();
+        for (Long id : searchIndex.search(query, limit)) {
+            Course course = catalog.getById(id);
+            if (course != null) {
+                courses.add(course);
+            }
+        }
+        return courses;
+    }
+
+    @Override
+    public CatalogCacheStats getCatalogCacheStats() {
+        return catalog.stats();
     }
 
     @Override
@@ -86,19 +731,97 @@ public class CourseServiceImpl implements CourseService {
         Course course = entityManager.find(Course.class, id);
         if (course != null) {
             entityManager.remove(course);
+            seatReservations.evict(id);
+            waitlists.evict(id);
+            transactions.afterCommit(() -> prerequisiteGraph.removeCourse(id));
+            invalidateCatalog(id, course);
+            transactions.afterCommit(() -> searchIndex.remove(id));
+            enrollmentStats.evict(id);
+            invalidateCourseTimetables(id);
+            transactions.afterCommit(() -> instructorWorkloads.courseRemoved(id));
+            catalogWritten();
+            entityManager.createQuery("DELETE FROM SectionAssignment a WHERE a.courseId = :courseId")
+                .setParameter("courseId", id)
+                .executeUpdate();
         }
     }
 
+    /**
+     * Enrolls a student; a DROPPED, COMPLETED, SUSPENDED or FAILED record for the same
+     * course is reactivated in place, as the cart and waitlist promotion do
+     * @throws IllegalStateException if the student already holds a seat or the course is full
+     */
     @Override
     public CourseEnrollment enrollStudent(CourseEnrollment enrollment) {
-        entityManager.persist(enrollment);
-        entityManager.flush();
+        CourseEnrollment existing = getEnrollmentByStudentAndCourse(enrollment.getStudentId(),
+            enrollment.getCourseId());
+        if (existing != null && holdsSeat(existing.getEnrollmentStatus())) {
+            throw new IllegalStateException("Student is already enrolled in this course");
+        }
+        boolean holdsSeat = holdsSeat(enrollment.getEnrollmentStatus());
+        if (holdsSeat && !seatReservations.tryReserve(enrollment.getCourseId())) {
+            throw new IllegalStateException("Course is at full capacity");
+        }
+        if (existing != null) {
+            CourseEnrollment reactivated;
+            try {
+                reactivated = reactivate(existing, enrollment.getStudentName(), enrollment.getSemester(),
+                    enrollment.getAcademicYear(), enrollment.getEnrollmentStatus());
+            } catch (RuntimeException e) {
+                if (holdsSeat) {
+                    seatReservations.release(enrollment.getCourseId());
+                }
+                throw e;
+            }
+            if (holdsSeat) {
+                Long courseId = enrollment.getCourseId();
+                transactions.afterRollback(() -> seatReservations.release(courseId));
+            }
+            reconcileSeats(enrollment.getCourseId());
+            return reactivated;
+        }
+        try {
+            entityManager.persist(enrollment);
+            entityManager.flush();
+        } catch (RuntimeException e) {
+            if (holdsSeat) {
+                seatReservations.release(enrollment.getCourseId());
+            }
+            throw e;
+        }
+        if (holdsSeat) {
+            Long courseId = enrollment.getCourseId();
+            transactions.afterRollback(() -> seatReservations.release(courseId));
+        }
+        recordTransition(enrollment.getCourseId(), null, enrollment.getEnrollmentStatus());
+        invalidateTimetable(enrollment.getStudentId());
+        if (enrollment.getEnrollmentStatus() == CourseEnrollment.EnrollmentStatus.COMPLETED) {
+            invalidateCompletions(enrollment.getStudentId());
+        }
+        reconcileSeats(enrollment.getCourseId());
         return enrollment;
     }
 
     @Override
     public CourseEnrollment updateEnrollment(CourseEnrollment enrollment) {
-        return entityManager.merge(enrollment);
+        CourseEnrollment current = enrollment.getId() == null
+            ? null : entityManager.find(CourseEnrollment.class, enrollment.getId());
+        Long previousCourseId = current == null ? null : current.getCourseId();
+        String previousStudentId = current == null ? null : current.getStudentId();
+        CourseEnrollment.EnrollmentStatus previousStatus = current == null ? null : current.getEnrollmentStatus();
+        CourseEnrollment updated = entityManager.merge(enrollment);
+        if (previousCourseId == null || previousCourseId.equals(updated.getCourseId())) {
+            recordTransition(updated.getCourseId(), previousStatus, updated.getEnrollmentStatus());
+        } else {
+            recordTransition(previousCourseId, previousStatus, null);
+            recordTransition(updated.getCourseId(), null, updated.getEnrollmentStatus());
+        }
+        invalidateCompletions(updated.getStudentId());
+        if (current != null) {
+            invalidateTimetable(previousStudentId);
+        }
+        invalidateTimetable(updated.getStudentId());
+        return updated;
     }
 
     @Override
@@ -144,12 +867,66 @@ public class CourseServiceImpl implements CourseService {
         return query.getResultList();
     }
 
+    /**
+     * Pages on student_id, unique within a course, using the (course_id, student_id) unique index
+     */
+    @Override
+    public KeysetPage<CourseEnrollment> getEnrollmentsByCoursePage(Long courseId, String after, int limit) {
+        String scope = "course-enrollments|" + courseId;
+        String[] key = ContinuationToken.decode(scope, after, 1);
+        TypedQuery<CourseEnrollment> query = entityManager.createQuery(
+            "SELECT e FROM CourseEnrollment e WHERE e.courseId = :courseId" +
+            (key == null ? "" : " AND e.studentId > :studentId") +
+            " ORDER BY e.studentId", CourseEnrollment.class);
+        query.setParameter("courseId", courseId);
+        if (key != null) {
+            query.setParameter("studentId", key[0]);
+        }
+        query.setMaxResults(limit + 1);
+        return page(query.getResultList(), limit, last -> ContinuationToken.encode(scope, last.getStudentId()));
+    }
+
+    /**
+     * Pages on (student_id, id) using idx_course_enrollments_year_student; JPQL has no
+     * row-value comparison, so the redundant leading bound is what lets the planner
+     * start the index range scan at the key instead of filtering from the start
+     */
+    @Override
+    public KeysetPage<CourseEnrollment> getEnrollmentsByAcademicYearPage(String academicYear, String after, int limit) {
+        String scope = "year-enrollments|" + academicYear;
+        String[] key = ContinuationToken.decode(scope, after, 2);
+        TypedQuery<CourseEnrollment> query = entityManager.createQuery(
+            "SELECT e FROM CourseEnrollment e WHERE e.academicYear = :year" +
+            (key == null ? "" : " AND e.studentId >= :studentId" +
+                " AND (e.studentId > :studentId OR (e.studentId = :studentId AND e.id > :id))") +
+            " ORDER BY e.studentId, e.id", CourseEnrollment.class);
+        query.setParameter("year", academicYear);
+        if (key != null) {
+            query.setParameter("studentId", key[0]);
+            query.setParameter("id", parseKey(key[1]));
+        }
+        query.setMaxResults(limit + 1);
+        return page(query.getResultList(), limit,
+            last -> ContinuationToken.encode(scope, last.getStudentId(), last.getId()));
+    }
+
     @Override
     public void dropCourse(Long enrollmentId) {
         CourseEnrollment enrollment = entityManager.find(CourseEnrollment.class, enrollmentId);
         if (enrollment != null) {
+            CourseEnrollment.EnrollmentStatus previous = enrollment.getEnrollmentStatus();
+            boolean heldSeat = holdsSeat(previous);
             enrollment.setEnrollmentStatus(CourseEnrollment.EnrollmentStatus.DROPPED);
             entityManager.merge(enrollment);
+            recordTransition(enrollment.getCourseId(), previous, CourseEnrollment.EnrollmentStatus.DROPPED);
+            invalidateTimetable(enrollment.getStudentId());
+            if (heldSeat) {
+                Long courseId = enrollment.getCourseId();
+                seatReservations.release(courseId);
+                transactions.afterRollback(() -> seatReservations.reclaim(courseId));
+                promoteWaitlisted(enrollment.getCourseId());
+                reconcileSeats(enrollment.getCourseId());
+            }
         }
     }
 
@@ -157,32 +934,440 @@ public class CourseServiceImpl implements CourseService {
     public void approveEnrollment(Long enrollmentId, String approvedBy) {
         CourseEnrollment enrollment = entityManager.find(CourseEnrollment.class, enrollmentId);
         if (enrollment != null) {
+            CourseEnrollment.EnrollmentStatus previous = enrollment.getEnrollmentStatus();
+            if (!holdsSeat(previous)) {
+                Long courseId = enrollment.getCourseId();
+                if (!seatReservations.tryReserve(courseId)) {
+                    throw new IllegalStateException("Course is at full capacity");
+                }
+                transactions.afterRollback(() -> seatReservations.release(courseId));
+            }
             enrollment.setEnrollmentStatus(CourseEnrollment.EnrollmentStatus.ENROLLED);
             enrollment.setApprovedBy(approvedBy);
             enrollment.setApprovalDate(java.time.LocalDateTime.now());
             entityManager.merge(enrollment);
+            recordTransition(enrollment.getCourseId(), previous, CourseEnrollment.EnrollmentStatus.ENROLLED);
+            invalidateTimetable(enrollment.getStudentId());
+            promoteWaitlisted(enrollment.getCourseId());
         }
     }
 
     @Override
-    public boolean validateEnrollmentCapacity(Long courseId) {
-        Course course = entityManager.find(Course.class, courseId);
+    public CourseEnrollmentStats getEnrollmentStats(Long courseId) {
+        Course course = catalog.getById(courseId);
         if (course == null) {
-            return false;
+            return null;
+        }
+        Map<CourseEnrollment.EnrollmentStatus, Long> counts = enrollmentStats.snapshot(courseId);
+        CourseEnrollmentStats stats = new CourseEnrollmentStats();
+        stats.setCourseId(courseId);
+        stats.setCourseCode(course.getCourseCode());
+        stats.setMaxCapacity(course.getMaxCapacity());
+        long total = 0;
+        for (Map.Entry<CourseEnrollment.EnrollmentStatus, Long> count : counts.entrySet()) {
+            stats.getCountsByStatus().put(count.getKey().name(), count.getValue());
+            total += count.getValue();
         }
-        return course.getCurrentEnrollment() < course.getMaxCapacity();
+        stats.setTotal(total);
+        stats.setSeatsHeld(counts.get(CourseEnrollment.EnrollmentStatus.PENDING)
+            + counts.get(CourseEnrollment.EnrollmentStatus.ENROLLED));
+        stats.setReconciledAt(LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(enrollmentStats.lastReconciled(courseId)), ZoneId.systemDefault()));
+        return stats;
     }
 
     @Override
-    public CourseSchedule addSchedule(CourseSchedule schedule) {
-        entityManager.persist(schedule);
+    public boolean validateEnrollmentCapacity(Long courseId) {
+        return seatReservations.hasAvailableSeat(courseId);
+    }
+
+    @Override
+    public CourseWaitlistEntry joinWaitlist(CourseWaitlistEntry entry) {
+        Long courseId = entry.getCourseId();
+        CourseEnrollment existing = getEnrollmentByStudentAndCourse(entry.getStudentId(), courseId);
+        if (existing != null && holdsSeat(existing.getEnrollmentStatus())) {
+            throw new IllegalStateException("Student is already enrolled in this course");
+        }
+        entry.setStatus(CourseWaitlistEntry.WaitlistStatus.WAITING);
+        entry.setPosition(waitlists.enqueue(courseId, entry.getStudentId()));
+        transactions.afterRollback(() -> waitlists.evict(courseId));
+        try {
+            entityManager.persist(entry);
+            entityManager.flush();
+        } catch (RuntimeException e) {
+            waitlists.evict(courseId);
+            throw e;
+        }
+        promoteWaitlisted(courseId);
+        return entry;
+    }
+
+    @Override
+    public List<CourseWaitlistEntry> getWaitlistByCourse(Long courseId) {
+        TypedQuery<CourseWaitlistEntry> query = entityManager.createQuery(
+            "SELECT w FROM CourseWaitlistEntry w WHERE w.courseId = :courseId " +
+            "AND w.status = 'WAITING' ORDER BY w.position", CourseWaitlistEntry.class);
+        query.setParameter("courseId", courseId);
+        return query.getResultList();
+    }
+
+    @Override
+    public int getWaitlistPosition(Long courseId, String studentId) {
+        return waitlists.position(courseId, studentId);
+    }
+
+    /**
+     * Checks prerequisites, capacity and timetable clashes for every course in the
+     * cart with a fixed number of queries, independent of the cart size
+     * @return problems per course ID, empty if the whole cart can be enrolled
+     */
+    @Override
+    public Map<Long, List<String>> validateEnrollmentCart(EnrollmentCart cart) {
+        return cartValidator.check(cart, new HashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * Enrolls the student in every course of the cart or in none of them
+     * @throws IllegalStateException if any course fails validation or fills up meanwhile
+     */
+    @Override
+    public List<CourseEnrollment> enrollCart(EnrollmentCart cart) {
+        Map<Long, Course> courses = new LinkedHashMap<>();
+        Map<Long, CourseEnrollment> existing = new HashMap<>();
+        Map<Long, List<String>> problems = cartValidator.check(cart, courses, existing);
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Cart rejected: "
+                + EnrollmentCartValidator.describeProblems(problems, courses));
+        }
+
+        List<Long> reserved = new ArrayList<>();
+        try {
+            for (Long courseId : courses.keySet()) {
+                if (!seatReservations.tryReserve(courseId)) {
+                    throw new IllegalStateException("Cart rejected: "
+                        + courses.get(courseId).getCourseCode() + " is at full capacity");
+                }
+                reserved.add(courseId);
+            }
+            List<CourseEnrollment> enrollments = new ArrayList<>();
+            for (Course course : courses.values()) {
+                String semester = cart.getSemester() != null ? cart.getSemester() : course.getSemester();
+                String academicYear = cart.getAcademicYear() != null
+                    ? cart.getAcademicYear() : course.getAcademicYear();
+                CourseEnrollment previous = existing.get(course.getId());
+                if (previous != null) {
+                    enrollments.add(reactivate(previous, cart.getStudentName(), semester, academicYear,
+                        CourseEnrollment.EnrollmentStatus.ENROLLED));
+                    continue;
+                }
+                CourseEnrollment enrollment = new CourseEnrollment();
+                enrollment.setCourseId(course.getId());
+                enrollment.setStudentId(cart.getStudentId());
+                enrollment.setStudentName(cart.getStudentName());
+                enrollment.setSemester(semester);
+                enrollment.setAcademicYear(academicYear);
+                enrollment.setEnrollmentStatus(CourseEnrollment.EnrollmentStatus.ENROLLED);
+                entityManager.persist(enrollment);
+                recordTransition(course.getId(), null, CourseEnrollment.EnrollmentStatus.ENROLLED);
+                enrollments.add(enrollment);
+            }
+            entityManager.flush();
+            invalidateTimetable(cart.getStudentId());
+            transactions.afterRollback(() -> {
+                for (Long courseId : reserved) {
+                    seatReservations.release(courseId);
+                }
+            });
+            for (Long courseId : reserved) {
+                reconcileSeats(courseId);
+            }
+            return enrollments;
+        } catch (RuntimeException e) {
+            for (Long courseId : reserved) {
+                seatReservations.release(courseId);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public BulkEnrollmentReport importEnrollments(InputStream csv) {
+        try {
+            return bulkEnrollments.importCsv(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read enrollment CSV", e);
+        }
+    }
+
+    /**
+     * One multi-row INSERT per batch: IDENTITY ids keep the provider from batching persists,
+     * so the rows go in as a single statement and conflicting (course, student) pairs are skipped
+     * @return keys of the rows actually inserted
+     */
+    private Set<String> insertEnrollments(List<CourseEnrollment> rows) {
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO course_enrollments (course_id, student_id, student_name, enrollment_status, " +
+            "enrollment_date, semester, academic_year, created_at, updated_at) VALUES ");
+        int columns = 9;
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i > 0 ? ", (" : "(");
+            for (int c = 1; c <= columns; c++) {
+                sql.append(c > 1 ? ", ?" : "?").append(i * columns + c);
+            }
+            sql.append(')');
+        }
+        sql.append(" ON CONFLICT (course_id, student_id) DO NOTHING RETURNING course_id, student_id");
+
+        Query insert = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            CourseEnrollment enrollment = rows.get(i);
+            int base = i * columns;
+            insert.setParameter(base + 1, enrollment.getCourseId());
+            insert.setParameter(base + 2, enrollment.getStudentId());
+            insert.setParameter(base + 3, enrollment.getStudentName());
+            insert.setParameter(base + 4, enrollment.getEnrollmentStatus().name());
+            insert.setParameter(base + 5, enrollment.getEnrollmentDate());
+            insert.setParameter(base + 6, enrollment.getSemester());
+            insert.setParameter(base + 7, enrollment.getAcademicYear());
+            insert.setParameter(base + 8, enrollment.getCreatedAt());
+            insert.setParameter(base + 9, enrollment.getUpdatedAt());
+        }
+        Set<String> inserted = new HashSet<>();
+        for (Object result : insert.getResultList()) {
+            Object[] row = (Object[]) result;
+            inserted.add(BulkEnrollmentImporter.key(((Number) row[0]).longValue(), (String) row[1]));
+        }
+        return inserted;
+    }
+
+    /**
+     * Moves students from the head of the waitlist into free seats. Each step is
+     * an indexed lookup of the head entry; students who are no longer eligible
+     * are skipped so they never block the queue.
+     *
+     * The head entry is read with a row lock, so concurrent promotions of one course
+     * take turns on it: the later one finds it no longer WAITING once the earlier one
+     * commits, reloads the queue and moves on to the next student instead of
+     * inserting a second enrollment for the same one. The queue cache is changed at
+     * once and evicted if the transaction rolls back.
+     */
+    private void promoteWaitlisted(Long courseId) {
+        try {
+            String studentId;
+            String missed = null;
+            boolean touched = false;
+            while ((studentId = waitlists.peek(courseId)) != null) {
+                CourseWaitlistEntry head = findWaitingEntryForUpdate(courseId, studentId);
+                if (head == null) {
+                    waitlists.evict(courseId);
+                    if (studentId.equals(missed)) {
+                        return;
+                    }
+                    // promoted or skipped by a transaction that committed meanwhile
+                    missed = studentId;
+                    continue;
+                }
+                if (!touched) {
+                    transactions.afterRollback(() -> waitlists.evict(courseId));
+                    touched = true;
+                }
+                CourseEnrollment existing = getEnrollmentByStudentAndCourse(studentId, courseId);
+                if ((existing != null && holdsSeat(existing.getEnrollmentStatus()))
+                        || !validateStudentPrerequisites(studentId, courseId)) {
+                    head.setStatus(CourseWaitlistEntry.WaitlistStatus.SKIPPED);
+                    entityManager.merge(head);
+                    waitlists.removeHead(courseId, studentId);
+                    continue;
+                }
+                if (!seatReservations.tryReserve(courseId)) {
+                    return;
+                }
+                try {
+                    head.setPromotedEnrollmentId(promote(head, existing).getId());
+                    head.setStatus(CourseWaitlistEntry.WaitlistStatus.PROMOTED);
+                    entityManager.merge(head);
+                } catch (RuntimeException e) {
+                    seatReservations.release(courseId);
+                    throw e;
+                }
+                transactions.afterRollback(() -> seatReservations.release(courseId));
+                waitlists.removeHead(courseId, studentId);
+            }
+        } catch (RuntimeException e) {
+            waitlists.evict(courseId);
+            throw e;
+        }
+    }
+
+    private CourseWaitlistEntry findWaitingEntryForUpdate(Long courseId, String studentId) {
+        TypedQuery<CourseWaitlistEntry> query = entityManager.createQuery(
+            "SELECT w FROM CourseWaitlistEntry w WHERE w.courseId = :courseId " +
+            "AND w.studentId = :studentId AND w.status = 'WAITING'", CourseWaitlistEntry.class);
+        query.setParameter("courseId", courseId);
+        query.setParameter("studentId", studentId);
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        List<CourseWaitlistEntry> results = query.getResultList();
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    private CourseEnrollment promote(CourseWaitlistEntry entry, CourseEnrollment existing) {
+        if (existing != null) {
+            return reactivate(existing, entry.getStudentName(), entry.getSemester(), entry.getAcademicYear(),
+                CourseEnrollment.EnrollmentStatus.ENROLLED);
+        }
+        CourseEnrollment enrollment = new CourseEnrollment();
+        enrollment.setCourseId(entry.getCourseId());
+        enrollment.setStudentId(entry.getStudentId());
+        enrollment.setStudentName(entry.getStudentName());
+        enrollment.setSemester(entry.getSemester());
+        enrollment.setAcademicYear(entry.getAcademicYear());
+        enrollment.setEnrollmentStatus(CourseEnrollment.EnrollmentStatus.ENROLLED);
+        entityManager.persist(enrollment);
+        entityManager.flush();
+        recordTransition(entry.getCourseId(), null, CourseEnrollment.EnrollmentStatus.ENROLLED);
+        invalidateTimetable(entry.getStudentId());
+        return enrollment;
+    }
+
+    /**
+     * Reuses a record that no longer holds a seat for a new enrollment in the same course;
+     * (course_id, student_id) is unique, so single enrollment, the cart and the waitlist all go through here
+     */
+    private CourseEnrollment reactivate(CourseEnrollment existing, String studentName, String semester,
+                                        String academicYear, CourseEnrollment.EnrollmentStatus status) {
+        CourseEnrollment.EnrollmentStatus previous = existing.getEnrollmentStatus();
+        if (studentName != null) {
+            existing.setStudentName(studentName);
+        }
+        if (semester != null) {
+            existing.setSemester(semester);
+        }
+        if (academicYear != null) {
+            existing.setAcademicYear(academicYear);
+        }
+        existing.setEnrollmentStatus(status != null ? status : CourseEnrollment.EnrollmentStatus.ENROLLED);
+        existing.setEnrollmentDate(java.time.LocalDate.now());
+        existing.setDropDate(null);
+        CourseEnrollment reactivated = entityManager.merge(existing);
         entityManager.flush();
+        recordTransition(reactivated.getCourseId(), previous, reactivated.getEnrollmentStatus());
+        invalidateTimetable(reactivated.getStudentId());
+        if (previous == CourseEnrollment.EnrollmentStatus.COMPLETED) {
+            invalidateCompletions(reactivated.getStudentId());
+        }
+        return reactivated;
+    }
+
+    private static boolean holdsSeat(CourseEnrollment.EnrollmentStatus status) {
+        return EnrollmentCartValidator.holdsSeat(status);
+    }
+
+    /**
+     * Applies a status change to the stats counters once the row change has committed
+     */
+    private void recordTransition(Long courseId, CourseEnrollment.EnrollmentStatus from,
+                                  CourseEnrollment.EnrollmentStatus to) {
+        transactions.afterCommit(() -> enrollmentStats.transition(courseId, from, to));
+    }
+
+    /**
+     * Runs every reconcile interval: writes back seat counts and reloads drifted stats
+     */
+    private void reconcileDue() {
+        reconcileDueSeats();
+        for (Long courseId : enrollmentStats.dueForReconciliation()) {
+            try {
+                transactions.inNewTransaction(() -> {
+                    enrollmentStats.reconcile(courseId);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Could not reload enrollment stats of course {}", courseId, e);
+            }
+        }
+    }
+
+    /**
+     * Writes back the seat counts of courses changed since their last write-back, so the
+     * column catches up even when no further enrollment arrives for the course
+     */
+    private void reconcileDueSeats() {
+        List<Long> due = seatReservations.dueForReconciliation();
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            transactions.inNewTransaction(() -> {
+                for (Long courseId : due) {
+                    reconcileSeats(courseId);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not write back seat counts of {} courses", due.size(), e);
+        }
+    }
+
+    /**
+     * Writes the in-memory seat count back to courses.current_enrollment,
+     * at most once per reconcile interval per course
+     */
+    private void reconcileSeats(Long courseId) {
+        int occupied = seatReservations.claimReconciliation(courseId);
+        if (occupied < 0) {
+            return;
+        }
+        entityManager.createQuery(
+            "UPDATE Course c SET c.currentEnrollment = :occupied WHERE c.id = :courseId")
+            .setParameter("occupied", occupied)
+            .setParameter("courseId", courseId)
+            .executeUpdate();
+    }
+
+    @Override
+    public CourseSchedule addSchedule(CourseSchedule schedule) {
+        ScheduleIndex.Booking booking = scheduleIndex.reserve(schedule);
+        try {
+            entityManager.persist(schedule);
+            entityManager.flush();
+        } catch (RuntimeException e) {
+            scheduleIndex.cancel(booking);
+            throw e;
+        }
+        settle(booking, schedule.getId());
+        invalidateCourseTimetables(schedule.getCourseId());
+        transactions.afterCommit(() -> instructorWorkloads.scheduleSaved(schedule));
         return schedule;
     }
 
+    /**
+     * Keeps a reservation pending until the transaction ends: committed with the row,
+     * or cancelled if the row rolls back
+     */
+    private void settle(ScheduleIndex.Booking booking, Long scheduleId) {
+        transactions.afterCompletion(() -> scheduleIndex.commit(booking, scheduleId),
+            () -> scheduleIndex.cancel(booking));
+        catalogWritten();
+    }
+
     @Override
     public CourseSchedule updateSchedule(CourseSchedule schedule) {
-        return entityManager.merge(schedule);
+        CourseSchedule current = schedule.getId() == null
+            ? null : entityManager.find(CourseSchedule.class, schedule.getId());
+        Long previousCourseId = current == null ? null : current.getCourseId();
+        ScheduleIndex.Booking booking = scheduleIndex.reserve(schedule);
+        CourseSchedule updated;
+        try {
+            updated = entityManager.merge(schedule);
+        } catch (RuntimeException e) {
+            scheduleIndex.cancel(booking);
+            throw e;
+        }
+        settle(booking, updated.getId());
+        invalidateCourseTimetables(previousCourseId);
+        invalidateCourseTimetables(updated.getCourseId());
+        transactions.afterCommit(() -> instructorWorkloads.scheduleSaved(updated));
+        return updated;
     }
 
     @Override
@@ -217,6 +1402,35 @@ public class CourseServiceImpl implements CourseService {
         return query.getResultList();
     }
 
+    /**
+     * Pages on (day_of_week, start_time, id) using idx_course_schedules_venue_slot, with
+     * the same leading bound as the enrollment pages
+     */
+    @Override
+    public KeysetPage<CourseSchedule> getSchedulesByVenuePage(String venue, String after, int limit) {
+        String scope = "venue-schedules|" + venue;
+        String[] key = ContinuationToken.decode(scope, after, 3);
+        TypedQuery<CourseSchedule> query = entityManager.createQuery(
+            "SELECT s FROM CourseSchedule s WHERE s.venue = :venue" +
+            (key == null ? "" : " AND s.dayOfWeek >= :day" +
+                " AND (s.dayOfWeek > :day OR (s.dayOfWeek = :day AND (s.startTime > :start " +
+                "OR (s.startTime = :start AND s.id > :id))))") +
+            " ORDER BY s.dayOfWeek, s.startTime, s.id", CourseSchedule.class);
+        query.setParameter("venue", venue);
+        if (key != null) {
+            try {
+                query.setParameter("start", LocalTime.parse(key[1]));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid continuation token");
+            }
+            query.setParameter("day", key[0]);
+            query.setParameter("id", parseKey(key[2]));
+        }
+        query.setMaxResults(limit + 1);
+        return page(query.getResultList(), limit,
+            last -> ContinuationToken.encode(scope, last.getDayOfWeek(), last.getStartTime(), last.getId()));
+    }
+
     @Override
     public List<CourseSchedule> getSchedulesByDayOfWeek(String dayOfWeek) {
         TypedQuery<CourseSchedule> query = entityManager.createQuery(
@@ -231,6 +1445,648 @@ public class CourseServiceImpl implements CourseService {
         CourseSchedule schedule = entityManager.find(CourseSchedule.class, id);
         if (schedule != null) {
             entityManager.remove(schedule);
+            transactions.afterCommit(() -> scheduleIndex.release(id));
+            invalidateCourseTimetables(schedule.getCourseId());
+            transactions.afterCommit(() -> instructorWorkloads.scheduleRemoved(id));
+            catalogWritten();
+            entityManager.createQuery("DELETE FROM SectionAssignment a WHERE a.scheduleId = :scheduleId")
+                .setParameter("scheduleId", id)
+                .executeUpdate();
+        }
+    }
+
+    @Override
+    public List<ScheduleClash> getScheduleClashes(String semester, String academicYear) {
+        StringBuilder jpql = new StringBuilder("SELECT s FROM CourseSchedule s WHERE s.status = 'ACTIVE'");
+        if (semester != null) {
+            jpql.append(" AND s.semester = :semester");
+        }
+        if (academicYear != null) {
+            jpql.append(" AND s.academicYear = :year");
+        }
+        TypedQuery<CourseSchedule> query = entityManager.createQuery(jpql.toString(), CourseSchedule.class);
+        if (semester != null) {
+            query.setParameter("semester", semester);
+        }
+        if (academicYear != null) {
+            query.setParameter("year", academicYear);
+        }
+        return ScheduleIndex.findClashes(query.getResultList());
+    }
+
+    @Override
+    public Map<String, Integer> findFreeVenues(String semester, String academicYear, String dayOfWeek,
+                                               LocalTime from, LocalTime to, int minCapacity) {
+        return scheduleIndex.freeVenues(semester, academicYear, dayOfWeek, from, to, minCapacity);
+    }
+
+    @Override
+    public TimetableJob generateTimetable(TimetableRequest request) {
+        if (request.getSemester() == null || request.getAcademicYear() == null) {
+            throw new IllegalArgumentException("Semester and academic year are required");
+        }
+        Map<String, Integer> venues = request.getVenueCapacities() == null || request.getVenueCapacities().isEmpty()
+            ? scheduleIndex.knownVenues() : request.getVenueCapacities();
+        if (venues.isEmpty()) {
+            throw new IllegalArgumentException("No venues given and none known from existing schedules");
+        }
+
+        List<CourseSchedule> fixed = entityManager.createQuery(
+            "SELECT s FROM CourseSchedule s WHERE s.status = 'ACTIVE' " +
+            "AND s.semester = :semester AND s.academicYear = :year", CourseSchedule.class)
+            .setParameter("semester", request.getSemester())
+            .setParameter("year", request.getAcademicYear())
+            .getResultList();
+        List<Course> courses = entityManager.createQuery(
+            "SELECT c FROM Course c WHERE c.status = 'ACTIVE' AND c.semester = :semester " +
+            "AND c.academicYear = :year AND NOT EXISTS (SELECT s FROM CourseSchedule s " +
+            "WHERE s.courseId = c.id AND s.status = 'ACTIVE') ORDER BY c.courseCode", Course.class)
+            .setParameter("semester", request.getSemester())
+            .setParameter("year", request.getAcademicYear())
+            .getResultList();
+
+        TimetableGenerator generator = new TimetableGenerator(courses, venues, fixed,
+            request.getSemester(), request.getAcademicYear(), request.getDays(),
+            LocalTime.parse(request.getDayStart()), LocalTime.parse(request.getDayEnd()),
+            request.getSessionMinutes() == null ? 60 : request.getSessionMinutes());
+        long budget = Math.max(MIN_TIMETABLE_BUDGET_MILLIS, Math.min(MAX_TIMETABLE_BUDGET_MILLIS,
+            request.getTimeBudgetMillis() == null ? 10_000L : request.getTimeBudgetMillis()));
+
+        pruneTimetableRuns();
+        TimetableRun run = new TimetableRun(UUID.randomUUID().toString(), request, generator, budget);
+        timetableRuns.put(run.jobId, run);
+        ForkJoinPool pool = timetablePool;
+        if (pool != null) {
+            generator.start(pool, budget);
+        } else {
+            generator.start(budget);
+        }
+        return snapshot(run, false);
+    }
+
+    @Override
+    public TimetableJob getTimetableJob(String jobId) {
+        TimetableRun run = timetableRuns.get(jobId);
+        return run == null ? null : snapshot(run, true);
+    }
+
+    @Override
+    public TimetableJob cancelTimetable(String jobId) {
+        TimetableRun run = timetableRuns.get(jobId);
+        if (run == null) {
+            return null;
+        }
+        run.generator.cancel();
+        return snapshot(run, false);
+    }
+
+    @Override
+    public List<CourseSchedule> commitTimetable(String jobId) {
+        TimetableRun run = timetableRuns.get(jobId);
+        if (run == null) {
+            throw new IllegalArgumentException("Timetable job not found: " + jobId);
+        }
+        synchronized (run) {
+            if (!run.generator.isDone()) {
+                throw new IllegalStateException("Timetable job is still running");
+            }
+            if (run.generator.getFailure() != null) {
+                throw new IllegalStateException("Timetable job failed: " + run.generator.getFailure().getMessage());
+            }
+            if (run.committed) {
+                throw new IllegalStateException("Timetable job already committed");
+            }
+
+            List<CourseSchedule> schedules = run.generator.getBestSchedules();
+            List<ScheduleIndex.Booking> bookings = new ArrayList<>();
+            try {
+                for (CourseSchedule schedule : schedules) {
+                    bookings.add(scheduleIndex.reserve(schedule));
+                    entityManager.persist(schedule);
+                }
+                entityManager.flush();
+            } catch (RuntimeException e) {
+                for (ScheduleIndex.Booking booking : bookings) {
+                    scheduleIndex.cancel(booking);
+                }
+                throw e;
+            }
+            for (int i = 0; i < schedules.size(); i++) {
+                CourseSchedule schedule = schedules.get(i);
+                settle(bookings.get(i), schedule.getId());
+                invalidateCourseTimetables(schedule.getCourseId());
+                transactions.afterCommit(() -> instructorWorkloads.scheduleSaved(schedule));
+            }
+            run.committed = true;
+            return schedules;
+        }
+    }
+
+    @Override
+    public StudentTimetable getStudentTimetable(String studentId) {
+        return studentTimetables.get(studentId);
+    }
+
+    @Override
+    public String getStudentTimetableIcs(StudentTimetable timetable) {
+        return studentTimetables.ics(timetable);
+    }
+
+    @Override
+    public List<InstructorWorkload> getInstructorWorkload(String semester, String academicYear) {
+        return instructorWorkloads.workload(semester, academicYear);
+    }
+
+    /**
+     * Solves every course of the term that has LAB or TUTORIAL schedules, then replaces
+     * their stored assignments in multi-row batches
+     */
+    @Override
+    public SectionAssignmentReport assignSections(String semester, String academicYear) {
+        String term = semester + "|" + academicYear;
+        if (!sectionAssignmentRuns.add(term)) {
+            throw new IllegalStateException("Section assignment is already running for " + semester + " " + academicYear);
+        }
+        try {
+            long began = System.currentTimeMillis();
+            Map<Long, List<CourseSchedule>> sectionsByCourse = new HashMap<>();
+            Map<Long, List<CourseSchedule>> classesByCourse = new HashMap<>();
+            for (CourseSchedule schedule : entityManager.createQuery(
+                    "SELECT s FROM CourseSchedule s WHERE s.semester = :semester AND s.academicYear = :academicYear " +
+                    "AND s.status = :status", CourseSchedule.class)
+                    .setParameter("semester", semester)
+                    .setParameter("academicYear", academicYear)
+                    .setParameter("status", CourseSchedule.ScheduleStatus.ACTIVE)
+                    .getResultList()) {
+                (SectionAssignmentSolver.sectionType(schedule) != null ? sectionsByCourse : classesByCourse)
+                    .computeIfAbsent(schedule.getCourseId(), id -> new ArrayList<>()).add(schedule);
+            }
+
+            Map<Long, Set<String>> studentsByCourse = new HashMap<>();
+            Map<String, List<CourseSchedule>> classesByStudent = new HashMap<>();
+            List<Long> termCourseIds = new ArrayList<>(sectionsByCourse.keySet());
+            for (Long courseId : classesByCourse.keySet()) {
+                if (!sectionsByCourse.containsKey(courseId)) {
+                    termCourseIds.add(courseId);
+                }
+            }
+            for (int from = 0; from < termCourseIds.size(); from += COHORT_QUERY_CHUNK) {
+                for (Object[] row : entityManager.createQuery(
+                        "SELECT e.courseId, e.studentId FROM CourseEnrollment e WHERE e.courseId IN :ids " +
+                        "AND e.enrollmentStatus IN :statuses", Object[].class)
+                        .setParameter("ids", termCourseIds.subList(from,
+                            Math.min(from + COHORT_QUERY_CHUNK, termCourseIds.size())))
+                        .setParameter("statuses", List.of(CourseEnrollment.EnrollmentStatus.PENDING,
+                            CourseEnrollment.EnrollmentStatus.ENROLLED))
+                        .getResultList()) {
+                    Long courseId = (Long) row[0];
+                    String studentId = (String) row[1];
+                    if (sectionsByCourse.containsKey(courseId)) {
+                        studentsByCourse.computeIfAbsent(courseId, id -> new TreeSet<>()).add(studentId);
+                    }
+                    List<CourseSchedule> classes = classesByCourse.get(courseId);
+                    if (classes != null) {
+                        classesByStudent.computeIfAbsent(studentId, id -> new ArrayList<>()).addAll(classes);
+                    }
+                }
+            }
+
+            List<SectionAssignmentSolver.CourseProblem> problems = new ArrayList<>();
+            for (Map.Entry<Long, List<CourseSchedule>> course : sectionsByCourse.entrySet()) {
+                problems.add(new SectionAssignmentSolver.CourseProblem(course.getKey(), course.getValue(),
+                    studentsByCourse.getOrDefault(course.getKey(), Collections.emptySet())));
+            }
+            ForkJoinPool pool = timetablePool;
+            List<SectionAssignmentSolver.CourseSolution> solutions = new SectionAssignmentSolver(classesByStudent)
+                .solveAll(problems, pool != null ? pool : Runnable::run);
+
+            SectionAssignmentReport report = new SectionAssignmentReport();
+            report.setSemester(semester);
+            report.setAcademicYear(academicYear);
+            report.setCourseCount(solutions.size());
+            List<Long> solvedCourseIds = new ArrayList<>(sectionsByCourse.keySet());
+            for (int from = 0; from < solvedCourseIds.size(); from += COHORT_QUERY_CHUNK) {
+                entityManager.createQuery("DELETE FROM SectionAssignment a WHERE a.courseId IN :ids")
+                    .setParameter("ids", solvedCourseIds.subList(from,
+                        Math.min(from + COHORT_QUERY_CHUNK, solvedCourseIds.size())))
+                    .executeUpdate();
+            }
+            List<SectionAssignment> batch = new ArrayList<>(SECTION_ASSIGNMENT_CHUNK);
+            for (SectionAssignmentSolver.CourseSolution solution : solutions) {
+                for (SectionAssignment assignment : solution.getAssignments()) {
+                    batch.add(assignment);
+                    if (batch.size() == SECTION_ASSIGNMENT_CHUNK) {
+                        insertSectionAssignments(batch);
+                        batch.clear();
+                    }
+                }
+                for (SectionAssignmentReport.CourseSections summary : solution.getSummaries()) {
+                    report.getCourses().add(summary);
+                    report.setAssigned(report.getAssigned() + summary.getAssigned());
+                    report.setUnassigned(report.getUnassigned() + summary.getUnassignedStudents().size());
+                    report.setClashes(report.getClashes() + summary.getClashes());
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertSectionAssignments(batch);
+            }
+            report.getCourses().sort(Comparator.comparing(SectionAssignmentReport.CourseSections::getCourseId)
+                .thenComparing(SectionAssignmentReport.CourseSections::getSectionType));
+            report.setElapsedMillis(System.currentTimeMillis() - began);
+            return report;
+        } finally {
+            sectionAssignmentRuns.remove(term);
+        }
+    }
+
+    @Override
+    public List<SectionAssignment> getSectionAssignments(Long courseId) {
+        return entityManager.createQuery(
+            "SELECT a FROM SectionAssignment a WHERE a.courseId = :courseId " +
+            "ORDER BY a.sectionType, a.scheduleId, a.studentId", SectionAssignment.class)
+            .setParameter("courseId", courseId)
+            .getResultList();
+    }
+
+    private void insertSectionAssignments(List<SectionAssignment> rows) {
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO course_section_assignments (course_id, schedule_id, section_type, student_id, " +
+            "semester, academic_year, clashes, created_at) VALUES ");
+        int columns = 8;
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i > 0 ? ", (" : "(");
+            for (int c = 1; c <= columns; c++) {
+                sql.append(c > 1 ? ", ?" : "?").append(i * columns + c);
+            }
+            sql.append(')');
+        }
+        sql.append(" ON CONFLICT (course_id, student_id, section_type) DO NOTHING");
+
+        Query insert = entityManager.createNativeQuery(sql.toString());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows.size(); i++) {
+            SectionAssignment assignment = rows.get(i);
+            int base = i * columns;
+            insert.setParameter(base + 1, assignment.getCourseId());
+            insert.setParameter(base + 2, assignment.getScheduleId());
+            insert.setParameter(base + 3, assignment.getSectionType());
+            insert.setParameter(base + 4, assignment.getStudentId());
+            insert.setParameter(base + 5, assignment.getSemester());
+            insert.setParameter(base + 6, assignment.getAcademicYear());
+            insert.setParameter(base + 7, assignment.getClashes());
+            insert.setParameter(base + 8, now);
+        }
+        insert.executeUpdate();
+    }
+
+    /**
+     * Streams courses, then schedules, then prerequisites, each paged by id so the
+     * catalog is never held in memory as a whole
+     */
+    @Override
+    public void exportCatalogSnapshot(OutputStream out) {
+        try {
+            CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(out);
+            List<Course> courses;
+            Long after = 0L;
+            do {
+                courses = snapshotPage(Course.class, after);
+                for (Course course : courses) {
+                    writer.course(course);
+                    after = course.getId();
+                }
+            } while (courses.size() == CATALOG_SNAPSHOT_PAGE_SIZE);
+            List<CourseSchedule> schedules;
+            after = 0L;
+            do {
+                schedules = snapshotPage(CourseSchedule.class, after);
+                for (CourseSchedule schedule : schedules) {
+                    writer.schedule(schedule);
+                    after = schedule.getId();
+                }
+            } while (schedules.size() == CATALOG_SNAPSHOT_PAGE_SIZE);
+            List<CoursePrerequisite> prerequisites;
+            after = 0L;
+            do {
+                prerequisites = snapshotPage(CoursePrerequisite.class, after);
+                for (CoursePrerequisite prerequisite : prerequisites) {
+                    writer.prerequisite(prerequisite);
+                    after = prerequisite.getId();
+                }
+            } while (prerequisites.size() == CATALOG_SNAPSHOT_PAGE_SIZE);
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write catalog snapshot", e);
+        }
+    }
+
+    /**
+     * Inserts snapshot rows with their original ids in multi-row batches, skipping rows whose
+     * id or unique key already exists, then moves the id sequences past the imported ids.
+     * Only inserted rows reach the in-memory indexes, and only once the import has committed.
+     *
+     * The upload is spooled to a temporary file and read through once to check its record
+     * counts and checksum, so a truncated or corrupt snapshot imports nothing. The import
+     * then runs in a transaction of its own and commits as a whole.
+     */
+    @Override
+    public CatalogSnapshotReport importCatalogSnapshot(InputStream in) {
+        long began = System.currentTimeMillis();
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("catalog-snapshot", ".ucat");
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            try (InputStream verify = Files.newInputStream(spooled)) {
+                CatalogSnapshot.verify(verify);
+            }
+            Path verified = spooled;
+            CatalogSnapshotReport report = transactions.inNewTransaction(() -> importVerified(verified));
+            report.setElapsedMillis(System.currentTimeMillis() - began);
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read catalog snapshot", e);
+        } finally {
+            if (spooled != null) {
+                try {
+                    Files.deleteIfExists(spooled);
+                } catch (IOException e) {
+                    logger.warn("Could not delete spooled catalog snapshot {}", spooled, e);
+                }
+            }
+        }
+    }
+
+    private CatalogSnapshotReport importVerified(Path snapshot) {
+        CatalogSnapshotReport report = new CatalogSnapshotReport();
+        SnapshotImport batches = new SnapshotImport(report);
+        CatalogSnapshot.Summary summary;
+        try (InputStream in = Files.newInputStream(snapshot)) {
+            summary = CatalogSnapshot.read(in, batches);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read catalog snapshot", e);
+        }
+        batches.flush();
+        catalogWritten();
+        for (String table : List.of("courses", "course_schedules", "course_prerequisites")) {
+            entityManager.createNativeQuery("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " +
+                "COALESCE((SELECT MAX(id) FROM " + table + "), 0) + 1, false)").getSingleResult();
+        }
+        report.setFormatVersion(summary.getFormatVersion());
+        report.setSnapshotCreatedAt(summary.getCreatedAt());
+        report.setCoursesRead(summary.getCourses());
+        report.setSchedulesRead(summary.getSchedules());
+        report.setPrerequisitesRead(summary.getPrerequisites());
+        return report;
+    }
+
+    private <T> List<T> snapshotPage(Class<T> type, Long after) {
+        return entityManager.createQuery(
+            "SELECT e FROM " + type.getSimpleName() + " e WHERE e.id > :after ORDER BY e.id", type)
+            .setParameter("after", after)
+            .setMaxResults(CATALOG_SNAPSHOT_PAGE_SIZE)
+            .getResultList();
+    }
+
+    /**
+     * Buffers snapshot records per table and writes each buffer as one INSERT when full
+     */
+    private final class SnapshotImport implements CatalogSnapshot.Visitor {
+        private final CatalogSnapshotReport report;
+        private final List<Course> courses = new ArrayList<>();
+        private final List<CourseSchedule> schedules = new ArrayList<>();
+        private final List<CoursePrerequisite> prerequisites = new ArrayList<>();
+
+        private SnapshotImport(CatalogSnapshotReport report) {
+            this.report = report;
+        }
+
+        @Override
+        public void course(Course course) {
+            courses.add(course);
+            if (courses.size() == CATALOG_SNAPSHOT_CHUNK) {
+                flushCourses();
+            }
+        }
+
+        @Override
+        public void schedule(CourseSchedule schedule) {
+            schedules.add(schedule);
+            if (schedules.size() == CATALOG_SNAPSHOT_CHUNK) {
+                flushSchedules();
+            }
+        }
+
+        @Override
+        public void prerequisite(CoursePrerequisite prerequisite) {
+            prerequisites.add(prerequisite);
+            if (prerequisites.size() == CATALOG_SNAPSHOT_CHUNK) {
+                flushPrerequisites();
+            }
+        }
+
+        private void flush() {
+            flushCourses();
+            flushSchedules();
+            flushPrerequisites();
+        }
+
+        private void flushCourses() {
+            if (courses.isEmpty()) {
+                return;
+            }
+            List<Object[]> rows = new ArrayList<>(courses.size());
+            for (Course c : courses) {
+                rows.add(new Object[] {c.getId(), c.getCourseCode(), c.getCourseName(), c.getDescription(),
+                    c.getDepartment(), c.getCredits(), c.getInstructorName(), c.getInstructorId(), c.getMaxCapacity(),
+                    c.getCurrentEnrollment(), c.getStatus() == null ? null : c.getStatus().name(), c.getSemester(),
+                    c.getAcademicYear(), c.getPreRequisites(), c.getCreatedAt(), c.getUpdatedAt()});
+            }
+            Set<Long> inserted = insertWithIds("courses", "id, course_code, course_name, description, department, " +
+                "credits, instructor_name, instructor_id, max_capacity, current_enrollment, status, semester, " +
+                "academic_year, pre_requisites, created_at, updated_at", rows);
+            for (Course course : courses) {
+                if (inserted.contains(course.getId())) {
+                    invalidateCatalog(course.getId(), course);
+                    transactions.afterCommit(() -> {
+                        prerequisiteGraph.registerCourse(course.getId(), course.getCourseCode());
+                        searchIndex.put(course);
+                        instructorWorkloads.courseSaved(course);
+                    });
+                }
+            }
+            report.setCoursesImported(report.getCoursesImported() + inserted.size());
+            courses.clear();
+        }
+
+        private void flushSchedules() {
+            if (schedules.isEmpty()) {
+                return;
+            }
+            List<Object[]> rows = new ArrayList<>(schedules.size());
+            for (CourseSchedule s : schedules) {
+                rows.add(new Object[] {s.getId(), s.getCourseId(), s.getCourseCode(), s.getDayOfWeek(),
+                    s.getStartTime(), s.getEndTime(), s.getVenue(), s.getBuilding(), s.getRoomNumber(), s.getCapacity(),
+                    s.getSemester(), s.getAcademicYear(), s.getScheduleType(),
+                    s.getStatus() == null ? null : s.getStatus().name(), s.getInstructorId(), s.getInstructorName(),
+                    s.getNotes(), s.getCreatedAt(), s.getUpdatedAt()});
+            }
+            Set<Long> inserted = insertWithIds("course_schedules", "id, course_id, course_code, day_of_week, " +
+                "start_time, end_time, venue, building, room_number, capacity, semester, academic_year, " +
+                "schedule_type, status, instructor_id, instructor_name, notes, created_at, updated_at", rows);
+            for (CourseSchedule schedule : schedules) {
+                if (inserted.contains(schedule.getId())) {
+                    transactions.afterCommit(() -> scheduleIndex.put(schedule));
+                    invalidateCourseTimetables(schedule.getCourseId());
+                    transactions.afterCommit(() -> instructorWorkloads.scheduleSaved(schedule));
+                }
+            }
+            report.setSchedulesImported(report.getSchedulesImported() + inserted.size());
+            schedules.clear();
+        }
+
+        private void flushPrerequisites() {
+            if (prerequisites.isEmpty()) {
+                return;
+            }
+            List<Object[]> rows = new ArrayList<>(prerequisites.size());
+            for (CoursePrerequisite p : prerequisites) {
+                rows.add(new Object[] {p.getId(), p.getCourseId(), p.getCourseCode(), p.getPrerequisiteCourseCode(),
+                    p.getPrerequisiteCourseName(), p.getMinimumGradeRequired(), p.getMinimumGpaRequired(),
+                    p.getIsMandatory(), p.getNotes()});
+            }
+            Set<Long> inserted = insertWithIds("course_prerequisites", "id, course_id, course_code, " +
+                "prerequisite_course_code, prerequisite_course_name, minimum_grade_required, minimum_gpa_required, " +
+                "is_mandatory, notes", rows);
+            for (CoursePrerequisite prerequisite : prerequisites) {
+                if (inserted.contains(prerequisite.getId())) {
+                    transactions.afterCommit(() -> prerequisiteGraph.addPrerequisite(prerequisite));
+                }
+            }
+            report.setPrerequisitesImported(report.getPrerequisitesImported() + inserted.size());
+            prerequisites.clear();
+        }
+    }
+
+    /**
+     * One multi-row INSERT that keeps the given ids, like {@link #insertEnrollments(List)}
+     * @return ids of the rows actually inserted
+     */
+    private Set<Long> insertWithIds(String table, String columnList, List<Object[]> rows) {
+        int columns = rows.get(0).length;
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+            .append(" (").append(columnList).append(") VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i > 0 ? ", (" : "(");
+            for (int c = 1; c <= columns; c++) {
+                sql.append(c > 1 ? ", ?" : "?").append(i * columns + c);
+            }
+            sql.append(')');
+        }
+        sql.append(" ON CONFLICT DO NOTHING RETURNING id");
+
+        Query insert = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            for (int c = 0; c < columns; c++) {
+                insert.setParameter(i * columns + c + 1, row[c]);
+            }
+        }
+        Set<Long> inserted = new HashSet<>();
+        for (Object id : insert.getResultList()) {
+            inserted.add(((Number) id).longValue());
+        }
+        return inserted;
+    }
+
+    /**
+     * Trims a limit + 1 row fetch to one page; the extra row only tells whether another page exists
+     */
+    private static <T> KeysetPage<T> page(List<T> rows, int limit, Function<T, String> tokenOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(new ArrayList<>(rows), limit, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new KeysetPage<>(items, limit, tokenOf.apply(items.get(limit - 1)));
+    }
+
+    private static Long parseKey(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+    }
+
+    /**
+     * Drops the oldest timetable jobs once more than a handful are kept, finished ones
+     * first; a job still running when dropped is cancelled so it stops using the pool
+     */
+    private void pruneTimetableRuns() {
+        if (timetableRuns.size() < RETAINED_TIMETABLE_JOBS) {
+            return;
+        }
+        timetableRuns.values().stream()
+            .sorted(Comparator.comparing((TimetableRun run) -> !run.generator.isDone())
+                .thenComparing(run -> run.startedAt))
+            .limit(timetableRuns.size() - RETAINED_TIMETABLE_JOBS + 1L)
+            .forEach(run -> {
+                run.generator.cancel();
+                timetableRuns.remove(run.jobId);
+            });
+    }
+
+    private static TimetableJob snapshot(TimetableRun run, boolean withSchedules) {
+        TimetableGenerator generator = run.generator;
+        TimetableJob job = new TimetableJob();
+        job.setJobId(run.jobId);
+        job.setSemester(run.semester);
+        job.setAcademicYear(run.academicYear);
+        job.setStartedAt(run.startedAt);
+        job.setTimeBudgetMillis(run.budgetMillis);
+        job.setElapsedMillis(generator.getElapsedMillis());
+        job.setProgress(generator.getProgress());
+        job.setIterations(generator.getIterations());
+        job.setBestScore(generator.getBestScore());
+        job.setTotalSessions(generator.getTotalSessions());
+        job.setUnplacedSessions(generator.getUnplacedSessions());
+        if (generator.getFailure() != null) {
+            job.setStatus(TimetableJob.JobStatus.FAILED);
+            job.setMessage(generator.getFailure().getMessage());
+        } else if (!generator.isDone()) {
+            job.setStatus(TimetableJob.JobStatus.RUNNING);
+        } else if (run.committed) {
+            job.setStatus(TimetableJob.JobStatus.COMMITTED);
+        } else {
+            job.setStatus(generator.isCancelled()
+                ? TimetableJob.JobStatus.CANCELLED : TimetableJob.JobStatus.COMPLETED);
+            if (generator.getUnplacedSessions() > 0) {
+                job.setMessage(generator.getUnplacedSessions() + " sessions could not be placed");
+            }
+        }
+        if (withSchedules && generator.isDone()) {
+            job.setSchedules(generator.getBestSchedules());
+        }
+        return job;
+    }
+
+    /**
+     * A timetable generation started by generateTimetable, kept until pruned
+     */
+    private static final class TimetableRun {
+        private final String jobId;
+        private final String semester;
+        private final String academicYear;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final TimetableGenerator generator;
+        private final long budgetMillis;
+        private volatile boolean committed;
+
+        private TimetableRun(String jobId, TimetableRequest request, TimetableGenerator generator, long budgetMillis) {
+            this.jobId = jobId;
+            this.semester = request.getSemester();
+            this.academicYear = request.getAcademicYear();
+            this.generator = generator;
+            this.budgetMillis = budgetMillis;
         }
     }
 
@@ -238,12 +2094,17 @@ public class CourseServiceImpl implements CourseService {
     public CoursePrerequisite addPrerequisite(CoursePrerequisite prerequisite) {
         entityManager.persist(prerequisite);
         entityManager.flush();
+        transactions.afterCommit(() -> prerequisiteGraph.addPrerequisite(prerequisite));
+        catalogWritten();
         return prerequisite;
     }
 
     @Override
     public CoursePrerequisite updatePrerequisite(CoursePrerequisite prerequisite) {
-        return entityManager.merge(prerequisite);
+        CoursePrerequisite updated = entityManager.merge(prerequisite);
+        transactions.afterCommit(() -> prerequisiteGraph.addPrerequisite(updated));
+        catalogWritten();
+        return updated;
     }
 
     @Override
@@ -274,51 +2135,180 @@ public class CourseServiceImpl implements CourseService {
         CoursePrerequisite prerequisite = entityManager.find(CoursePrerequisite.class, id);
         if (prerequisite != null) {
             entityManager.remove(prerequisite);
+            transactions.afterCommit(() -> prerequisiteGraph.removePrerequisite(id));
+            catalogWritten();
         }
     }
 
     @Override
     public boolean validateStudentPrerequisites(String studentId, Long courseId) {
-        List<CoursePrerequisite> prerequisites = getPrerequisitesByCourse(courseId);
-        for (CoursePrerequisite prereq : prerequisites) {
-            if (Boolean.TRUE.equals(prereq.getIsMandatory())) {
-                TypedQuery<CourseEnrollment> query = entityManager.createQuery(
-                    "SELECT e FROM CourseEnrollment e WHERE e.studentId = :studentId " +
-                    "AND EXISTS (SELECT c FROM Course c WHERE c.id = e.courseId AND c.courseCode = :prereqCode) " +
-                    "AND e.enrollmentStatus = 'COMPLETED' AND e.gradePoint >= 1.0",
-                    CourseEnrollment.class);
-                query.setParameter("studentId", studentId);
-                query.setParameter("prereqCode", prereq.getPrerequisiteCourseCode());
-                List<CourseEnrollment> results = query.getResultList();
-                if (results.isEmpty()) {
-                    return false;
-                }
+        return prerequisiteGraph.hasMetPrerequisites(studentId, courseId);
+    }
+
+    @Override
+    public List<String> getFailedPrerequisites(String studentId, Long courseId) {
+        List<String> failedPrereqs = new ArrayList<>();
+        for (PrerequisiteGraph.Requirement missing : prerequisiteGraph.missingPrerequisites(studentId, courseId)) {
+            failedPrereqs.add(describe(missing));
+        }
+        return failedPrereqs;
+    }
+
+    @Override
+    public CohortEligibility validateCohortPrerequisites(CohortEligibilityRequest request) {
+        List<Long> courseIds = new ArrayList<>(new LinkedHashSet<>(request.getCourseIds()));
+        Map<String, List<String>> completed = new LinkedHashMap<>();
+        if (request.getStudentIds() != null && !request.getStudentIds().isEmpty()) {
+            for (String studentId : request.getStudentIds()) {
+                completed.put(studentId, new ArrayList<>());
+            }
+            List<String> studentIds = new ArrayList<>(completed.keySet());
+            for (int from = 0; from < studentIds.size(); from += COHORT_QUERY_CHUNK) {
+                TypedQuery<Object[]> query = entityManager.createQuery(
+                    "SELECT e.studentId, c.courseCode FROM CourseEnrollment e, Course c WHERE c.id = e.courseId " +
+                    "AND e.studentId IN :studentIds AND e.enrollmentStatus = 'COMPLETED' AND e.gradePoint >= 1.0",
+                    Object[].class);
+                List<String> chunk = studentIds.subList(from, Math.min(from + COHORT_QUERY_CHUNK, studentIds.size()));
+                query.setParameter("studentIds", chunk);
+                addCompletions(completed, query.getResultList());
+                TypedQuery<Object[]> graded = entityManager.createQuery(
+                    "SELECT g.studentId, g.courseCode FROM Grade g " +
+                    "WHERE g.studentId IN :studentIds AND g.gradePoint >= 1.0", Object[].class);
+                graded.setParameter("studentIds", chunk);
+                addCompletions(completed, graded.getResultList());
             }
+        } else if (request.getAcademicYear() != null) {
+            TypedQuery<String> cohortQuery = entityManager.createQuery(
+                "SELECT DISTINCT e.studentId FROM CourseEnrollment e WHERE e.academicYear = :year " +
+                "ORDER BY e.studentId", String.class);
+            cohortQuery.setParameter("year", request.getAcademicYear());
+            for (String studentId : cohortQuery.getResultList()) {
+                completed.put(studentId, new ArrayList<>());
+            }
+            TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT e.studentId, c.courseCode FROM CourseEnrollment e, Course c WHERE c.id = e.courseId " +
+                "AND e.studentId IN (SELECT y.studentId FROM CourseEnrollment y WHERE y.academicYear = :year) " +
+                "AND e.enrollmentStatus = 'COMPLETED' AND e.gradePoint >= 1.0", Object[].class);
+            query.setParameter("year", request.getAcademicYear());
+            addCompletions(completed, query.getResultList());
+            TypedQuery<Object[]> graded = entityManager.createQuery(
+                "SELECT g.studentId, g.courseCode FROM Grade g " +
+                "WHERE g.studentId IN (SELECT y.studentId FROM CourseEnrollment y WHERE y.academicYear = :year) " +
+                "AND g.gradePoint >= 1.0", Object[].class);
+            graded.setParameter("year", request.getAcademicYear());
+            addCompletions(completed, graded.getResultList());
+        } else {
+            throw new IllegalArgumentException("Either academicYear or studentIds is required");
         }
-        return true;
+
+        List<String> rows = prerequisiteGraph.eligibilityMatrix(new ArrayList<>(completed.values()), courseIds);
+        return new CohortEligibility(new ArrayList<>(completed.keySet()), courseIds, rows);
     }
 
     @Override
-    public List<String> getFailedPrerequisites(String studentId, Long courseId) {
-        List<String> failedPrereqs = new java.util.ArrayList<>();
-        List<CoursePrerequisite> prerequisites = getPrerequisitesByCourse(courseId);
-        
-        for (CoursePrerequisite prereq : prerequisites) {
-            if (Boolean.TRUE.equals(prereq.getIsMandatory())) {
-                TypedQuery<CourseEnrollment> query = entityManager.createQuery(
-                    "SELECT e FROM CourseEnrollment e WHERE e.studentId = :studentId " +
-                    "AND EXISTS (SELECT c FROM Course c WHERE c.id = e.courseId AND c.courseCode = :prereqCode) " +
-                    "AND e.enrollmentStatus = 'COMPLETED' AND e.gradePoint >= 1.0",
-                    CourseEnrollment.class);
-                query.setParameter("studentId", studentId);
-                query.setParameter("prereqCode", prereq.getPrerequisiteCourseCode());
-                List<CourseEnrollment> results = query.getResultList();
-                if (results.isEmpty()) {
-                    failedPrereqs.add(prereq.getPrerequisiteCourseCode() + " (" + 
-                                     prereq.getPrerequisiteCourseName() + ")");
-                }
+    public List<String> getEligibleCourses(String studentId) {
+        return prerequisiteGraph.eligibleCourses(studentId);
+    }
+
+    @Override
+    public List<List<String>> getRemainingPath(String studentId, Long targetCourseId) {
+        return prerequisiteGraph.remainingPath(studentId, targetCourseId);
+    }
+
+    /**
+     * Drops the cached completions now and again once the transaction commits, so a
+     * reader that cached the old rows in between does not keep them
+     */
+    @Override
+    public void invalidateCompletions(String studentId) {
+        if (studentId == null) {
+            return;
+        }
+        prerequisiteGraph.invalidateStudent(studentId);
+        transactions.afterCommit(() -> prerequisiteGraph.invalidateStudent(studentId));
+    }
+
+    /**
+     * Downstream courses come from the in-memory reverse index. In-progress counts come
+     * from the enrollment stats counters, with every course not loaded yet fetched in one
+     * grouped query, plus one COUNT(DISTINCT) for the students across them: at most two
+     * queries, however many courses are affected.
+     */
+    @Override
+    public PrerequisiteImpact getPrerequisiteImpact(Long courseId) {
+        Course course = catalog.getById(courseId);
+        if (course == null) {
+            return null;
+        }
+        List<PrerequisiteGraph.Dependent> dependents = prerequisiteGraph.containsCourse(courseId)
+            ? prerequisiteGraph.dependents(courseId)
+            : new ArrayList<>();
+
+        List<Course> downstreamCourses = new ArrayList<>(dependents.size());
+        Set<Long> countedIds = new LinkedHashSet<>();
+        countedIds.add(courseId);
+        for (PrerequisiteGraph.Dependent dependent : dependents) {
+            Course downstream = catalog.getByCode(dependent.getCourseCode());
+            downstreamCourses.add(downstream);
+            if (downstream != null) {
+                countedIds.add(downstream.getId());
             }
         }
-        return failedPrereqs;
+        Map<Long, Map<CourseEnrollment.EnrollmentStatus, Long>> counts = enrollmentStats.snapshots(countedIds);
+
+        PrerequisiteImpact impact = new PrerequisiteImpact();
+        impact.setCourseId(courseId);
+        impact.setCourseCode(course.getCourseCode());
+        impact.setInProgressStudents(inProgress(counts.get(courseId)));
+        Set<Long> affectedIds = new LinkedHashSet<>();
+        for (int i = 0; i < dependents.size(); i++) {
+            PrerequisiteGraph.Dependent dependent = dependents.get(i);
+            PrerequisiteImpact.AffectedCourse affected = new PrerequisiteImpact.AffectedCourse();
+            affected.setCourseCode(dependent.getCourseCode());
+            affected.setDepth(dependent.getDepth());
+            affected.setMandatory(dependent.isMandatory());
+            Course downstream = downstreamCourses.get(i);
+            if (downstream != null) {
+                affected.setCourseId(downstream.getId());
+                affected.setCourseName(downstream.getCourseName());
+                affected.setInProgressStudents(inProgress(counts.get(downstream.getId())));
+                affectedIds.add(downstream.getId());
+            }
+            impact.getAffectedCourses().add(affected);
+            impact.setAffectedInProgressEnrollments(
+                impact.getAffectedInProgressEnrollments() + affected.getInProgressStudents());
+            if (affected.isMandatory()) {
+                impact.setMandatoryAffectedCount(impact.getMandatoryAffectedCount() + 1);
+            }
+        }
+        impact.setAffectedCourseCount(impact.getAffectedCourses().size());
+        if (impact.getAffectedInProgressEnrollments() > 0) {
+            impact.setAffectedStudents(entityManager.createQuery(
+                "SELECT COUNT(DISTINCT e.studentId) FROM CourseEnrollment e " +
+                "WHERE e.courseId IN :ids AND e.enrollmentStatus IN :statuses", Long.class)
+                .setParameter("ids", affectedIds)
+                .setParameter("statuses", List.of(CourseEnrollment.EnrollmentStatus.PENDING,
+                    CourseEnrollment.EnrollmentStatus.ENROLLED))
+                .getSingleResult());
+        }
+        return impact;
+    }
+
+    private static long inProgress(Map<CourseEnrollment.EnrollmentStatus, Long> counts) {
+        return counts.get(CourseEnrollment.EnrollmentStatus.PENDING)
+            + counts.get(CourseEnrollment.EnrollmentStatus.ENROLLED);
+    }
+
+    private static void addCompletions(Map<String, List<String>> completed, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            List<String> codes = completed.get((String) row[0]);
+            if (codes != null) {
+                codes.add((String) row[1]);
+            }
+        }
+    }
+
+    private static String describe(PrerequisiteGraph.Requirement requirement) {
+        return requirement.getPrerequisiteCourseCode() + " (" + requirement.getPrerequisiteCourseName() + ")";
     }
 }
@@ -0,0 +1,175 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CourseEnrollment;
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.EnrollmentCart;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks a multi-course enrollment cart - UC6
+ *
+ * The courses, the student's existing records for them and the schedules involved
+ * are each fetched once for the whole cart, and seat counters of courses not yet in
+ * memory are seeded together, so the number of queries does not grow with the cart.
+ * Timetable clashes are found with a sweep over each day's sessions sorted by start
+ * time, which only compares sessions that are actually open at the same time.
+ */
+public class EnrollmentCartValidator {
+
+    /**
+     * Everything the check reads, each call covering the whole cart
+     */
+    public interface CartSource {
+        Map<Long, Course> courses(Collection<Long> courseIds);
+        /** The student's enrollment records for any of the courses, whatever their status */
+        List<CourseEnrollment> enrollments(String studentId, Collection<Long> courseIds);
+        /** Loads seat counters for the courses that have none in memory yet */
+        void seedSeats(Collection<Course> courses);
+        boolean hasAvailableSeat(Long courseId);
+        /** Descriptions of the prerequisites the student still misses for the course */
+        List<String> missingPrerequisites(String studentId, Long courseId);
+        /** ACTIVE schedules of the given courses and of every course the student holds a seat in */
+        List<CourseSchedule> schedules(String studentId, Collection<Long> courseIds);
+    }
+
+    private final CartSource source;
+
+    public EnrollmentCartValidator(CartSource source) {
+        this.source = source;
+    }
+
+    /**
+     * The rule shared by single enrollment, the cart and the waitlist: a record that
+     * holds a seat blocks a new enrollment, any other record is reactivated in place
+     */
+    public static boolean holdsSeat(CourseEnrollment.EnrollmentStatus status) {
+        return status == null
+            || status == CourseEnrollment.EnrollmentStatus.PENDING
+            || status == CourseEnrollment.EnrollmentStatus.ENROLLED;
+    }
+
+    /**
+     * @param courses  filled with the cart courses that exist
+     * @param existing filled with the student's records for those courses, by course ID
+     * @return problems per course ID, empty if the whole cart can be enrolled
+     */
+    public Map<Long, List<String>> check(EnrollmentCart cart, Map<Long, Course> courses,
+                                         Map<Long, CourseEnrollment> existing) {
+        Map<Long, List<String>> problems = new LinkedHashMap<>();
+        Set<Long> courseIds = new LinkedHashSet<>(cart.getCourseIds());
+        if (courseIds.isEmpty()) {
+            return problems;
+        }
+        String studentId = cart.getStudentId();
+
+        Map<Long, Course> found = source.courses(courseIds);
+        for (Long courseId : courseIds) {
+            Course course = found.get(courseId);
+            if (course == null) {
+                addProblem(problems, courseId, "Course not found");
+            } else {
+                courses.put(courseId, course);
+            }
+        }
+        if (courses.isEmpty()) {
+            return problems;
+        }
+
+        for (Long courseId : courses.keySet()) {
+            for (String missing : source.missingPrerequisites(studentId, courseId)) {
+                addProblem(problems, courseId, "Missing prerequisite " + missing);
+            }
+        }
+
+        for (CourseEnrollment enrollment : source.enrollments(studentId, courses.keySet())) {
+            existing.put(enrollment.getCourseId(), enrollment);
+            if (holdsSeat(enrollment.getEnrollmentStatus())) {
+                addProblem(problems, enrollment.getCourseId(), "Student is already enrolled in this course");
+            }
+        }
+
+        source.seedSeats(courses.values());
+        for (Course course : courses.values()) {
+            if (!source.hasAvailableSeat(course.getId())) {
+                addProblem(problems, course.getId(), "Course is at full capacity");
+            }
+        }
+
+        for (CourseSchedule[] clash : clashes(source.schedules(studentId, courses.keySet()))) {
+            CourseSchedule a = clash[0];
+            CourseSchedule b = clash[1];
+            if (courses.containsKey(a.getCourseId())) {
+                addProblem(problems, a.getCourseId(), "Timetable clash with " + describe(b));
+            }
+            if (courses.containsKey(b.getCourseId())) {
+                addProblem(problems, b.getCourseId(), "Timetable clash with " + describe(a));
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Overlapping pairs of sessions belonging to different courses, found per day by a
+     * sweep in start-time order that keeps only the sessions still running
+     */
+    public static List<CourseSchedule[]> clashes(List<CourseSchedule> schedules) {
+        Map<String, List<CourseSchedule>> byDay = new HashMap<>();
+        for (CourseSchedule schedule : schedules) {
+            if (schedule.getDayOfWeek() != null && schedule.getStartTime() != null && schedule.getEndTime() != null) {
+                byDay.computeIfAbsent(schedule.getDayOfWeek().trim().toUpperCase(Locale.ROOT),
+                    day -> new ArrayList<>()).add(schedule);
+            }
+        }
+        List<CourseSchedule[]> clashes = new ArrayList<>();
+        for (List<CourseSchedule> day : byDay.values()) {
+            day.sort(Comparator.comparing(CourseSchedule::getStartTime));
+            List<CourseSchedule> running = new ArrayList<>();
+            for (CourseSchedule session : day) {
+                for (Iterator<CourseSchedule> it = running.iterator(); it.hasNext(); ) {
+                    CourseSchedule open = it.next();
+                    if (!open.getEndTime().isAfter(session.getStartTime())) {
+                        it.remove();
+                    } else if (!open.getCourseId().equals(session.getCourseId())) {
+                        clashes.add(new CourseSchedule[] {open, session});
+                    }
+                }
+                running.add(session);
+            }
+        }
+        return clashes;
+    }
+
+    public static String describeProblems(Map<Long, List<String>> problems, Map<Long, Course> courses) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Long, List<String>> entry : problems.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            Course course = courses.get(entry.getKey());
+            sb.append(course != null ? course.getCourseCode() : "Course " + entry.getKey())
+              .append(": ").append(String.join(", ", entry.getValue()));
+        }
+        return sb.toString();
+    }
+
+    private static String describe(CourseSchedule schedule) {
+        return schedule.getCourseCode() + " on " + schedule.getDayOfWeek() + " "
+            + schedule.getStartTime() + "-" + schedule.getEndTime();
+    }
+
+    private static void addProblem(Map<Long, List<String>> problems, Long courseId, String problem) {
+        problems.computeIfAbsent(courseId, id -> new ArrayList<>()).add(problem);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.CourseEnrollment.EnrollmentStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-course enrollment counts by status - UC6
+ *
+ * A course's counters are loaded with one GROUP BY query the first time they are
+ * read and from then on follow the service's writes through
+ * {@link #transition(Long, EnrollmentStatus, EnrollmentStatus)}, applied once the
+ * row change has committed. Transitions for courses that are not loaded are
+ * ignored, since the eventual load reads the committed rows anyway.
+ *
+ * Writes made outside this service, or a transition racing a load, can leave a
+ * counter off by a few. Courses read or written since their last load are listed
+ * by {@link #dueForReconciliation()} once the reconcile interval has passed, so a
+ * periodic task can reload them with {@link #reconcile(Long)}, the same way seat
+ * counters are written back. Neither path queries the database while holding a
+ * map entry.
+ */
+public class EnrollmentStatsCounters {
+
+    /**
+     * Loads the persisted counts for one course, or for many at once
+     */
+    public interface StatsSource {
+        Map<EnrollmentStatus, Long> countByStatus(Long courseId);
+
+        /**
+         * @return counts by course; courses without rows may be absent
+         */
+        default Map<Long, Map<EnrollmentStatus, Long>> countByStatus(Collection<Long> courseIds) {
+            Map<Long, Map<EnrollmentStatus, Long>> counts = new HashMap<>();
+            for (Long courseId : courseIds) {
+                counts.put(courseId, countByStatus(courseId));
+            }
+            return counts;
+        }
+    }
+
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+
+    private final ConcurrentMap<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final StatsSource source;
+    private final long reconcileIntervalMillis;
+
+    public EnrollmentStatsCounters(StatsSource source, long reconcileIntervalMillis) {
+        this.source = source;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+    }
+
+    /**
+     * Records one enrollment row moving between statuses
+     * @param from previous status, or null for a new row
+     * @param to new status, or null for a removed row
+     */
+    public void transition(Long courseId, EnrollmentStatus from, EnrollmentStatus to) {
+        Counters course = courseId == null ? null : counters.get(courseId);
+        if (course == null || from == to) {
+            return;
+        }
+        if (from != null) {
+            course.counts.decrementAndGet(from.ordinal());
+        }
+        if (to != null) {
+            course.counts.incrementAndGet(to.ordinal());
+        }
+        course.touched = true;
+    }
+
+    /**
+     * @return counts for every status, zero-filled, loading the course on first use
+     */
+    public Map<EnrollmentStatus, Long> snapshot(Long courseId) {
+        Counters course = counters.get(courseId);
+        if (course == null) {
+            Counters loaded = new Counters(source.countByStatus(courseId));
+            Counters raced = counters.putIfAbsent(courseId, loaded);
+            course = raced != null ? raced : loaded;
+        }
+        course.touched = true;
+        Map<EnrollmentStatus, Long> snapshot = new EnumMap<>(EnrollmentStatus.class);
+        for (EnrollmentStatus status : STATUSES) {
+            snapshot.put(status, Math.max(0L, course.counts.get(status.ordinal())));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Snapshots of several courses, loading all that are not cached yet with one call to the source
+     * @return counts by course, zero-filled, in the order given
+     */
+    public Map<Long, Map<EnrollmentStatus, Long>> snapshots(Collection<Long> courseIds) {
+        List<Long> missing = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            if (courseId != null && !counters.containsKey(courseId)) {
+                missing.add(courseId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Map<EnrollmentStatus, Long>> persisted = source.countByStatus(missing);
+            for (Long courseId : missing) {
+                Map<EnrollmentStatus, Long> counts = persisted.get(courseId);
+                counters.putIfAbsent(courseId, new Counters(counts == null ? Map.of() : counts));
+            }
+        }
+        Map<Long, Map<EnrollmentStatus, Long>> snapshots = new LinkedHashMap<>();
+        for (Long courseId : courseIds) {
+            if (courseId != null) {
+                snapshots.put(courseId, snapshot(courseId));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return when the course's counts were last read from the database, or 0 if not loaded
+     */
+    public long lastReconciled(Long courseId) {
+        Counters course = counters.get(courseId);
+        return course == null ? 0L : course.lastReconciled.get();
+    }
+
+    public void evict(Long courseId) {
+        counters.remove(courseId);
+    }
+
+    /**
+     * @return loaded courses read or written since their last load whose reconcile
+     * interval has passed
+     */
+    public List<Long> dueForReconciliation() {
+        long now = System.currentTimeMillis();
+        List<Long> due = new ArrayList<>();
+        for (Map.Entry<Long, Counters> entry : counters.entrySet()) {
+            Counters course = entry.getValue();
+            if (course.touched && now - course.lastReconciled.get() >= reconcileIntervalMillis) {
+                due.add(entry.getKey());
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Reloads a loaded course's counts from the database; a no-op for courses not loaded
+     */
+    public void reconcile(Long courseId) {
+        Counters course = counters.get(courseId);
+        if (course == null) {
+            return;
+        }
+        course.touched = false;
+        Map<EnrollmentStatus, Long> persisted = source.countByStatus(courseId);
+        if (counters.get(courseId) == course) {
+            course.load(persisted);
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length);
+        private final AtomicLong lastReconciled = new AtomicLong();
+        private volatile boolean touched;
+
+        private Counters(Map<EnrollmentStatus, Long> persisted) {
+            load(persisted);
+        }
+
+        private void load(Map<EnrollmentStatus, Long> persisted) {
+            for (EnrollmentStatus status : STATUSES) {
+                Long count = persisted.get(status);
+                counts.set(status.ordinal(), count == null ? 0L : count);
+            }
+            lastReconciled.set(System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.InstructorWorkload;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Instructor workload per term - UC7: Set Course Timetable
+ *
+ * A term is loaded with two set-based queries, its courses and its active
+ * schedules, and kept as compact rows. Schedule and course writes patch the rows
+ * of cached terms in place instead of dropping them. Workloads are folded from the
+ * rows on each read, which is a single pass over the term; headcounts come from
+ * the live seat counters, falling back to the course's persisted enrollment.
+ *
+ * Contact hours and sessions go to whoever teaches each session: its own instructor,
+ * or the course's. Credits and headcount go to the course's instructor of record
+ * only, so a course whose sessions are shared is not counted once per teacher.
+ *
+ * Every write stamps the term it lands in and the schedule or course row it touches,
+ * striped by hash, with a sequence number. A load is only kept if neither its term
+ * nor any row it read was stamped after the load began, so a load that raced with a
+ * write to that term, or with a row moving out of it, is dropped while writes to
+ * other terms do not get in its way.
+ */
+public class InstructorWorkloadAggregator {
+
+    /**
+     * Loads one term and reports live seat usage
+     */
+    public interface WorkloadSource {
+        List<Course> termCourses(String semester, String academicYear);
+        /** ACTIVE schedules of the term */
+        List<CourseSchedule> termSchedules(String semester, String academicYear);
+        /** @return seats held in the course, or -1 if not known in memory */
+        int occupiedSeats(Long courseId);
+    }
+
+    private static final int STAMP_STRIPES = 4096;
+    private static final Comparator<InstructorWorkload> HEAVIEST_FIRST = Comparator
+        .comparingDouble(InstructorWorkload::getWeeklyContactHours).reversed()
+        .thenComparing(InstructorWorkload::getInstructorId);
+
+    private final WorkloadSource source;
+    private final int maxTerms;
+    private final long ttlMillis;
+    private final ConcurrentMap<String, Term> terms = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLongArray termStamps = new AtomicLongArray(STAMP_STRIPES);
+    private final AtomicLongArray scheduleStamps = new AtomicLongArray(STAMP_STRIPES);
+    private final AtomicLongArray courseStamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public InstructorWorkloadAggregator(WorkloadSource source, int maxTerms, long ttlMillis) {
+        this.source = source;
+        this.maxTerms = maxTerms;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return one entry per instructor with courses or sessions in the term, heaviest first
+     */
+    public List<InstructorWorkload> workload(String semester, String academicYear) {
+        Term term = term(semester, academicYear);
+        Map<String, Load> loads = new HashMap<>();
+        synchronized (term) {
+            for (SessionRow session : term.sessions.values()) {
+                CourseRow course = term.courses.get(session.courseId);
+                String instructorId = session.instructorId != null ? session.instructorId
+                    : course != null ? course.instructorId : null;
+                if (instructorId == null) {
+                    continue;
+                }
+                Load load = loads.computeIfAbsent(instructorId, Load::new);
+                load.name(session.instructorName);
+                load.minutes += session.minutes;
+                load.sessions++;
+                load.codes.add(course != null ? course.code : session.courseCode);
+            }
+            for (CourseRow course : term.courses.values()) {
+                if (course.instructorId != null) {
+                    Load load = loads.computeIfAbsent(course.instructorId, Load::new);
+                    load.name(course.instructorName);
+                    load.courseIds.add(course.id);
+                    load.codes.add(course.code);
+                }
+            }
+
+            List<InstructorWorkload> result = new ArrayList<>(loads.size());
+            for (Load load : loads.values()) {
+                InstructorWorkload workload = new InstructorWorkload();
+                workload.setInstructorId(load.instructorId);
+                workload.setSemester(semester);
+                workload.setAcademicYear(academicYear);
+                workload.setWeeklyContactHours(Math.round(load.minutes / 60.0 * 100) / 100.0);
+                workload.setSessionCount(load.sessions);
+                workload.setCourseCount(load.codes.size());
+                for (Long courseId : load.courseIds) {
+                    CourseRow course = term.courses.get(courseId);
+                    int occupied = source.occupiedSeats(course.id);
+                    workload.setStudentHeadcount(workload.getStudentHeadcount()
+                        + (occupied >= 0 ? occupied : course.currentEnrollment));
+                    workload.setCreditLoad(workload.getCreditLoad() + course.credits);
+                }
+                workload.setInstructorName(load.instructorName);
+                workload.setCourseCodes(new ArrayList<>(load.codes));
+                result.add(workload);
+            }
+            result.sort(HEAVIEST_FIRST);
+            return result;
+        }
+    }
+
+    /**
+     * Moves a new or changed schedule into the cached term it now belongs to
+     */
+    public void scheduleSaved(CourseSchedule schedule) {
+        if (schedule == null || schedule.getId() == null) {
+            return;
+        }
+        String key = termKey(schedule.getSemester(), schedule.getAcademicYear());
+        stamp(termStamps, key);
+        scheduleRemoved(schedule.getId());
+        Term term = terms.get(key);
+        if (term != null && schedule.getStatus() == CourseSchedule.ScheduleStatus.ACTIVE) {
+            synchronized (term) {
+                term.sessions.put(schedule.getId(), new SessionRow(schedule));
+            }
+        }
+    }
+
+    public void scheduleRemoved(Long scheduleId) {
+        stamp(scheduleStamps, scheduleId);
+        for (Term term : terms.values()) {
+            synchronized (term) {
+                term.sessions.remove(scheduleId);
+            }
+        }
+    }
+
+    /**
+     * Moves a new or changed course into the cached term it now belongs to
+     */
+    public void courseSaved(Course course) {
+        if (course == null || course.getId() == null) {
+            return;
+        }
+        String key = termKey(course.getSemester(), course.getAcademicYear());
+        stamp(termStamps, key);
+        courseRemoved(course.getId());
+        Term term = terms.get(key);
+        if (term != null && counts(course)) {
+            synchronized (term) {
+                term.courses.put(course.getId(), new CourseRow(course));
+            }
+        }
+    }
+
+    public void courseRemoved(Long courseId) {
+        stamp(courseStamps, courseId);
+        for (Term term : terms.values()) {
+            synchronized (term) {
+                term.courses.remove(courseId);
+            }
+        }
+    }
+
+    private Term term(String semester, String academicYear) {
+        String key = termKey(semester, academicYear);
+        Term term = terms.get(key);
+        if (term != null && System.currentTimeMillis() - term.loadedAt < ttlMillis) {
+            return term;
+        }
+        long began = writes.get();
+        term = new Term();
+        for (Course course : source.termCourses(semester, academicYear)) {
+            if (course.getId() != null && counts(course)) {
+                term.courses.put(course.getId(), new CourseRow(course));
+            }
+        }
+        for (CourseSchedule schedule : source.termSchedules(semester, academicYear)) {
+            if (schedule.getId() != null) {
+                term.sessions.put(schedule.getId(), new SessionRow(schedule));
+            }
+        }
+        if (unchanged(key, began, term)) {
+            if (terms.size() >= maxTerms) {
+                evict();
+            }
+            terms.put(key, term);
+            if (!unchanged(key, began, term)) {
+                terms.remove(key, term);
+            }
+        }
+        return term;
+    }
+
+    /**
+     * @return whether no write stamped the term, or a row the load read, after the load began
+     */
+    private boolean unchanged(String key, long began, Term term) {
+        if (termStamps.get(stripe(key)) > began) {
+            return false;
+        }
+        for (Long courseId : term.courses.keySet()) {
+            if (courseStamps.get(stripe(courseId)) > began) {
+                return false;
+            }
+        }
+        for (Long scheduleId : term.sessions.keySet()) {
+            if (scheduleStamps.get(stripe(scheduleId)) > began) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void stamp(AtomicLongArray stamps, Object key) {
+        stamps.accumulateAndGet(stripe(key), writes.incrementAndGet(), Math::max);
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    /**
+     * Drops every other cached term once the cache is full
+     */
+    private void evict() {
+        int i = 0;
+        for (Iterator<String> it = terms.keySet().iterator(); it.hasNext(); i++) {
+            it.next();
+            if ((i & 1) == 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private static boolean counts(Course course) {
+        return course.getStatus() != Course.CourseStatus.CANCELLED
+            && course.getStatus() != Course.CourseStatus.ARCHIVED;
+    }
+
+    private static String termKey(String semester, String academicYear) {
+        return semester + "|" + academicYear;
+    }
+
+    private static final class Term {
+        private final Map<Long, CourseRow> courses = new HashMap<>();
+        private final Map<Long, SessionRow> sessions = new HashMap<>();
+        private final long loadedAt = System.currentTimeMillis();
+    }
+
+    private static final class CourseRow {
+        private final Long id;
+        private final String code;
+        private final String instructorId;
+        private final String instructorName;
+        private final int credits;
+        private final int currentEnrollment;
+
+        private CourseRow(Course course) {
+            this.id = course.getId();
+            this.code = course.getCourseCode();
+            this.instructorId = course.getInstructorId();
+            this.instructorName = course.getInstructorName();
+            this.credits = course.getCredits() == null ? 0 : course.getCredits();
+            this.currentEnrollment = course.getCurrentEnrollment() == null ? 0 : course.getCurrentEnrollment();
+        }
+    }
+
+    private static final class SessionRow {
+        private final Long courseId;
+        private final String courseCode;
+        private final String instructorId;
+        private final String instructorName;
+        private final long minutes;
+
+        private SessionRow(CourseSchedule schedule) {
+            this.courseId = schedule.getCourseId();
+            this.courseCode = schedule.getCourseCode();
+            this.instructorId = schedule.getInstructorId();
+            this.instructorName = schedule.getInstructorName();
+            this.minutes = schedule.getStartTime() == null || schedule.getEndTime() == null
+                ? 0 : Math.max(0, Duration.between(schedule.getStartTime(), schedule.getEndTime()).toMinutes());
+        }
+    }
+
+    private static final class Load {
+        private final String instructorId;
+        private final Set<Long> courseIds = new TreeSet<>();
+        private final Set<String> codes = new TreeSet<>();
+        private String instructorName;
+        private long minutes;
+        private int sessions;
+
+        private Load(String instructorId) {
+            this.instructorId = instructorId;
+        }
+
+        private void name(String name) {
+            if (instructorName == null && name != null) {
+                instructorName = name;
+            }
+        }
+    }
+}
@@ -0,0 +1,707 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.CoursePrerequisite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * In-memory prerequisite graph - UC8: Check Course Prerequisites
+ *
+ * Every course code gets a dense int ID. Each course node keeps its mandatory
+ * prerequisites as a bitset over those IDs, and each student's passed courses are
+ * cached as a bitset too, so a prerequisite check is a single AND-NOT instead of
+ * one query per prerequisite. The graph is loaded from course_prerequisites on
+ * first use and patched in place by add/update/delete; nodes are copy-on-write so
+ * readers never lock. A reverse adjacency (course to the courses that require it)
+ * is derived from the nodes on demand and dropped whenever an edge changes.
+ */
+public class PrerequisiteGraph {
+
+    /**
+     * Loads prerequisite rows and student completions from the database
+     */
+    public interface PrerequisiteSource {
+        List<CoursePrerequisite> allPrerequisites();
+        /** Code of every catalog course by course ID */
+        Map<Long, String> courseCodes();
+        /** Codes of courses the student COMPLETED with a passing grade point */
+        Collection<String> completedCourseCodes(String studentId);
+    }
+
+    /**
+     * One prerequisite edge, detached from the JPA entity it was read from
+     */
+    public static final class Requirement {
+        private final Long id;
+        private final int prerequisite;
+        private final String prerequisiteCourseCode;
+        private final String prerequisiteCourseName;
+        private final boolean mandatory;
+
+        Requirement(Long id, int prerequisite, String prerequisiteCourseCode,
+                    String prerequisiteCourseName, boolean mandatory) {
+            this.id = id;
+            this.prerequisite = prerequisite;
+            this.prerequisiteCourseCode = prerequisiteCourseCode;
+            this.prerequisiteCourseName = prerequisiteCourseName;
+            this.mandatory = mandatory;
+        }
+
+        public Long getId() { return id; }
+        public String getPrerequisiteCourseCode() { return prerequisiteCourseCode; }
+        public String getPrerequisiteCourseName() { return prerequisiteCourseName; }
+        public boolean isMandatory() { return mandatory; }
+    }
+
+    /**
+     * A course downstream of another in the prerequisite graph
+     */
+    public static final class Dependent {
+        private final String courseCode;
+        private final int depth;
+        private final boolean mandatory;
+
+        Dependent(String courseCode, int depth, boolean mandatory) {
+            this.courseCode = courseCode;
+            this.depth = depth;
+            this.mandatory = mandatory;
+        }
+
+        public String getCourseCode() { return courseCode; }
+        /** Length of the shortest prerequisite chain from the changed course, 1 for direct dependents */
+        public int getDepth() { return depth; }
+        /** True when some chain to it consists of mandatory prerequisites only */
+        public boolean isMandatory() { return mandatory; }
+    }
+
+    static final class Node {
+        static final Node EMPTY = new Node(new BitSet(), new Requirement[0]);
+
+        final BitSet mandatory;
+        final Requirement[] requirements;
+
+        Node(BitSet mandatory, Requirement[] requirements) {
+            this.mandatory = mandatory;
+            this.requirements = requirements;
+        }
+    }
+
+    private static final int MAX_CACHED_STUDENTS = 50_000;
+    private static final long COMPLETION_TTL_MILLIS = 10 * 60 * 1000L;
+
+    private final PrerequisiteSource source;
+    private final Map<String, Integer> idsByCode = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> idsByCourseId = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> ownerByRequirementId = new ConcurrentHashMap<>();
+    private final Map<String, Completions> completions = new ConcurrentHashMap<>();
+
+    private volatile String[] codes = new String[0];
+    private volatile Node[] nodes = new Node[0];
+    private volatile BitSet[] closure;
+    private volatile ReverseIndex reverse;
+    private volatile boolean loaded;
+
+    public PrerequisiteGraph(PrerequisiteSource source) {
+        this.source = source;
+    }
+
+    /**
+     * @return mandatory prerequisites of the course that the student has not passed
+     */
+    public List<Requirement> missingPrerequisites(String studentId, Long courseId) {
+        ensureLoaded();
+        Integer course = idsByCourseId.get(courseId);
+        Node node = course == null ? Node.EMPTY : nodeAt(nodes, course);
+        if (node.mandatory.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BitSet missing = (BitSet) node.mandatory.clone();
+        missing.andNot(completedCourses(studentId));
+        if (missing.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Requirement> result = new ArrayList<>(missing.cardinality());
+        for (Requirement requirement : node.requirements) {
+            if (requirement.mandatory && missing.get(requirement.prerequisite)) {
+                result.add(requirement);
+            }
+        }
+        return result;
+    }
+
+    public boolean hasMetPrerequisites(String studentId, Long courseId) {
+        ensureLoaded();
+        Integer course = idsByCourseId.get(courseId);
+        BitSet mandatory = course == null ? Node.EMPTY.mandatory : nodeAt(nodes, course).mandatory;
+        if (mandatory.isEmpty()) {
+            return true;
+        }
+        return satisfies(completedCourses(studentId), mandatory);
+    }
+
+    /**
+     * Evaluates every student/course pair of a cohort in parallel on the common
+     * fork-join pool. Completions come from the caller's bulk load and bypass the
+     * per-student cache.
+     *
+     * @param completions passed course codes, one collection per student
+     * @return one row per student; character j is '1' when course j is open to them
+     */
+    public List<String> eligibilityMatrix(List<? extends Collection<String>> completions, List<Long> courseIds) {
+        ensureLoaded();
+        Node[] current = nodes;
+        BitSet[] mandatory = new BitSet[courseIds.size()];
+        for (int j = 0; j < mandatory.length; j++) {
+            Integer course = idsByCourseId.get(courseIds.get(j));
+            mandatory[j] = course == null ? Node.EMPTY.mandatory : nodeAt(current, course).mandatory;
+        }
+        BitSet[] passed = new BitSet[completions.size()];
+        for (int i = 0; i < passed.length; i++) {
+            passed[i] = new BitSet();
+            for (String code : completions.get(i)) {
+                if (code != null) {
+                    passed[i].set(intern(code));
+                }
+            }
+        }
+        String[] rows = new String[passed.length];
+        ForkJoinPool.commonPool().invoke(new EligibilityTask(mandatory, passed, rows, 0, rows.length));
+        return Arrays.asList(rows);
+    }
+
+    /**
+     * @return codes of catalog courses the student has not passed yet whose whole
+     *         transitive chain of mandatory prerequisites they have passed
+     */
+    public List<String> eligibleCourses(String studentId) {
+        ensureLoaded();
+        BitSet[] ancestors = closure();
+        BitSet passed = completedCourses(studentId);
+        List<String> eligible = new ArrayList<>();
+        BitSet seen = new BitSet();
+        for (Integer course : idsByCourseId.values()) {
+            if (seen.get(course) || passed.get(course)) {
+                continue;
+            }
+            seen.set(course);
+            if (course >= ancestors.length || satisfies(passed, ancestors[course])) {
+                eligible.add(codeOf(course));
+            }
+        }
+        Collections.sort(eligible);
+        return eligible;
+    }
+
+    /**
+     * Shortest plan to reach a course: the courses still missing from its transitive
+     * prerequisite chain, grouped into terms so that each term only needs courses
+     * passed before or in an earlier term. The number of terms is the length of the
+     * longest remaining chain, the target course itself being in the last term.
+     *
+     * @return course codes per term, empty when the target is already passed
+     */
+    public List<List<String>> remainingPath(String studentId, Long targetCourseId) {
+        ensureLoaded();
+        Integer target = idsByCourseId.get(targetCourseId);
+        if (target == null) {
+            throw new IllegalArgumentException("Course not found: " + targetCourseId);
+        }
+        BitSet[] ancestors = closure();
+        Node[] current = nodes;
+        BitSet done = (BitSet) completedCourses(studentId).clone();
+        BitSet needed = target < ancestors.length ? (BitSet) ancestors[target].clone() : new BitSet();
+        needed.set(target);
+        needed.andNot(done);
+
+        List<List<String>> terms = new ArrayList<>();
+        while (!needed.isEmpty()) {
+            BitSet term = new BitSet();
+            for (int i = needed.nextSetBit(0); i >= 0; i = needed.nextSetBit(i + 1)) {
+                if (satisfies(done, nodeAt(current, i).mandatory)) {
+                    term.set(i);
+                }
+            }
+            if (term.isEmpty()) {
+                throw new IllegalStateException("Prerequisite cycle involving " + codeOf(needed.nextSetBit(0)));
+            }
+            List<String> codesInTerm = new ArrayList<>(term.cardinality());
+            for (int i = term.nextSetBit(0); i >= 0; i = term.nextSetBit(i + 1)) {
+                codesInTerm.add(codeOf(i));
+            }
+            Collections.sort(codesInTerm);
+            terms.add(codesInTerm);
+            done.or(term);
+            needed.andNot(term);
+        }
+        return terms;
+    }
+
+    /**
+     * Every course that directly or transitively lists the course as a prerequisite,
+     * breadth first: nearest first, then by code
+     */
+    public List<Dependent> dependents(Long courseId) {
+        ensureLoaded();
+        Integer course = idsByCourseId.get(courseId);
+        if (course == null) {
+            throw new IllegalArgumentException("Course not found: " + courseId);
+        }
+        ReverseIndex index = reverseIndex();
+        BitSet mandatoryReach = reachable(index.mandatoryRequiredBy, course);
+
+        List<Dependent> result = new ArrayList<>();
+        BitSet seen = new BitSet();
+        seen.set(course);
+        BitSet frontier = new BitSet();
+        frontier.set(course);
+        for (int depth = 1; !frontier.isEmpty(); depth++) {
+            BitSet next = new BitSet();
+            for (int i = frontier.nextSetBit(0); i >= 0; i = frontier.nextSetBit(i + 1)) {
+                if (i < index.requiredBy.length) {
+                    next.or(index.requiredBy[i]);
+                }
+            }
+            next.andNot(seen);
+            seen.or(next);
+            List<Dependent> level = new ArrayList<>(next.cardinality());
+            for (int i = next.nextSetBit(0); i >= 0; i = next.nextSetBit(i + 1)) {
+                level.add(new Dependent(codeOf(i), depth, mandatoryReach.get(i)));
+            }
+            level.sort((a, b) -> a.courseCode.compareTo(b.courseCode));
+            result.addAll(level);
+            frontier = next;
+        }
+        return result;
+    }
+
+    public synchronized void addPrerequisite(CoursePrerequisite prerequisite) {
+        if (!loaded) {
+            return;
+        }
+        removeRequirement(prerequisite.getId());
+        nodes = link(nodes.clone(), prerequisite);
+        closure = null;
+        reverse = null;
+    }
+
+    public synchronized void removePrerequisite(Long prerequisiteId) {
+        if (loaded) {
+            removeRequirement(prerequisiteId);
+            closure = null;
+            reverse = null;
+        }
+    }
+
+    /**
+     * Makes a catalog course visible to the eligibility queries, also when it has no prerequisites
+     */
+    public void registerCourse(Long courseId, String courseCode) {
+        if (loaded && courseId != null && courseCode != null) {
+            idsByCourseId.put(courseId, intern(courseCode));
+        }
+    }
+
+    /**
+     * Drops a deleted course and the requirements it listed, so it no longer shows up
+     * in the closure or as a dependent in the reverse index
+     */
+    public synchronized void removeCourse(Long courseId) {
+        Integer course = courseId == null ? null : idsByCourseId.remove(courseId);
+        if (course == null || !loaded) {
+            return;
+        }
+        Node[] current = nodes;
+        if (course < current.length && current[course] != null) {
+            for (Requirement requirement : current[course].requirements) {
+                if (requirement.id != null) {
+                    ownerByRequirementId.remove(requirement.id);
+                }
+            }
+            current = current.clone();
+            current[course] = null;
+            nodes = current;
+        }
+        closure = null;
+        reverse = null;
+    }
+
+    /**
+     * Replaces the courses and edges, e.g. with a database load that supersedes the
+     * snapshot the graph was warmed from. Dense IDs and cached completions are kept.
+     */
+    public synchronized void reload(Map<Long, String> courseCodes, List<CoursePrerequisite> prerequisites) {
+        idsByCourseId.keySet().retainAll(courseCodes.keySet());
+        for (Map.Entry<Long, String> course : courseCodes.entrySet()) {
+            if (course.getKey() != null && course.getValue() != null) {
+                idsByCourseId.put(course.getKey(), intern(course.getValue()));
+            }
+        }
+        ownerByRequirementId.clear();
+        Node[] current = new Node[nodes.length];
+        for (CoursePrerequisite prerequisite : prerequisites) {
+            current = link(current, prerequisite);
+        }
+        nodes = current;
+        closure = null;
+        reverse = null;
+        loaded = true;
+    }
+
+    /**
+     * Forgets a student's cached completions, e.g. after a grade was recorded
+     */
+    public void invalidateStudent(String studentId) {
+        completions.remove(studentId);
+    }
+
+    /**
+     * @return whether the course is known to the graph, i.e. {@link #dependents} will accept it
+     */
+    public boolean containsCourse(Long courseId) {
+        ensureLoaded();
+        return courseId != null && idsByCourseId.containsKey(courseId);
+    }
+
+    /**
+     * @return the dense ID of a course code, or -1 if the graph has never seen it
+     */
+    public int idOf(String courseCode) {
+        ensureLoaded();
+        Integer id = idsByCode.get(courseCode);
+        return id == null ? -1 : id;
+    }
+
+    public String codeOf(int id) {
+        String[] current = codes;
+        return id < current.length ? current[id] : null;
+    }
+
+    /**
+     * Passed courses of a student as a bitset over dense course IDs. The returned
+     * set is shared and must not be modified.
+     */
+    BitSet completedCourses(String studentId) {
+        Completions cached = completions.get(studentId);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAt < COMPLETION_TTL_MILLIS) {
+            return cached.courses;
+        }
+        BitSet courses = new BitSet();
+        for (String code : source.completedCourseCodes(studentId)) {
+            if (code != null) {
+                courses.set(intern(code));
+            }
+        }
+        if (completions.size() >= MAX_CACHED_STUDENTS) {
+            evictStaleCompletions(now);
+        }
+        completions.put(studentId, new Completions(courses, now));
+        return courses;
+    }
+
+    /**
+     * Drops expired entries, or every other entry when nothing has expired yet
+     */
+    private void evictStaleCompletions(long now) {
+        boolean anyExpired = completions.values()
+            .removeIf(entry -> now - entry.loadedAt >= COMPLETION_TTL_MILLIS);
+        if (!anyExpired) {
+            int i = 0;
+            for (Iterator<String> it = completions.keySet().iterator(); it.hasNext(); i++) {
+                it.next();
+                if ((i & 1) == 0) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Transitive mandatory prerequisites of every node, rebuilt after the graph changes
+     */
+    private BitSet[] closure() {
+        BitSet[] current = closure;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (closure == null) {
+                Node[] graph = nodes;
+                BitSet[] ancestors = new BitSet[graph.length];
+                byte[] state = new byte[graph.length];
+                for (int i = 0; i < graph.length; i++) {
+                    collectAncestors(graph, i, ancestors, state);
+                }
+                closure = ancestors;
+            }
+            return closure;
+        }
+    }
+
+    /**
+     * Reverse adjacency of the current nodes, rebuilt after the graph changes
+     */
+    private ReverseIndex reverseIndex() {
+        ReverseIndex current = reverse;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (reverse == null) {
+                Node[] graph = nodes;
+                BitSet[] requiredBy = new BitSet[graph.length];
+                BitSet[] mandatoryRequiredBy = new BitSet[graph.length];
+                for (int i = 0; i < graph.length; i++) {
+                    requiredBy[i] = new BitSet();
+                    mandatoryRequiredBy[i] = new BitSet();
+                }
+                for (int course = 0; course < graph.length; course++) {
+                    for (Requirement requirement : nodeAt(graph, course).requirements) {
+                        if (requirement.prerequisite < graph.length) {
+                            requiredBy[requirement.prerequisite].set(course);
+                            if (requirement.mandatory) {
+                                mandatoryRequiredBy[requirement.prerequisite].set(course);
+                            }
+                        }
+                    }
+                }
+                reverse = new ReverseIndex(requiredBy, mandatoryRequiredBy);
+            }
+            return reverse;
+        }
+    }
+
+    /**
+     * Nodes reachable from the start along the given edges, excluding the start itself
+     */
+    private static BitSet reachable(BitSet[] edges, int start) {
+        BitSet reached = new BitSet();
+        int[] stack = new int[Math.max(16, edges.length)];
+        int size = 0;
+        stack[size++] = start;
+        while (size > 0) {
+            int node = stack[--size];
+            if (node >= edges.length) {
+                continue;
+            }
+            BitSet targets = edges[node];
+            for (int i = targets.nextSetBit(0); i >= 0; i = targets.nextSetBit(i + 1)) {
+                if (i != start && !reached.get(i)) {
+                    reached.set(i);
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size * 2);
+                    }
+                    stack[size++] = i;
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Depth-first closure of one node. A cycle is cut where it is first re-entered,
+     * so a corrupt catalog yields a partial closure instead of a stack overflow.
+     */
+    private static BitSet collectAncestors(Node[] graph, int course, BitSet[] ancestors, byte[] state) {
+        if (state[course] == 2) {
+            return ancestors[course];
+        }
+        if (state[course] == 1) {
+            return new BitSet();
+        }
+        state[course] = 1;
+        BitSet result = new BitSet();
+        BitSet mandatory = nodeAt(graph, course).mandatory;
+        for (int i = mandatory.nextSetBit(0); i >= 0; i = mandatory.nextSetBit(i + 1)) {
+            result.set(i);
+            if (i < graph.length) {
+                result.or(collectAncestors(graph, i, ancestors, state));
+            }
+        }
+        ancestors[course] = result;
+        state[course] = 2;
+        return result;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (Map.Entry<Long, String> course : source.courseCodes().entrySet()) {
+                if (course.getKey() != null && course.getValue() != null) {
+                    idsByCourseId.put(course.getKey(), intern(course.getValue()));
+                }
+            }
+            Node[] current = nodes;
+            for (CoursePrerequisite prerequisite : source.allPrerequisites()) {
+                current = link(current, prerequisite);
+            }
+            nodes = current;
+            loaded = true;
+        }
+    }
+
+    /**
+     * Adds one edge to a node array the caller owns, growing it if needed.
+     * Must be called while holding the graph monitor.
+     */
+    private Node[] link(Node[] current, CoursePrerequisite prerequisite) {
+        if (prerequisite.getCourseId() == null || prerequisite.getCourseCode() == null
+                || prerequisite.getPrerequisiteCourseCode() == null) {
+            return current;
+        }
+        int course = intern(prerequisite.getCourseCode());
+        int required = intern(prerequisite.getPrerequisiteCourseCode());
+        idsByCourseId.put(prerequisite.getCourseId(), course);
+        boolean mandatory = Boolean.TRUE.equals(prerequisite.getIsMandatory());
+
+        if (current.length <= Math.max(course, required)) {
+            current = Arrays.copyOf(current, Math.max(codes.length, current.length * 2));
+        }
+        Node node = nodeAt(current, course);
+        Requirement[] requirements = Arrays.copyOf(node.requirements, node.requirements.length + 1);
+        requirements[requirements.length - 1] = new Requirement(prerequisite.getId(), required,
+            prerequisite.getPrerequisiteCourseCode(), prerequisite.getPrerequisiteCourseName(), mandatory);
+        current[course] = new Node(mandatoryOf(requirements), requirements);
+        if (prerequisite.getId() != null) {
+            ownerByRequirementId.put(prerequisite.getId(), course);
+        }
+        return current;
+    }
+
+    /** Must be called while holding the graph monitor */
+    private void removeRequirement(Long requirementId) {
+        Integer course = requirementId == null ? null : ownerByRequirementId.remove(requirementId);
+        if (course == null) {
+            return;
+        }
+        Node[] current = nodes.clone();
+        Node node = nodeAt(current, course);
+        List<Requirement> kept = new ArrayList<>(node.requirements.length);
+        for (Requirement requirement : node.requirements) {
+            if (!requirementId.equals(requirement.id)) {
+                kept.add(requirement);
+            }
+        }
+        Requirement[] requirements = kept.toArray(new Requirement[0]);
+        current[course] = new Node(mandatoryOf(requirements), requirements);
+        nodes = current;
+    }
+
+    private int intern(String courseCode) {
+        Integer id = idsByCode.get(courseCode);
+        if (id != null) {
+            return id;
+        }
+        synchronized (idsByCode) {
+            id = idsByCode.get(courseCode);
+            if (id == null) {
+                id = idsByCode.size();
+                String[] current = codes;
+                if (id == current.length) {
+                    current = Arrays.copyOf(current, Math.max(16, current.length * 2));
+                }
+                current[id] = courseCode;
+                codes = current;
+                idsByCode.put(courseCode, id);
+            }
+            return id;
+        }
+    }
+
+    private static Node nodeAt(Node[] nodes, int id) {
+        Node node = id < nodes.length ? nodes[id] : null;
+        return node == null ? Node.EMPTY : node;
+    }
+
+    private static boolean satisfies(BitSet passed, BitSet mandatory) {
+        for (int i = mandatory.nextSetBit(0); i >= 0; i = mandatory.nextSetBit(i + 1)) {
+            if (!passed.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BitSet mandatoryOf(Requirement[] requirements) {
+        BitSet mandatory = new BitSet();
+        for (Requirement requirement : requirements) {
+            if (requirement.mandatory) {
+                mandatory.set(requirement.prerequisite);
+            }
+        }
+        return mandatory;
+    }
+
+    /**
+     * Fills eligibility rows for a range of students, splitting until the range is small
+     */
+    private static final class EligibilityTask extends RecursiveAction {
+        private static final int STUDENTS_PER_TASK = 256;
+
+        private final BitSet[] mandatory;
+        private final BitSet[] passed;
+        private final String[] rows;
+        private final int from;
+        private final int to;
+
+        private EligibilityTask(BitSet[] mandatory, BitSet[] passed, String[] rows, int from, int to) {
+            this.mandatory = mandatory;
+            this.passed = passed;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > STUDENTS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new EligibilityTask(mandatory, passed, rows, from, middle),
+                          new EligibilityTask(mandatory, passed, rows, middle, to));
+                return;
+            }
+            char[] row = new char[mandatory.length];
+            for (int i = from; i < to; i++) {
+                for (int j = 0; j < mandatory.length; j++) {
+                    row[j] = satisfies(passed[i], mandatory[j]) ? '1' : '0';
+                }
+                rows[i] = new String(row);
+            }
+        }
+    }
+
+    private static final class ReverseIndex {
+        private final BitSet[] requiredBy;
+        private final BitSet[] mandatoryRequiredBy;
+
+        private ReverseIndex(BitSet[] requiredBy, BitSet[] mandatoryRequiredBy) {
+            this.requiredBy = requiredBy;
+            this.mandatoryRequiredBy = mandatoryRequiredBy;
+        }
+    }
+
+    private static final class Completions {
+        private final BitSet courses;
+        private final long loadedAt;
+
+        private Completions(BitSet courses, long loadedAt) {
+            this.courses = courses;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.ScheduleClash;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * In-memory interval index of active schedules - UC7: Set Course Timetable
+ *
+ * Every active schedule is booked on two tracks: its venue and its instructor,
+ * each scoped to semester, academic year and day of week. A track is a tree of
+ * slots ordered by start time plus the length of its longest slot, so any slot
+ * overlapping [start, end) must start inside (start - longest, end) and a clash
+ * check is one O(log n) range lookup even if legacy rows already overlap.
+ *
+ * Venue tracks are mirrored into one bitmap per venue and term with a bit per
+ * 15-minute slot of the week, so a free-room search is a mask test per venue.
+ *
+ * Writes reserve a {@link Booking} before the row is persisted, so concurrent
+ * writers already clash with it, and then commit it under the schedule ID once the
+ * transaction has committed or cancel it if the transaction rolls back. Only
+ * committed bookings make a venue known. The index is loaded from
+ * course_schedules on first use.
+ */
+public class ScheduleIndex {
+
+    /**
+     * Loads all ACTIVE schedules the first time the index is used
+     */
+    public interface ScheduleSource {
+        List<CourseSchedule> activeSchedules();
+    }
+
+    /**
+     * Slots held for one schedule write until it is committed or cancelled
+     */
+    public static final class Booking {
+        private final Long replacing;
+        private final String venue;
+        private final int capacity;
+        private final List<Slot> slots = new ArrayList<>(2);
+
+        private Booking(Long replacing, CourseSchedule schedule) {
+            this.replacing = replacing;
+            this.venue = schedule.getVenue() == null || schedule.getVenue().trim().isEmpty()
+                ? null : schedule.getVenue().trim();
+            this.capacity = schedule.getCapacity() == null ? 0 : schedule.getCapacity();
+        }
+    }
+
+    private static final class Slot {
+        private final long sequence;
+        private final int start;
+        private final int end;
+        private final String track;
+        private final String courseCode;
+        private Long scheduleId;
+
+        private Slot(long sequence, int start, int end, String track, String courseCode, Long scheduleId) {
+            this.sequence = sequence;
+            this.start = start;
+            this.end = end;
+            this.track = track;
+            this.courseCode = courseCode;
+            this.scheduleId = scheduleId;
+        }
+    }
+
+    private static final class Track {
+        private final TreeSet<Slot> slots = new TreeSet<>(SLOT_ORDER);
+        private int longest;
+    }
+
+    private static final Comparator<Slot> SLOT_ORDER = Comparator
+        .comparingInt((Slot slot) -> slot.start)
+        .thenComparingLong(slot -> slot.sequence);
+
+    private static final int SLOT_MINUTES = 15;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WEEK_WORDS = (7 * SLOTS_PER_DAY + 63) / 64;
+
+    private final ScheduleSource source;
+    private final Map<String, Integer> venueCapacities = new TreeMap<>();
+    private final Map<String, Map<String, long[]>> venueWeeksByTerm = new HashMap<>();
+    private final Map<String, Track> tracks = new HashMap<>();
+    private final Map<Long, Booking> bookedById = new HashMap<>();
+    private long nextSequence;
+    private boolean loaded;
+
+    public ScheduleIndex(ScheduleSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Books the venue and instructor of a schedule about to be written. Updating an
+     * existing schedule does not clash with its own current slots.
+     * @throws IllegalStateException if an active schedule already holds either track
+     * @throws IllegalArgumentException if the schedule does not end after it starts
+     */
+    public synchronized Booking reserve(CourseSchedule schedule) {
+        ensureLoaded();
+        Booking booking = new Booking(schedule.getId(), schedule);
+        if (schedule.getStatus() != CourseSchedule.ScheduleStatus.ACTIVE) {
+            return booking;
+        }
+        int start = minuteOf(schedule.getStartTime());
+        int end = minuteOf(schedule.getEndTime());
+        if (end <= start) {
+            throw new IllegalArgumentException("Schedule end time must be after its start time");
+        }
+        List<String> keys = trackKeys(schedule);
+        for (String key : keys) {
+            Slot clash = firstOverlap(tracks.get(key), start, end, schedule.getId());
+            if (clash != null) {
+                throw new IllegalStateException(describeTrack(key) + " is already booked on "
+                    + normalize(schedule.getDayOfWeek()) + " " + timeOf(clash.start) + "-" + timeOf(clash.end)
+                    + " by " + clash.courseCode + " (schedule " + clash.scheduleId + ")");
+            }
+        }
+        for (String key : keys) {
+            Slot slot = new Slot(nextSequence++, start, end, key, schedule.getCourseCode(), schedule.getId());
+            add(slot);
+            booking.slots.add(slot);
+        }
+        return booking;
+    }
+
+    /**
+     * Makes a reservation permanent once the schedule row has been written,
+     * dropping whatever the schedule booked before
+     */
+    public synchronized void commit(Booking booking, Long scheduleId) {
+        release(booking.replacing != null ? booking.replacing : scheduleId);
+        for (Slot slot : booking.slots) {
+            slot.scheduleId = scheduleId;
+        }
+        if (!booking.slots.isEmpty()) {
+            bookedById.put(scheduleId, booking);
+            noteVenue(booking);
+        }
+    }
+
+    public synchronized void cancel(Booking booking) {
+        for (Slot slot : booking.slots) {
+            remove(slot);
+        }
+    }
+
+    /**
+     * Frees every slot of a deleted schedule
+     */
+    public synchronized void release(Long scheduleId) {
+        Booking booking = scheduleId == null ? null : bookedById.remove(scheduleId);
+        if (booking != null) {
+            for (Slot slot : booking.slots) {
+                remove(slot);
+            }
+        }
+    }
+
+    /**
+     * Venues with no active booking in [from, to) on the given day of the term
+     * @return capacity by venue name, sorted by venue
+     */
+    public synchronized Map<String, Integer> freeVenues(String semester, String academicYear, String dayOfWeek,
+                                                        LocalTime from, LocalTime to, int minCapacity) {
+        ensureLoaded();
+        int day = dayIndex(normalize(dayOfWeek));
+        if (day < 0) {
+            throw new IllegalArgumentException("Unknown day of week: " + dayOfWeek);
+        }
+        int start = minuteOf(from);
+        int end = minuteOf(to);
+        if (end <= start) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        int first = day * SLOTS_PER_DAY + start / SLOT_MINUTES;
+        int last = day * SLOTS_PER_DAY + (end + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        Map<String, long[]> weeks = venueWeeksByTerm.getOrDefault(semester + "|" + academicYear,
+            Collections.emptyMap());
+
+        Map<String, Integer> free = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> venue : venueCapacities.entrySet()) {
+            if (venue.getValue() < minCapacity) {
+                continue;
+            }
+            long[] week = weeks.get(venue.getKey());
+            if (week == null || !anySet(week, first, last)) {
+                free.put(venue.getKey(), venue.getValue());
+            }
+        }
+        return free;
+    }
+
+    /**
+     * @return largest capacity seen per venue across all active bookings, sorted by venue
+     */
+    public synchronized Map<String, Integer> knownVenues() {
+        ensureLoaded();
+        return new LinkedHashMap<>(venueCapacities);
+    }
+
+    /**
+     * Reports every overlapping pair in one sweep per track over slots sorted by start
+     */
+    public static List<ScheduleClash> findClashes(Collection<CourseSchedule> schedules) {
+        Map<String, List<CourseSchedule>> byTrack = new LinkedHashMap<>();
+        for (CourseSchedule schedule : schedules) {
+            if (schedule.getStatus() != CourseSchedule.ScheduleStatus.ACTIVE
+                    || schedule.getStartTime() == null || schedule.getEndTime() == null) {
+                continue;
+            }
+            for (String key : trackKeys(schedule)) {
+                byTrack.computeIfAbsent(key, k -> new ArrayList<>()).add(schedule);
+            }
+        }
+        List<ScheduleClash> clashes = new ArrayList<>();
+        for (Map.Entry<String, List<CourseSchedule>> track : byTrack.entrySet()) {
+            List<CourseSchedule> sorted = track.getValue();
+            sorted.sort(Comparator.comparing(CourseSchedule::getStartTime));
+            List<CourseSchedule> open = new ArrayList<>();
+            for (CourseSchedule schedule : sorted) {
+                for (Iterator<CourseSchedule> it = open.iterator(); it.hasNext(); ) {
+                    CourseSchedule other = it.next();
+                    if (!other.getEndTime().isAfter(schedule.getStartTime())) {
+                        it.remove();
+                    } else {
+                        clashes.add(clash(track.getKey(), other, schedule));
+                    }
+                }
+                open.add(schedule);
+            }
+        }
+        return clashes;
+    }
+
+    /**
+     * Indexes a schedule that is already persisted, as is and without a clash check,
+     * e.g. one restored from a catalog snapshot. A no-op until the index is loaded.
+     */
+    public synchronized void put(CourseSchedule schedule) {
+        if (!loaded) {
+            return;
+        }
+        release(schedule.getId());
+        if (schedule.getStatus() == CourseSchedule.ScheduleStatus.ACTIVE) {
+            index(schedule);
+        }
+    }
+
+    /**
+     * Brings the committed bookings in line with the given active schedules, e.g. a
+     * database load that supersedes the snapshot the index was warmed from. Pending
+     * reservations are kept.
+     */
+    public synchronized void reload(List<CourseSchedule> active) {
+        Set<Long> ids = new HashSet<>();
+        for (CourseSchedule schedule : active) {
+            ids.add(schedule.getId());
+        }
+        for (Long scheduleId : new ArrayList<>(bookedById.keySet())) {
+            if (!ids.contains(scheduleId)) {
+                release(scheduleId);
+            }
+        }
+        loaded = true;
+        for (CourseSchedule schedule : active) {
+            put(schedule);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        for (CourseSchedule schedule : source.activeSchedules()) {
+            index(schedule);
+        }
+        loaded = true;
+    }
+
+    private void index(CourseSchedule schedule) {
+        if (schedule.getStartTime() == null || schedule.getEndTime() == null) {
+            return;
+        }
+        int start = minuteOf(schedule.getStartTime());
+        int end = minuteOf(schedule.getEndTime());
+        Booking booking = new Booking(schedule.getId(), schedule);
+        for (String key : trackKeys(schedule)) {
+            Slot slot = new Slot(nextSequence++, start, end, key, schedule.getCourseCode(), schedule.getId());
+            add(slot);
+            booking.slots.add(slot);
+        }
+        bookedById.put(schedule.getId(), booking);
+        noteVenue(booking);
+    }
+
+    private static Slot firstOverlap(Track track, int start, int end, Long ignoredScheduleId) {
+        if (track == null) {
+            return null;
+        }
+        Slot from = new Slot(Long.MIN_VALUE, start - track.longest, 0, null, null, null);
+        Slot to = new Slot(Long.MIN_VALUE, end, 0, null, null, null);
+        for (Slot slot : track.slots.subSet(from, false, to, false)) {
+            if (slot.end > start && slot.start < end
+                    && (ignoredScheduleId == null || !ignoredScheduleId.equals(slot.scheduleId))) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private void add(Slot slot) {
+        Track track = tracks.computeIfAbsent(slot.track, key -> new Track());
+        track.slots.add(slot);
+        track.longest = Math.max(track.longest, slot.end - slot.start);
+        refreshVenueDay(slot.track);
+    }
+
+    private void remove(Slot slot) {
+        Track track = tracks.get(slot.track);
+        if (track != null && track.slots.remove(slot)) {
+            if (track.slots.isEmpty()) {
+                tracks.remove(slot.track);
+            } else if (slot.end - slot.start == track.longest) {
+                // the range lookup widens by the longest slot, so let it shrink again
+                int longest = 0;
+                for (Slot other : track.slots) {
+                    longest = Math.max(longest, other.end - other.start);
+                }
+                track.longest = longest;
+            }
+            refreshVenueDay(slot.track);
+        }
+    }
+
+    /**
+     * Redraws one day of a venue bitmap from the slots of its track
+     */
+    private void refreshVenueDay(String key) {
+        String[] parts = key.split("\\|", 5);
+        int day = dayIndex(parts[3]);
+        if (!ScheduleClash.ClashType.VENUE.name().equals(parts[0]) || day < 0) {
+            return;
+        }
+        long[] week = venueWeeksByTerm.computeIfAbsent(parts[1] + "|" + parts[2], k -> new HashMap<>())
+            .computeIfAbsent(parts[4], k -> new long[WEEK_WORDS]);
+        int base = day * SLOTS_PER_DAY;
+        setRange(week, base, base + SLOTS_PER_DAY, false);
+        Track track = tracks.get(key);
+        if (track != null) {
+            for (Slot slot : track.slots) {
+                setRange(week, base + slot.start / SLOT_MINUTES,
+                    base + (slot.end + SLOT_MINUTES - 1) / SLOT_MINUTES, true);
+            }
+        }
+    }
+
+    /**
+     * Records the venue of a committed booking; a reservation that is cancelled never
+     * makes its venue known
+     */
+    private void noteVenue(Booking booking) {
+        if (booking.venue != null) {
+            venueCapacities.merge(booking.venue, booking.capacity, Math::max);
+        }
+    }
+
+    private static void setRange(long[] bits, int from, int to, boolean value) {
+        for (int i = from; i < to; i++) {
+            if (value) {
+                bits[i >>> 6] |= 1L << i;
+            } else {
+                bits[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    private static boolean anySet(long[] bits, int from, int to) {
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            long mask = -1L;
+            if (word == from >>> 6) {
+                mask &= -1L << from;
+            }
+            if (word == (to - 1) >>> 6) {
+                mask &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            if ((bits[word] & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int dayIndex(String day) {
+        try {
+            return day == null ? -1 : DayOfWeek.valueOf(day).ordinal();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static List<String> trackKeys(CourseSchedule schedule) {
+        List<String> keys = new ArrayList<>(2);
+        String term = schedule.getSemester() + "|" + schedule.getAcademicYear() + "|" + normalize(schedule.getDayOfWeek());
+        if (schedule.getVenue() != null && !schedule.getVenue().trim().isEmpty()) {
+            keys.add(ScheduleClash.ClashType.VENUE + "|" + term + "|" + schedule.getVenue().trim());
+        }
+        if (schedule.getInstructorId() != null && !schedule.getInstructorId().trim().isEmpty()) {
+            keys.add(ScheduleClash.ClashType.INSTRUCTOR + "|" + term + "|" + schedule.getInstructorId().trim());
+        }
+        return keys;
+    }
+
+    private static ScheduleClash clash(String key, CourseSchedule first, CourseSchedule second) {
+        String[] parts = key.split("\\|", 5);
+        ScheduleClash clash = new ScheduleClash();
+        clash.setClashType(ScheduleClash.ClashType.valueOf(parts[0]));
+        clash.setDayOfWeek(parts[3]);
+        clash.setResource(parts[4]);
+        clash.setFirstScheduleId(first.getId());
+        clash.setFirstCourseCode(first.getCourseCode());
+        clash.setSecondScheduleId(second.getId());
+        clash.setSecondCourseCode(second.getCourseCode());
+        clash.setOverlapStart(second.getStartTime());
+        clash.setOverlapEnd(first.getEndTime().isBefore(second.getEndTime()) ? first.getEndTime() : second.getEndTime());
+        return clash;
+    }
+
+    private static String describeTrack(String key) {
+        String[] parts = key.split("\\|", 5);
+        return (ScheduleClash.ClashType.VENUE.name().equals(parts[0]) ? "Venue " : "Instructor ") + parts[4];
+    }
+
+    private static String normalize(String dayOfWeek) {
+        return dayOfWeek == null ? null : dayOfWeek.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static int minuteOf(LocalTime time) {
+        if (time == null) {
+            throw new IllegalArgumentException("Schedule start and end times are required");
+        }
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalTime timeOf(int minute) {
+        return LocalTime.of(minute / 60, minute % 60);
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.university.course.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory seat counters for course enrollment - UC6
+ *
+ * Each course gets a counter whose free seats are split across a small number of
+ * stripes, so concurrent enrollers for the same course mostly CAS on different
+ * slots instead of queueing on one row lock. A reservation is refused once every
+ * stripe is empty, which makes oversubscription impossible within this node.
+ *
+ * Counters are seeded lazily from the database through {@link SeatSource} and are
+ * written back to courses.current_enrollment by the caller whenever
+ * {@link #claimReconciliation(Long)} says the course is due; courses changed since
+ * their last write-back are listed by {@link #dueForReconciliation()} so a periodic
+ * task can catch up when no further request arrives.
+ */
+public class SeatReservationEngine {
+
+    /**
+     * Loads the persisted seat state for a course the first time it is touched
+     */
+    public interface SeatSource {
+        /** Maximum seats, or a negative value if the course does not exist */
+        int capacity(Long courseId);
+        /** Seats currently held by PENDING or ENROLLED rows */
+        int occupied(Long courseId);
+    }
+
+    private static final int MAX_STRIPES = 16;
+
+    private final ConcurrentMap<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+    private final SeatSource source;
+    private final long reconcileIntervalMillis;
+
+    public SeatReservationEngine(SeatSource source, long reconcileIntervalMillis) {
+        this.source = source;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+    }
+
+    /**
+     * Takes one seat for the course
+     * @return false if the course is full or does not exist
+     */
+    public boolean tryReserve(Long courseId) {
+        SeatCounter counter = counterFor(courseId);
+        return counter != null && counter.tryReserve();
+    }
+
+    /**
+     * Gives back a seat previously taken with {@link #tryReserve(Long)}
+     */
+    public void release(Long courseId) {
+        SeatCounter counter = counters.get(courseId);
+        if (counter != null) {
+            counter.release();
+        }
+    }
+
+    /**
+     * Takes back a seat released by a write that then rolled back. If the seat has been
+     * handed out again meanwhile it is owed instead, like seats cut by a capacity change.
+     */
+    public void reclaim(Long courseId) {
+        SeatCounter counter = counters.get(courseId);
+        if (counter != null && !counter.tryReserve()) {
+            counter.owe();
+        }
+    }
+
+    public boolean hasAvailableSeat(Long courseId) {
+        SeatCounter counter = counterFor(courseId);
+        return counter != null && counter.available() > 0;
+    }
+
+    public int getOccupiedSeats(Long courseId) {
+        SeatCounter counter = counterFor(courseId);
+        return counter == null ? 0 : counter.occupied();
+    }
+
+    /**
+     * Occupied seats without loading the counter
+     * @return -1 if the course has no counter in memory yet
+     */
+    public int peekOccupiedSeats(Long courseId) {
+        SeatCounter counter = courseId == null ? null : counters.get(courseId);
+        return counter == null ? -1 : counter.occupied();
+    }
+
+    public int getAvailableSeats(Long courseId) {
+        SeatCounter counter = counterFor(courseId);
+        return counter == null ? 0 : Math.max(0, counter.available());
+    }
+
+    /**
+     * Applies a new maximum capacity without losing seats already handed out
+     */
+    public void updateCapacity(Long courseId, int capacity) {
+        SeatCounter counter = counters.get(courseId);
+        if (counter != null) {
+            counter.resize(capacity);
+        }
+    }
+
+    /**
+     * @return the given courses that have no counter in memory yet
+     */
+    public List<Long> unseeded(Collection<Long> courseIds) {
+        List<Long> missing = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            if (courseId != null && !counters.containsKey(courseId)) {
+                missing.add(courseId);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Installs a counter loaded by the caller, for instance for several courses in one
+     * query; a counter already in memory is kept
+     */
+    public void seed(Long courseId, int capacity, int occupied) {
+        if (courseId != null && capacity >= 0) {
+            counters.putIfAbsent(courseId, new SeatCounter(capacity, occupied));
+        }
+    }
+
+    /**
+     * Drops the counter so the next access reloads it from the database
+     */
+    public void evict(Long courseId) {
+        counters.remove(courseId);
+    }
+
+    /**
+     * Lets exactly one caller per interval write the counter back to the database
+     * @return the occupied seat count to persist, or -1 if not due yet
+     */
+    public int claimReconciliation(Long courseId) {
+        SeatCounter counter = counters.get(courseId);
+        if (counter == null) {
+            return -1;
+        }
+        long now = System.currentTimeMillis();
+        long last = counter.lastReconciled.get();
+        if (now - last < reconcileIntervalMillis || !counter.lastReconciled.compareAndSet(last, now)) {
+            return -1;
+        }
+        counter.dirty = false;
+        return counter.occupied();
+    }
+
+    /**
+     * @return courses whose seats changed since their last write-back and whose interval has passed
+     */
+    public List<Long> dueForReconciliation() {
+        long now = System.currentTimeMillis();
+        List<Long> due = new ArrayList<>();
+        for (Map.Entry<Long, SeatCounter> entry : counters.entrySet()) {
+            SeatCounter counter = entry.getValue();
+            if (counter.dirty && now - counter.lastReconciled.get() >= reconcileIntervalMillis) {
+                due.add(entry.getKey());
+            }
+        }
+        return due;
+    }
+
+    private SeatCounter counterFor(Long courseId) {
+        if (courseId == null) {
+            return null;
+        }
+        SeatCounter counter = counters.get(courseId);
+        if (counter != null) {
+            return counter;
+        }
+        // seeded outside the map so no bin lock is held across the queries; a racing seed loses
+        int capacity = source.capacity(courseId);
+        if (capacity < 0) {
+            return null;
+        }
+        SeatCounter seeded = new SeatCounter(capacity, source.occupied(courseId));
+        counter = counters.putIfAbsent(courseId, seeded);
+        return counter != null ? counter : seeded;
+    }
+
+    /**
+     * Striped free-seat counter. Seats removed by a capacity cut that were already
+     * handed out are tracked as debt and paid back before releases reopen a seat.
+     */
+    static final class SeatCounter {
+
+        private final AtomicIntegerArray freeSeats;
+        private final AtomicInteger debt = new AtomicInteger();
+        private final AtomicLong lastReconciled = new AtomicLong(System.currentTimeMillis());
+        private volatile int capacity;
+        private volatile boolean dirty;
+
+        SeatCounter(int capacity, int occupied) {
+            int stripes = Math.max(1, Math.min(MAX_STRIPES,
+                Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()))));
+            this.freeSeats = new AtomicIntegerArray(stripes);
+            this.capacity = capacity;
+            int free = capacity - occupied;
+            if (free < 0) {
+                debt.set(-free);
+                free = 0;
+            }
+            for (int i = 0; i < stripes; i++) {
+                freeSeats.set(i, free / stripes + (i < free % stripes ? 1 : 0));
+            }
+        }
+
+        boolean tryReserve() {
+            int stripes = freeSeats.length();
+            int start = ThreadLocalRandom.current().nextInt(stripes);
+            for (int n = 0; n < stripes; n++) {
+                int i = (start + n) & (stripes - 1);
+                int free;
+                while ((free = freeSeats.get(i)) > 0) {
+                    if (freeSeats.compareAndSet(i, free, free - 1)) {
+                        dirty = true;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void release() {
+            dirty = true;
+            int owed;
+            while ((owed = debt.get()) > 0) {
+                if (debt.compareAndSet(owed, owed - 1)) {
+                    return;
+                }
+            }
+            freeSeats.incrementAndGet(ThreadLocalRandom.current().nextInt(freeSeats.length()));
+        }
+
+        void owe() {
+            dirty = true;
+            debt.incrementAndGet();
+        }
+
+        synchronized void resize(int newCapacity) {
+            int delta = newCapacity - capacity;
+            capacity = newCapacity;
+            while (delta > 0) {
+                int owed = debt.get();
+                if (owed == 0) {
+                    freeSeats.addAndGet(0, delta);
+                    return;
+                }
+                int paid = Math.min(owed, delta);
+                if (debt.compareAndSet(owed, owed - paid)) {
+                    delta -= paid;
+                }
+            }
+            for (int i = 0; i < freeSeats.length() && delta < 0; i++) {
+                int free;
+                while ((free = freeSeats.get(i)) > 0 && delta < 0) {
+                    int taken = Math.min(free, -delta);
+                    if (freeSeats.compareAndSet(i, free, free - taken)) {
+                        delta += taken;
+                    }
+                }
+            }
+            if (delta < 0) {
+                debt.addAndGet(-delta);
+            }
+        }
+
+        int available() {
+            int free = 0;
+            for (int i = 0; i < freeSeats.length(); i++) {
+                free += freeSeats.get(i);
+            }
+            return free - debt.get();
+        }
+
+        int occupied() {
+            return capacity - available();
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.SectionAssignment;
+import com.example.university.course.model.SectionAssignmentReport;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Lab and tutorial section assignment - UC7: Set Course Timetable
+ *
+ * Each section type of a course is one min-cost flow: source to every student,
+ * student to every section of the type, and section to sink through one arc per
+ * seat. The k-th seat of a section costs k, which spreads students evenly, and a
+ * student-section arc that overlaps one of the student's other classes costs more
+ * than any seat, so a clash is only accepted when every section clashes.
+ *
+ * Within a course the types are solved in name order, LAB before TUTORIAL, and a
+ * student's section of an earlier type counts as a class for the later ones. Across
+ * courses of one run, a section that overlaps one the student was given in another
+ * course has no arc at all, so two courses never hand the same student clashing
+ * sections. Students are left unassigned when the sections lack seats or every
+ * section overlaps one of those.
+ *
+ * Courses that share students are therefore solved one after another, in course id
+ * order; groups of courses with no student in common are independent and run in
+ * parallel on the executor the caller passes in.
+ */
+public class SectionAssignmentSolver {
+
+    /** Schedule types that are split into sections, compared case-insensitively */
+    public static final List<String> SECTION_TYPES = List.of("LAB", "TUTORIAL");
+
+    /**
+     * The sections of one course and the students to split across them
+     */
+    public static final class CourseProblem {
+        private final Long courseId;
+        private final List<CourseSchedule> sections;
+        private final List<String> students;
+
+        public CourseProblem(Long courseId, List<CourseSchedule> sections, Collection<String> students) {
+            this.courseId = courseId;
+            this.sections = sections;
+            this.students = new ArrayList<>(students);
+        }
+
+        public Long getCourseId() { return courseId; }
+    }
+
+    /**
+     * Assignments of one course plus a summary per section type
+     */
+    public static final class CourseSolution {
+        private final Long courseId;
+        private final List<SectionAssignment> assignments = new ArrayList<>();
+        private final List<SectionAssignmentReport.CourseSections> summaries = new ArrayList<>();
+
+        private CourseSolution(Long courseId) {
+            this.courseId = courseId;
+        }
+
+        public Long getCourseId() { return courseId; }
+        public List<SectionAssignment> getAssignments() { return assignments; }
+        public List<SectionAssignmentReport.CourseSections> getSummaries() { return summaries; }
+    }
+
+    private final Map<String, List<CourseSchedule>> classesByStudent;
+
+    /**
+     * @param classesByStudent each student's other classes of the term; sections of the courses
+     *                         being solved must not be included
+     */
+    public SectionAssignmentSolver(Map<String, List<CourseSchedule>> classesByStudent) {
+        this.classesByStudent = classesByStudent;
+    }
+
+    /**
+     * Solves every course, running groups of courses without shared students on the executor
+     * @return one solution per problem, in the order given
+     */
+    public List<CourseSolution> solveAll(List<CourseProblem> problems, Executor executor) {
+        List<List<Integer>> groups = groupBySharedStudents(problems);
+        List<CompletableFuture<Void>> runs = new ArrayList<>(groups.size());
+        CourseSolution[] solutions = new CourseSolution[problems.size()];
+        for (List<Integer> group : groups) {
+            runs.add(CompletableFuture.runAsync(() -> {
+                Map<String, List<CourseSchedule>> assignedElsewhere = new HashMap<>();
+                for (int index : group) {
+                    solutions[index] = solve(problems.get(index), assignedElsewhere);
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return Arrays.asList(solutions);
+    }
+
+    public CourseSolution solve(CourseProblem problem) {
+        return solve(problem, new HashMap<>());
+    }
+
+    /**
+     * Problem indexes grouped so that no student is in courses of two groups, each group
+     * in course id order
+     */
+    private static List<List<Integer>> groupBySharedStudents(List<CourseProblem> problems) {
+        int[] parent = new int[problems.size()];
+        Map<String, Integer> firstCourseOf = new HashMap<>();
+        for (int i = 0; i < problems.size(); i++) {
+            parent[i] = i;
+            for (String studentId : problems.get(i).students) {
+                Integer first = firstCourseOf.putIfAbsent(studentId, i);
+                if (first != null) {
+                    parent[root(parent, i)] = root(parent, first);
+                }
+            }
+        }
+        Map<Integer, List<Integer>> groups = new TreeMap<>();
+        for (int i = 0; i < problems.size(); i++) {
+            groups.computeIfAbsent(root(parent, i), key -> new ArrayList<>()).add(i);
+        }
+        Comparator<Integer> byCourseId = Comparator.comparing(i -> problems.get(i).courseId,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (List<Integer> group : groups.values()) {
+            group.sort(byCourseId);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static int root(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * @param assignedElsewhere sections each student was given in courses solved before this
+     *                          one; this course's assignments are added to it
+     */
+    private CourseSolution solve(CourseProblem problem, Map<String, List<CourseSchedule>> assignedElsewhere) {
+        CourseSolution solution = new CourseSolution(problem.courseId);
+        Map<String, List<CourseSchedule>> byType = new TreeMap<>();
+        for (CourseSchedule section : problem.sections) {
+            String type = sectionType(section);
+            if (type != null && section.getStartTime() != null && section.getEndTime() != null) {
+                byType.computeIfAbsent(type, key -> new ArrayList<>()).add(section);
+            }
+        }
+        Map<String, List<CourseSchedule>> earlierSections = new HashMap<>();
+        for (Map.Entry<String, List<CourseSchedule>> type : byType.entrySet()) {
+            List<CourseSchedule> sections = type.getValue();
+            sections.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            int[] chosen = assign(problem.students, sections, earlierSections, assignedElsewhere);
+
+            SectionAssignmentReport.CourseSections summary = new SectionAssignmentReport.CourseSections();
+            summary.setCourseId(problem.courseId);
+            summary.setSectionType(type.getKey());
+            summary.setSections(sections.size());
+            summary.setStudents(problem.students.size());
+            for (int i = 0; i < chosen.length; i++) {
+                String studentId = problem.students.get(i);
+                if (chosen[i] < 0) {
+                    summary.getUnassignedStudents().add(studentId);
+                    continue;
+                }
+                CourseSchedule section = sections.get(chosen[i]);
+                boolean clashes = clashes(studentId, section, earlierSections);
+                SectionAssignment assignment = new SectionAssignment();
+                assignment.setCourseId(problem.courseId);
+                assignment.setScheduleId(section.getId());
+                assignment.setSectionType(type.getKey());
+                assignment.setStudentId(studentId);
+                assignment.setSemester(section.getSemester());
+                assignment.setAcademicYear(section.getAcademicYear());
+                assignment.setClashes(clashes);
+                solution.assignments.add(assignment);
+                summary.setAssigned(summary.getAssigned() + 1);
+                if (clashes) {
+                    summary.setClashes(summary.getClashes() + 1);
+                }
+                earlierSections.computeIfAbsent(studentId, key -> new ArrayList<>(2)).add(section);
+            }
+            solution.summaries.add(summary);
+        }
+        for (Map.Entry<String, List<CourseSchedule>> student : earlierSections.entrySet()) {
+            assignedElsewhere.computeIfAbsent(student.getKey(), key -> new ArrayList<>(2)).addAll(student.getValue());
+        }
+        return solution;
+    }
+
+    /**
+     * @return index of the chosen section per student, or -1 where no seat was left
+     */
+    private int[] assign(List<String> students, List<CourseSchedule> sections,
+                         Map<String, List<CourseSchedule>> earlierSections,
+                         Map<String, List<CourseSchedule>> assignedElsewhere) {
+        int n = students.size();
+        int m = sections.size();
+        int[] seats = new int[m];
+        int maxSeats = 0;
+        for (int j = 0; j < m; j++) {
+            Integer capacity = sections.get(j).getCapacity();
+            seats[j] = capacity == null || capacity <= 0 ? n : Math.min(capacity, n);
+            maxSeats = Math.max(maxSeats, seats[j]);
+        }
+        long clashCost = maxSeats + 1L;
+
+        int source = 0;
+        int sink = n + m + 1;
+        Flow flow = new Flow(n + m + 2, n * (m + 1) + Arrays.stream(seats).sum());
+        int[] choiceArc = new int[n * m];
+        for (int i = 0; i < n; i++) {
+            flow.arc(source, 1 + i, 0);
+            String studentId = students.get(i);
+            List<CourseSchedule> elsewhere = assignedElsewhere.getOrDefault(studentId, Collections.emptyList());
+            for (int j = 0; j < m; j++) {
+                if (overlapsAny(sections.get(j), elsewhere)) {
+                    choiceArc[i * m + j] = -1;
+                    continue;
+                }
+                choiceArc[i * m + j] = flow.arcs;
+                flow.arc(1 + i, 1 + n + j, clashes(studentId, sections.get(j), earlierSections) ? clashCost : 0);
+            }
+        }
+        for (int j = 0; j < m; j++) {
+            for (int seat = 1; seat <= seats[j]; seat++) {
+                flow.arc(1 + n + j, sink, seat);
+            }
+        }
+        flow.run(source, sink, n);
+
+        int[] chosen = new int[n];
+        for (int i = 0; i < n; i++) {
+            chosen[i] = -1;
+            for (int j = 0; j < m; j++) {
+                int arc = choiceArc[i * m + j];
+                if (arc >= 0 && flow.capacity[arc] == 0) {
+                    chosen[i] = j;
+                    break;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    private boolean clashes(String studentId, CourseSchedule section, Map<String, List<CourseSchedule>> earlier) {
+        return overlapsAny(section, classesByStudent.getOrDefault(studentId, Collections.emptyList()))
+            || overlapsAny(section, earlier.getOrDefault(studentId, Collections.emptyList()));
+    }
+
+    private static boolean overlapsAny(CourseSchedule section, List<CourseSchedule> classes) {
+        String day = normalize(section.getDayOfWeek());
+        LocalTime start = section.getStartTime();
+        LocalTime end = section.getEndTime();
+        for (CourseSchedule other : classes) {
+            if (other.getStartTime() != null && other.getEndTime() != null
+                    && day != null && day.equals(normalize(other.getDayOfWeek()))
+                    && other.getStartTime().isBefore(end) && start.isBefore(other.getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the normalized section type, or null if the schedule is not a section
+     */
+    public static String sectionType(CourseSchedule schedule) {
+        if (schedule.getScheduleType() == null) {
+            return null;
+        }
+        String type = schedule.getScheduleType().trim().toUpperCase(Locale.ROOT);
+        return SECTION_TYPES.contains(type) ? type : null;
+    }
+
+    private static String normalize(String dayOfWeek) {
+        return dayOfWeek == null ? null : dayOfWeek.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Unit-capacity min-cost flow by successive shortest paths; Dijkstra on reduced
+     * costs keeps every search non-negative. Arcs are stored in pairs, the reverse arc
+     * of arc a being a ^ 1.
+     */
+    private static final class Flow {
+        private final int[] head;
+        private final int[] next;
+        private final int[] to;
+        private final int[] capacity;
+        private final long[] cost;
+        private int arcs;
+
+        private Flow(int nodes, int maxArcs) {
+            head = new int[nodes];
+            Arrays.fill(head, -1);
+            next = new int[2 * maxArcs];
+            to = new int[2 * maxArcs];
+            capacity = new int[2 * maxArcs];
+            cost = new long[2 * maxArcs];
+        }
+
+        private void arc(int from, int target, long arcCost) {
+            add(from, target, 1, arcCost);
+            add(target, from, 0, -arcCost);
+        }
+
+        private void add(int from, int target, int arcCapacity, long arcCost) {
+            to[arcs] = target;
+            capacity[arcs] = arcCapacity;
+            cost[arcs] = arcCost;
+            next[arcs] = head[from];
+            head[from] = arcs++;
+        }
+
+        private void run(int source, int sink, int maxFlow) {
+            int nodes = head.length;
+            long[] potential = new long[nodes];
+            long[] distance = new long[nodes];
+            int[] via = new int[nodes];
+            PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+            for (int sent = 0; sent < maxFlow; sent++) {
+                Arrays.fill(distance, Long.MAX_VALUE);
+                distance[source] = 0;
+                queue.add(new long[] {0, source});
+                while (!queue.isEmpty()) {
+                    long[] top = queue.poll();
+                    int node = (int) top[1];
+                    if (top[0] > distance[node]) {
+                        continue;
+                    }
+                    for (int a = head[node]; a >= 0; a = next[a]) {
+                        if (capacity[a] == 0) {
+                            continue;
+                        }
+                        int target = to[a];
+                        long candidate = distance[node] + cost[a] + potential[node] - potential[target];
+                        if (candidate < distance[target]) {
+                            distance[target] = candidate;
+                            via[target] = a;
+                            queue.add(new long[] {candidate, target});
+                        }
+                    }
+                }
+                if (distance[sink] == Long.MAX_VALUE) {
+                    return;
+                }
+                for (int node = 0; node < nodes; node++) {
+                    if (distance[node] != Long.MAX_VALUE) {
+                        potential[node] += distance[node];
+                    }
+                }
+                for (int node = sink; node != source; node = to[via[node] ^ 1]) {
+                    capacity[via[node]]--;
+                    capacity[via[node] ^ 1]++;
+                }
+            }
+        }
+    }
+}
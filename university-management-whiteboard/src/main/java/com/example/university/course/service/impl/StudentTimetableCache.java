@@ -0,0 +1,343 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.StudentTimetable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Materialized per-student timetables - UC7: Set Course Timetable
+ *
+ * A student's timetable is built with two queries (seat-holding course ids, then
+ * their active schedules) and kept until that student's enrollments or one of
+ * their courses' schedules change. Each build carries a content hash that serves
+ * as a strong ETag; the iCalendar rendering is produced on first request and kept
+ * with the entry, so unchanged polls are a map lookup.
+ *
+ * Invalidations bump a stamp for the student or course, striped by hash. A build
+ * is only kept if the stamps it started from are unchanged, so a build that raced
+ * with a write to that student or to one of their courses is dropped, while writes
+ * elsewhere do not get in its way.
+ */
+public class StudentTimetableCache {
+
+    /**
+     * Loads the data a timetable is built from
+     */
+    public interface TimetableSource {
+        /** Ids of the courses the student holds a PENDING or ENROLLED seat in */
+        List<Long> enrolledCourseIds(String studentId);
+        List<CourseSchedule> activeSchedules(Collection<Long> courseIds);
+    }
+
+    private static final int STAMP_STRIPES = 4096;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Comparator<CourseSchedule> WEEK_ORDER = Comparator
+        .comparingInt((CourseSchedule schedule) -> dayOrder(schedule.getDayOfWeek()))
+        .thenComparing(CourseSchedule::getStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(CourseSchedule::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final TimetableSource source;
+    private final int maxStudents;
+    private final long ttlMillis;
+    private final ConcurrentMap<String, Entry> timetables = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<String>> studentsByCourse = new ConcurrentHashMap<>();
+    private final AtomicLongArray studentStamps = new AtomicLongArray(STAMP_STRIPES);
+    private final AtomicLongArray courseStamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public StudentTimetableCache(TimetableSource source, int maxStudents, long ttlMillis) {
+        this.source = source;
+        this.maxStudents = maxStudents;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public StudentTimetable get(String studentId) {
+        return entry(studentId).timetable;
+    }
+
+    /**
+     * @return the timetable as an iCalendar feed of weekly recurring events, rendered
+     *         once per build while it is the student's cached timetable
+     */
+    public String ics(StudentTimetable timetable) {
+        Entry entry = timetables.get(timetable.getStudentId());
+        if (entry == null || entry.timetable != timetable) {
+            return renderIcs(timetable);
+        }
+        String ics = entry.ics;
+        if (ics == null) {
+            ics = renderIcs(timetable);
+            entry.ics = ics;
+        }
+        return ics;
+    }
+
+    public void invalidateStudent(String studentId) {
+        if (studentId == null) {
+            return;
+        }
+        studentStamps.incrementAndGet(stripe(studentId));
+        remove(studentId);
+    }
+
+    /**
+     * Drops the timetables of every cached student taking the course
+     */
+    public void invalidateCourse(Long courseId) {
+        if (courseId == null) {
+            return;
+        }
+        courseStamps.incrementAndGet(stripe(courseId));
+        Set<String> students = studentsByCourse.remove(courseId);
+        if (students != null) {
+            for (String studentId : students) {
+                remove(studentId);
+            }
+        }
+    }
+
+    public int size() {
+        return timetables.size();
+    }
+
+    private Entry entry(String studentId) {
+        Entry entry = timetables.get(studentId);
+        if (entry != null && System.currentTimeMillis() - entry.builtAt < ttlMillis) {
+            return entry;
+        }
+        long seen = studentStamps.get(stripe(studentId));
+        entry = build(studentId);
+        if (unchanged(studentId, seen, entry)) {
+            if (timetables.size() >= maxStudents) {
+                evict();
+            }
+            for (Long courseId : entry.courseIds) {
+                studentsByCourse.computeIfAbsent(courseId, id -> ConcurrentHashMap.newKeySet()).add(studentId);
+            }
+            timetables.put(studentId, entry);
+            if (!unchanged(studentId, seen, entry)) {
+                timetables.remove(studentId, entry);
+            }
+        }
+        return entry;
+    }
+
+    private boolean unchanged(String studentId, long seen, Entry entry) {
+        if (studentStamps.get(stripe(studentId)) != seen) {
+            return false;
+        }
+        int i = 0;
+        for (Long courseId : entry.courseIds) {
+            if (courseStamps.get(stripe(courseId)) != entry.courseStamps[i++]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Entry build(String studentId) {
+        Set<Long> courseIds = new TreeSet<>(source.enrolledCourseIds(studentId));
+        // read before the schedules, so a schedule change committed after this is noticed
+        long[] stamps = new long[courseIds.size()];
+        int i = 0;
+        for (Long courseId : courseIds) {
+            stamps[i++] = courseStamps.get(stripe(courseId));
+        }
+        List<CourseSchedule> schedules = courseIds.isEmpty()
+            ? new ArrayList<>() : new ArrayList<>(source.activeSchedules(courseIds));
+        schedules.sort(WEEK_ORDER);
+
+        StudentTimetable timetable = new StudentTimetable();
+        timetable.setStudentId(studentId);
+        timetable.setSchedules(Collections.unmodifiableList(schedules));
+        timetable.setGeneratedAt(LocalDateTime.now());
+        timetable.setVersion(version(courseIds, schedules));
+        return new Entry(timetable, courseIds, stamps);
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    private void remove(String studentId) {
+        Entry entry = timetables.remove(studentId);
+        if (entry != null) {
+            for (Long courseId : entry.courseIds) {
+                Set<String> students = studentsByCourse.get(courseId);
+                if (students != null) {
+                    students.remove(studentId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every other cached timetable once the cache is full
+     */
+    private void evict() {
+        int i = 0;
+        for (Iterator<String> it = timetables.keySet().iterator(); it.hasNext(); i++) {
+            String studentId = it.next();
+            if ((i & 1) == 0) {
+                remove(studentId);
+            }
+        }
+    }
+
+    private static String version(Collection<Long> courseIds, List<CourseSchedule> schedules) {
+        StringBuilder canonical = new StringBuilder().append(courseIds);
+        for (CourseSchedule schedule : schedules) {
+            canonical.append('\n').append(schedule.getId())
+                .append('|').append(schedule.getCourseId())
+                .append('|').append(schedule.getCourseCode())
+                .append('|').append(schedule.getDayOfWeek())
+                .append('|').append(schedule.getStartTime())
+                .append('|').append(schedule.getEndTime())
+                .append('|').append(schedule.getVenue())
+                .append('|').append(schedule.getBuilding())
+                .append('|').append(schedule.getRoomNumber())
+                .append('|').append(schedule.getScheduleType())
+                .append('|').append(schedule.getInstructorName())
+                .append('|').append(schedule.getSemester())
+                .append('|').append(schedule.getAcademicYear())
+                .append('|').append(schedule.getNotes())
+                .append('|').append(schedule.getCreatedAt())
+                .append('|').append(schedule.getUpdatedAt());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[32];
+            for (int i = 0; i < 16; i++) {
+                hex[2 * i] = HEX[(digest[i] >> 4) & 0xf];
+                hex[2 * i + 1] = HEX[digest[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One weekly event per schedule, starting on the first matching weekday on or
+     * after the schedule was created, in floating local time
+     */
+    static String renderIcs(StudentTimetable timetable) {
+        StringBuilder ics = new StringBuilder();
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:-//University Management//Timetable//EN");
+        line(ics, "CALSCALE:GREGORIAN");
+        line(ics, "X-WR-CALNAME:" + escape("Timetable " + timetable.getStudentId()));
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            int day = dayOrder(schedule.getDayOfWeek());
+            if (day > 7 || schedule.getStartTime() == null || schedule.getEndTime() == null) {
+                continue;
+            }
+            DayOfWeek dayOfWeek = DayOfWeek.of(day);
+            LocalDateTime created = schedule.getCreatedAt() != null
+                ? schedule.getCreatedAt() : timetable.getGeneratedAt();
+            LocalDate first = created.toLocalDate().with(TemporalAdjusters.nextOrSame(dayOfWeek));
+            LocalDateTime stamp = schedule.getUpdatedAt() != null ? schedule.getUpdatedAt() : created;
+
+            line(ics, "BEGIN:VEVENT");
+            line(ics, "UID:schedule-" + schedule.getId() + "@university-management");
+            line(ics, "DTSTAMP:" + stamp.format(ICS_DATE_TIME));
+            line(ics, "DTSTART:" + first.atTime(schedule.getStartTime()).format(ICS_DATE_TIME));
+            line(ics, "DTEND:" + first.atTime(schedule.getEndTime()).format(ICS_DATE_TIME));
+            line(ics, "RRULE:FREQ=WEEKLY;BYDAY=" + dayOfWeek.name().substring(0, 2));
+            line(ics, "SUMMARY:" + escape(schedule.getCourseCode()
+                + (schedule.getScheduleType() != null ? " " + schedule.getScheduleType() : "")));
+            if (schedule.getVenue() != null) {
+                line(ics, "LOCATION:" + escape(schedule.getVenue()));
+            }
+            if (schedule.getInstructorName() != null) {
+                line(ics, "DESCRIPTION:" + escape(schedule.getInstructorName()));
+            }
+            line(ics, "END:VEVENT");
+        }
+        line(ics, "END:VCALENDAR");
+        return ics.toString();
+    }
+
+    /**
+     * Appends a CRLF-terminated content line, folded at 75 octets
+     */
+    private static void line(StringBuilder ics, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= 75) {
+            ics.append(content).append("\r\n");
+            return;
+        }
+        int octets = 0;
+        int limit = 75;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + size > limit) {
+                ics.append("\r\n ");
+                octets = 0;
+                limit = 74;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        ics.append("\r\n");
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,")
+            .replace("\r\n", "\\n").replace("\n", "\\n");
+    }
+
+    /**
+     * 1 = Monday .. 7 = Sunday, 8 for anything unrecognised
+     */
+    private static int dayOrder(String dayOfWeek) {
+        if (dayOfWeek == null) {
+            return 8;
+        }
+        try {
+            return DayOfWeek.valueOf(dayOfWeek.trim().toUpperCase(Locale.ROOT)).getValue();
+        } catch (IllegalArgumentException e) {
+            return 8;
+        }
+    }
+
+    private static final class Entry {
+        private final StudentTimetable timetable;
+        private final Set<Long> courseIds;
+        /** Course stamps read at build time, in courseIds order */
+        private final long[] courseStamps;
+        private final long builtAt = System.currentTimeMillis();
+        private volatile String ics;
+
+        private Entry(StudentTimetable timetable, Set<Long> courseIds, long[] courseStamps) {
+            this.timetable = timetable;
+            this.courseIds = courseIds;
+            this.courseStamps = courseStamps;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.example.university.course.service.impl;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CourseSchedule;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel timetable solver - UC7: Set Course Timetable
+ *
+ * Every course needs one session per credit on a grid of teaching days x periods.
+ * Hard constraints: a venue or an instructor holds at most one session per period,
+ * the venue fits the course, and periods taken by existing active schedules stay
+ * taken. Soft costs prefer one session of a course per day, earlier periods and
+ * snug rooms.
+ *
+ * One worker per thread of the given fork-join pool repeatedly builds a randomized
+ * most-constrained-first timetable, repairs sessions it could not place by moving
+ * one blocking session elsewhere, and offers the result to the shared best until
+ * the time budget runs out or the run is cancelled. Progress and the best score can
+ * be read while it runs.
+ */
+public class TimetableGenerator {
+
+    private static final long UNPLACED_PENALTY = 1_000_000L;
+    private static final int SAME_DAY_PENALTY = 40;
+    private static final int REPAIR_ATTEMPTS_PER_SESSION = 24;
+    private static final int FREE = -1;
+    private static final int TAKEN = -2;
+    /** Low bits of a build-order key that hold the session index */
+    private static final int SESSION_BITS = 24;
+    private static final int MAX_SESSIONS = 1 << SESSION_BITS;
+
+    private final List<Course> courses;
+    private final String semester;
+    private final String academicYear;
+    private final String[] days;
+    private final int dayStartMinute;
+    private final int sessionMinutes;
+    private final int periodsPerDay;
+    private final int periods;
+    private final String[] venueNames;
+    private final int[] venueCapacity;
+    private final int[] courseSize;
+    private final int[] courseInstructor;
+    private final int[] sessionCourse;
+    private final int[] sessionDifficulty;
+    private final int[] fixedVenues;
+    private final int[] fixedInstructors;
+
+    private final AtomicLong iterations = new AtomicLong();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile Solution best;
+    private volatile long startedNanos;
+    private volatile long budgetNanos;
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+
+    /**
+     * @param fixed active schedules of the term whose venues and instructors stay booked
+     */
+    public TimetableGenerator(List<Course> courses, Map<String, Integer> venueCapacities, List<CourseSchedule> fixed,
+                              String semester, String academicYear, List<String> days,
+                              LocalTime dayStart, LocalTime dayEnd, int sessionMinutes) {
+        if (sessionMinutes <= 0 || !dayEnd.isAfter(dayStart)) {
+            throw new IllegalArgumentException("Teaching day and session length must be positive");
+        }
+        this.courses = new ArrayList<>(courses);
+        this.semester = semester;
+        this.academicYear = academicYear;
+        this.days = new String[days.size()];
+        for (int d = 0; d < this.days.length; d++) {
+            this.days[d] = days.get(d).trim().toUpperCase(Locale.ROOT);
+        }
+        this.dayStartMinute = dayStart.getHour() * 60 + dayStart.getMinute();
+        this.sessionMinutes = sessionMinutes;
+        this.periodsPerDay = (dayEnd.getHour() * 60 + dayEnd.getMinute() - dayStartMinute) / sessionMinutes;
+        this.periods = this.days.length * periodsPerDay;
+
+        List<Map.Entry<String, Integer>> venues = new ArrayList<>(venueCapacities.entrySet());
+        venues.sort(Comparator.comparing((Map.Entry<String, Integer> venue) -> venue.getValue() == null ? 0 : venue.getValue())
+            .thenComparing(Map.Entry::getKey));
+        venueNames = new String[venues.size()];
+        venueCapacity = new int[venues.size()];
+        Map<String, Integer> venueIndex = new HashMap<>();
+        for (int v = 0; v < venueNames.length; v++) {
+            venueNames[v] = venues.get(v).getKey();
+            venueCapacity[v] = venues.get(v).getValue() == null ? 0 : venues.get(v).getValue();
+            venueIndex.put(venueNames[v], v);
+        }
+
+        Map<String, Integer> instructorIndex = new HashMap<>();
+        courseSize = new int[this.courses.size()];
+        courseInstructor = new int[this.courses.size()];
+        List<Integer> sessions = new ArrayList<>();
+        for (int c = 0; c < courseSize.length; c++) {
+            Course course = this.courses.get(c);
+            courseSize[c] = course.getMaxCapacity() == null ? 0 : course.getMaxCapacity();
+            String instructorId = course.getInstructorId();
+            courseInstructor[c] = instructorId == null || instructorId.trim().isEmpty()
+                ? -1 : instructorIndex.computeIfAbsent(instructorId.trim(), id -> instructorIndex.size());
+            int count = course.getCredits() == null ? 3 : course.getCredits();
+            for (int i = 0; i < Math.max(1, Math.min(count, this.days.length)); i++) {
+                sessions.add(c);
+            }
+        }
+        if (sessions.size() > MAX_SESSIONS) {
+            throw new IllegalArgumentException("A timetable run is limited to " + MAX_SESSIONS + " sessions, got "
+                + sessions.size());
+        }
+        sessionCourse = sessions.stream().mapToInt(Integer::intValue).toArray();
+
+        int[] instructorLoad = new int[instructorIndex.size()];
+        for (int c : sessionCourse) {
+            if (courseInstructor[c] >= 0) {
+                instructorLoad[courseInstructor[c]]++;
+            }
+        }
+        sessionDifficulty = new int[sessionCourse.length];
+        for (int s = 0; s < sessionCourse.length; s++) {
+            int c = sessionCourse[s];
+            int fittingVenues = venueCapacity.length - lowestFittingVenue(courseSize[c]);
+            sessionDifficulty[s] = (venueCapacity.length - fittingVenues) * periods
+                + (courseInstructor[c] >= 0 ? instructorLoad[courseInstructor[c]] : 0);
+        }
+
+        fixedVenues = new int[venueNames.length * periods];
+        fixedInstructors = new int[instructorIndex.size() * periods];
+        Arrays.fill(fixedVenues, FREE);
+        Arrays.fill(fixedInstructors, FREE);
+        for (CourseSchedule schedule : fixed) {
+            int day = Arrays.asList(this.days).indexOf(
+                schedule.getDayOfWeek() == null ? "" : schedule.getDayOfWeek().trim().toUpperCase(Locale.ROOT));
+            if (day < 0 || schedule.getStartTime() == null || schedule.getEndTime() == null) {
+                continue;
+            }
+            int start = schedule.getStartTime().getHour() * 60 + schedule.getStartTime().getMinute();
+            int end = schedule.getEndTime().getHour() * 60 + schedule.getEndTime().getMinute();
+            Integer venue = schedule.getVenue() == null ? null : venueIndex.get(schedule.getVenue().trim());
+            Integer instructor = schedule.getInstructorId() == null ? null
+                : instructorIndex.get(schedule.getInstructorId().trim());
+            for (int k = 0; k < periodsPerDay; k++) {
+                int periodStart = dayStartMinute + k * sessionMinutes;
+                if (periodStart < end && start < periodStart + sessionMinutes) {
+                    int p = day * periodsPerDay + k;
+                    if (venue != null) {
+                        fixedVenues[venue * periods + p] = TAKEN;
+                    }
+                    if (instructor != null) {
+                        fixedInstructors[instructor * periods + p] = TAKEN;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the search on the common fork-join pool and returns at once
+     */
+    public void start(long timeBudgetMillis) {
+        start(ForkJoinPool.commonPool(), timeBudgetMillis);
+    }
+
+    /**
+     * Starts one search worker per thread of the pool and returns at once; the pool is
+     * shared between runs and left running afterwards
+     */
+    public void start(ForkJoinPool pool, long timeBudgetMillis) {
+        int parallelism = Math.max(1, pool.getParallelism());
+        budgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        startedNanos = System.nanoTime();
+        pool.execute(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                try {
+                    List<Worker> workers = new ArrayList<>();
+                    for (int w = 0; w < parallelism; w++) {
+                        workers.add(new Worker(startedNanos + w));
+                    }
+                    invokeAll(workers);
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    finished.countDown();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the search and blocks until its budget is spent
+     */
+    public void solve(long timeBudgetMillis) throws InterruptedException {
+        start(timeBudgetMillis);
+        awaitCompletion();
+    }
+
+    public void awaitCompletion() throws InterruptedException {
+        finished.await();
+    }
+
+    /**
+     * Stops the search after the attempt each worker is on; the best timetable so far is kept
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return finished.getCount() == 0;
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+
+    public double getProgress() {
+        if (isDone()) {
+            return 1.0;
+        }
+        return Math.min(1.0, (double) (System.nanoTime() - startedNanos) / Math.max(1L, budgetNanos));
+    }
+
+    public long getIterations() {
+        return iterations.get();
+    }
+
+    public int getTotalSessions() {
+        return sessionCourse.length;
+    }
+
+    /**
+     * @return score of the best timetable so far, lower is better, null before the first one
+     */
+    public Long getBestScore() {
+        Solution current = best;
+        return current == null ? null : current.score;
+    }
+
+    public int getUnplacedSessions() {
+        Solution current = best;
+        return current == null ? sessionCourse.length : current.unplaced;
+    }
+
+    /**
+     * @return the best timetable so far as unsaved ACTIVE schedule rows
+     */
+    public List<CourseSchedule> getBestSchedules() {
+        Solution current = best;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        List<CourseSchedule> schedules = new ArrayList<>();
+        for (int s = 0; s < sessionCourse.length; s++) {
+            if (current.period[s] < 0) {
+                continue;
+            }
+            Course course = courses.get(sessionCourse[s]);
+            int p = current.period[s];
+            int start = dayStartMinute + (p % periodsPerDay) * sessionMinutes;
+            CourseSchedule schedule = new CourseSchedule();
+            schedule.setCourseId(course.getId());
+            schedule.setCourseCode(course.getCourseCode());
+            schedule.setDayOfWeek(days[p / periodsPerDay]);
+            schedule.setStartTime(LocalTime.of(start / 60, start % 60));
+            schedule.setEndTime(LocalTime.of((start + sessionMinutes) / 60 % 24, (start + sessionMinutes) % 60));
+            schedule.setVenue(venueNames[current.venue[s]]);
+            schedule.setCapacity(venueCapacity[current.venue[s]]);
+            schedule.setSemester(semester);
+            schedule.setAcademicYear(academicYear);
+            schedule.setScheduleType("LECTURE");
+            schedule.setStatus(CourseSchedule.ScheduleStatus.ACTIVE);
+            schedule.setInstructorId(course.getInstructorId());
+            schedule.setInstructorName(course.getInstructorName());
+            schedules.add(schedule);
+        }
+        return schedules;
+    }
+
+    private synchronized void offer(Solution candidate) {
+        if (best == null || candidate.score < best.score) {
+            best = candidate;
+        }
+    }
+
+    private int lowestFittingVenue(int size) {
+        int low = 0;
+        int high = venueCapacity.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (venueCapacity[middle] < size) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static final class Solution {
+        private final int[] venue;
+        private final int[] period;
+        private final int unplaced;
+        private final long score;
+
+        private Solution(int[] venue, int[] period, int unplaced, long score) {
+            this.venue = venue;
+            this.period = period;
+            this.unplaced = unplaced;
+            this.score = score;
+        }
+    }
+
+    /**
+     * One search thread: builds and repairs timetables until the budget is spent
+     */
+    private final class Worker extends RecursiveAction {
+        private final Random random;
+
+        private Worker(long seed) {
+            this.random = new Random(seed);
+        }
+
+        @Override
+        protected void compute() {
+            do {
+                Attempt attempt = new Attempt();
+                attempt.build(random);
+                attempt.repair(random);
+                iterations.incrementAndGet();
+                offer(attempt.toSolution());
+            } while (!cancelled && System.nanoTime() - startedNanos < budgetNanos);
+        }
+    }
+
+    /**
+     * Occupancy grids of one timetable under construction
+     */
+    private final class Attempt {
+        private final int[] venueAt = fixedVenues.clone();
+        private final int[] instructorAt = fixedInstructors.clone();
+        private final int[] courseDay = new int[courseSize.length * days.length];
+        private final int[] sessionVenue = new int[sessionCourse.length];
+        private final int[] sessionPeriod = new int[sessionCourse.length];
+
+        private void build(Random random) {
+            Arrays.fill(sessionVenue, -1);
+            Arrays.fill(sessionPeriod, -1);
+            long[] order = new long[sessionCourse.length];
+            for (int s = 0; s < order.length; s++) {
+                long key = (long) (sessionDifficulty[s] * (0.8 + 0.4 * random.nextDouble()));
+                order[s] = (key << SESSION_BITS) | s;
+            }
+            Arrays.sort(order);
+            for (int i = order.length - 1; i >= 0; i--) {
+                placeBest((int) (order[i] & (MAX_SESSIONS - 1)), random);
+            }
+        }
+
+        /**
+         * Places each unplaced session by moving one session that blocks a fitting venue
+         */
+        private void repair(Random random) {
+            for (int s = 0; s < sessionCourse.length; s++) {
+                if (sessionPeriod[s] >= 0) {
+                    continue;
+                }
+                int c = sessionCourse[s];
+                int attempts = 0;
+                int offset = random.nextInt(Math.max(1, periods));
+                search:
+                for (int k = 0; k < periods && attempts < REPAIR_ATTEMPTS_PER_SESSION; k++) {
+                    int p = (k + offset) % periods;
+                    if (!instructorFree(c, p)) {
+                        continue;
+                    }
+                    for (int v = lowestFittingVenue(courseSize[c]); v < venueCapacity.length; v++) {
+                        int blocker = venueAt[v * periods + p];
+                        if (blocker < 0) {
+                            continue;
+                        }
+                        attempts++;
+                        unassign(blocker);
+                        venueAt[v * periods + p] = TAKEN;
+                        boolean moved = placeBest(blocker, random);
+                        venueAt[v * periods + p] = FREE;
+                        if (moved) {
+                            assign(s, v, p);
+                            break search;
+                        }
+                        assign(blocker, v, p);
+                        if (attempts >= REPAIR_ATTEMPTS_PER_SESSION) {
+                            break search;
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean placeBest(int s, Random random) {
+            int c = sessionCourse[s];
+            int firstVenue = lowestFittingVenue(courseSize[c]);
+            int bestVenue = -1;
+            int bestPeriod = -1;
+            int bestCost = Integer.MAX_VALUE;
+            int offset = random.nextInt(Math.max(1, periods));
+            for (int k = 0; k < periods; k++) {
+                int p = (k + offset) % periods;
+                if (!instructorFree(c, p)) {
+                    continue;
+                }
+                for (int v = firstVenue; v < venueCapacity.length; v++) {
+                    if (venueAt[v * periods + p] == FREE) {
+                        int cost = cost(c, v, p) + random.nextInt(3);
+                        if (cost < bestCost) {
+                            bestCost = cost;
+                            bestVenue = v;
+                            bestPeriod = p;
+                        }
+                        break;
+                    }
+                }
+            }
+            if (bestVenue < 0) {
+                return false;
+            }
+            assign(s, bestVenue, bestPeriod);
+            return true;
+        }
+
+        private int cost(int c, int v, int p) {
+            return courseDay[c * days.length + p / periodsPerDay] * SAME_DAY_PENALTY
+                + p % periodsPerDay
+                + (venueCapacity[v] - courseSize[c]) / 20;
+        }
+
+        private boolean instructorFree(int c, int p) {
+            int instructor = courseInstructor[c];
+            return instructor < 0 || instructorAt[instructor * periods + p] == FREE;
+        }
+
+        private void assign(int s, int v, int p) {
+            int c = sessionCourse[s];
+            venueAt[v * periods + p] = s;
+            if (courseInstructor[c] >= 0) {
+                instructorAt[courseInstructor[c] * periods + p] = s;
+            }
+            courseDay[c * days.length + p / periodsPerDay]++;
+            sessionVenue[s] = v;
+            sessionPeriod[s] = p;
+        }
+
+        private void unassign(int s) {
+            int c = sessionCourse[s];
+            int v = sessionVenue[s];
+            int p = sessionPeriod[s];
+            venueAt[v * periods + p] = FREE;
+            if (courseInstructor[c] >= 0) {
+                instructorAt[courseInstructor[c] * periods + p] = FREE;
+            }
+            courseDay[c * days.length + p / periodsPerDay]--;
+            sessionVenue[s] = -1;
+            sessionPeriod[s] = -1;
+        }
+
+        private Solution toSolution() {
+            int unplaced = 0;
+            long score = 0;
+            for (int s = 0; s < sessionCourse.length; s++) {
+                int p = sessionPeriod[s];
+                if (p < 0) {
+                    unplaced++;
+                } else {
+                    score += p % periodsPerDay + (venueCapacity[sessionVenue[s]] - courseSize[sessionCourse[s]]) / 20;
+                }
+            }
+            for (int sessionsThatDay : courseDay) {
+                score += Math.max(0, sessionsThatDay - 1) * (long) SAME_DAY_PENALTY;
+            }
+            return new Solution(sessionVenue.clone(), sessionPeriod.clone(), unplaced, score + unplaced * UNPLACED_PENALTY);
+        }
+    }
+}
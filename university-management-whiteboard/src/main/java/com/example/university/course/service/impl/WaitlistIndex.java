@@ -0,0 +1,127 @@
+package com.example.university.course.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory head cache for course waitlists - UC6
+ *
+ * Keeps the WAITING students of each course in FIFO order together with a dense
+ * rank per student, so the head, the queue length and any student's position are
+ * answered without touching course_waitlist. Students only ever leave from the
+ * head, which keeps ranks contiguous. Each course is loaded once from the
+ * database through {@link WaitlistSource} and evicted if a write fails.
+ */
+public class WaitlistIndex {
+
+    /**
+     * Loads the persisted queue of a course the first time it is touched
+     */
+    public interface WaitlistSource {
+        /** Student IDs of WAITING entries in position order */
+        List<String> waitingStudents(Long courseId);
+        /** Highest position ever handed out for the course, 0 if none */
+        long lastPosition(Long courseId);
+    }
+
+    private final ConcurrentMap<Long, Queue> queues = new ConcurrentHashMap<>();
+    private final WaitlistSource source;
+
+    public WaitlistIndex(WaitlistSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Appends a student to the tail of the course queue
+     * @return the persisted position to store on the new entry
+     * @throws IllegalStateException if the student is already waiting
+     */
+    public long enqueue(Long courseId, String studentId) {
+        Queue queue = queueFor(courseId);
+        synchronized (queue) {
+            if (queue.ranks.containsKey(studentId)) {
+                throw new IllegalStateException("Student is already on the waitlist for this course");
+            }
+            queue.ranks.put(studentId, queue.nextRank++);
+            queue.order.addLast(studentId);
+            return ++queue.lastPosition;
+        }
+    }
+
+    /**
+     * @return the student at the head of the queue, or null if nobody is waiting
+     */
+    public String peek(Long courseId) {
+        Queue queue = queueFor(courseId);
+        synchronized (queue) {
+            return queue.order.peekFirst();
+        }
+    }
+
+    /**
+     * Removes the head of the queue once it has been promoted or skipped
+     */
+    public void removeHead(Long courseId, String studentId) {
+        Queue queue = queueFor(courseId);
+        synchronized (queue) {
+            if (studentId.equals(queue.order.peekFirst())) {
+                queue.order.pollFirst();
+                queue.ranks.remove(studentId);
+                queue.headRank++;
+            }
+        }
+    }
+
+    /**
+     * @return 1-based position of the student, or 0 if not waiting
+     */
+    public int position(Long courseId, String studentId) {
+        Queue queue = queueFor(courseId);
+        synchronized (queue) {
+            Long rank = queue.ranks.get(studentId);
+            return rank == null ? 0 : (int) (rank - queue.headRank + 1);
+        }
+    }
+
+    public int size(Long courseId) {
+        Queue queue = queueFor(courseId);
+        synchronized (queue) {
+            return queue.order.size();
+        }
+    }
+
+    /**
+     * Drops the cached queue so the next access reloads it from the database
+     */
+    public void evict(Long courseId) {
+        queues.remove(courseId);
+    }
+
+    private Queue queueFor(Long courseId) {
+        Queue queue = queues.get(courseId);
+        if (queue != null) {
+            return queue;
+        }
+        return queues.computeIfAbsent(courseId, id -> {
+            Queue loaded = new Queue();
+            for (String studentId : source.waitingStudents(id)) {
+                loaded.ranks.put(studentId, loaded.nextRank++);
+                loaded.order.addLast(studentId);
+            }
+            loaded.lastPosition = source.lastPosition(id);
+            return loaded;
+        });
+    }
+
+    private static final class Queue {
+        private final ArrayDeque<String> order = new ArrayDeque<>();
+        private final Map<String, Long> ranks = new HashMap<>();
+        private long headRank;
+        private long nextRank;
+        private long lastPosition;
+    }
+}
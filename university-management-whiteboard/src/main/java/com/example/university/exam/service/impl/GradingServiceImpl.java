@@ -1,14 +1,19 @@
 package com.example.university.exam.service.impl;
 
+import com.example.university.course.service.CourseService;
+import com.example.university.util.TransactionHooks;
 import com.example.university.exam.model.Exam;
 import com.example.university.exam.model.Grade;
 import com.example.university.exam.service.GradingService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
+import jakarta.transaction.TransactionManager;
 import java.util.List;
 
 @Component(service = GradingService.class, immediate = true)
@@ -16,11 +21,26 @@ public class GradingServiceImpl implements GradingService {
 
     private static final Logger logger = LoggerFactory.getLogger(GradingServiceImpl.class);
     private EntityManager entityManager;
+    private CourseService courseService;
+    private final TransactionHooks transactions = new TransactionHooks();
 
     public void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
 
+    /**
+     * Told about new grades so prerequisite checks see them without waiting for a cache expiry
+     */
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL)
+    public void setCourseService(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL)
+    public void setTransactionManager(TransactionManager transactionManager) {
+        transactions.setTransactionManager(transactionManager);
+    }
+
     @Override
     public Exam scheduleExam(Exam exam) {
         logger.info("Scheduling exam: {}", exam.getCourseCode());
@@ -40,6 +60,11 @@ public class GradingServiceImpl implements GradingService {
         logger.info("Submitting grade for student: {}", grade.getStudentId());
         entityManager.persist(grade);
         entityManager.flush();
+        CourseService courses = courseService;
+        if (courses != null) {
+            String studentId = grade.getStudentId();
+            transactions.afterCommit(() -> courses.invalidateCompletions(studentId));
+        }
         return grade;
     }
 
@@ -49,6 +74,14 @@ public class GradingServiceImpl implements GradingService {
         return query.getResultList();
     }
 
+    @Override
+    public List<Grade> getGradesByStudent(String studentId) {
+        TypedQuery<Grade> query = entityManager.createQuery(
+            "SELECT g FROM Grade g WHERE g.studentId = :sid ORDER BY g.courseCode", Grade.class);
+        query.setParameter("sid", studentId);
+        return query.getResultList();
+    }
+
     @Override
     public Double calculateGPA(String studentId) {
         TypedQuery<Double> query = entityManager.createQuery(
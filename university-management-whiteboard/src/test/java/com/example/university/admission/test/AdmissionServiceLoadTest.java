@@ -0,0 +1,282 @@
+package com.example.university.admission.test;
+
+import com.example.university.admission.model.AdmissionTicket;
+import com.example.university.admission.service.impl.AdmissionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registration waiting room - local load-test scenario
+ * Simulates a registration-day burst against the admission layer alone
+ */
+@DisplayName("Admission Control - Registration Waiting Room")
+public class AdmissionServiceLoadTest {
+
+    private static final int MAX_IN_FLIGHT = 8;
+    private static final int MAX_WAIT_MILLIS = 200;
+
+    private AdmissionServiceImpl admission;
+
+    @BeforeEach
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("admission.maxInFlight", MAX_IN_FLIGHT);
+        properties.put("admission.maxWaitMillis", MAX_WAIT_MILLIS);
+        properties.put("admission.maxQueueLength", 1000);
+        admission = new AdmissionServiceImpl();
+        admission.activate(properties);
+    }
+
+    @Test
+    @DisplayName("Waiting is bounded and returns a token with position and estimate")
+    public void testTurnedAwayWithToken() {
+        List<AdmissionTicket> held = new ArrayList<>();
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            AdmissionTicket ticket = admission.admit(null);
+            assertTrue(ticket.isAdmitted());
+            held.add(ticket);
+        }
+
+        long began = System.nanoTime();
+        AdmissionTicket queued = admission.admit(null);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+
+        assertFalse(queued.isAdmitted());
+        assertNotNull(queued.getToken());
+        assertEquals(1, queued.getPosition());
+        assertTrue(queued.getEstimatedWaitMillis() > 0);
+        assertTrue(waitedMillis < MAX_WAIT_MILLIS + 500, "waited " + waitedMillis + " ms");
+
+        admission.release(held.remove(0));
+        AdmissionTicket retried = admission.admit(queued.getToken());
+        assertTrue(retried.isAdmitted());
+        assertEquals(queued.getNumber(), retried.getNumber());
+    }
+
+    @Test
+    @DisplayName("A returning token goes ahead of later arrivals")
+    public void testTokenKeepsPlaceInLine() throws Exception {
+        AdmissionServiceImpl patient = new AdmissionServiceImpl();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("admission.maxInFlight", 1);
+        properties.put("admission.maxWaitMillis", 30_000);
+        patient.activate(properties);
+
+        AdmissionTicket held = patient.admit(null);
+        AdmissionTicket early = parkedTicket(patient);
+        assertEquals(1, patient.getQueueLength());
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<AdmissionTicket> late = pool.submit(() -> patient.admit(null));
+            awaitQueueLength(patient, 2);
+            AtomicReference<Thread> returner = new AtomicReference<>();
+            Future<AdmissionTicket> returning = pool.submit(() -> {
+                returner.set(Thread.currentThread());
+                return patient.admit(early.getToken());
+            });
+            awaitWaiting(returner);
+            assertEquals(2, patient.getQueueLength());
+
+            patient.release(held);
+            AdmissionTicket first = returning.get(10, TimeUnit.SECONDS);
+            assertTrue(first.isAdmitted());
+            assertEquals(early.getNumber(), first.getNumber());
+            assertFalse(late.isDone(), "later arrival must still be waiting");
+
+            patient.release(first);
+            assertTrue(late.get(10, TimeUnit.SECONDS).isAdmitted());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A token is good for one retry; reusing it is a new arrival")
+    public void testTokenConsumed() throws Exception {
+        List<AdmissionTicket> held = new ArrayList<>();
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            held.add(admission.admit(null));
+        }
+        AdmissionTicket queued = admission.admit(null);
+        assertFalse(queued.isAdmitted());
+
+        admission.release(held.remove(0));
+        AdmissionTicket retried = admission.admit(queued.getToken());
+        assertTrue(retried.isAdmitted());
+        assertEquals(queued.getNumber(), retried.getNumber());
+        assertEquals(0, admission.getQueueLength());
+
+        admission.release(retried);
+        AdmissionTicket reused = admission.admit(queued.getToken());
+        assertTrue(reused.getNumber() > queued.getNumber());
+        admission.release(reused);
+        held.forEach(admission::release);
+        assertEquals(0, admission.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Concurrent retries with one token never share a ticket number")
+    public void testConcurrentRedemption() throws Exception {
+        List<AdmissionTicket> held = new ArrayList<>();
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            held.add(admission.admit(null));
+        }
+        AdmissionTicket queued = admission.admit(null);
+        assertFalse(queued.isAdmitted());
+
+        int retries = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(retries);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < retries; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    AdmissionTicket ticket = admission.admit(queued.getToken());
+                    long number = ticket.getNumber();
+                    admission.release(ticket);
+                    return number;
+                }));
+            }
+            start.countDown();
+            held.forEach(admission::release);
+
+            List<Long> numbers = new ArrayList<>();
+            int keptNumber = 0;
+            for (Future<Long> future : futures) {
+                long number = future.get(10, TimeUnit.SECONDS);
+                numbers.add(number);
+                if (number == queued.getNumber()) {
+                    keptNumber++;
+                }
+            }
+            assertEquals(retries, numbers.stream().distinct().count());
+            assertTrue(keptNumber <= 1, keptNumber + " retries kept the original number");
+            assertEquals(0, admission.getInFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Forged tokens are treated as new arrivals")
+    public void testForgedToken() {
+        AdmissionTicket first = admission.admit(null);
+        AdmissionTicket forged = admission.admit("MTo5OTk5OTk5OTk5OTk5OmJvZ3Vz");
+        assertTrue(forged.getNumber() > first.getNumber());
+    }
+
+    @Test
+    @DisplayName("Load test - 400 enrollers, in-flight capped and every wait bounded")
+    public void testLatencyCapUnderBurst() throws Exception {
+        int clients = 400;
+        long workMillis = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(100);
+        CountDownLatch done = new CountDownLatch(clients);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger turnedAway = new AtomicInteger();
+        List<Long> admitLatencies = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < clients; i++) {
+            pool.execute(() -> {
+                try {
+                    String token = null;
+                    while (true) {
+                        long began = System.nanoTime();
+                        AdmissionTicket ticket = admission.admit(token);
+                        admitLatencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+                        if (ticket.isAdmitted()) {
+                            int now = running.incrementAndGet();
+                            peak.accumulateAndGet(now, Math::max);
+                            Thread.sleep(workMillis);
+                            running.decrementAndGet();
+                            admission.release(ticket);
+                            return;
+                        }
+                        turnedAway.incrementAndGet();
+                        token = ticket.getToken();
+                        Thread.sleep(Math.min(50L, ticket.getEstimatedWaitMillis()));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        List<Long> sorted = new ArrayList<>(admitLatencies);
+        Collections.sort(sorted);
+        long p50 = sorted.get(sorted.size() / 2);
+        long p99 = sorted.get((int) (sorted.size() * 0.99));
+        long max = sorted.get(sorted.size() - 1);
+
+        assertTrue(peak.get() <= MAX_IN_FLIGHT, "peak in-flight " + peak.get());
+        assertTrue(max < MAX_WAIT_MILLIS + 500, "max admit latency " + max + " ms");
+        assertEquals(0, admission.getInFlight());
+        System.out.printf("[Admission] ✓ %d clients, peak in-flight %d/%d, %d turned away with tokens, "
+            + "admit latency p50=%d ms p99=%d ms max=%d ms%n",
+            clients, peak.get(), MAX_IN_FLIGHT, turnedAway.get(), p50, p99, max);
+    }
+
+    /**
+     * A ticket turned away while waiting: interrupting the waiter parks it, no timeout involved
+     */
+    private static AdmissionTicket parkedTicket(AdmissionServiceImpl service) throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            Future<AdmissionTicket> waiting = single.submit(() -> service.admit(null));
+            awaitQueueLength(service, 1);
+            single.shutdownNow();
+            AdmissionTicket ticket = waiting.get(10, TimeUnit.SECONDS);
+            assertFalse(ticket.isAdmitted());
+            return ticket;
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits until the thread is parked in the queue's timed wait; a redemption moves a
+     * number from the parked set to the live queue, so the queue length does not show it
+     */
+    private static void awaitWaiting(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.get() == null || thread.get().getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < deadline, "thread never started waiting");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Waits until the given number of tickets are queued, so arrivals are ordered by
+     * state rather than by sleeping
+     */
+    private static void awaitQueueLength(AdmissionServiceImpl service, int length) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (service.getQueueLength() < length) {
+            assertTrue(System.nanoTime() < deadline, "queue never reached " + length);
+            Thread.sleep(1);
+        }
+    }
+}
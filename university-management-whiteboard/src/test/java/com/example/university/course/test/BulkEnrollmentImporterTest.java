@@ -0,0 +1,276 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.BulkEnrollmentReport;
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CourseEnrollment;
+import com.example.university.course.service.impl.BulkEnrollmentImporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk CSV enrollment import - UC6: Manage Course Enrollment
+ * Runs against an in-memory enrollment table with a unique (course, student) key
+ */
+@DisplayName("Bulk Enrollment Importer - UC6")
+public class BulkEnrollmentImporterTest {
+
+    private Map<Long, Course> courses;
+    private Map<Long, Integer> seatsLeft;
+    private Set<String> table;
+    private List<Integer> batchSizes;
+    private int insertedCallbacks;
+    private int failingBatch;
+
+    @BeforeEach
+    public void setUp() {
+        courses = new HashMap<>();
+        seatsLeft = new HashMap<>();
+        table = new HashSet<>();
+        batchSizes = new ArrayList<>();
+        insertedCallbacks = 0;
+        failingBatch = -1;
+        addCourse(1L, "CS101", 100);
+        addCourse(2L, "MA110", 2);
+    }
+
+    @Test
+    @DisplayName("Valid rows are inserted in batches and every rejected row is reported by line")
+    public void testPerRowReport() throws IOException {
+        table.add(BulkEnrollmentImporter.key(1L, "S-EXISTING"));
+        String csv = "studentId,courseId,studentName,enrollmentStatus\n"
+            + "S1,1,\"Lovelace, Ada\",\n"
+            + "S2,1,Alan Turing,PENDING\n"
+            + "\n"
+            + ",1,No Id,\n"
+            + "S3,99,Unknown Course,\n"
+            + "S4,abc,Bad Id,\n"
+            + "S5,1,Bad Status,MAYBE\n"
+            + "S1,1,Duplicate,\n"
+            + "S-EXISTING,1,Already There,\n"
+            + "S6,2,,\n"
+            + "S7,2,,\n"
+            + "S8,2,,\n"
+            + "S9,2,,COMPLETED\n"
+            + "S10,1,\"unterminated\n";
+
+        BulkEnrollmentReport report = importer(4).importCsv(new StringReader(csv));
+
+        assertEquals(13, report.getTotalRows());
+        assertEquals(5, report.getImported());
+        assertEquals(8, report.getFailed());
+        assertEquals(8, report.getErrors().size());
+        assertFalse(report.isErrorsTruncated());
+        assertError(report, 5, "Missing studentId");
+        assertError(report, 6, "Course not found: 99");
+        assertError(report, 7, "Invalid courseId: abc");
+        assertError(report, 8, "Invalid enrollmentStatus: MAYBE");
+        assertError(report, 9, "Student already has an enrollment record for this course");
+        assertError(report, 10, "Student already has an enrollment record for this course");
+        assertError(report, 13, "Course is at full capacity");
+        assertError(report, 15, "Unterminated quoted field");
+        assertTrue(table.contains(BulkEnrollmentImporter.key(2L, "S9")), "COMPLETED rows hold no seat");
+        assertEquals(0, (int) seatsLeft.get(2L));
+        assertEquals(98, (int) seatsLeft.get(1L), "seats of skipped rows are released");
+        assertEquals(report.getBatches(), batchSizes.size());
+        assertEquals(2, insertedCallbacks, "a batch of conflicts only has nothing to follow up");
+    }
+
+    @Test
+    @DisplayName("A batch that rolls back is reported as failed and the other batches stand")
+    public void testFailedBatchRollsBackOnlyItself() throws IOException {
+        failingBatch = 2;
+        List<CourseEnrollment> saved = new ArrayList<>();
+        BulkEnrollmentImporter importer = new BulkEnrollmentImporter(target(saved), 2, 100);
+        BulkEnrollmentReport report = importer.importCsv(new StringReader(
+            "studentId,courseId\nS1,1\nS2,1\nS3,1\nS4,1\nS5,1\n"));
+
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(2, report.getBatches(), "only committed batches are counted");
+        assertEquals(2, insertedCallbacks, "the rolled-back batch is never announced");
+        assertEquals(List.of("S1", "S2", "S5"), saved.stream().map(CourseEnrollment::getStudentId).toList());
+        assertEquals(97, (int) seatsLeft.get(1L), "seats of the rolled-back batch are released");
+        assertError(report, 4, "Batch insert failed: Transaction did not commit: deadlock detected");
+        assertFalse(table.contains(BulkEnrollmentImporter.key(1L, "S3")));
+    }
+
+    @Test
+    @DisplayName("Course codes, defaults from the course and header validation")
+    public void testHeaderAndDefaults() throws IOException {
+        List<CourseEnrollment> saved = new ArrayList<>();
+        BulkEnrollmentImporter importer = new BulkEnrollmentImporter(target(saved), 100, 1);
+        BulkEnrollmentReport report = importer.importCsv(new StringReader(
+            "\uFEFFStudent_ID, Course Code ,semester\r\nS1,CS101,\r\nS2,MA110,Spring\r\nS3,XX1,\r\nS4,XX2,\r\n"));
+
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(1, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+        assertEquals("Fall", saved.get(0).getSemester());
+        assertEquals("2026-2027", saved.get(0).getAcademicYear());
+        assertEquals("Spring", saved.get(1).getSemester());
+        assertEquals(CourseEnrollment.EnrollmentStatus.ENROLLED, saved.get(1).getEnrollmentStatus());
+        assertNotNull(saved.get(1).getEnrollmentDate());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> importer.importCsv(new StringReader("name,courseId\nx,1\n")));
+        assertThrows(IllegalArgumentException.class, () -> importer.importCsv(new StringReader("")));
+    }
+
+    @Test
+    @DisplayName("Benchmark - 100k-row CSV streamed in 500-row batches")
+    public void testLargeImport() throws IOException {
+        for (long id = 3; id <= 400; id++) {
+            addCourse(id, "C" + id, 1_000);
+        }
+        int rows = 100_000;
+        Reader csv = new GeneratedCsv(rows);
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long began = System.nanoTime();
+        BulkEnrollmentReport report = importer(500).importCsv(csv);
+        long elapsedNanos = System.nanoTime() - began;
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        assertEquals(rows, report.getTotalRows());
+        assertEquals(rows, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals(rows / 500, report.getBatches());
+        assertEquals(500, (int) batchSizes.stream().max(Integer::compare).get());
+        assertTrue(elapsedNanos < 30_000_000_000L);
+        System.out.printf("[UC6] ✓ imported %d CSV enrollments in %d batches, %.0f ms (excluding database)%n",
+            report.getImported(), report.getBatches(), elapsedNanos / 1e6);
+        System.out.printf("[UC6] ✓ heap delta %.1f MB, including the %d-row test table%n",
+            (heapAfter - heapBefore) / 1e6, table.size());
+    }
+
+    private BulkEnrollmentImporter importer(int chunkSize) {
+        return new BulkEnrollmentImporter(target(new ArrayList<>()), chunkSize, 1_000);
+    }
+
+    private BulkEnrollmentImporter.EnrollmentTarget target(List<CourseEnrollment> saved) {
+        return new BulkEnrollmentImporter.EnrollmentTarget() {
+            @Override
+            public Course findCourse(Long courseId) {
+                return courses.get(courseId);
+            }
+
+            @Override
+            public Course findCourseByCode(String courseCode) {
+                for (Course course : courses.values()) {
+                    if (course.getCourseCode().equals(courseCode)) {
+                        return course;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean reserveSeat(Long courseId) {
+                int left = seatsLeft.get(courseId);
+                if (left == 0) {
+                    return false;
+                }
+                seatsLeft.put(courseId, left - 1);
+                return true;
+            }
+
+            @Override
+            public void releaseSeat(Long courseId) {
+                seatsLeft.merge(courseId, 1, Integer::sum);
+            }
+
+            @Override
+            public Set<String> insertBatch(List<CourseEnrollment> rows) {
+                batchSizes.add(rows.size());
+                if (batchSizes.size() == failingBatch) {
+                    throw new IllegalStateException("Transaction did not commit: deadlock detected");
+                }
+                Set<String> inserted = new HashSet<>();
+                for (CourseEnrollment enrollment : rows) {
+                    String key = BulkEnrollmentImporter.key(enrollment.getCourseId(), enrollment.getStudentId());
+                    if (table.add(key)) {
+                        inserted.add(key);
+                    }
+                }
+                return inserted;
+            }
+
+            @Override
+            public void inserted(List<CourseEnrollment> rows) {
+                insertedCallbacks++;
+                saved.addAll(rows);
+            }
+        };
+    }
+
+    private void addCourse(Long id, String code, int capacity) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode(code);
+        course.setSemester("Fall");
+        course.setAcademicYear("2026-2027");
+        courses.put(id, course);
+        seatsLeft.put(id, capacity);
+    }
+
+    private static void assertError(BulkEnrollmentReport report, long line, String message) {
+        for (BulkEnrollmentReport.RowError error : report.getErrors()) {
+            if (error.getLine() == line) {
+                assertEquals(message, error.getMessage(), "line " + line);
+                return;
+            }
+        }
+        fail("no error reported for line " + line);
+    }
+
+    /**
+     * Produces the CSV on demand so the file itself is never held in memory
+     */
+    private static final class GeneratedCsv extends Reader {
+        private final int rows;
+        private int next = -1;
+        private String pending = "";
+        private int offset;
+
+        private GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int off, int len) {
+            if (offset == pending.length()) {
+                if (next == rows) {
+                    return -1;
+                }
+                pending = next < 0
+                    ? "studentId,courseId,studentName\n"
+                    : "S" + (next / 250) + "," + (3 + next % 250) + ",Student " + (next / 250) + "\n";
+                next++;
+                offset = 0;
+            }
+            int count = Math.min(len, pending.length() - offset);
+            pending.getChars(offset, offset + count, buffer, off);
+            offset += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
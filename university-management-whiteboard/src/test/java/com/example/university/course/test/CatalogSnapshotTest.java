@@ -0,0 +1,224 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CoursePrerequisite;
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.service.impl.CatalogSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary catalog snapshot - UC5: View Course Information
+ */
+@DisplayName("Catalog Snapshot - UC5")
+public class CatalogSnapshotTest {
+
+    @Test
+    @DisplayName("Every field survives a stream round trip, including nulls and non-ASCII text")
+    public void testRoundTrip() throws IOException {
+        Course course = course(7L);
+        course.setDescription("Größen, Übungen und 数据");
+        course.setMaxCapacity(null);
+        course.setCreatedAt(LocalDateTime.of(2026, 9, 1, 8, 30, 15, 123_456_789));
+        CourseSchedule schedule = schedule(70L, 7L);
+        schedule.setStatus(CourseSchedule.ScheduleStatus.CANCELLED);
+        schedule.setNotes(null);
+        CoursePrerequisite prerequisite = new CoursePrerequisite();
+        prerequisite.setId(700L);
+        prerequisite.setCourseId(7L);
+        prerequisite.setCourseCode("C7");
+        prerequisite.setPrerequisiteCourseCode("C1");
+        prerequisite.setMinimumGpaRequired(2.5);
+        prerequisite.setIsMandatory(null);
+
+        byte[] bytes = write(List.of(course), List.of(schedule), List.of(prerequisite));
+        Collected read = new Collected();
+        CatalogSnapshot.Summary summary = CatalogSnapshot.read(new ByteArrayInputStream(bytes), read);
+
+        assertEquals(CatalogSnapshot.FORMAT_VERSION, summary.getFormatVersion());
+        assertEquals(1, summary.getCourses());
+        Course c = read.courses.get(0);
+        assertEquals(7L, (long) c.getId());
+        assertEquals("Größen, Übungen und 数据", c.getDescription());
+        assertNull(c.getMaxCapacity());
+        assertEquals(3, (int) c.getCredits());
+        assertEquals(Course.CourseStatus.PENDING_APPROVAL, c.getStatus());
+        assertEquals(LocalDateTime.of(2026, 9, 1, 8, 30, 15, 123_456_789), c.getCreatedAt());
+        assertNull(c.getUpdatedAt());
+        CourseSchedule s = read.schedules.get(0);
+        assertEquals(LocalTime.of(9, 15), s.getStartTime());
+        assertEquals(LocalTime.of(10, 45), s.getEndTime());
+        assertEquals(CourseSchedule.ScheduleStatus.CANCELLED, s.getStatus());
+        assertEquals("Room 101", s.getVenue());
+        assertNull(s.getNotes());
+        CoursePrerequisite p = read.prerequisites.get(0);
+        assertEquals(2.5, p.getMinimumGpaRequired());
+        assertNull(p.getIsMandatory());
+        assertNull(p.getMinimumGradeRequired());
+    }
+
+    @Test
+    @DisplayName("The memory-mapped load matches the stream; damaged files are rejected")
+    public void testMappedLoadAndCorruption() throws IOException {
+        List<Course> courses = new ArrayList<>();
+        List<CourseSchedule> schedules = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            courses.add(course(id));
+            schedules.add(schedule(id * 10, id));
+        }
+        byte[] bytes = write(courses, schedules, List.of());
+        Path file = Files.createTempFile("catalog", ".snapshot");
+        try {
+            Files.write(file, bytes);
+            CatalogSnapshot.Contents contents = CatalogSnapshot.map(file);
+            assertEquals(50, contents.getCourses().size());
+            assertEquals(50, contents.getSummary().getSchedules());
+            assertEquals("C42", contents.getCourses().get(41).getCourseCode());
+            assertEquals(420L, (long) contents.getSchedules().get(41).getId());
+
+            byte[] flipped = bytes.clone();
+            flipped[bytes.length / 2] ^= 0x01;
+            Files.write(file, flipped);
+            assertThrows(IllegalArgumentException.class, () -> CatalogSnapshot.map(file));
+            assertThrows(IllegalArgumentException.class,
+                () -> CatalogSnapshot.read(new ByteArrayInputStream(flipped), new Collected()));
+            assertThrows(IllegalArgumentException.class,
+                () -> CatalogSnapshot.verify(new ByteArrayInputStream(flipped)));
+            assertEquals(50, CatalogSnapshot.verify(new ByteArrayInputStream(bytes)).getCourses());
+
+            byte[] truncated = Arrays.copyOf(bytes, bytes.length - 5);
+            Files.write(file, truncated);
+            assertThrows(IllegalArgumentException.class, () -> CatalogSnapshot.map(file));
+            assertThrows(IllegalArgumentException.class,
+                () -> CatalogSnapshot.read(new ByteArrayInputStream(truncated), new Collected()));
+            assertThrows(IllegalArgumentException.class,
+                () -> CatalogSnapshot.read(new ByteArrayInputStream("not a snapshot".getBytes()), new Collected()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark - 20,000 courses, 60,000 schedules and 40,000 prerequisites")
+    public void testLargeCatalog() throws IOException {
+        int courseCount = 20_000;
+        Path file = Files.createTempFile("catalog", ".snapshot");
+        try {
+            long began = System.nanoTime();
+            try (OutputStream out = Files.newOutputStream(file)) {
+                CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(out);
+                for (long id = 1; id <= courseCount; id++) {
+                    writer.course(course(id));
+                }
+                for (long id = 1; id <= courseCount * 3L; id++) {
+                    writer.schedule(schedule(id, 1 + id % courseCount));
+                }
+                for (long id = 1; id <= courseCount * 2L; id++) {
+                    CoursePrerequisite prerequisite = new CoursePrerequisite();
+                    prerequisite.setId(id);
+                    prerequisite.setCourseId(1 + id % courseCount);
+                    prerequisite.setCourseCode("C" + (1 + id % courseCount));
+                    prerequisite.setPrerequisiteCourseCode("C" + (1 + (id * 7) % courseCount));
+                    writer.prerequisite(prerequisite);
+                }
+                writer.finish();
+            }
+            long writeNanos = System.nanoTime() - began;
+
+            began = System.nanoTime();
+            CatalogSnapshot.Contents contents = CatalogSnapshot.map(file);
+            long mapNanos = System.nanoTime() - began;
+
+            assertEquals(courseCount, contents.getCourses().size());
+            assertEquals(courseCount * 3, contents.getSchedules().size());
+            assertEquals(courseCount * 2, contents.getPrerequisites().size());
+            assertTrue(mapNanos < 10_000_000_000L);
+            System.out.printf("[UC5] ✓ wrote %d catalog records (%.1f MB) in %.0f ms%n",
+                courseCount * 6, Files.size(file) / 1e6, writeNanos / 1e6);
+            System.out.printf("[UC5] ✓ loaded them from a memory-mapped snapshot in %.0f ms%n", mapNanos / 1e6);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static byte[] write(List<Course> courses, List<CourseSchedule> schedules,
+                                List<CoursePrerequisite> prerequisites) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(out);
+        for (Course course : courses) {
+            writer.course(course);
+        }
+        for (CourseSchedule schedule : schedules) {
+            writer.schedule(schedule);
+        }
+        for (CoursePrerequisite prerequisite : prerequisites) {
+            writer.prerequisite(prerequisite);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static Course course(Long id) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode("C" + id);
+        course.setCourseName("Course " + id);
+        course.setDepartment("Computer Science");
+        course.setCredits(3);
+        course.setInstructorId("I" + id % 500);
+        course.setMaxCapacity(120);
+        course.setStatus(Course.CourseStatus.PENDING_APPROVAL);
+        course.setSemester("Fall");
+        course.setAcademicYear("2026-2027");
+        return course;
+    }
+
+    private static CourseSchedule schedule(Long id, Long courseId) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.setId(id);
+        schedule.setCourseId(courseId);
+        schedule.setCourseCode("C" + courseId);
+        schedule.setDayOfWeek("MONDAY");
+        schedule.setStartTime(LocalTime.of(9, 15));
+        schedule.setEndTime(LocalTime.of(10, 45));
+        schedule.setVenue("Room 101");
+        schedule.setSemester("Fall");
+        schedule.setAcademicYear("2026-2027");
+        schedule.setNotes("Bring a laptop");
+        return schedule;
+    }
+
+    private static final class Collected implements CatalogSnapshot.Visitor {
+        private final List<Course> courses = new ArrayList<>();
+        private final List<CourseSchedule> schedules = new ArrayList<>();
+        private final List<CoursePrerequisite> prerequisites = new ArrayList<>();
+
+        @Override
+        public void course(Course course) {
+            courses.add(course);
+        }
+
+        @Override
+        public void schedule(CourseSchedule schedule) {
+            schedules.add(schedule);
+        }
+
+        @Override
+        public void prerequisite(CoursePrerequisite prerequisite) {
+            prerequisites.add(prerequisite);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.CatalogCacheStats;
+import com.example.university.course.model.Course;
+import com.example.university.course.service.impl.ContinuationToken;
+import com.example.university.course.service.impl.CourseCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Course catalog cache - UC5
+ * Runs against an in-memory catalog that counts database round trips
+ */
+@DisplayName("Course Catalog Cache - UC5")
+public class CourseCatalogCacheTest {
+
+    private Map<Long, Course> table;
+    private Map<Long, Integer> liveSeats;
+    private int queries;
+    private CourseCatalogCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        table = new TreeMap<>();
+        liveSeats = new HashMap<>();
+        queries = 0;
+        cache = newCache(1_000, 60_000L);
+    }
+
+    @Test
+    @DisplayName("Warm lookups are served without touching the database")
+    public void testWarmReadsFromMemory() {
+        for (long id = 1; id <= 50; id++) {
+            insert(id, "CS" + (100 + id), id % 2 == 0 ? "CS" : "MATH");
+        }
+
+        assertEquals(50, cache.getAll().size());
+        int afterWarmup = queries;
+        for (int i = 0; i < 100; i++) {
+            assertEquals(50, cache.getAll().size());
+            assertEquals("CS110", cache.getById(10L).getCourseCode());
+            assertEquals(7L, cache.getByCode("CS107").getId());
+        }
+        assertEquals(afterWarmup, queries, "full catalog load also seeds id and code lookups");
+
+        cache.getByDepartment("CS");
+        cache.getByDepartment("CS");
+        assertEquals(afterWarmup + 1, queries);
+
+        CatalogCacheStats stats = cache.stats();
+        assertEquals(301, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertTrue(stats.isFullCatalogCached());
+        assertTrue(stats.getHitRatio() > 0.99);
+    }
+
+    @Test
+    @DisplayName("Writes drop exactly the entries holding the changed course")
+    public void testPreciseInvalidation() {
+        insert(1L, "CS101", "CS");
+        insert(2L, "CS102", "CS");
+        insert(3L, "MA101", "MATH");
+        cache.getAll();
+        cache.getByDepartment("CS");
+        cache.getByDepartment("MATH");
+
+        Course moved = insert(2L, "CS202", "MATH");
+        cache.invalidate(2L, moved);
+
+        int before = queries;
+        assertEquals("CS101", cache.getById(1L).getCourseCode());
+        assertEquals("MA101", cache.getByCode("MA101").getCourseCode());
+        assertEquals(before, queries, "unrelated entries survive");
+
+        assertNull(cache.getByCode("CS102"));
+        assertEquals("CS202", cache.getByCode("CS202").getCourseCode());
+        assertEquals(List.of("CS101"), codes(cache.getByDepartment("CS")));
+        assertEquals(List.of("CS202", "MA101"), codes(cache.getByDepartment("MATH")));
+        assertEquals(List.of("CS101", "CS202", "MA101"), codes(cache.getAll()));
+
+        table.remove(1L);
+        cache.invalidate(1L, null);
+        assertNull(cache.getById(1L));
+        assertEquals(2, cache.getAll().size());
+        assertEquals(2, cache.stats().getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Callers get copies with live seat counts")
+    public void testCopiesAndLiveSeats() {
+        insert(1L, "CS101", "CS");
+        Course first = cache.getById(1L);
+        first.setCourseName("changed by caller");
+        assertEquals("Course CS101", cache.getById(1L).getCourseName());
+
+        liveSeats.put(1L, 42);
+        assertEquals(42, cache.getById(1L).getCurrentEnrollment());
+        assertEquals(42, cache.getAll().get(0).getCurrentEnrollment());
+    }
+
+    @Test
+    @DisplayName("Size bound and TTL evict entries")
+    public void testEviction() throws InterruptedException {
+        cache = newCache(10, 50L);
+        for (long id = 1; id <= 25; id++) {
+            insert(id, "C" + id, "D");
+            cache.getById(id);
+        }
+        CatalogCacheStats stats = cache.stats();
+        assertTrue(stats.getCoursesById() <= 10);
+        assertTrue(stats.getEvictions() >= 15);
+
+        cache.getById(25L);
+        int before = queries;
+        Thread.sleep(60);
+        cache.getById(25L);
+        assertEquals(before + 1, queries, "expired entry is reloaded");
+    }
+
+    @Test
+    @DisplayName("Keyset pages walk the catalog in code order with opaque tokens")
+    public void testKeysetPages() {
+        for (long id = 1; id <= 25; id++) {
+            insert(id, String.format("C%03d", 26 - id), "D");
+        }
+        List<String> walked = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            String[] key = ContinuationToken.decode("courses", after, 1);
+            List<Course> page = cache.getPage(key == null ? null : key[0], 10);
+            page.forEach(course -> walked.add(course.getCourseCode()));
+            after = page.size() < 10 ? null
+                : ContinuationToken.encode("courses", page.get(page.size() - 1).getCourseCode());
+            pages++;
+        } while (after != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, walked.size());
+        assertEquals("C001", walked.get(0));
+        assertEquals("C025", walked.get(24));
+        assertEquals(1, queries, "pages are cut from the cached catalog");
+
+        String token = ContinuationToken.encode("course-enrollments|7", "S100");
+        assertArrayEquals(new String[] {"S100"}, ContinuationToken.decode("course-enrollments|7", token, 1));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode("course-enrollments|8", token, 1));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode("courses", "not*base64", 1));
+    }
+
+    @Test
+    @DisplayName("Benchmark - GET /api/courses over 5000 courses, cold vs warm")
+    public void testCatalogThroughput() {
+        cache = newCache(20_000, 60_000L);
+        for (long id = 1; id <= 5_000; id++) {
+            insert(id, "C" + id, "D" + (id % 40));
+        }
+        long began = System.nanoTime();
+        cache.getAll();
+        long coldNanos = System.nanoTime() - began;
+
+        int reads = 200;
+        began = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            cache.getAll();
+        }
+        long warmNanos = (System.nanoTime() - began) / reads;
+
+        int lookups = 1_000_000;
+        began = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            cache.getById((long) (i % 5_000) + 1);
+        }
+        long lookupNanos = System.nanoTime() - began;
+
+        assertEquals(1, queries);
+        System.out.printf("[UC5] ✓ full catalog: cold %.2f ms, warm %.2f ms, %d database queries%n",
+            coldNanos / 1e6, warmNanos / 1e6, queries);
+        System.out.printf("[UC5] ✓ %d cached lookups by id, %.0f ns each%n", lookups, (double) lookupNanos / lookups);
+    }
+
+    private CourseCatalogCache newCache(int maxEntries, long ttlMillis) {
+        return new CourseCatalogCache(new CourseCatalogCache.CatalogSource() {
+            @Override
+            public Course findById(Long id) {
+                queries++;
+                return table.get(id);
+            }
+
+            @Override
+            public Course findByCode(String courseCode) {
+                queries++;
+                return table.values().stream()
+                    .filter(course -> course.getCourseCode().equals(courseCode)).findFirst().orElse(null);
+            }
+
+            @Override
+            public List<Course> findAll() {
+                queries++;
+                return new ArrayList<>(table.values());
+            }
+
+            @Override
+            public List<Course> findByDepartment(String department) {
+                queries++;
+                return table.values().stream()
+                    .filter(course -> course.getDepartment().equals(department)).collect(Collectors.toList());
+            }
+
+            @Override
+            public int liveOccupiedSeats(Long courseId) {
+                return liveSeats.getOrDefault(courseId, -1);
+            }
+        }, maxEntries, ttlMillis);
+    }
+
+    private Course insert(long id, String code, String department) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode(code);
+        course.setCourseName("Course " + code);
+        course.setDepartment(department);
+        course.setCredits(3);
+        course.setMaxCapacity(100);
+        table.put(id, course);
+        return course;
+    }
+
+    private static List<String> codes(List<Course> courses) {
+        return courses.stream().map(Course::getCourseCode).sorted().collect(Collectors.toList());
+    }
+}
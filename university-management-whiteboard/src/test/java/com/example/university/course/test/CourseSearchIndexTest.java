@@ -0,0 +1,157 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.service.impl.CourseSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Course search index - UC5
+ * Runs against an in-memory catalog, no Karaf or database required
+ */
+@DisplayName("Course Search Index - UC5")
+public class CourseSearchIndexTest {
+
+    private List<Course> catalog;
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        catalog = new ArrayList<>();
+        index = new CourseSearchIndex(new CourseSearchIndex.SearchSource() {
+            @Override
+            public List<Course> allCourses() {
+                return new ArrayList<>(catalog);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Matches every token, by prefix, ranking code over name over description")
+    public void testRankingAndPrefixes() {
+        catalog.add(course(1L, "CS101", "Introduction to Programming", "Dr. Ada Lovelace", "Basics of algorithms"));
+        catalog.add(course(2L, "CS201", "Algorithms", "Dr. Alan Turing", "Sorting, graphs and dynamic programming"));
+        catalog.add(course(3L, "MA110", "Calculus I", "Dr. Emmy Noether", "Limits and derivatives"));
+        catalog.add(course(4L, "ALG300", "Abstract Algebra", "Dr. Emmy Noether", "Groups, rings and fields"));
+
+        assertEquals(Arrays.asList(2L, 1L), index.search("algorithms", 10));
+        assertEquals(Arrays.asList(4L, 2L, 1L), index.search("alg", 10));
+        assertEquals(Arrays.asList(1L, 2L), index.search("Programming", 10));
+        assertEquals(Arrays.asList(1L), index.search("cs101", 10));
+        assertEquals(Arrays.asList(1L, 2L), index.search("CS", 10));
+        assertEquals(Arrays.asList(1L), index.search("cs 101", 10));
+        assertEquals(Arrays.asList(4L, 3L), index.search("noether", 10));
+        assertEquals(Arrays.asList(3L), index.search("noether calc", 10));
+        assertEquals(Arrays.asList(2L), index.search("the algorithms of turing", 10));
+        assertTrue(index.search("quantum", 10).isEmpty());
+        assertEquals(1, index.search("noether", 1).size());
+    }
+
+    @Test
+    @DisplayName("Catalog writes update the index incrementally")
+    public void testIncrementalUpdates() {
+        catalog.add(course(1L, "CS101", "Introduction to Programming", "Dr. Ada Lovelace", null));
+        assertEquals(1, index.size());
+
+        index.put(course(2L, "PH101", "Quantum Mechanics", "Dr. Paul Dirac", null));
+        assertEquals(Arrays.asList(2L), index.search("quant", 10));
+
+        index.put(course(1L, "CS101", "Introduction to Databases", "Dr. Ada Lovelace", null));
+        assertTrue(index.search("programming", 10).isEmpty());
+        assertEquals(Arrays.asList(1L), index.search("databases", 10));
+
+        index.remove(2L);
+        assertTrue(index.search("quantum", 10).isEmpty());
+        index.put(course(3L, "PH102", "Relativity", "Dr. Albert Einstein", null));
+        assertEquals(Arrays.asList(3L), index.search("relativity", 10));
+        assertEquals(Arrays.asList(1L, 3L), index.search("dr", 10));
+    }
+
+    @Test
+    @DisplayName("A reload replaces the whole index")
+    public void testReload() {
+        catalog.add(course(1L, "CS101", "Introduction to Programming", "Dr. Ada Lovelace", null));
+        catalog.add(course(2L, "PH101", "Quantum Mechanics", "Dr. Paul Dirac", null));
+        assertEquals(2, index.size());
+
+        index.reload(List.of(course(2L, "PH101", "Quantum Field Theory", "Dr. Paul Dirac", null),
+            course(3L, "PH102", "Relativity", "Dr. Albert Einstein", null)));
+        assertEquals(2, index.size());
+        assertTrue(index.search("programming", 10).isEmpty());
+        assertTrue(index.search("mechanics", 10).isEmpty());
+        assertEquals(Arrays.asList(2L), index.search("field", 10));
+        assertEquals(Arrays.asList(2L, 3L), index.search("ph", 10));
+        index.put(course(4L, "PH103", "Optics", "Dr. Augustin Fresnel", null));
+        assertEquals(Arrays.asList(4L), index.search("optics", 10));
+    }
+
+    @Test
+    @DisplayName("Benchmark - 20k-course catalog, p99 search latency")
+    public void testSearchLatency() {
+        Random random = new Random(11);
+        String[] departments = {"CS", "MA", "PH", "CH", "BI", "EC", "HI", "EN", "PS", "ME"};
+        String[] words = {"introduction", "advanced", "theory", "applied", "systems", "analysis", "design",
+            "computational", "statistics", "networks", "quantum", "organic", "macro", "micro", "history",
+            "modern", "literature", "learning", "machine", "data", "structures", "algorithms", "mechanics",
+            "thermodynamics", "genetics", "ecology", "finance", "markets", "ethics", "logic", "seminar",
+            "laboratory", "methods", "research", "topics", "principles", "foundations", "calculus", "algebra"};
+        String[] surnames = {"Smith", "Nguyen", "Garcia", "Okafor", "Kim", "Novak", "Rossi", "Tanaka", "Silva"};
+        for (long id = 1; id <= 20_000; id++) {
+            String department = departments[random.nextInt(departments.length)];
+            StringBuilder name = new StringBuilder();
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 3; w++) {
+                name.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            for (int w = 0; w < 25; w++) {
+                description.append(words[random.nextInt(words.length)]).append(w % 6 == 5 ? ". " : " ");
+            }
+            catalog.add(course(id, department + (100 + id), name.toString().trim(),
+                "Dr. " + surnames[random.nextInt(surnames.length)], description.toString()));
+        }
+
+        long began = System.nanoTime();
+        int size = index.size();
+        long loadNanos = System.nanoTime() - began;
+
+        String[] queries = {"machine learning", "cs", "quant", "data struct", "a", "intro theory", "smith",
+            "cs15", "advanced algorithms design", "ma1234", "th", "ecology genetics laboratory"};
+        for (int i = 0; i < 2_000; i++) {
+            index.search(queries[i % queries.length], 20);
+        }
+        int runs = 10_000;
+        long[] latencies = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            index.search(queries[random.nextInt(queries.length)], 20);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        double p50 = latencies[runs / 2] / 1e6;
+        double p99 = latencies[runs * 99 / 100] / 1e6;
+
+        assertEquals(20_000, size);
+        assertEquals(20, index.search("machine learning", 20).size());
+        assertTrue(p99 < 5.0, "p99 " + p99 + " ms");
+        System.out.printf("[UC5] ✓ indexed %d courses (%d terms) in %.1f ms%n",
+            size, index.termCount(), loadNanos / 1e6);
+        System.out.printf("[UC5] ✓ %d searches, p50 %.3f ms, p99 %.3f ms%n", runs, p50, p99);
+    }
+
+    private static Course course(Long id, String code, String name, String instructor, String description) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode(code);
+        course.setCourseName(name);
+        course.setInstructorName(instructor);
+        course.setDescription(description);
+        return course;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CourseEnrollment;
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.EnrollmentCart;
+import com.example.university.course.service.impl.EnrollmentCartValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Enrollment cart validation - UC6: Manage Course Enrollment
+ * Runs against an in-memory cart source, no Karaf or database required
+ */
+@DisplayName("Enrollment Cart Validator - UC6")
+public class EnrollmentCartValidatorTest {
+
+    private static final String STUDENT = "S-1";
+    private static final String[] DAYS = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"};
+
+    private Map<Long, Course> catalog;
+    private List<CourseEnrollment> enrollments;
+    private List<CourseSchedule> schedules;
+    private Set<Long> full;
+    private int queries;
+    private EnrollmentCartValidator validator;
+
+    @BeforeEach
+    public void setUp() {
+        catalog = new HashMap<>();
+        enrollments = new ArrayList<>();
+        schedules = new ArrayList<>();
+        full = new HashSet<>();
+        queries = 0;
+        validator = new EnrollmentCartValidator(new EnrollmentCartValidator.CartSource() {
+            @Override
+            public Map<Long, Course> courses(Collection<Long> courseIds) {
+                queries++;
+                Map<Long, Course> found = new HashMap<>();
+                for (Long id : courseIds) {
+                    if (catalog.containsKey(id)) {
+                        found.put(id, catalog.get(id));
+                    }
+                }
+                return found;
+            }
+
+            @Override
+            public List<CourseEnrollment> enrollments(String studentId, Collection<Long> courseIds) {
+                queries++;
+                List<CourseEnrollment> found = new ArrayList<>();
+                for (CourseEnrollment enrollment : enrollments) {
+                    if (enrollment.getStudentId().equals(studentId) && courseIds.contains(enrollment.getCourseId())) {
+                        found.add(enrollment);
+                    }
+                }
+                return found;
+            }
+
+            @Override
+            public void seedSeats(Collection<Course> courses) {
+                queries++;
+            }
+
+            @Override
+            public boolean hasAvailableSeat(Long courseId) {
+                return !full.contains(courseId);
+            }
+
+            @Override
+            public List<String> missingPrerequisites(String studentId, Long courseId) {
+                return List.of();
+            }
+
+            @Override
+            public List<CourseSchedule> schedules(String studentId, Collection<Long> courseIds) {
+                queries++;
+                List<CourseSchedule> found = new ArrayList<>();
+                for (CourseSchedule schedule : schedules) {
+                    if (courseIds.contains(schedule.getCourseId())) {
+                        found.add(schedule);
+                    }
+                }
+                return found;
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Query count does not grow with the cart")
+    public void testQueryCountIndependentOfCartSize() {
+        for (long id = 1; id <= 200; id++) {
+            course(id);
+        }
+        validator.check(cart(1L, 2L), new HashMap<>(), new HashMap<>());
+        int small = queries;
+
+        queries = 0;
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            ids.add(id);
+        }
+        validator.check(cart(ids.toArray(new Long[0])), new HashMap<>(), new HashMap<>());
+        assertEquals(small, queries);
+    }
+
+    @Test
+    @DisplayName("Dropped and completed records do not block enrollment, active ones do")
+    public void testOnlySeatHoldingRecordsBlock() {
+        course(1L);
+        course(2L);
+        course(3L);
+        enrollment(1L, CourseEnrollment.EnrollmentStatus.DROPPED);
+        enrollment(2L, CourseEnrollment.EnrollmentStatus.COMPLETED);
+        enrollment(3L, CourseEnrollment.EnrollmentStatus.ENROLLED);
+
+        Map<Long, CourseEnrollment> existing = new HashMap<>();
+        Map<Long, List<String>> problems = validator.check(cart(1L, 2L, 3L), new HashMap<>(), existing);
+
+        assertFalse(problems.containsKey(1L));
+        assertFalse(problems.containsKey(2L));
+        assertEquals(List.of("Student is already enrolled in this course"), problems.get(3L));
+        assertEquals(3, existing.size(), "Existing records are handed back for reactivation");
+        assertTrue(EnrollmentCartValidator.holdsSeat(CourseEnrollment.EnrollmentStatus.PENDING));
+        assertFalse(EnrollmentCartValidator.holdsSeat(CourseEnrollment.EnrollmentStatus.SUSPENDED));
+    }
+
+    @Test
+    @DisplayName("Missing and full courses are reported per course")
+    public void testMissingAndFullCourses() {
+        course(1L);
+        full.add(1L);
+
+        Map<Long, List<String>> problems = validator.check(cart(1L, 9L), new HashMap<>(), new HashMap<>());
+
+        assertEquals(List.of("Course is at full capacity"), problems.get(1L));
+        assertEquals(List.of("Course not found"), problems.get(9L));
+    }
+
+    @Test
+    @DisplayName("Clashes are reported on both courses, touching sessions do not clash")
+    public void testClashes() {
+        course(1L);
+        course(2L);
+        course(3L);
+        session(1L, "MONDAY", 9, 11);
+        session(2L, "monday ", 10, 12);
+        session(3L, "MONDAY", 11, 13);
+
+        Map<Long, List<String>> problems = validator.check(cart(1L, 2L, 3L), new HashMap<>(), new HashMap<>());
+
+        assertEquals(1, problems.get(1L).size());
+        assertEquals(2, problems.get(2L).size());
+        assertEquals(1, problems.get(3L).size());
+    }
+
+    @Test
+    @DisplayName("Sweep finds the same clashes as comparing every pair")
+    public void testSweepMatchesBruteForce() {
+        Random random = new Random(42);
+        for (int i = 0; i < 400; i++) {
+            int start = 8 + random.nextInt(10);
+            session(1L + random.nextInt(40), DAYS[random.nextInt(DAYS.length)], start, start + 1 + random.nextInt(3));
+        }
+
+        Set<String> swept = new HashSet<>();
+        for (CourseSchedule[] clash : EnrollmentCartValidator.clashes(schedules)) {
+            swept.add(pairKey(clash[0], clash[1]));
+        }
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < schedules.size(); i++) {
+            for (int j = i + 1; j < schedules.size(); j++) {
+                CourseSchedule a = schedules.get(i);
+                CourseSchedule b = schedules.get(j);
+                if (a.getDayOfWeek().equals(b.getDayOfWeek()) && !a.getCourseId().equals(b.getCourseId())
+                        && a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime())) {
+                    expected.add(pairKey(a, b));
+                }
+            }
+        }
+        assertEquals(expected, swept);
+    }
+
+    @Test
+    @DisplayName("Benchmark - clash sweep over a full term")
+    public void benchmarkClashSweep() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            int start = 8 + random.nextInt(10);
+            session(1L + random.nextInt(2_000), DAYS[random.nextInt(DAYS.length)], start, start + 1);
+        }
+        int rounds = 20;
+        int found = 0;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            found = EnrollmentCartValidator.clashes(schedules).size();
+        }
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0 / rounds;
+        assertTrue(found > 0);
+        System.out.printf("[UC6] ✓ %d sessions swept for clashes in %.2f ms (%d clashing pairs)%n",
+            schedules.size(), millis, found);
+    }
+
+    private static String pairKey(CourseSchedule a, CourseSchedule b) {
+        long x = a.getId();
+        long y = b.getId();
+        return Math.min(x, y) + "-" + Math.max(x, y);
+    }
+
+    private EnrollmentCart cart(Long... courseIds) {
+        EnrollmentCart cart = new EnrollmentCart();
+        cart.setStudentId(STUDENT);
+        cart.setCourseIds(new ArrayList<>(List.of(courseIds)));
+        return cart;
+    }
+
+    private void course(Long id) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode("C" + id);
+        catalog.put(id, course);
+    }
+
+    private void enrollment(Long courseId, CourseEnrollment.EnrollmentStatus status) {
+        CourseEnrollment enrollment = new CourseEnrollment();
+        enrollment.setId(courseId * 100);
+        enrollment.setCourseId(courseId);
+        enrollment.setStudentId(STUDENT);
+        enrollment.setEnrollmentStatus(status);
+        enrollments.add(enrollment);
+    }
+
+    private void session(Long courseId, String day, int startHour, int endHour) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.setId((long) schedules.size() + 1);
+        schedule.setCourseId(courseId);
+        schedule.setCourseCode("C" + courseId);
+        schedule.setDayOfWeek(day);
+        schedule.setStartTime(LocalTime.of(startHour, 0));
+        schedule.setEndTime(LocalTime.of(endHour, 0));
+        schedules.add(schedule);
+    }
+}
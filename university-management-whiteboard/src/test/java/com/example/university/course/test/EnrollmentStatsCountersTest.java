@@ -0,0 +1,175 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.CourseEnrollment.EnrollmentStatus;
+import com.example.university.course.service.impl.EnrollmentStatsCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrollment statistics counters - UC6: Manage Course Enrollment
+ * Runs against an in-memory enrollment table that counts aggregate queries
+ */
+@DisplayName("Enrollment Stats Counters - UC6")
+public class EnrollmentStatsCountersTest {
+
+    private Map<Long, Map<EnrollmentStatus, Long>> table;
+    private int queries;
+
+    @BeforeEach
+    public void setUp() {
+        table = new HashMap<>();
+        queries = 0;
+    }
+
+    @Test
+    @DisplayName("Counters load once and then follow transitions without queries")
+    public void testFollowsTransitions() {
+        set(1L, EnrollmentStatus.ENROLLED, 10);
+        set(1L, EnrollmentStatus.PENDING, 2);
+        EnrollmentStatsCounters counters = newCounters(60_000L);
+
+        counters.transition(1L, null, EnrollmentStatus.PENDING);
+        assertEquals(0, queries, "transitions for unloaded courses are ignored");
+
+        Map<EnrollmentStatus, Long> stats = counters.snapshot(1L);
+        assertEquals(10L, stats.get(EnrollmentStatus.ENROLLED));
+        assertEquals(2L, stats.get(EnrollmentStatus.PENDING));
+        assertEquals(0L, stats.get(EnrollmentStatus.DROPPED));
+        assertEquals(EnrollmentStatus.values().length, stats.size());
+
+        counters.transition(1L, null, EnrollmentStatus.PENDING);
+        counters.transition(1L, EnrollmentStatus.PENDING, EnrollmentStatus.ENROLLED);
+        counters.transition(1L, EnrollmentStatus.ENROLLED, EnrollmentStatus.DROPPED);
+        counters.transition(1L, EnrollmentStatus.ENROLLED, EnrollmentStatus.ENROLLED);
+        stats = counters.snapshot(1L);
+        assertEquals(10L, stats.get(EnrollmentStatus.ENROLLED));
+        assertEquals(2L, stats.get(EnrollmentStatus.PENDING));
+        assertEquals(1L, stats.get(EnrollmentStatus.DROPPED));
+        assertEquals(1, queries);
+
+        counters.evict(1L);
+        assertEquals(0L, counters.lastReconciled(1L));
+    }
+
+    @Test
+    @DisplayName("Drifted counters of touched courses are reloaded by the periodic task")
+    public void testReconciliation() {
+        set(2L, EnrollmentStatus.ENROLLED, 5);
+        set(4L, EnrollmentStatus.ENROLLED, 1);
+        EnrollmentStatsCounters counters = newCounters(0L);
+        counters.snapshot(2L);
+        counters.snapshot(4L);
+        counters.reconcile(4L);
+
+        set(2L, EnrollmentStatus.ENROLLED, 40);
+        counters.transition(2L, null, EnrollmentStatus.ENROLLED);
+        assertEquals(3, queries, "transitions never query");
+        assertEquals(List.of(2L), counters.dueForReconciliation());
+
+        counters.reconcile(2L);
+        assertEquals(4, queries);
+        assertTrue(counters.dueForReconciliation().isEmpty());
+        assertEquals(40L, counters.snapshot(2L).get(EnrollmentStatus.ENROLLED));
+
+        counters.reconcile(9L);
+        assertEquals(4, queries, "courses that are not loaded are left alone");
+        assertTrue(newCounters(60_000L).dueForReconciliation().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Benchmark - concurrent transitions and stats reads")
+    public void testConcurrentThroughput() throws Exception {
+        set(3L, EnrollmentStatus.ENROLLED, 0);
+        EnrollmentStatsCounters counters = newCounters(60_000L);
+        counters.snapshot(3L);
+
+        int threads = 8;
+        int perThread = 100_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long began = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    counters.transition(3L, null, EnrollmentStatus.PENDING);
+                    counters.transition(3L, EnrollmentStatus.PENDING, EnrollmentStatus.ENROLLED);
+                    if (i % 10 == 0) {
+                        counters.snapshot(3L);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - began;
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+
+        Map<EnrollmentStatus, Long> stats = counters.snapshot(3L);
+        assertEquals((long) threads * perThread, stats.get(EnrollmentStatus.ENROLLED));
+        assertEquals(0L, stats.get(EnrollmentStatus.PENDING));
+        assertEquals(1, queries);
+        System.out.printf("[UC6] ✓ %d status transitions on %d threads, %.0f ns each, 1 aggregate query%n",
+            2L * threads * perThread, threads, (double) elapsedNanos / (2L * threads * perThread));
+    }
+
+    @Test
+    @DisplayName("Snapshots of many courses load the missing ones with one query")
+    public void testBatchedSnapshots() {
+        set(1L, EnrollmentStatus.ENROLLED, 4);
+        set(2L, EnrollmentStatus.PENDING, 3);
+        EnrollmentStatsCounters counters = newCounters(60_000L);
+        counters.snapshot(1L);
+        counters.transition(1L, null, EnrollmentStatus.ENROLLED);
+
+        Map<Long, Map<EnrollmentStatus, Long>> stats = counters.snapshots(List.of(1L, 2L, 3L));
+        assertEquals(2, queries, "one load for course 1, one for courses 2 and 3 together");
+        assertEquals(List.of(1L, 2L, 3L), new ArrayList<>(stats.keySet()));
+        assertEquals(5L, (long) stats.get(1L).get(EnrollmentStatus.ENROLLED), "loaded counters are not reloaded");
+        assertEquals(3L, stats.get(2L).get(EnrollmentStatus.PENDING));
+        assertEquals(0L, (long) stats.get(3L).get(EnrollmentStatus.ENROLLED), "courses without rows are zero-filled");
+
+        counters.snapshots(List.of(1L, 2L, 3L));
+        assertEquals(2, queries);
+    }
+
+    private EnrollmentStatsCounters newCounters(long reconcileIntervalMillis) {
+        return new EnrollmentStatsCounters(new EnrollmentStatsCounters.StatsSource() {
+            @Override
+            public Map<EnrollmentStatus, Long> countByStatus(Long courseId) {
+                queries++;
+                return new EnumMap<>(table.getOrDefault(courseId, new EnumMap<>(EnrollmentStatus.class)));
+            }
+
+            @Override
+            public Map<Long, Map<EnrollmentStatus, Long>> countByStatus(Collection<Long> courseIds) {
+                queries++;
+                Map<Long, Map<EnrollmentStatus, Long>> counts = new HashMap<>();
+                for (Long courseId : courseIds) {
+                    if (table.containsKey(courseId)) {
+                        counts.put(courseId, new EnumMap<>(table.get(courseId)));
+                    }
+                }
+                return counts;
+            }
+        }, reconcileIntervalMillis);
+    }
+
+    private void set(Long courseId, EnrollmentStatus status, long count) {
+        table.computeIfAbsent(courseId, id -> new EnumMap<>(EnrollmentStatus.class)).put(status, count);
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.InstructorWorkload;
+import com.example.university.course.service.impl.InstructorWorkloadAggregator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instructor workload aggregation - UC7: Set Course Timetable
+ */
+@DisplayName("Instructor Workload Aggregator - UC7")
+public class InstructorWorkloadAggregatorTest {
+
+    private List<Course> courses;
+    private List<CourseSchedule> schedules;
+    private Map<Long, Integer> liveSeats;
+    private int termLoads;
+    private Runnable duringLoad;
+    private InstructorWorkloadAggregator aggregator;
+
+    @BeforeEach
+    public void setUp() {
+        courses = new ArrayList<>();
+        schedules = new ArrayList<>();
+        liveSeats = new HashMap<>();
+        termLoads = 0;
+        duringLoad = null;
+        aggregator = new InstructorWorkloadAggregator(new InstructorWorkloadAggregator.WorkloadSource() {
+            @Override
+            public List<Course> termCourses(String semester, String academicYear) {
+                termLoads++;
+                List<Course> term = new ArrayList<>();
+                for (Course course : courses) {
+                    if (course.getSemester().equals(semester) && course.getAcademicYear().equals(academicYear)) {
+                        term.add(course);
+                    }
+                }
+                return term;
+            }
+
+            @Override
+            public List<CourseSchedule> termSchedules(String semester, String academicYear) {
+                if (duringLoad != null) {
+                    duringLoad.run();
+                }
+                List<CourseSchedule> term = new ArrayList<>();
+                for (CourseSchedule schedule : schedules) {
+                    if (schedule.getSemester().equals(semester) && schedule.getAcademicYear().equals(academicYear)
+                            && schedule.getStatus() == CourseSchedule.ScheduleStatus.ACTIVE) {
+                        term.add(schedule);
+                    }
+                }
+                return term;
+            }
+
+            @Override
+            public int occupiedSeats(Long courseId) {
+                return liveSeats.getOrDefault(courseId, -1);
+            }
+        }, 4, 60_000L);
+
+        courses.add(course(1L, "CS101", "I1", "Ada", 3, 40));
+        courses.add(course(2L, "CS201", "I1", "Ada", 4, 25));
+        courses.add(course(3L, "MA110", "I2", "Emmy", 3, 60));
+        courses.add(course(4L, "PH100", null, null, 2, 10));
+        schedules.add(schedule(10L, 1L, null, "MONDAY", 9, 0, 10, 30));
+        schedules.add(schedule(11L, 1L, null, "WEDNESDAY", 9, 0, 10, 30));
+        schedules.add(schedule(12L, 3L, null, "TUESDAY", 13, 0, 15, 0));
+        schedules.add(schedule(13L, 4L, "I2", "FRIDAY", 8, 0, 9, 30));
+        liveSeats.put(3L, 58);
+    }
+
+    @Test
+    @DisplayName("Contact hours, headcount and credits per instructor, heaviest first")
+    public void testWorkload() {
+        List<InstructorWorkload> workloads = aggregator.workload("Fall", "2026-2027");
+
+        assertEquals(2, workloads.size());
+        InstructorWorkload emmy = workloads.get(0);
+        assertEquals("I2", emmy.getInstructorId());
+        assertEquals(3.5, emmy.getWeeklyContactHours());
+        assertEquals(2, emmy.getSessionCount());
+        assertEquals(List.of("MA110", "PH100"), emmy.getCourseCodes());
+        assertEquals(2, emmy.getCourseCount());
+        assertEquals(58, emmy.getStudentHeadcount(), "live seat counts win; PH100 has no instructor of record");
+        assertEquals(3, emmy.getCreditLoad());
+
+        InstructorWorkload ada = workloads.get(1);
+        assertEquals("Ada", ada.getInstructorName());
+        assertEquals(3.0, ada.getWeeklyContactHours());
+        assertEquals(2, ada.getCourseCount(), "an unscheduled course still counts for credits and headcount");
+        assertEquals(65, ada.getStudentHeadcount());
+        assertEquals(7, ada.getCreditLoad());
+        assertTrue(aggregator.workload("Spring", "2026-2027").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Schedule and course writes patch the cached term without reloading it")
+    public void testIncrementalUpdates() {
+        aggregator.workload("Fall", "2026-2027");
+        assertEquals(1, termLoads);
+
+        aggregator.scheduleSaved(schedule(14L, 2L, null, "THURSDAY", 14, 0, 16, 0));
+        CourseSchedule moved = schedule(12L, 3L, "I1", "TUESDAY", 13, 0, 14, 0);
+        aggregator.scheduleSaved(moved);
+        aggregator.scheduleRemoved(13L);
+        Course renamed = course(4L, "PH100", "I2", "Emmy", 2, 10);
+        renamed.setStatus(Course.CourseStatus.CANCELLED);
+        aggregator.courseSaved(renamed);
+        aggregator.courseSaved(course(5L, "CS301", "I3", "Grace", 3, 12));
+
+        List<InstructorWorkload> workloads = aggregator.workload("Fall", "2026-2027");
+        assertEquals(1, termLoads, "patched in place");
+        InstructorWorkload ada = find(workloads, "I1");
+        assertEquals(6.0, ada.getWeeklyContactHours());
+        assertEquals(List.of("CS101", "CS201", "MA110"), ada.getCourseCodes());
+        assertEquals(7, ada.getCreditLoad(), "teaching a session of MA110 does not take over its credits");
+        InstructorWorkload emmy = find(workloads, "I2");
+        assertEquals(0.0, emmy.getWeeklyContactHours());
+        assertEquals(List.of("MA110"), emmy.getCourseCodes());
+        assertEquals(0, find(workloads, "I3").getSessionCount());
+
+        aggregator.courseRemoved(3L);
+        workloads = aggregator.workload("Fall", "2026-2027");
+        assertNull(findOrNull(workloads, "I2"));
+        assertEquals(7, find(workloads, "I1").getCreditLoad());
+    }
+
+    @Test
+    @DisplayName("Shared courses count credits and headcount once, hours per session")
+    public void testSharedCourse() {
+        schedules.add(schedule(15L, 1L, "I2", "FRIDAY", 9, 0, 11, 0));
+        schedules.add(schedule(16L, 1L, "I2", "FRIDAY", 13, 0, 14, 0));
+
+        List<InstructorWorkload> workloads = aggregator.workload("Fall", "2026-2027");
+        InstructorWorkload ada = find(workloads, "I1");
+        InstructorWorkload emmy = find(workloads, "I2");
+        assertEquals(7, ada.getCreditLoad());
+        assertEquals(65, ada.getStudentHeadcount());
+        assertEquals(6.5, emmy.getWeeklyContactHours());
+        assertEquals(4, emmy.getSessionCount());
+        assertEquals(List.of("CS101", "MA110", "PH100"), emmy.getCourseCodes());
+        assertEquals(3, emmy.getCreditLoad(), "guest sessions in CS101 add hours, not credits");
+        assertEquals(58, emmy.getStudentHeadcount());
+    }
+
+    @Test
+    @DisplayName("A load racing a write is dropped only if the write touches that term or a row it read")
+    public void testRacingWrites() {
+        Course spring = course(20L, "BI100", "I4", "Rosalind", 3, 20);
+        spring.setSemester("Spring");
+        courses.add(spring);
+        Course summer = course(21L, "BI200", "I4", "Rosalind", 3, 20);
+        summer.setSemester("Summer");
+        courses.add(summer);
+
+        duringLoad = () -> aggregator.courseSaved(spring);
+        aggregator.workload("Fall", "2026-2027");
+        duringLoad = null;
+        aggregator.workload("Fall", "2026-2027");
+        assertEquals(1, termLoads, "a write to another term keeps the load");
+
+        duringLoad = () -> aggregator.scheduleRemoved(10L);
+        aggregator.workload("Spring", "2026-2027");
+        duringLoad = null;
+        aggregator.workload("Spring", "2026-2027");
+        assertEquals(2, termLoads, "a schedule the load never read does not discard it");
+
+        duringLoad = () -> aggregator.courseRemoved(21L);
+        aggregator.workload("Summer", "2026-2027");
+        duringLoad = null;
+        aggregator.workload("Summer", "2026-2027");
+        assertEquals(4, termLoads, "a row the load read changed underneath it");
+
+        Course winter = course(22L, "BI300", "I4", "Rosalind", 3, 20);
+        winter.setSemester("Winter");
+        duringLoad = () -> aggregator.courseSaved(winter);
+        aggregator.workload("Winter", "2026-2027");
+        duringLoad = null;
+        aggregator.workload("Winter", "2026-2027");
+        assertEquals(6, termLoads, "a row moved into the term while it loaded");
+    }
+
+    @Test
+    @DisplayName("Benchmark - 2,000 instructors, 6,000 courses and 18,000 sessions in one term")
+    public void testLargeTerm() {
+        courses.clear();
+        schedules.clear();
+        long scheduleId = 100;
+        for (long id = 1; id <= 6_000; id++) {
+            String instructor = "I" + (id % 2_000);
+            courses.add(course(id, "C" + id, instructor, "Instructor " + (id % 2_000), 3, 30));
+            for (int day = 0; day < 3; day++) {
+                schedules.add(schedule(scheduleId++, id, null, "DAY" + day, 8 + (int) (id % 8), 0, 9 + (int) (id % 8), 30));
+            }
+        }
+
+        long began = System.nanoTime();
+        List<InstructorWorkload> first = aggregator.workload("Fall", "2026-2027");
+        long loadNanos = System.nanoTime() - began;
+
+        int reads = 200;
+        began = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            aggregator.scheduleSaved(schedule(100L + i, 1L + i, null, "DAY0", 8, 0, 10, 0));
+            aggregator.workload("Fall", "2026-2027");
+        }
+        long perReadNanos = (System.nanoTime() - began) / reads;
+
+        assertEquals(2_000, first.size());
+        assertEquals(13.5, first.get(0).getWeeklyContactHours());
+        assertEquals(1, termLoads);
+        assertTrue(perReadNanos < 50_000_000L);
+        System.out.printf("[UC7] ✓ aggregated %d instructors from %d sessions in %.1f ms on first load%n",
+            first.size(), schedules.size(), loadNanos / 1e6);
+        System.out.printf("[UC7] ✓ patched and re-aggregated in %.2f ms per read%n", perReadNanos / 1e6);
+    }
+
+    private static InstructorWorkload find(List<InstructorWorkload> workloads, String instructorId) {
+        InstructorWorkload workload = findOrNull(workloads, instructorId);
+        assertNotNull(workload, instructorId);
+        return workload;
+    }
+
+    private static InstructorWorkload findOrNull(List<InstructorWorkload> workloads, String instructorId) {
+        for (InstructorWorkload workload : workloads) {
+            if (workload.getInstructorId().equals(instructorId)) {
+                return workload;
+            }
+        }
+        return null;
+    }
+
+    private static Course course(Long id, String code, String instructorId, String instructorName,
+                                 int credits, int enrolled) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode(code);
+        course.setInstructorId(instructorId);
+        course.setInstructorName(instructorName);
+        course.setCredits(credits);
+        course.setCurrentEnrollment(enrolled);
+        course.setSemester("Fall");
+        course.setAcademicYear("2026-2027");
+        return course;
+    }
+
+    private static CourseSchedule schedule(Long id, Long courseId, String instructorId, String day,
+                                           int fromHour, int fromMinute, int toHour, int toMinute) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.setId(id);
+        schedule.setCourseId(courseId);
+        schedule.setCourseCode("C" + courseId);
+        schedule.setInstructorId(instructorId);
+        schedule.setDayOfWeek(day);
+        schedule.setStartTime(LocalTime.of(fromHour, fromMinute));
+        schedule.setEndTime(LocalTime.of(toHour, toMinute));
+        schedule.setSemester("Fall");
+        schedule.setAcademicYear("2026-2027");
+        return schedule;
+    }
+}
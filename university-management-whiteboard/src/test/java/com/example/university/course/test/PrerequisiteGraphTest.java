@@ -0,0 +1,402 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.CoursePrerequisite;
+import com.example.university.course.service.impl.PrerequisiteGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prerequisite graph - UC8: Check Course Prerequisites
+ * Runs against an in-memory prerequisite source, no Karaf or database required
+ */
+@DisplayName("Prerequisite Graph - UC8")
+public class PrerequisiteGraphTest {
+
+    private List<CoursePrerequisite> prerequisites;
+    private Map<Long, String> catalog;
+    private Map<String, List<String>> completed;
+    private AtomicInteger completionLoads;
+    private PrerequisiteGraph graph;
+
+    @BeforeEach
+    public void setUp() {
+        prerequisites = new ArrayList<>();
+        catalog = new HashMap<>();
+        completed = new HashMap<>();
+        completionLoads = new AtomicInteger();
+        graph = new PrerequisiteGraph(new PrerequisiteGraph.PrerequisiteSource() {
+            @Override
+            public List<CoursePrerequisite> allPrerequisites() {
+                return new ArrayList<>(prerequisites);
+            }
+
+            @Override
+            public Map<Long, String> courseCodes() {
+                return catalog;
+            }
+
+            @Override
+            public Collection<String> completedCourseCodes(String studentId) {
+                completionLoads.incrementAndGet();
+                return completed.getOrDefault(studentId, new ArrayList<>());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Only unmet mandatory prerequisites are reported")
+    public void testMissingPrerequisites() {
+        prerequisites.add(prerequisite(1L, 3L, "CS301", "CS101", true));
+        prerequisites.add(prerequisite(2L, 3L, "CS301", "CS201", true));
+        prerequisites.add(prerequisite(3L, 3L, "CS301", "MA101", false));
+        completed.put("S1", List.of("CS101"));
+
+        List<PrerequisiteGraph.Requirement> missing = graph.missingPrerequisites("S1", 3L);
+        assertEquals(1, missing.size());
+        assertEquals("CS201", missing.get(0).getPrerequisiteCourseCode());
+        assertFalse(graph.hasMetPrerequisites("S1", 3L));
+        assertTrue(graph.hasMetPrerequisites("S1", 99L));
+    }
+
+    @Test
+    @DisplayName("Completions are loaded once per student until invalidated")
+    public void testCompletionsCachedUntilInvalidated() {
+        prerequisites.add(prerequisite(1L, 3L, "CS301", "CS101", true));
+
+        assertFalse(graph.hasMetPrerequisites("S1", 3L));
+        assertFalse(graph.hasMetPrerequisites("S1", 3L));
+        assertEquals(1, completionLoads.get());
+
+        completed.put("S1", List.of("CS101"));
+        graph.invalidateStudent("S1");
+        assertTrue(graph.hasMetPrerequisites("S1", 3L));
+        assertEquals(2, completionLoads.get());
+    }
+
+    @Test
+    @DisplayName("Graph is patched on add, update and delete without reloading")
+    public void testIncrementalUpdates() {
+        prerequisites.add(prerequisite(1L, 3L, "CS301", "CS101", true));
+        completed.put("S1", List.of("CS101"));
+        assertTrue(graph.hasMetPrerequisites("S1", 3L));
+
+        CoursePrerequisite added = prerequisite(2L, 3L, "CS301", "CS201", true);
+        graph.addPrerequisite(added);
+        assertFalse(graph.hasMetPrerequisites("S1", 3L));
+
+        added.setIsMandatory(false);
+        graph.addPrerequisite(added);
+        assertTrue(graph.hasMetPrerequisites("S1", 3L));
+
+        graph.removePrerequisite(1L);
+        completed.put("S2", new ArrayList<>());
+        assertTrue(graph.hasMetPrerequisites("S2", 3L));
+    }
+
+    @Test
+    @DisplayName("Eligible courses need the whole transitive chain passed")
+    public void testEligibleCourses() {
+        catalog.put(1L, "CS101");
+        catalog.put(2L, "CS201");
+        catalog.put(3L, "CS301");
+        catalog.put(4L, "MA101");
+        prerequisites.add(prerequisite(1L, 2L, "CS201", "CS101", true));
+        prerequisites.add(prerequisite(2L, 3L, "CS301", "CS201", true));
+        completed.put("S1", List.of("CS101"));
+
+        assertEquals(List.of("CS201", "MA101"), graph.eligibleCourses("S1"));
+        assertEquals(List.of("CS101", "MA101"), graph.eligibleCourses("S2"));
+
+        graph.registerCourse(5L, "CS105");
+        assertEquals(List.of("CS105", "CS201", "MA101"), graph.eligibleCourses("S1"));
+    }
+
+    @Test
+    @DisplayName("Remaining path groups missing courses into the fewest terms")
+    public void testRemainingPath() {
+        catalog.put(1L, "CS101");
+        catalog.put(2L, "MA101");
+        catalog.put(3L, "CS201");
+        catalog.put(4L, "CS202");
+        catalog.put(5L, "CS401");
+        prerequisites.add(prerequisite(1L, 3L, "CS201", "CS101", true));
+        prerequisites.add(prerequisite(2L, 4L, "CS202", "CS101", true));
+        prerequisites.add(prerequisite(3L, 4L, "CS202", "MA101", true));
+        prerequisites.add(prerequisite(4L, 5L, "CS401", "CS201", true));
+        prerequisites.add(prerequisite(5L, 5L, "CS401", "CS202", true));
+        completed.put("S1", List.of("MA101"));
+
+        List<List<String>> path = graph.remainingPath("S1", 5L);
+        assertEquals(List.of(List.of("CS101"), List.of("CS201", "CS202"), List.of("CS401")), path);
+
+        completed.put("S2", List.of("CS101", "MA101", "CS201", "CS202", "CS401"));
+        assertTrue(graph.remainingPath("S2", 5L).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> graph.remainingPath("S1", 99L));
+
+        graph.removePrerequisite(5L);
+        assertEquals(List.of(List.of("CS101"), List.of("CS201"), List.of("CS401")),
+            graph.remainingPath("S1", 5L));
+    }
+
+    @Test
+    @DisplayName("Benchmark - advising queries for every advisee stay under a millisecond")
+    public void testAdvisingQueriesPerStudent() {
+        int levels = 6;
+        int perLevel = 500;
+        int courses = levels * perLevel;
+        Random random = new Random(11);
+        for (long c = 0; c < courses; c++) {
+            catalog.put(c, "C" + c);
+            long level = c / perLevel;
+            for (int p = 0; p < 3 && level > 0; p++) {
+                long required = (level - 1) * perLevel + random.nextInt(perLevel);
+                prerequisites.add(prerequisite(c * 10 + p, c, "C" + c, "C" + required, true));
+            }
+        }
+        int students = 2_000;
+        for (int s = 0; s < students; s++) {
+            List<String> passed = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                passed.add("C" + random.nextInt(2 * perLevel));
+            }
+            completed.put("S" + s, passed);
+        }
+        int eligible = 0;
+        int terms = 0;
+        double perStudentMillis = Double.MAX_VALUE;
+        for (int pass = 0; pass < 2; pass++) {
+            eligible = 0;
+            terms = 0;
+            long began = System.nanoTime();
+            for (int s = 0; s < students; s++) {
+                eligible += graph.eligibleCourses("S" + s).size();
+                terms += graph.remainingPath("S" + s, (long) (s * 7 % courses)).size();
+            }
+            perStudentMillis = Math.min(perStudentMillis, (System.nanoTime() - began) / 1e6 / students);
+        }
+
+        assertTrue(eligible > 0);
+        assertTrue(perStudentMillis < 1.0, perStudentMillis + " ms per student");
+        System.out.printf("[UC8] ✓ %d advisees over %d courses: eligible list + path in %.3f ms per student "
+            + "(avg %.1f eligible, %.1f terms)%n", students, courses, perStudentMillis,
+            (double) eligible / students, (double) terms / students);
+    }
+
+    @Test
+    @DisplayName("Cohort matrix agrees with single checks for every pair")
+    public void testCohortEligibilityMatrix() {
+        Random random = new Random(7);
+        int courses = 300;
+        for (long c = 1; c < courses; c++) {
+            prerequisites.add(prerequisite(c * 10, c, "C" + c, "C" + random.nextInt((int) c), true));
+            prerequisites.add(prerequisite(c * 10 + 1, c, "C" + c, "C" + random.nextInt((int) c), true));
+        }
+        List<List<String>> cohort = new ArrayList<>();
+        for (int s = 0; s < 2_000; s++) {
+            List<String> passed = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                passed.add("C" + random.nextInt(courses));
+            }
+            completed.put("S" + s, passed);
+            cohort.add(passed);
+        }
+        List<Long> courseIds = new ArrayList<>();
+        for (long c = 0; c < courses; c += 3) {
+            courseIds.add(c);
+        }
+
+        long began = System.nanoTime();
+        List<String> rows = graph.eligibilityMatrix(cohort, courseIds);
+        long elapsedNanos = System.nanoTime() - began;
+
+        assertEquals(cohort.size(), rows.size());
+        for (int s = 0; s < cohort.size(); s++) {
+            for (int j = 0; j < courseIds.size(); j++) {
+                assertEquals(graph.hasMetPrerequisites("S" + s, courseIds.get(j)), rows.get(s).charAt(j) == '1');
+            }
+        }
+        System.out.printf("[UC8] ✓ %d x %d cohort matrix in %.1f ms%n",
+            cohort.size(), courseIds.size(), elapsedNanos / 1e6);
+    }
+
+    @Test
+    @DisplayName("Dependents are found transitively, nearest first, and follow graph edits")
+    public void testDependents() {
+        catalog.put(1L, "CS101");
+        catalog.put(2L, "CS201");
+        catalog.put(3L, "CS301");
+        catalog.put(4L, "MA101");
+        catalog.put(5L, "CS401");
+        prerequisites.add(prerequisite(1L, 2L, "CS201", "CS101", true));
+        prerequisites.add(prerequisite(2L, 3L, "CS301", "CS201", true));
+        prerequisites.add(prerequisite(3L, 5L, "CS401", "CS301", false));
+        prerequisites.add(prerequisite(4L, 5L, "CS401", "MA101", true));
+        prerequisites.add(prerequisite(5L, 1L, "CS101", "CS401", false));
+
+        List<PrerequisiteGraph.Dependent> dependents = graph.dependents(1L);
+        assertEquals(List.of("CS201", "CS301", "CS401"), codes(dependents));
+        assertEquals(1, dependents.get(0).getDepth());
+        assertEquals(3, dependents.get(2).getDepth());
+        assertTrue(dependents.get(1).isMandatory());
+        assertFalse(dependents.get(2).isMandatory(), "only reachable through an optional edge");
+        assertEquals(List.of("CS401", "CS101", "CS201", "CS301"), codes(graph.dependents(4L)));
+        assertTrue(graph.dependents(5L).size() == 3, "cycle back through CS101 stops at the start");
+
+        graph.addPrerequisite(prerequisite(6L, 4L, "MA101", "CS201", true));
+        assertEquals(List.of("CS301", "MA101", "CS401", "CS101"), codes(graph.dependents(2L)));
+        assertTrue(graph.dependents(2L).get(2).isMandatory());
+        graph.removePrerequisite(6L);
+        graph.removePrerequisite(2L);
+        assertTrue(graph.dependents(2L).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> graph.dependents(99L));
+
+        graph.removeCourse(5L);
+        assertEquals(List.of("CS201"), codes(graph.dependents(1L)), "a deleted course is no longer a dependent");
+        assertTrue(graph.dependents(4L).isEmpty(), "the requirements CS401 listed went with it");
+        assertThrows(IllegalArgumentException.class, () -> graph.dependents(5L));
+    }
+
+    @Test
+    @DisplayName("Benchmark - transitive impact of foundation courses in a 5k-course catalog")
+    public void testDependentsLatency() {
+        int courses = 5_000;
+        Random random = new Random(7);
+        long id = 1;
+        for (long c = 0; c < courses; c++) {
+            catalog.put(c, "C" + c);
+            int prereqs = c < 50 ? 0 : 1 + random.nextInt(3);
+            for (int p = 0; p < prereqs; p++) {
+                long required = Math.max(0, c - 1 - random.nextInt((int) Math.min(c, 400)));
+                prerequisites.add(prerequisite(id++, c, "C" + c, "C" + required, random.nextInt(4) > 0));
+            }
+        }
+        graph.dependents(0L);
+
+        int runs = 2_000;
+        long[] latencies = new long[runs];
+        int largest = 0;
+        for (int i = 0; i < runs; i++) {
+            long course = random.nextInt(200);
+            long start = System.nanoTime();
+            largest = Math.max(largest, graph.dependents(course).size());
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        double p99 = latencies[runs * 99 / 100] / 1e6;
+
+        assertTrue(largest > 1_000);
+        assertTrue(p99 < 50.0, "p99 " + p99 + " ms");
+        System.out.printf("[UC8] ✓ impact walks over %d edges: up to %d dependents, p50 %.2f ms, p99 %.2f ms%n",
+            prerequisites.size(), largest, latencies[runs / 2] / 1e6, p99);
+    }
+
+    private static List<String> codes(List<PrerequisiteGraph.Dependent> dependents) {
+        List<String> codes = new ArrayList<>();
+        for (PrerequisiteGraph.Dependent dependent : dependents) {
+            codes.add(dependent.getCourseCode());
+        }
+        return codes;
+    }
+
+    /**
+     * No database runs in the unit suite, so both paths are compared by the JPQL round
+     * trips they issue, priced at benchmark.roundTripMicros (default 250 µs, a PostgreSQL
+     * server on the local network). The per-prerequisite path is the query sequence of
+     * the former validateStudentPrerequisites: the course's prerequisites, then one
+     * EXISTS query per mandatory prerequisite until one is missing. The graph path pays
+     * the two completion queries (enrollments and exam grades) once per student.
+     */
+    @Test
+    @DisplayName("Benchmark - bitset check against the per-prerequisite query path")
+    public void testBenchmarkAgainstPerPrerequisiteQueries() {
+        long roundTripMicros = Long.getLong("benchmark.roundTripMicros", 250L);
+        int courses = 2_000;
+        int students = 5_000;
+        int prereqsPerCourse = 4;
+        Random random = new Random(42);
+        for (long c = prereqsPerCourse; c < courses; c++) {
+            for (int p = 0; p < prereqsPerCourse; p++) {
+                long required = random.nextInt((int) c);
+                prerequisites.add(prerequisite(c * 10 + p, c, "C" + c, "C" + required, true));
+            }
+        }
+        for (int s = 0; s < students; s++) {
+            List<String> passed = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                passed.add("C" + random.nextInt(courses));
+            }
+            completed.put("S" + s, passed);
+        }
+        Map<Long, List<CoursePrerequisite>> byCourse = new HashMap<>();
+        for (CoursePrerequisite prereq : prerequisites) {
+            byCourse.computeIfAbsent(prereq.getCourseId(), id -> new ArrayList<>()).add(prereq);
+        }
+
+        int checks = 200_000;
+        long[] courseIds = new long[checks];
+        String[] studentIds = new String[checks];
+        for (int i = 0; i < checks; i++) {
+            courseIds[i] = prereqsPerCourse + random.nextInt(courses - prereqsPerCourse);
+            studentIds[i] = "S" + random.nextInt(students);
+        }
+
+        long queryPathRoundTrips = 0;
+        int queryPathMet = 0;
+        for (int i = 0; i < checks; i++) {
+            boolean met = true;
+            queryPathRoundTrips++;
+            for (CoursePrerequisite prereq : byCourse.get(courseIds[i])) {
+                queryPathRoundTrips++;
+                if (!completed.get(studentIds[i]).contains(prereq.getPrerequisiteCourseCode())) {
+                    met = false;
+                    break;
+                }
+            }
+            queryPathMet += met ? 1 : 0;
+        }
+
+        int graphMet = 0;
+        for (int i = 0; i < checks; i++) {
+            graphMet += graph.hasMetPrerequisites(studentIds[i], courseIds[i]) ? 1 : 0;
+        }
+        int completionLoadsAfterCold = completionLoads.get();
+        long graphRoundTrips = 1L + 2L * completionLoadsAfterCold;
+
+        long began = System.nanoTime();
+        for (int i = 0; i < checks; i++) {
+            graph.hasMetPrerequisites(studentIds[i], courseIds[i]);
+        }
+        long graphNanos = System.nanoTime() - began;
+
+        assertEquals(queryPathMet, graphMet);
+        assertTrue(completionLoadsAfterCold <= students);
+        assertEquals(completionLoadsAfterCold, completionLoads.get(), "warm pass must not reload");
+        System.out.printf("[UC8] ✓ %d checks: per-prerequisite path issues %d queries (~%.1f s at %d µs), "
+            + "bitset graph issues %d (~%.1f s) and then answers warm in %.1f ms%n",
+            checks, queryPathRoundTrips, queryPathRoundTrips * roundTripMicros / 1e6, roundTripMicros,
+            graphRoundTrips, graphRoundTrips * roundTripMicros / 1e6, graphNanos / 1e6);
+    }
+
+    private static CoursePrerequisite prerequisite(Long id, Long courseId, String courseCode,
+                                                   String prerequisiteCode, boolean mandatory) {
+        CoursePrerequisite prerequisite = new CoursePrerequisite();
+        prerequisite.setId(id);
+        prerequisite.setCourseId(courseId);
+        prerequisite.setCourseCode(courseCode);
+        prerequisite.setPrerequisiteCourseCode(prerequisiteCode);
+        prerequisite.setPrerequisiteCourseName(prerequisiteCode);
+        prerequisite.setIsMandatory(mandatory);
+        return prerequisite;
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.ScheduleClash;
+import com.example.university.course.service.impl.ScheduleIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Schedule interval index - UC7: Set Course Timetable
+ * Runs against an in-memory schedule source, no Karaf or database required
+ */
+@DisplayName("Schedule Interval Index - UC7")
+public class ScheduleIndexTest {
+
+    private List<CourseSchedule> persisted;
+    private ScheduleIndex index;
+    private long nextId;
+
+    @BeforeEach
+    public void setUp() {
+        persisted = new ArrayList<>();
+        nextId = 1;
+        index = new ScheduleIndex(new ScheduleIndex.ScheduleSource() {
+            @Override
+            public List<CourseSchedule> activeSchedules() {
+                return new ArrayList<>(persisted);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Overlapping venue or instructor bookings are rejected")
+    public void testRejectsOverlaps() {
+        add(schedule("CS101", "Monday", "09:00", "10:30", "LT1", "I1"));
+
+        assertThrows(IllegalStateException.class,
+            () -> add(schedule("CS102", "MONDAY", "10:00", "11:00", "LT1", "I2")));
+        assertThrows(IllegalStateException.class,
+            () -> add(schedule("CS103", "Monday", "08:00", "09:30", "LT2", "I1")));
+
+        add(schedule("CS104", "Monday", "10:30", "12:00", "LT1", "I1"));
+        add(schedule("CS105", "Tuesday", "09:00", "10:30", "LT1", "I1"));
+        CourseSchedule otherTerm = schedule("CS106", "Monday", "09:00", "10:30", "LT1", "I1");
+        otherTerm.setSemester("SPRING");
+        add(otherTerm);
+    }
+
+    @Test
+    @DisplayName("Updates do not clash with themselves and free their old slot")
+    public void testUpdateMovesSlot() {
+        CourseSchedule first = add(schedule("CS101", "Monday", "09:00", "10:00", "LT1", "I1"));
+
+        CourseSchedule moved = schedule("CS101", "Monday", "09:30", "10:30", "LT1", "I1");
+        moved.setId(first.getId());
+        index.commit(index.reserve(moved), moved.getId());
+
+        add(schedule("CS102", "Monday", "08:30", "09:30", "LT1", "I2"));
+        assertThrows(IllegalStateException.class,
+            () -> add(schedule("CS103", "Monday", "10:00", "11:00", "LT1", "I3")));
+
+        index.release(first.getId());
+        add(schedule("CS103", "Monday", "10:00", "11:00", "LT1", "I3"));
+    }
+
+    @Test
+    @DisplayName("Cancelled reservations and legacy overlaps are handled")
+    public void testCancelAndLegacyOverlaps() {
+        CourseSchedule legacyA = schedule("CS201", "Friday", "08:00", "12:00", "LT9", null);
+        legacyA.setId(100L);
+        CourseSchedule legacyB = schedule("CS202", "Friday", "09:00", "10:00", "LT9", null);
+        legacyB.setId(101L);
+        persisted.add(legacyA);
+        persisted.add(legacyB);
+
+        assertThrows(IllegalStateException.class,
+            () -> add(schedule("CS203", "Friday", "11:00", "13:00", "LT9", null)));
+
+        ScheduleIndex.Booking booking = index.reserve(schedule("CS204", "Friday", "12:00", "13:00", "LT9", null));
+        index.cancel(booking);
+        add(schedule("CS205", "Friday", "12:00", "13:00", "LT9", null));
+
+        List<ScheduleClash> clashes = ScheduleIndex.findClashes(persisted);
+        assertEquals(1, clashes.size());
+        assertEquals(ScheduleClash.ClashType.VENUE, clashes.get(0).getClashType());
+        assertEquals(LocalTime.of(9, 0), clashes.get(0).getOverlapStart());
+        assertEquals(LocalTime.of(10, 0), clashes.get(0).getOverlapEnd());
+    }
+
+    @Test
+    @DisplayName("A rolled-back reservation leaves no venue and no slot behind")
+    public void testRolledBackReservation() {
+        CourseSchedule ghost = schedule("CS301", "Thursday", "09:00", "17:00", "HALL", "I1");
+        ghost.setCapacity(500);
+        ScheduleIndex.Booking booking = index.reserve(ghost);
+        // a pending reservation already holds its slots
+        assertThrows(IllegalStateException.class,
+            () -> index.reserve(schedule("CS302", "Thursday", "10:00", "11:00", "HALL", "I2")));
+
+        index.cancel(booking);
+        assertFalse(index.knownVenues().containsKey("HALL"));
+        add(schedule("CS302", "Thursday", "10:00", "11:00", "HALL", "I2"));
+        assertEquals(0, index.knownVenues().get("HALL"));
+    }
+
+    @Test
+    @DisplayName("Lookups stay exact after the longest slot of a track is removed")
+    public void testLongestSlotShrinks() {
+        CourseSchedule allDay = add(schedule("CS401", "Friday", "08:00", "18:00", "LT5", null));
+        add(schedule("CS402", "Friday", "19:00", "20:00", "LT5", null));
+        index.release(allDay.getId());
+
+        add(schedule("CS403", "Friday", "09:00", "10:00", "LT5", null));
+        assertThrows(IllegalStateException.class,
+            () -> add(schedule("CS404", "Friday", "19:30", "21:00", "LT5", null)));
+        add(schedule("CS405", "Friday", "20:00", "21:00", "LT5", null));
+    }
+
+    @Test
+    @DisplayName("Free rooms follow bookings at 15-minute granularity")
+    public void testFreeVenues() {
+        CourseSchedule lecture = schedule("CS101", "Tuesday", "14:00", "15:10", "LT1", "I1");
+        lecture.setCapacity(120);
+        add(lecture);
+        CourseSchedule lab = schedule("CS102", "Monday", "09:00", "11:00", "LAB1", "I2");
+        lab.setCapacity(30);
+        add(lab);
+        CourseSchedule seminar = schedule("CS103", "Wednesday", "09:00", "10:00", "SR1", "I3");
+        seminar.setCapacity(60);
+        add(seminar);
+
+        Map<String, Integer> free = index.freeVenues("FALL", "2025-2026", "TUESDAY",
+            LocalTime.of(14, 0), LocalTime.of(16, 0), 40);
+        assertEquals(List.of("SR1"), new ArrayList<>(free.keySet()));
+
+        free = index.freeVenues("FALL", "2025-2026", "tuesday", LocalTime.of(15, 15), LocalTime.of(16, 0), 40);
+        assertEquals(List.of("LT1", "SR1"), new ArrayList<>(free.keySet()));
+        assertEquals(120, free.get("LT1"));
+
+        index.release(lecture.getId());
+        free = index.freeVenues("FALL", "2025-2026", "TUESDAY", LocalTime.of(14, 0), LocalTime.of(16, 0), 0);
+        assertEquals(List.of("LAB1", "LT1", "SR1"), new ArrayList<>(free.keySet()));
+
+        assertThrows(IllegalArgumentException.class, () -> index.freeVenues("FALL", "2025-2026", "Someday",
+            LocalTime.of(9, 0), LocalTime.of(10, 0), 0));
+    }
+
+    @Test
+    @DisplayName("A reload replaces committed bookings and keeps pending reservations")
+    public void testReload() {
+        add(schedule("CS101", "Monday", "09:00", "10:00", "LT1", "I1"));
+        CourseSchedule moved = add(schedule("CS102", "Monday", "09:00", "10:00", "LT2", "I2"));
+        index.reserve(schedule("CS103", "Monday", "09:00", "10:00", "LT3", "I3"));
+
+        CourseSchedule movedNow = schedule("CS102", "Monday", "11:00", "12:00", "LT2", "I2");
+        movedNow.setId(moved.getId());
+        CourseSchedule added = schedule("CS104", "Monday", "13:00", "14:00", "LT1", "I4");
+        added.setId(99L);
+        index.reload(List.of(movedNow, added));
+
+        add(schedule("CS201", "Monday", "09:00", "10:00", "LT1", "I5"));
+        add(schedule("CS202", "Monday", "09:00", "10:00", "LT2", "I6"));
+        // the pending reservation survives the reload
+        assertThrows(IllegalStateException.class,
+            () -> add(schedule("CS203", "Monday", "09:30", "10:30", "LT3", "I7")));
+        assertThrows(IllegalStateException.class,
+            () -> add(schedule("CS204", "Monday", "11:30", "12:30", "LT2", "I8")));
+        assertThrows(IllegalStateException.class,
+            () -> add(schedule("CS205", "Monday", "13:30", "14:30", "LT1", "I9")));
+    }
+
+    @Test
+    @DisplayName("Benchmark - 20k bookings checked against a full term")
+    public void testBookingThroughput() {
+        Random random = new Random(5);
+        String[] days = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"};
+        int attempts = 20_000;
+        int accepted = 0;
+        long began = System.nanoTime();
+        for (int i = 0; i < attempts; i++) {
+            int start = 8 * 60 + random.nextInt(40) * 15;
+            CourseSchedule candidate = schedule("C" + i, days[random.nextInt(days.length)],
+                LocalTime.of(start / 60, start % 60).toString(),
+                LocalTime.of((start + 90) / 60, (start + 90) % 60).toString(),
+                "R" + random.nextInt(200), "I" + random.nextInt(400));
+            try {
+                add(candidate);
+                accepted++;
+            } catch (IllegalStateException e) {
+                // clash, expected for a dense random term
+            }
+        }
+        long elapsedNanos = System.nanoTime() - began;
+
+        int queries = 10_000;
+        int found = 0;
+        began = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            int start = 8 * 60 + random.nextInt(36) * 15;
+            found += index.freeVenues("FALL", "2025-2026", days[random.nextInt(days.length)],
+                LocalTime.of(start / 60, start % 60), LocalTime.of((start + 120) / 60, (start + 120) % 60), 0).size();
+        }
+        long queryNanos = System.nanoTime() - began;
+
+        assertTrue(accepted > 0);
+        assertTrue(ScheduleIndex.findClashes(persisted).isEmpty());
+        System.out.printf("[UC7] ✓ %d booking attempts, %d accepted without clashes, %.2f µs per check%n",
+            attempts, accepted, elapsedNanos / 1e3 / attempts);
+        System.out.printf("[UC7] ✓ %d free-room searches over 200 venues, %.2f µs each (avg %.1f free)%n",
+            queries, queryNanos / 1e3 / queries, (double) found / queries);
+    }
+
+    private CourseSchedule add(CourseSchedule schedule) {
+        ScheduleIndex.Booking booking = index.reserve(schedule);
+        schedule.setId(nextId++);
+        index.commit(booking, schedule.getId());
+        persisted.add(schedule);
+        return schedule;
+    }
+
+    private static CourseSchedule schedule(String courseCode, String day, String start, String end,
+                                           String venue, String instructorId) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.setCourseCode(courseCode);
+        schedule.setDayOfWeek(day);
+        schedule.setStartTime(LocalTime.parse(start));
+        schedule.setEndTime(LocalTime.parse(end));
+        schedule.setVenue(venue);
+        schedule.setInstructorId(instructorId);
+        schedule.setSemester("FALL");
+        schedule.setAcademicYear("2025-2026");
+        return schedule;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.university.course.test;
+
+import com.example.university.course.service.impl.SeatReservationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seat reservation engine - UC6: Manage Course Enrollment
+ * Runs against an in-memory seat source, no Karaf or database required
+ */
+@DisplayName("Seat Reservation Engine - UC6")
+public class SeatReservationEngineTest {
+
+    private static final Long COURSE_ID = 1L;
+
+    private int capacity;
+    private int occupied;
+    private SeatReservationEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        capacity = 3;
+        occupied = 0;
+        engine = new SeatReservationEngine(new SeatReservationEngine.SeatSource() {
+            @Override
+            public int capacity(Long courseId) {
+                return COURSE_ID.equals(courseId) ? capacity : -1;
+            }
+
+            @Override
+            public int occupied(Long courseId) {
+                return occupied;
+            }
+        }, 0L);
+    }
+
+    @Test
+    @DisplayName("Reserve refuses once the course is full")
+    public void testReserveRefusesWhenFull() {
+        assertTrue(engine.tryReserve(COURSE_ID));
+        assertTrue(engine.tryReserve(COURSE_ID));
+        assertTrue(engine.tryReserve(COURSE_ID));
+        assertFalse(engine.tryReserve(COURSE_ID));
+        assertFalse(engine.hasAvailableSeat(COURSE_ID));
+
+        engine.release(COURSE_ID);
+        assertTrue(engine.tryReserve(COURSE_ID));
+    }
+
+    @Test
+    @DisplayName("Counter is seeded from persisted enrollments")
+    public void testSeededFromSource() {
+        occupied = 2;
+        assertEquals(2, engine.getOccupiedSeats(COURSE_ID));
+        assertTrue(engine.tryReserve(COURSE_ID));
+        assertFalse(engine.tryReserve(COURSE_ID));
+    }
+
+    @Test
+    @DisplayName("Unknown course has no seats")
+    public void testUnknownCourse() {
+        assertFalse(engine.tryReserve(99L));
+        assertFalse(engine.hasAvailableSeat(99L));
+    }
+
+    @Test
+    @DisplayName("Capacity cut below current enrollment keeps seats closed until enough drops")
+    public void testCapacityReduction() {
+        capacity = 5;
+        for (int i = 0; i < 4; i++) {
+            assertTrue(engine.tryReserve(COURSE_ID));
+        }
+        engine.updateCapacity(COURSE_ID, 2);
+        assertFalse(engine.tryReserve(COURSE_ID));
+
+        engine.release(COURSE_ID);
+        engine.release(COURSE_ID);
+        assertFalse(engine.tryReserve(COURSE_ID));
+        engine.release(COURSE_ID);
+        assertTrue(engine.tryReserve(COURSE_ID));
+        assertEquals(2, engine.getOccupiedSeats(COURSE_ID));
+
+        engine.updateCapacity(COURSE_ID, 4);
+        assertEquals(2, engine.getAvailableSeats(COURSE_ID));
+    }
+
+    @Test
+    @DisplayName("Reconciliation is claimed once per interval")
+    public void testReconciliationClaim() {
+        SeatReservationEngine slow = new SeatReservationEngine(new SeatReservationEngine.SeatSource() {
+            @Override
+            public int capacity(Long courseId) {
+                return 10;
+            }
+
+            @Override
+            public int occupied(Long courseId) {
+                return 0;
+            }
+        }, 60_000L);
+        assertTrue(slow.tryReserve(COURSE_ID));
+        assertEquals(-1, slow.claimReconciliation(COURSE_ID));
+
+        assertTrue(engine.tryReserve(COURSE_ID));
+        assertEquals(1, engine.claimReconciliation(COURSE_ID));
+    }
+
+    @Test
+    @DisplayName("Only courses changed since their last write-back are due")
+    public void testDueForReconciliation() {
+        assertTrue(engine.dueForReconciliation().isEmpty());
+        assertTrue(engine.tryReserve(COURSE_ID));
+        assertEquals(List.of(COURSE_ID), engine.dueForReconciliation());
+        assertEquals(1, engine.claimReconciliation(COURSE_ID));
+        assertTrue(engine.dueForReconciliation().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A seat released by a rolled-back drop is taken back, or owed if already resold")
+    public void testReclaim() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(engine.tryReserve(COURSE_ID));
+        }
+        engine.release(COURSE_ID);
+        engine.reclaim(COURSE_ID);
+        assertEquals(3, engine.getOccupiedSeats(COURSE_ID));
+        assertFalse(engine.tryReserve(COURSE_ID));
+
+        engine.release(COURSE_ID);
+        assertTrue(engine.tryReserve(COURSE_ID), "the freed seat was resold before the rollback");
+        engine.reclaim(COURSE_ID);
+        assertEquals(4, engine.getOccupiedSeats(COURSE_ID));
+        engine.release(COURSE_ID);
+        assertFalse(engine.hasAvailableSeat(COURSE_ID), "the first release pays the debt");
+    }
+
+    @Test
+    @DisplayName("Benchmark - 10k concurrent enrollers for a single course")
+    public void testConcurrentEnrollersNeverOversubscribe() throws Exception {
+        capacity = 500;
+        int enrollers = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(enrollers);
+        AtomicInteger granted = new AtomicInteger();
+
+        for (int i = 0; i < enrollers; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    if (engine.tryReserve(COURSE_ID)) {
+                        granted.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        long elapsedNanos = System.nanoTime() - began;
+        pool.shutdown();
+
+        assertEquals(500, granted.get());
+        assertEquals(500, engine.getOccupiedSeats(COURSE_ID));
+        assertFalse(engine.tryReserve(COURSE_ID));
+        System.out.printf("[UC6] ✓ %d enrollers, %d seats granted in %.2f ms (%.0f reservations/s)%n",
+            enrollers, granted.get(), elapsedNanos / 1_000_000.0, enrollers * 1_000_000_000.0 / elapsedNanos);
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.SectionAssignment;
+import com.example.university.course.model.SectionAssignmentReport;
+import com.example.university.course.service.impl.SectionAssignmentSolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Lab and tutorial section assignment - UC7: Set Course Timetable
+ */
+@DisplayName("Section Assignment Solver - UC7")
+public class SectionAssignmentSolverTest {
+
+    @Test
+    @DisplayName("Capacities are respected, students spread evenly and overflow is reported")
+    public void testCapacityAndBalance() {
+        List<String> students = students(10);
+        SectionAssignmentSolver solver = new SectionAssignmentSolver(new HashMap<>());
+
+        SectionAssignmentSolver.CourseSolution even = solver.solve(new SectionAssignmentSolver.CourseProblem(1L,
+            List.of(section(11L, "Lab", "MONDAY", 9, 6), section(12L, "LAB", "TUESDAY", 9, 6)), students));
+        assertEquals(10, even.getAssignments().size());
+        assertEquals(5, count(even.getAssignments(), 11L));
+        assertEquals(5, count(even.getAssignments(), 12L));
+
+        SectionAssignmentSolver.CourseSolution full = solver.solve(new SectionAssignmentSolver.CourseProblem(1L,
+            List.of(section(11L, "LAB", "MONDAY", 9, 2), section(12L, "LAB", "TUESDAY", 9, 2),
+                section(13L, "LAB", "FRIDAY", 9, 2), section(14L, "LECTURE", "FRIDAY", 14, 2)), students));
+        SectionAssignmentReport.CourseSections summary = full.getSummaries().get(0);
+        assertEquals(1, full.getSummaries().size(), "lectures are not sections");
+        assertEquals(3, summary.getSections());
+        assertEquals(6, summary.getAssigned());
+        assertEquals(4, summary.getUnassignedStudents().size());
+    }
+
+    @Test
+    @DisplayName("Sections clashing with a student's classes, or with their lab, are avoided")
+    public void testClashAvoidance() {
+        List<String> students = students(6);
+        Map<String, List<CourseSchedule>> classes = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            classes.put(students.get(i), List.of(section(900L, "LECTURE", "monday ", 10, 0)));
+        }
+        SectionAssignmentSolver solver = new SectionAssignmentSolver(classes);
+
+        SectionAssignmentSolver.CourseSolution solution = solver.solve(new SectionAssignmentSolver.CourseProblem(1L,
+            List.of(section(21L, "LAB", "MONDAY", 9, 3), section(22L, "LAB", "WEDNESDAY", 9, 3),
+                section(31L, "TUTORIAL", "WEDNESDAY", 10, 3), section(32L, "TUTORIAL", "THURSDAY", 9, 3)),
+            students));
+
+        for (SectionAssignment assignment : solution.getAssignments()) {
+            boolean busyMonday = students.indexOf(assignment.getStudentId()) < 3;
+            if (assignment.getSectionType().equals("LAB")) {
+                assertEquals(busyMonday ? 22L : 21L, (long) assignment.getScheduleId());
+            } else {
+                assertEquals(busyMonday ? 32L : 31L, (long) assignment.getScheduleId(),
+                    "a Wednesday lab until 11:00 rules out the Wednesday 10:00 tutorial");
+            }
+            assertFalse(assignment.getClashes());
+        }
+        assertEquals(List.of("LAB", "TUTORIAL"), List.of(solution.getSummaries().get(0).getSectionType(),
+            solution.getSummaries().get(1).getSectionType()));
+
+        SectionAssignmentSolver.CourseSolution forced = solver.solve(new SectionAssignmentSolver.CourseProblem(1L,
+            List.of(section(21L, "LAB", "MONDAY", 9, 6)), students));
+        assertEquals(3, forced.getSummaries().get(0).getClashes(), "a clash is accepted when every section clashes");
+    }
+
+    @Test
+    @DisplayName("Courses solved together never give a shared student overlapping sections")
+    public void testSharedStudentsAcrossCourses() {
+        List<String> students = students(4);
+        SectionAssignmentSolver solver = new SectionAssignmentSolver(new HashMap<>());
+        List<SectionAssignmentSolver.CourseProblem> problems = List.of(
+            new SectionAssignmentSolver.CourseProblem(2L,
+                List.of(section(21L, "LAB", "MONDAY", 9, 4), section(22L, "LAB", "TUESDAY", 9, 4)), students),
+            new SectionAssignmentSolver.CourseProblem(1L,
+                List.of(section(11L, "LAB", "MONDAY", 9, 4), section(12L, "LAB", "TUESDAY", 9, 4)), students),
+            new SectionAssignmentSolver.CourseProblem(3L,
+                List.of(section(31L, "TUTORIAL", "MONDAY", 10, 1)), List.of("S0", "S9")));
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        List<SectionAssignmentSolver.CourseSolution> solutions;
+        try {
+            solutions = solver.solveAll(problems, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(List.of(2L, 1L, 3L), List.of(solutions.get(0).getCourseId(), solutions.get(1).getCourseId(),
+            solutions.get(2).getCourseId()), "solutions come back in the order given");
+        Map<String, List<Long>> sectionsByStudent = new HashMap<>();
+        for (SectionAssignmentSolver.CourseSolution solution : solutions) {
+            for (SectionAssignment assignment : solution.getAssignments()) {
+                sectionsByStudent.computeIfAbsent(assignment.getStudentId(), key -> new ArrayList<>())
+                    .add(assignment.getScheduleId() % 10);
+            }
+        }
+        for (String student : students) {
+            List<Long> slots = sectionsByStudent.get(student);
+            assertEquals(2, slots.stream().filter(slot -> slot <= 2).distinct().count(),
+                student + " has one Monday and one Tuesday lab");
+        }
+        assertEquals(1, solutions.get(2).getAssignments().size());
+        assertEquals("S9", solutions.get(2).getAssignments().get(0).getStudentId(),
+            "S0 has a Monday lab until 11:00 from another course, so only S9 takes the tutorial");
+        assertEquals(List.of("S0"), solutions.get(2).getSummaries().get(0).getUnassignedStudents());
+    }
+
+    @Test
+    @DisplayName("Clash count matches exhaustive search on random small instances")
+    public void testOptimality() {
+        Random random = new Random(20);
+        String[] days = {"MONDAY", "TUESDAY", "WEDNESDAY"};
+        for (int round = 0; round < 200; round++) {
+            List<String> students = students(6);
+            List<CourseSchedule> sections = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                sections.add(section(40L + j, "LAB", days[j], 9 + random.nextInt(3), 1 + random.nextInt(3)));
+            }
+            Map<String, List<CourseSchedule>> classes = new HashMap<>();
+            boolean[][] clash = new boolean[6][3];
+            for (int i = 0; i < 6; i++) {
+                CourseSchedule lecture = section(800L + i, "LECTURE", days[random.nextInt(3)], 9 + random.nextInt(4), 0);
+                classes.put(students.get(i), List.of(lecture));
+                for (int j = 0; j < 3; j++) {
+                    clash[i][j] = lecture.getDayOfWeek().equals(sections.get(j).getDayOfWeek())
+                        && lecture.getStartTime().isBefore(sections.get(j).getEndTime())
+                        && sections.get(j).getStartTime().isBefore(lecture.getEndTime());
+                }
+            }
+            int seats = sections.stream().mapToInt(CourseSchedule::getCapacity).sum();
+
+            SectionAssignmentReport.CourseSections summary = new SectionAssignmentSolver(classes)
+                .solve(new SectionAssignmentSolver.CourseProblem(1L, sections, students)).getSummaries().get(0);
+
+            assertEquals(Math.min(6, seats), summary.getAssigned(), "round " + round);
+            assertEquals(bestClashes(clash, sections, 0, new int[3], Math.min(6, seats), 0),
+                summary.getClashes(), "round " + round);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark - 400 courses x 240 students x 8 sections")
+    public void testLargeTerm() {
+        Random random = new Random(7);
+        String[] days = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"};
+        Map<String, List<CourseSchedule>> classes = new HashMap<>();
+        for (int s = 0; s < 20_000; s++) {
+            List<CourseSchedule> lectures = new ArrayList<>();
+            for (int k = 0; k < 4; k++) {
+                lectures.add(section(0L, "LECTURE", days[random.nextInt(5)], 8 + random.nextInt(9), 0));
+            }
+            classes.put("S" + s, lectures);
+        }
+        List<SectionAssignmentSolver.CourseProblem> problems = new ArrayList<>();
+        for (long course = 1; course <= 400; course++) {
+            List<CourseSchedule> sections = new ArrayList<>();
+            for (int j = 0; j < 8; j++) {
+                sections.add(section(course * 100 + j, j < 5 ? "LAB" : "TUTORIAL", days[random.nextInt(5)],
+                    8 + random.nextInt(9), 40));
+            }
+            List<String> students = new ArrayList<>();
+            for (int s = 0; s < 240; s++) {
+                students.add("S" + random.nextInt(20_000));
+            }
+            problems.add(new SectionAssignmentSolver.CourseProblem(course, sections, students));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        long began = System.nanoTime();
+        List<SectionAssignmentSolver.CourseSolution> solutions;
+        try {
+            solutions = new SectionAssignmentSolver(classes).solveAll(problems, pool);
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - began;
+
+        long assigned = 0;
+        long clashes = 0;
+        for (SectionAssignmentSolver.CourseSolution solution : solutions) {
+            for (SectionAssignmentReport.CourseSections summary : solution.getSummaries()) {
+                assigned += summary.getAssigned();
+                clashes += summary.getClashes();
+            }
+        }
+        assertEquals(400, solutions.size());
+        assertTrue(elapsedNanos < 60_000_000_000L);
+        System.out.printf("[UC7] ✓ assigned %d section seats across %d courses in %.0f ms, %d unavoidable clashes%n",
+            assigned, solutions.size(), elapsedNanos / 1e6, clashes);
+    }
+
+    /**
+     * Minimum clashes over every assignment of the first {@code placed} students that fits the capacities
+     */
+    private static int bestClashes(boolean[][] clash, List<CourseSchedule> sections, int student, int[] used,
+                                   int placed, int clashesSoFar) {
+        if (student == clash.length) {
+            int total = used[0] + used[1] + used[2];
+            return total == placed ? clashesSoFar : Integer.MAX_VALUE;
+        }
+        int best = bestClashes(clash, sections, student + 1, used, placed, clashesSoFar);
+        for (int j = 0; j < sections.size(); j++) {
+            if (used[j] < sections.get(j).getCapacity()) {
+                used[j]++;
+                best = Math.min(best, bestClashes(clash, sections, student + 1, used, placed,
+                    clashesSoFar + (clash[student][j] ? 1 : 0)));
+                used[j]--;
+            }
+        }
+        return best;
+    }
+
+    private static List<String> students(int count) {
+        List<String> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            students.add("S" + i);
+        }
+        return students;
+    }
+
+    private static long count(List<SectionAssignment> assignments, Long scheduleId) {
+        return assignments.stream().filter(a -> a.getScheduleId().equals(scheduleId)).count();
+    }
+
+    private static CourseSchedule section(Long id, String type, String day, int hour, int capacity) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.setId(id);
+        schedule.setCourseId(1L);
+        schedule.setScheduleType(type);
+        schedule.setDayOfWeek(day);
+        schedule.setStartTime(LocalTime.of(hour, 0));
+        schedule.setEndTime(LocalTime.of(hour + 2, 0));
+        schedule.setCapacity(capacity);
+        schedule.setSemester("Fall");
+        schedule.setAcademicYear("2026-2027");
+        return schedule;
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.model.StudentTimetable;
+import com.example.university.course.service.impl.StudentTimetableCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materialized student timetables - UC7: Set Course Timetable
+ * Runs against in-memory enrollments and schedules that count queries
+ */
+@DisplayName("Student Timetable Cache - UC7")
+public class StudentTimetableCacheTest {
+
+    private Map<String, List<Long>> enrollments;
+    private List<CourseSchedule> schedules;
+    private int builds;
+    private Runnable duringBuild;
+    private StudentTimetableCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        enrollments = new HashMap<>();
+        schedules = new ArrayList<>();
+        builds = 0;
+        duringBuild = null;
+        cache = new StudentTimetableCache(new StudentTimetableCache.TimetableSource() {
+            @Override
+            public List<Long> enrolledCourseIds(String studentId) {
+                builds++;
+                return new ArrayList<>(enrollments.getOrDefault(studentId, new ArrayList<>()));
+            }
+
+            @Override
+            public List<CourseSchedule> activeSchedules(Collection<Long> courseIds) {
+                if (duringBuild != null) {
+                    duringBuild.run();
+                }
+                List<CourseSchedule> active = new ArrayList<>();
+                for (CourseSchedule schedule : schedules) {
+                    if (courseIds.contains(schedule.getCourseId())) {
+                        active.add(schedule);
+                    }
+                }
+                return active;
+            }
+        }, 1_000, 60_000L);
+    }
+
+    @Test
+    @DisplayName("Timetables rebuild only when the student's enrollments or their schedules change")
+    public void testRebuildsOnlyOnChange() {
+        enrollments.put("S1", new ArrayList<>(Arrays.asList(1L, 2L)));
+        enrollments.put("S2", new ArrayList<>(Arrays.asList(3L)));
+        schedules.add(schedule(10L, 2L, "MA110", "WEDNESDAY", 9));
+        schedules.add(schedule(11L, 1L, "CS101", "MONDAY", 14));
+        schedules.add(schedule(12L, 1L, "CS101", "MONDAY", 9));
+        schedules.add(schedule(13L, 3L, "PH101", "FRIDAY", 11));
+
+        StudentTimetable first = cache.get("S1");
+        assertEquals(Arrays.asList(12L, 11L, 10L), ids(first));
+        assertSame(first, cache.get("S1"));
+        cache.get("S2");
+        assertEquals(2, builds);
+
+        cache.invalidateCourse(3L);
+        assertSame(first, cache.get("S1"), "other students' courses leave S1 alone");
+        assertEquals(2, builds);
+
+        CourseSchedule moved = schedule(10L, 2L, "MA110", "WEDNESDAY", 13);
+        moved.setUpdatedAt(LocalDateTime.of(2026, 9, 2, 8, 0));
+        schedules.set(0, moved);
+        cache.invalidateCourse(2L);
+        StudentTimetable second = cache.get("S1");
+        assertNotEquals(first.getVersion(), second.getVersion());
+        assertEquals(Arrays.asList(12L, 11L, 10L), ids(second));
+
+        enrollments.get("S1").remove(1L);
+        cache.invalidateStudent("S1");
+        assertEquals(Arrays.asList(10L), ids(cache.get("S1")));
+        assertEquals(4, builds);
+        assertThrows(UnsupportedOperationException.class, () -> cache.get("S1").getSchedules().clear());
+    }
+
+    @Test
+    @DisplayName("A build racing a write is dropped only if the write touches that student or course")
+    public void testRacingInvalidations() {
+        enrollments.put("S1", new ArrayList<>(Arrays.asList(1L)));
+        enrollments.put("S2", new ArrayList<>(Arrays.asList(2L)));
+        schedules.add(schedule(10L, 1L, "CS101", "MONDAY", 9));
+        schedules.add(schedule(11L, 2L, "MA110", "TUESDAY", 9));
+
+        duringBuild = () -> {
+            cache.invalidateStudent("S2");
+            cache.invalidateCourse(2L);
+        };
+        cache.get("S1");
+        duringBuild = null;
+        cache.get("S1");
+        assertEquals(1, builds, "writes to other students and courses keep the build");
+
+        duringBuild = () -> cache.invalidateCourse(2L);
+        cache.get("S2");
+        duringBuild = null;
+        cache.get("S2");
+        assertEquals(3, builds, "a build that raced its own course's change is not kept");
+
+        cache.invalidateStudent("S2");
+        duringBuild = () -> cache.invalidateStudent("S2");
+        cache.get("S2");
+        assertEquals(4, builds);
+        assertEquals(1, cache.size(), "only S1 stays cached");
+    }
+
+    @Test
+    @DisplayName("Versions are stable across rebuilds of unchanged content")
+    public void testStableVersions() {
+        enrollments.put("S1", new ArrayList<>(Arrays.asList(2L, 1L)));
+        schedules.add(schedule(11L, 1L, "CS101", "MONDAY", 14));
+        schedules.add(schedule(10L, 2L, "MA110", "WEDNESDAY", 9));
+        String version = cache.get("S1").getVersion();
+
+        enrollments.put("S1", new ArrayList<>(Arrays.asList(1L, 2L)));
+        cache.invalidateStudent("S1");
+        assertEquals(version, cache.get("S1").getVersion());
+        assertEquals(32, version.length());
+
+        assertTrue(cache.get("NOBODY").getSchedules().isEmpty());
+        assertNotEquals(version, cache.get("NOBODY").getVersion());
+    }
+
+    @Test
+    @DisplayName("iCalendar feed has one weekly event per schedule, folded and escaped")
+    public void testIcsFeed() {
+        enrollments.put("S1", new ArrayList<>(Arrays.asList(1L)));
+        CourseSchedule lecture = schedule(11L, 1L, "CS101", "MONDAY", 14);
+        lecture.setVenue("Hall A, North Wing; Level 2");
+        lecture.setInstructorName("Dr. Ada Lovelace, Professor of Computing and Analytical Engines since 1843");
+        schedules.add(lecture);
+        schedules.add(schedule(12L, 1L, "CS101", "NOT_A_DAY", 9));
+
+        StudentTimetable timetable = cache.get("S1");
+        String ics = cache.ics(timetable);
+        assertSame(ics, cache.ics(timetable), "rendered once per build");
+
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertEquals(1, ics.split("BEGIN:VEVENT", -1).length - 1);
+        assertTrue(ics.contains("UID:schedule-11@university-management\r\n"));
+        // 2026-09-02 is a Wednesday, so the first Monday is 2026-09-07
+        assertTrue(ics.contains("DTSTART:20260907T140000\r\n"));
+        assertTrue(ics.contains("DTEND:20260907T153000\r\n"));
+        assertTrue(ics.contains("RRULE:FREQ=WEEKLY;BYDAY=MO\r\n"));
+        assertTrue(ics.contains("LOCATION:Hall A\\, North Wing\\; Level 2\r\n"));
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.length() <= 75, line);
+        }
+        assertTrue(ics.contains("\r\n "), "long DESCRIPTION is folded");
+        assertFalse(ics.replace("\r\n", "").contains("\n"));
+    }
+
+    @Test
+    @DisplayName("Benchmark - cached timetable polls vs rebuilds")
+    public void testPollThroughput() {
+        int students = 20_000;
+        for (long course = 1; course <= 500; course++) {
+            for (int s = 0; s < 3; s++) {
+                schedules.add(schedule(course * 10 + s, course, "C" + course,
+                    new String[] {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"}[(int) (course + s) % 5],
+                    8 + (int) ((course * 7 + s * 3) % 10)));
+            }
+        }
+        for (int s = 0; s < students; s++) {
+            List<Long> courses = new ArrayList<>();
+            for (int c = 0; c < 5; c++) {
+                courses.add(1L + (s * 31L + c * 97L) % 500);
+            }
+            enrollments.put("S" + s, courses);
+        }
+        cache = new StudentTimetableCache(new StudentTimetableCache.TimetableSource() {
+            private final Map<Long, List<CourseSchedule>> byCourse = new HashMap<>();
+            {
+                for (CourseSchedule schedule : schedules) {
+                    byCourse.computeIfAbsent(schedule.getCourseId(), id -> new ArrayList<>()).add(schedule);
+                }
+            }
+
+            @Override
+            public List<Long> enrolledCourseIds(String studentId) {
+                builds++;
+                return enrollments.get(studentId);
+            }
+
+            @Override
+            public List<CourseSchedule> activeSchedules(Collection<Long> courseIds) {
+                List<CourseSchedule> active = new ArrayList<>();
+                for (Long courseId : courseIds) {
+                    active.addAll(byCourse.getOrDefault(courseId, new ArrayList<>()));
+                }
+                return active;
+            }
+        }, students, 60_000L);
+
+        long began = System.nanoTime();
+        for (int s = 0; s < students; s++) {
+            cache.ics(cache.get("S" + s));
+        }
+        long buildNanos = System.nanoTime() - began;
+
+        int polls = 1_000_000;
+        began = System.nanoTime();
+        for (int i = 0; i < polls; i++) {
+            cache.ics(cache.get("S" + (i % students)));
+        }
+        long pollNanos = System.nanoTime() - began;
+
+        assertEquals(students, builds);
+        cache.invalidateCourse(1L);
+        assertTrue(cache.size() < students);
+        System.out.printf("[UC7] ✓ built %d timetables with iCalendar in %.1f ms (%.1f µs each)%n",
+            students, buildNanos / 1e6, buildNanos / 1e3 / students);
+        System.out.printf("[UC7] ✓ %d unchanged polls, %.0f ns each, no rebuilds%n",
+            polls, (double) pollNanos / polls);
+    }
+
+    private static List<Long> ids(StudentTimetable timetable) {
+        List<Long> ids = new ArrayList<>();
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            ids.add(schedule.getId());
+        }
+        return ids;
+    }
+
+    private static CourseSchedule schedule(Long id, Long courseId, String code, String day, int hour) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.setId(id);
+        schedule.setCourseId(courseId);
+        schedule.setCourseCode(code);
+        schedule.setDayOfWeek(day);
+        schedule.setStartTime(LocalTime.of(hour, 0));
+        schedule.setEndTime(LocalTime.of(hour, 0).plusMinutes(90));
+        schedule.setVenue("V" + courseId);
+        schedule.setScheduleType("LECTURE");
+        schedule.setCreatedAt(LocalDateTime.of(2026, 9, 2, 8, 0));
+        return schedule;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.university.course.test;
+
+import com.example.university.course.model.Course;
+import com.example.university.course.model.CourseSchedule;
+import com.example.university.course.service.impl.ScheduleIndex;
+import com.example.university.course.service.impl.TimetableGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Timetable generator - UC7: Set Course Timetable
+ * Runs the solver on synthetic terms, no Karaf or database required
+ */
+@DisplayName("Timetable Generator - UC7")
+public class TimetableGeneratorTest {
+
+    private static final List<String> WEEK = Arrays.asList("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY");
+
+    @Test
+    @DisplayName("Small term is fully placed without clashes around fixed bookings")
+    public void testSmallTermClashFree() throws InterruptedException {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            courses.add(course(i, "CS" + (100 + i), 3, i < 2 ? 150 : 40, "I" + (i % 4)));
+        }
+        Map<String, Integer> venues = new HashMap<>();
+        venues.put("LT1", 200);
+        venues.put("SR1", 50);
+        venues.put("SR2", 50);
+        CourseSchedule fixed = new CourseSchedule();
+        fixed.setCourseCode("MA100");
+        fixed.setDayOfWeek("MONDAY");
+        fixed.setStartTime(LocalTime.of(8, 0));
+        fixed.setEndTime(LocalTime.of(18, 0));
+        fixed.setVenue("LT1");
+        fixed.setInstructorId("I0");
+        fixed.setSemester("FALL");
+        fixed.setAcademicYear("2025-2026");
+
+        TimetableGenerator generator = new TimetableGenerator(courses, venues, Collections.singletonList(fixed),
+            "FALL", "2025-2026", WEEK, LocalTime.of(8, 0), LocalTime.of(18, 0), 60);
+        generator.solve(300);
+
+        List<CourseSchedule> schedules = generator.getBestSchedules();
+        assertEquals(36, generator.getTotalSessions());
+        assertEquals(0, generator.getUnplacedSessions());
+        assertEquals(36, schedules.size());
+        assertTrue(generator.isDone());
+        assertEquals(1.0, generator.getProgress());
+
+        List<CourseSchedule> all = new ArrayList<>(schedules);
+        all.add(fixed);
+        assertTrue(ScheduleIndex.findClashes(all).isEmpty());
+        Set<String> courseDays = new HashSet<>();
+        for (CourseSchedule schedule : schedules) {
+            assertTrue(venues.get(schedule.getVenue()) >= (schedule.getCourseCode().compareTo("CS102") < 0 ? 150 : 40));
+            assertTrue(courseDays.add(schedule.getCourseCode() + schedule.getDayOfWeek()),
+                "one session per course per day");
+            assertEquals(CourseSchedule.ScheduleStatus.ACTIVE, schedule.getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Infeasible sessions are reported as unplaced and the budget is respected")
+    public void testUnplacedAndBudget() throws InterruptedException {
+        List<Course> courses = new ArrayList<>();
+        courses.add(course(1, "CS500", 2, 500, "I1"));
+        for (int i = 0; i < 6; i++) {
+            courses.add(course(10 + i, "CS6" + i, 1, 20, "I2"));
+        }
+        Map<String, Integer> venues = Collections.singletonMap("SR1", 30);
+
+        TimetableGenerator generator = new TimetableGenerator(courses, venues, Collections.emptyList(),
+            "FALL", "2025-2026", Arrays.asList("MONDAY"), LocalTime.of(9, 0), LocalTime.of(12, 0), 60);
+        long began = System.nanoTime();
+        generator.start(200);
+        assertFalse(generator.isDone());
+        generator.awaitCompletion();
+        long elapsedMillis = (System.nanoTime() - began) / 1_000_000;
+
+        // the 500-seat course never fits; the single instructor can teach 3 of 6 one-hour slots
+        assertEquals(7, generator.getTotalSessions());
+        assertEquals(4, generator.getUnplacedSessions());
+        assertTrue(generator.getBestScore() >= 4_000_000L);
+        assertTrue(generator.getIterations() > 0);
+        assertTrue(elapsedMillis < 2_000, "finished in " + elapsedMillis + " ms");
+        assertTrue(ScheduleIndex.findClashes(generator.getBestSchedules()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cancelled runs stop early, keep their best and leave the shared pool running")
+    public void testCancelOnSharedPool() throws InterruptedException {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            courses.add(course(i, "C" + i, 2, 30, "I" + (i % 10)));
+        }
+        Map<String, Integer> venues = Collections.singletonMap("SR1", 40);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            TimetableGenerator first = new TimetableGenerator(courses, venues, Collections.emptyList(),
+                "FALL", "2025-2026", WEEK, LocalTime.of(8, 0), LocalTime.of(18, 0), 60);
+            long began = System.nanoTime();
+            first.start(pool, 60_000);
+            while (first.getBestScore() == null) {
+                Thread.sleep(1);
+            }
+            first.cancel();
+            first.awaitCompletion();
+            assertTrue(first.isCancelled());
+            assertTrue((System.nanoTime() - began) / 1_000_000 < 10_000);
+            assertFalse(first.getBestSchedules().isEmpty());
+
+            TimetableGenerator second = new TimetableGenerator(courses, venues, Collections.emptyList(),
+                "FALL", "2025-2026", WEEK, LocalTime.of(8, 0), LocalTime.of(18, 0), 60);
+            second.start(pool, 100);
+            second.awaitCompletion();
+            assertFalse(pool.isShutdown());
+            assertTrue(second.getIterations() > 0);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark - 2000 sections across 120 venues in a 2 s budget")
+    public void testLargeTerm() throws InterruptedException {
+        Random random = new Random(7);
+        List<Course> courses = new ArrayList<>();
+        int[] sizes = {25, 40, 60, 90, 150, 250};
+        for (int i = 0; i < 2000; i++) {
+            courses.add(course(i, "C" + i, 1 + random.nextInt(3), sizes[random.nextInt(sizes.length)],
+                "I" + random.nextInt(600)));
+        }
+        Map<String, Integer> venues = new HashMap<>();
+        for (int v = 0; v < 120; v++) {
+            venues.put("R" + v, v < 40 ? 40 : v < 85 ? 100 : 300);
+        }
+
+        TimetableGenerator generator = new TimetableGenerator(courses, venues, Collections.emptyList(),
+            "FALL", "2025-2026", WEEK, LocalTime.of(8, 0), LocalTime.of(18, 0), 60);
+        generator.start(2_000);
+        Thread.sleep(500);
+        Long earlyScore = generator.getBestScore();
+        double earlyProgress = generator.getProgress();
+        generator.awaitCompletion();
+
+        List<CourseSchedule> schedules = generator.getBestSchedules();
+        assertNotNull(earlyScore, "best score visible while running");
+        assertTrue(earlyProgress > 0.0 && earlyProgress < 1.0);
+        assertTrue(generator.getBestScore() <= earlyScore);
+        assertTrue(ScheduleIndex.findClashes(schedules).isEmpty());
+        assertEquals(generator.getTotalSessions() - generator.getUnplacedSessions(), schedules.size());
+        System.out.printf("[UC7] ✓ %d sessions, %d unplaced, %d candidate timetables on %d cores, best score %d%n",
+            generator.getTotalSessions(), generator.getUnplacedSessions(), generator.getIterations(),
+            Runtime.getRuntime().availableProcessors(), generator.getBestScore());
+    }
+
+    private static Course course(long id, String code, int credits, int capacity, String instructorId) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode(code);
+        course.setCredits(credits);
+        course.setMaxCapacity(capacity);
+        course.setInstructorId(instructorId);
+        course.setInstructorName("Instructor " + instructorId);
+        return course;
+    }
+}
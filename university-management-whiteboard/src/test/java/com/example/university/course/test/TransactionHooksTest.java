@@ -0,0 +1,167 @@
+package com.example.university.course.test;
+
+import com.example.university.util.TransactionHooks;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transaction callbacks that keep in-memory indexes in step with commits
+ */
+@DisplayName("Transaction Hooks")
+public class TransactionHooksTest {
+
+    @Test
+    @DisplayName("Commit actions wait for the commit and rollback actions run only on rollback")
+    public void testCallbacks() throws Exception {
+        FakeTransactionManager manager = new FakeTransactionManager();
+        TransactionHooks hooks = new TransactionHooks();
+        hooks.setTransactionManager(manager);
+        List<String> events = new ArrayList<>();
+
+        manager.begin();
+        hooks.afterCompletion(() -> events.add("committed"), () -> events.add("rolled back"));
+        assertTrue(events.isEmpty());
+        manager.commit();
+        assertEquals(List.of("committed"), events);
+
+        manager.begin();
+        hooks.afterCompletion(() -> events.add("committed"), () -> events.add("rolled back"));
+        manager.rollback();
+        assertEquals(List.of("committed", "rolled back"), events);
+
+        hooks.afterCommit(() -> events.add("no transaction"));
+        hooks.afterRollback(() -> events.add("never"));
+        assertEquals(List.of("committed", "rolled back", "no transaction"), events);
+
+        TransactionHooks unbound = new TransactionHooks();
+        unbound.afterCommit(() -> events.add("unbound"));
+        assertEquals("unbound", events.get(3));
+    }
+
+    @Test
+    @DisplayName("Work in a new transaction commits on its own and the caller's transaction resumes")
+    public void testNewTransaction() throws Exception {
+        FakeTransactionManager manager = new FakeTransactionManager();
+        TransactionHooks hooks = new TransactionHooks();
+        hooks.setTransactionManager(manager);
+        List<String> events = new ArrayList<>();
+
+        manager.begin();
+        FakeTransaction outer = manager.current;
+        String result = hooks.inNewTransaction(() -> {
+            hooks.afterCommit(() -> events.add("chunk committed"));
+            return "done";
+        });
+        assertEquals("done", result);
+        assertEquals(List.of("chunk committed"), events);
+        assertSame(outer, manager.current, "the caller's transaction is resumed");
+
+        assertThrows(IllegalArgumentException.class, () -> hooks.inNewTransaction(() -> {
+            hooks.afterCompletion(() -> events.add("bad chunk committed"), () -> events.add("bad chunk rolled back"));
+            throw new IllegalArgumentException("bad row");
+        }));
+        assertEquals(List.of("chunk committed", "bad chunk rolled back"), events);
+        assertSame(outer, manager.current);
+        manager.commit();
+    }
+
+    static final class FakeTransaction implements Transaction {
+        private final List<Synchronization> synchronizations = new ArrayList<>();
+        private int status = Status.STATUS_ACTIVE;
+
+        private void complete(int outcome) {
+            status = outcome;
+            for (Synchronization synchronization : synchronizations) {
+                synchronization.afterCompletion(outcome);
+            }
+        }
+
+        @Override
+        public void commit() {
+            complete(Status.STATUS_COMMITTED);
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void registerSynchronization(Synchronization synchronization) {
+            synchronizations.add(synchronization);
+        }
+
+        @Override
+        public void rollback() {
+            complete(Status.STATUS_ROLLEDBACK);
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            status = Status.STATUS_MARKED_ROLLBACK;
+        }
+    }
+
+    static final class FakeTransactionManager implements TransactionManager {
+        private FakeTransaction current;
+
+        @Override
+        public void begin() {
+            assertNull(current, "nested transactions are not supported");
+            current = new FakeTransaction();
+        }
+
+        @Override
+        public void commit() {
+            FakeTransaction transaction = current;
+            current = null;
+            transaction.commit();
+        }
+
+        @Override
+        public int getStatus() {
+            return current == null ? Status.STATUS_NO_TRANSACTION : current.getStatus();
+        }
+
+        @Override
+        public Transaction getTransaction() {
+            return current;
+        }
+
+        @Override
+        public void resume(Transaction transaction) {
+            current = (FakeTransaction) transaction;
+        }
+
+        @Override
+        public void rollback() {
+            FakeTransaction transaction = current;
+            current = null;
+            transaction.rollback();
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            current.setRollbackOnly();
+        }
+
+        @Override
+        public void setTransactionTimeout(int seconds) {
+        }
+
+        @Override
+        public Transaction suspend() {
+            FakeTransaction transaction = current;
+            current = null;
+            return transaction;
+        }
+    }
+}
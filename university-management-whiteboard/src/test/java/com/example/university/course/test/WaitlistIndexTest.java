@@ -0,0 +1,84 @@
+package com.example.university.course.test;
+
+import com.example.university.course.service.impl.WaitlistIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Waitlist head cache - UC6: Manage Course Enrollment
+ */
+@DisplayName("Course Waitlist Index - UC6")
+public class WaitlistIndexTest {
+
+    private static final Long COURSE_ID = 1L;
+
+    private List<String> persisted;
+    private WaitlistIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        persisted = new ArrayList<>();
+        index = new WaitlistIndex(new WaitlistIndex.WaitlistSource() {
+            @Override
+            public List<String> waitingStudents(Long courseId) {
+                return persisted;
+            }
+
+            @Override
+            public long lastPosition(Long courseId) {
+                return persisted.size() + 10L;
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Students are promoted in FIFO order and positions shift up")
+    public void testFifoOrder() {
+        assertEquals(11L, index.enqueue(COURSE_ID, "STU001"));
+        assertEquals(12L, index.enqueue(COURSE_ID, "STU002"));
+        assertEquals(13L, index.enqueue(COURSE_ID, "STU003"));
+
+        assertEquals("STU001", index.peek(COURSE_ID));
+        assertEquals(3, index.position(COURSE_ID, "STU003"));
+
+        index.removeHead(COURSE_ID, "STU001");
+        assertEquals("STU002", index.peek(COURSE_ID));
+        assertEquals(1, index.position(COURSE_ID, "STU002"));
+        assertEquals(2, index.position(COURSE_ID, "STU003"));
+        assertEquals(0, index.position(COURSE_ID, "STU001"));
+        assertEquals(2, index.size(COURSE_ID));
+    }
+
+    @Test
+    @DisplayName("Queue is reloaded from persisted entries")
+    public void testLoadedFromSource() {
+        persisted.add("STU010");
+        persisted.add("STU011");
+
+        assertEquals(2, index.position(COURSE_ID, "STU011"));
+        assertEquals(13L, index.enqueue(COURSE_ID, "STU012"));
+        assertEquals(3, index.position(COURSE_ID, "STU012"));
+    }
+
+    @Test
+    @DisplayName("A student cannot wait twice for the same course")
+    public void testDuplicateRejected() {
+        index.enqueue(COURSE_ID, "STU001");
+        assertThrows(IllegalStateException.class, () -> index.enqueue(COURSE_ID, "STU001"));
+    }
+
+    @Test
+    @DisplayName("Removing a student who is not at the head is ignored")
+    public void testRemoveOnlyHead() {
+        index.enqueue(COURSE_ID, "STU001");
+        index.enqueue(COURSE_ID, "STU002");
+        index.removeHead(COURSE_ID, "STU002");
+        assertEquals("STU001", index.peek(COURSE_ID));
+        assertEquals(2, index.size(COURSE_ID));
+    }
+}